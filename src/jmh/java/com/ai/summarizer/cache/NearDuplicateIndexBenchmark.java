@@ -0,0 +1,90 @@
+package com.ai.summarizer.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NearDuplicateIndex} lookups and inserts on a full index of 100K and 1M entries, and the
+ * cost of signing a 1K-word document. Lookups are perturbed copies of stored documents (tracking
+ * footer appended), so each one walks real candidate buckets; inserts also evict the oldest entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class NearDuplicateIndexBenchmark {
+
+    private static final int MIN_SHINGLES = 48;
+    private static final int SAMPLES = 1024;
+
+    @Param({"100000", "1000000"})
+    int entries;
+
+    private NearDuplicateIndex index;
+    private final byte[][] lookups = new byte[SAMPLES][];
+    private final byte[][] inserts = new byte[SAMPLES][];
+    private String document;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        String[] vocabulary = new String[20_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+        }
+        index = new NearDuplicateIndex(entries, 0.8);
+        int stride = entries / SAMPLES;
+        for (int i = 0; i < entries; i++) {
+            // Short documents keep setup fast; the index only ever sees the fixed-size signature.
+            String text = words(random, vocabulary, 120);
+            index.put(MinHash.signature(text, MIN_SHINGLES), 3, "summary");
+            if (i % stride == 0 && i / stride < SAMPLES) {
+                lookups[i / stride] = MinHash.signature(
+                        text + "Read more at https://example.com/a?utm_source=newsletter", MIN_SHINGLES);
+            }
+        }
+        for (int i = 0; i < SAMPLES; i++) {
+            inserts[i] = MinHash.signature(words(random, vocabulary, 120), MIN_SHINGLES);
+        }
+        document = words(random, vocabulary, 1000);
+    }
+
+    private static String words(Random random, String[] vocabulary, int count) {
+        StringBuilder sb = new StringBuilder(count * 14);
+        for (int i = 0; i < count; i++) {
+            sb.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String lookup() {
+        return index.get(lookups[cursor++ & (SAMPLES - 1)], 3);
+    }
+
+    @Benchmark
+    public int insert() {
+        index.put(inserts[cursor++ & (SAMPLES - 1)], 3, "summary");
+        return index.size();
+    }
+
+    @Benchmark
+    public byte[] sign() {
+        return MinHash.signature(document, MIN_SHINGLES);
+    }
+}
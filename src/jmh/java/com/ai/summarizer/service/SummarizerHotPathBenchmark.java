@@ -0,0 +1,69 @@
+package com.ai.summarizer.service;
+
+import com.ai.summarizer.api.SummarizeRequest;
+import com.ai.summarizer.api.SummarizeResponse;
+import com.ai.summarizer.llm.LlmClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of the request path around the LLM call: prompt construction and a full
+ * {@code summarize} against a zero-latency in-memory client. The sentence cap has its own
+ * {@code SentenceCapperBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SummarizerHotPathBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    int inputChars;
+
+    /** prose: sentences throughout; unpunctuated: the guardrail finds no sentence to keep. */
+    @Param({"prose", "unpunctuated"})
+    String shape;
+
+    private String input;
+    private SummarizeRequest request;
+    private LlmSummarizerService service;
+
+    @Setup
+    public void setUp() {
+        String unit = shape.equals("prose")
+                ? "Revenue grew in every region while costs stayed flat. Hiring slowed in the second half! "
+                : "revenue grew in every region while costs stayed flat and hiring slowed in the second half ";
+        input = unit.repeat(inputChars / unit.length() + 1).substring(0, inputChars);
+        request = new SummarizeRequest(input, 3, null);
+
+        LlmClient inMemory = (text, maxSentences) ->
+                "Revenue grew everywhere. Costs were flat. Hiring slowed. Margins improved. Outlook is stable.";
+        // production chunking settings, so large inputs take the map-reduce path as they would live
+        HierarchicalSummarizer hierarchical = new HierarchicalSummarizer(inMemory, 6000, 3000, 5, 8, 4);
+        service = new LlmSummarizerService(inMemory, hierarchical, new SimpleMeterRegistry(), 0, false, false);
+    }
+
+    @Benchmark
+    public String buildPrompt() {
+        return LlmSummarizerService.concisePromptPrefix(5) + input;
+    }
+
+    @Benchmark
+    public SummarizeResponse summarize() {
+        return service.summarize(request);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ai.summarizer.text;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the extractive stage against the prompt tokens it saves: {@link ExtractiveSummarizer#select}
+ * down to a 4000-token budget, 64KB to 5MB of input. The reduction is printed once per trial; inputs
+ * past {@link ExtractiveSummarizer#PARALLEL_MIN_SENTENCES} sentences are scored in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractiveSummarizerBenchmark {
+
+    private static final String[] SENTENCES = {
+            "Revenue grew 3.5% in every region, led by the new subscription plans.",
+            "Costs stayed flat while hiring slowed in the second half.",
+            "The board approved the budget for the data center expansion.",
+            "Customer churn fell after the support team moved to a follow-the-sun rota.",
+            "Supply delays in Asia pushed two hardware launches into next year.",
+            "Marketing spend shifted from events to online campaigns.",
+            "Margins improved as cloud hosting contracts were renegotiated.",
+            "The office in Lisbon opened with forty engineers.",
+    };
+
+    @Param({"65536", "1048576", "5242880"})
+    int inputChars;
+
+    @Param({"4000"})
+    int maxTokens;
+
+    private String input;
+
+    @Setup
+    public void setUp() {
+        StringBuilder text = new StringBuilder(inputChars + 200);
+        for (int i = 0; text.length() < inputChars; i++) {
+            // vary the wording a little, as real documents do, so not every sentence ties
+            text.append(SENTENCES[i % SENTENCES.length]).append(" Item ").append(i % 101).append(" noted.");
+            text.append(i % 6 == 5 ? "\n\n" : " ");
+        }
+        input = text.toString();
+        String selected = ExtractiveSummarizer.select(input, maxTokens);
+        int before = TokenEstimator.estimate(input), after = TokenEstimator.estimate(selected);
+        System.out.printf("%nprompt tokens %d -> %d (%.1f%% of the input)%n", before, after, 100.0 * after / before);
+    }
+
+    @Benchmark
+    public String select() {
+        return ExtractiveSummarizer.select(input, maxTokens);
+    }
+
+    @Benchmark
+    public String summarizeFallback() {
+        return ExtractiveSummarizer.summarize(input, 5);
+    }
+
+    /** The head-of-text fallback the extractive one replaces. */
+    @Benchmark
+    public String headFallback() {
+        return SentenceCapper.cap(input, 5);
+    }
+}
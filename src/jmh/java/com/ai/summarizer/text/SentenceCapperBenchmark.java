@@ -0,0 +1,81 @@
+package com.ai.summarizer.text;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SentenceCapper} against the substring-per-sentence capper it replaced, on the fallback
+ * path's input: the raw document, 1KB to 5MB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SentenceCapperBenchmark {
+
+    @Param({"1024", "65536", "1048576", "5242880"})
+    int inputChars;
+
+    /** prose: cap reached early; sparse: few long sentences; unpunctuated: no terminator at all. */
+    @Param({"prose", "sparse", "unpunctuated"})
+    String shape;
+
+    @Param({"5"})
+    int cap;
+
+    private String input;
+
+    @Setup
+    public void setUp() {
+        String words = "revenue grew in every region while costs stayed flat and hiring slowed ";
+        String unit = switch (shape) {
+            case "prose" -> "Revenue grew 3.5% in every region, e.g. in the U.S. and Europe. Costs stayed flat! ";
+            case "sparse" -> words.repeat(200) + "End of section. ";
+            default -> words;
+        };
+        input = unit.repeat(inputChars / unit.length() + 1).substring(0, inputChars);
+    }
+
+    @Benchmark
+    public String singlePass() {
+        return SentenceCapper.cap(input, cap);
+    }
+
+    @Benchmark
+    public String substringPerSentence() {
+        return naiveCap(input, cap);
+    }
+
+    // The previous LlmSummarizerService.hardCapBySentences, kept here as the baseline.
+    private static String naiveCap(String text, int cap) {
+        List<String> out = new ArrayList<>(cap);
+        int start = 0, count = 0;
+        for (int i = 0; i < text.length() && count < cap; i++) {
+            char c = text.charAt(i);
+            if (c == '.' || c == '!' || c == '?') {
+                out.add(text.substring(start, i + 1).trim());
+                count++;
+                start = Math.min(i + 1, text.length());
+            }
+        }
+        if (out.isEmpty()) {
+            return text.length() > 500 ? text.substring(0, 500) : text;
+        }
+        return String.join(" ", out);
+    }
+}
@@ -1,9 +1,12 @@
 package com.ai.summarizer;
 
+import com.ai.summarizer.config.NativeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeHints.class)
 public class SpringBootLlmTextSummarizerApplication {
 
 	public static void main(String[] args) {
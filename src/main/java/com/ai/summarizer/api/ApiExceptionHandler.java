@@ -0,0 +1,68 @@
+package com.ai.summarizer.api;
+
+import com.ai.summarizer.jobs.CallbackUrlRejectedException;
+import com.ai.summarizer.jobs.JobQueueFullException;
+import com.ai.summarizer.llm.LlmDeadlineExceededException;
+import com.ai.summarizer.llm.LlmOverloadedException;
+import com.ai.summarizer.service.TokenBudgetExceededException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/** Maps admission and upstream protection failures to HTTP; applies to both the reactive and the servlet stack. */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /** Shed load: 503 with a Retry-After in whole seconds so well-behaved clients back off. */
+    @ExceptionHandler(LlmOverloadedException.class)
+    public ResponseEntity<ProblemDetail> overloaded(LlmOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, seconds(e.retryAfter()))
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+    }
+
+    /** The job queue is at max-pending; 503 until workers have drained some of it. */
+    @ExceptionHandler(JobQueueFullException.class)
+    public ResponseEntity<ProblemDetail> jobQueueFull(JobQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, seconds(e.retryAfter()))
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+    }
+
+    /** The job's callback URL points at a host the service will not post to. */
+    @ExceptionHandler(CallbackUrlRejectedException.class)
+    public ResponseEntity<ProblemDetail> callbackRejected(CallbackUrlRejectedException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+
+    /** 413 for an input that can never fit, 429 with Retry-After when the client's budget is spent. */
+    @ExceptionHandler(TokenBudgetExceededException.class)
+    public ResponseEntity<ProblemDetail> overBudget(TokenBudgetExceededException e) {
+        if (e.retryAfter() == null) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(ProblemDetail.forStatusAndDetail(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage()));
+        }
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, seconds(e.retryAfter()))
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, e.getMessage()));
+    }
+
+    /** The LLM call ran past its deadline: a timeout signal on the reactive path, its blocking form on servlet. */
+    @ExceptionHandler({TimeoutException.class, LlmDeadlineExceededException.class})
+    public ResponseEntity<ProblemDetail> deadlineExceeded(Exception e) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.GATEWAY_TIMEOUT, "LLM call exceeded its deadline"));
+    }
+
+    // Retry-After takes whole seconds; round up so clients never come back early.
+    private static String seconds(Duration d) {
+        return String.valueOf(Math.max(1, (d.toMillis() + 999) / 1000));
+    }
+}
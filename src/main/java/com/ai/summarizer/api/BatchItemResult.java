@@ -0,0 +1,16 @@
+package com.ai.summarizer.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/** One line of a batch response: the position of the request in the batch and its outcome. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult(long index, String summary, String error) {
+
+    public static BatchItemResult success(long index, String summary) {
+        return new BatchItemResult(index, summary, null);
+    }
+
+    public static BatchItemResult failure(long index, String error) {
+        return new BatchItemResult(index, null, error);
+    }
+}
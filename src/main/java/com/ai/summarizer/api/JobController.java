@@ -0,0 +1,57 @@
+package com.ai.summarizer.api;
+
+import com.ai.summarizer.jobs.JobService;
+import com.ai.summarizer.service.TokenBudgets;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+
+/**
+ * Asynchronous summarization for documents too large to wait on: submit, then poll (or pass a
+ * callback URL). Serves both the reactive and the servlet stack.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+@ConditionalOnProperty(name = "summarizer.jobs.enabled", havingValue = "true", matchIfMissing = true)
+public class JobController {
+    private final JobService jobService;
+    private final TokenBudgets tokenBudgets;
+
+    public JobController(JobService jobService, TokenBudgets tokenBudgets) {
+        this.jobService = jobService;
+        this.tokenBudgets = tokenBudgets;
+    }
+
+    /** 202 with the job's location once it is durably queued. */
+    @PostMapping
+    public Mono<ResponseEntity<JobResponse>> submit(
+            @RequestHeader(name = TokenBudgets.CLIENT_ID_HEADER, required = false) String clientId,
+            @Valid @RequestBody JobRequest request) {
+        SummarizeRequest summarize = request.toSummarizeRequest();
+        tokenBudgets.admit(clientId, summarize);
+        // The log write (and fsync) blocks, so keep it off the event loop.
+        return Mono.fromCallable(() -> jobService.submit(summarize, clientId, request.callbackUrl()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(job -> ResponseEntity.accepted()
+                        .location(URI.create("/api/jobs/" + job.id()))
+                        .body(JobResponse.of(job)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JobResponse> get(@PathVariable String id) {
+        return jobService.find(id)
+                .map(job -> ResponseEntity.ok(JobResponse.of(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,16 @@
+package com.ai.summarizer.api;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+public record JobRequest(
+    @NotBlank String text,
+    Integer maxSentences,
+    SummaryLength length,
+    @Pattern(regexp = "https?://\\S+", message = "must be an http or https URL")
+    String callbackUrl           // optional; receives the finished job as JSON
+) {
+  public SummarizeRequest toSummarizeRequest() {
+    return new SummarizeRequest(text, maxSentences, length);
+  }
+}
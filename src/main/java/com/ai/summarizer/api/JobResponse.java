@@ -0,0 +1,17 @@
+package com.ai.summarizer.api;
+
+import com.ai.summarizer.jobs.Job;
+import com.ai.summarizer.jobs.JobStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/** What polling a job returns, and what its callback receives once it has finished. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JobResponse(String id, JobStatus status, Instant createdAt, Instant finishedAt,
+                          String summary, String error) {
+
+    public static JobResponse of(Job job) {
+        return new JobResponse(job.id(), job.status(), job.createdAt(), job.finishedAt(), job.summary(), job.error());
+    }
+}
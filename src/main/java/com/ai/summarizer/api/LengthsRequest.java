@@ -0,0 +1,16 @@
+package com.ai.summarizer.api;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.List;
+
+/** One text to summarize at several lengths; without {@code lengths}, at every {@link SummaryLength}. */
+public record LengthsRequest(
+    @NotBlank String text,
+    List<SummaryLength> lengths
+) {
+
+  public List<SummaryLength> lengthsOrAll() {
+    return lengths == null || lengths.isEmpty() ? List.of(SummaryLength.values()) : lengths;
+  }
+}
@@ -0,0 +1,5 @@
+package com.ai.summarizer.api;
+
+import java.util.Map;
+
+public record LengthsResponse(Map<SummaryLength, String> summaries) {}
@@ -0,0 +1,157 @@
+package com.ai.summarizer.api;
+
+import com.ai.summarizer.ratelimit.Tenants;
+import com.ai.summarizer.service.BatchSummarizer;
+import com.ai.summarizer.service.StreamingSummarizer;
+import com.ai.summarizer.service.SummarizerService;
+import com.ai.summarizer.service.TokenBudgets;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Non-blocking endpoints, registered when the app runs on WebFlux/Netty (the default). Each
+ * pipeline carries the caller's tenant in its context, for fair scheduling of the LLM calls.
+ */
+@RestController
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSummarizerController {
+    private final SummarizerService summarizerService;
+    private final BatchSummarizer batchSummarizer;
+    private final StreamingSummarizer streamingSummarizer;
+    private final TokenBudgets tokenBudgets;
+    private final ResponseIndex responseIndex;
+    private final Timer timeToFirstByte;
+
+    public ReactiveSummarizerController(SummarizerService summarizerService,
+                                        BatchSummarizer batchSummarizer,
+                                        StreamingSummarizer streamingSummarizer,
+                                        TokenBudgets tokenBudgets,
+                                        ResponseIndex responseIndex,
+                                        MeterRegistry registry) {
+        this.summarizerService = summarizerService;
+        this.batchSummarizer = batchSummarizer;
+        this.streamingSummarizer = streamingSummarizer;
+        this.tokenBudgets = tokenBudgets;
+        this.responseIndex = responseIndex;
+        this.timeToFirstByte = Timer.builder("summarizer.stream.time.to.first.byte")
+                .description("Time from request to the first streamed summary delta")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    /**
+     * Answers carry a weak ETag of the input hash, model and cap. A matching {@code If-None-Match}
+     * for a summary served recently gets 304 before admission, without calling the model.
+     */
+    @PostMapping("/summarize")
+    public Mono<ResponseEntity<SummarizeResponse>> summarize(
+            @RequestHeader(name = TokenBudgets.CLIENT_ID_HEADER, required = false) String clientId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestBody SummarizeRequest request) {
+        String key = responseIndex.key(request);
+        if (responseIndex.notModified(key, ifNoneMatch)) {
+            return Mono.just(responseIndex.notModifiedResponse(key));
+        }
+        tokenBudgets.admit(clientId, request);
+        return summarizerService.summarizeReactive(request)
+                .map(response -> responseIndex.ok(key, response))
+                .contextWrite(Tenants.context(clientId));
+    }
+
+    /** A summary served recently, by the hash in its ETag; publicly cacheable, 404 once it has left the index. */
+    @GetMapping("/summaries/{hash}")
+    public ResponseEntity<SummarizeResponse> summary(
+            @PathVariable String hash,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseIndex.lookup(hash, ifNoneMatch);
+    }
+
+    /**
+     * The document as a raw {@code text/plain} body, options as query parameters. The body is
+     * summarized while it is read, so uploads of any size are never buffered whole.
+     */
+    @PostMapping(value = "/summarize", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public Mono<ResponseEntity<SummarizeResponse>> summarizeText(
+            @RequestHeader(name = TokenBudgets.CLIENT_ID_HEADER, required = false) String clientId,
+            @RequestParam(required = false) Integer maxSentences,
+            @RequestParam(required = false) SummaryLength length,
+            ServerHttpRequest request) {
+        MediaType contentType = request.getHeaders().getContentType();
+        Charset charset = contentType != null && contentType.getCharset() != null
+                ? contentType.getCharset() : StandardCharsets.UTF_8;
+        return streamingSummarizer.summarize(request.getBody(), charset, maxSentences, length,
+                        tokenBudgets.streamingAdmission(clientId))
+                .map(ResponseEntity::ok)
+                .contextWrite(Tenants.context(clientId));
+    }
+
+    /** Forwards summary deltas as server-sent events as soon as the model produces them. */
+    @PostMapping(value = "/summarize/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> stream(
+            @RequestHeader(name = TokenBudgets.CLIENT_ID_HEADER, required = false) String clientId,
+            @RequestBody SummarizeRequest request) {
+        tokenBudgets.admit(clientId, request);
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean first = new AtomicBoolean(true);
+            return summarizerService.summarizeStream(request)
+                    .doOnNext(delta -> {
+                        if (first.compareAndSet(true, false)) {
+                            timeToFirstByte.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        }
+                    })
+                    .map(delta -> ServerSentEvent.builder(delta).build());
+        }).contextWrite(Tenants.context(clientId));
+    }
+
+    /**
+     * Several lengths of one text in one request. The text is admitted against the client's budget
+     * once, as it is sent upstream once when small prompts are packed ({@code llm.packing}).
+     */
+    @PostMapping("/summarize/lengths")
+    public Mono<ResponseEntity<LengthsResponse>> summarizeLengths(
+            @RequestHeader(name = TokenBudgets.CLIENT_ID_HEADER, required = false) String clientId,
+            @RequestBody LengthsRequest request) {
+        tokenBudgets.admit(clientId, new SummarizeRequest(request.text(), null, null));
+        return summarizerService.summarizeLengths(request.text(), request.lengthsOrAll())
+                .map(summaries -> ResponseEntity.ok(new LengthsResponse(summaries)))
+                .contextWrite(Tenants.context(clientId));
+    }
+
+    /**
+     * Accepts a JSON array or NDJSON of requests; both are decoded element by element. Results are
+     * written as NDJSON in completion order, each carrying the index of its request. Each document
+     * is admitted against the client's token budget on its own; a refused one becomes an error row.
+     */
+    @PostMapping(value = "/summarize/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BatchItemResult> batch(
+            @RequestHeader(name = TokenBudgets.CLIENT_ID_HEADER, required = false) String clientId,
+            @RequestBody Flux<SummarizeRequest> requests) {
+        return batchSummarizer.summarize(requests, request -> tokenBudgets.admit(clientId, request))
+                .contextWrite(Tenants.context(clientId));
+    }
+}
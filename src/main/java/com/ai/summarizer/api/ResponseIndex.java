@@ -0,0 +1,124 @@
+package com.ai.summarizer.api;
+
+import com.ai.summarizer.cache.SummaryCacheKey;
+import com.ai.summarizer.llm.LlmClient;
+import com.ai.summarizer.service.LlmSummarizerService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * HTTP caching of summaries. A summary's entity tag is its {@link SummaryCacheKey} (input hash, the
+ * configured {@link LlmClient#model() models}, temperature and cap), so it is known before anything
+ * is computed. Summaries served recently are
+ * indexed by that hash:
+ * <ul>
+ *   <li>a {@code POST} whose {@code If-None-Match} names an indexed summary is answered 304 without
+ *       admission or an LLM call;</li>
+ *   <li>{@code GET /api/summaries/{hash}} serves an indexed summary with a public {@code Cache-Control},
+ *       so CDNs and proxies can keep it. Its {@code Content-Location} is returned by the {@code POST}.</li>
+ * </ul>
+ * Tags are weak: a summary regenerated after it left every cache answers the same request with
+ * possibly different words.
+ */
+@Component
+public class ResponseIndex {
+    static final String SUMMARIES_PATH = "/api/summaries/";
+
+    private final Cache<String, SummarizeResponse> summaries;
+    private final String model;
+    private final double temperature;
+    private final CacheControl privateCaching;
+    private final CacheControl sharedCaching;
+    private final Counter revalidated;
+
+    public ResponseIndex(MeterRegistry registry,
+                         LlmClient llmClient,
+                         @Value("${llm.temperature}") double temperature,
+                         @Value("${summarizer.http.index.max-entries}") long maxEntries,
+                         @Value("${summarizer.http.index.ttl}") Duration ttl,
+                         @Value("${summarizer.http.max-age}") Duration maxAge) {
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+        this.model = llmClient.model();
+        this.temperature = temperature;
+        this.privateCaching = CacheControl.maxAge(maxAge).cachePrivate();
+        this.sharedCaching = CacheControl.maxAge(maxAge).cachePublic();
+        this.revalidated = Counter.builder("summarizer.http.not.modified")
+                .description("Requests answered 304 from the response index")
+                .register(registry);
+        registry.gauge("summarizer.http.index.size", summaries, Cache::estimatedSize);
+    }
+
+    /** Hash of the summary {@code request} asks for; null when it has no text (validation reports that). */
+    public String key(SummarizeRequest request) {
+        if (request.text() == null) return null;
+        return SummaryCacheKey.of(request.text(), LlmSummarizerService.resolveCap(request), model, temperature);
+    }
+
+    /** Whether the client already holds the indexed summary for {@code key}; counts the 304 if so. */
+    public boolean notModified(String key, String ifNoneMatch) {
+        if (key == null || !matches(ifNoneMatch, key) || summaries.getIfPresent(key) == null) {
+            return false;
+        }
+        revalidated.increment();
+        return true;
+    }
+
+    public ResponseEntity<SummarizeResponse> notModifiedResponse(String key) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag(key))
+                .cacheControl(privateCaching)
+                .build();
+    }
+
+    /** Indexes a freshly served summary and answers it with its tag and lookup location. */
+    public ResponseEntity<SummarizeResponse> ok(String key, SummarizeResponse response) {
+        if (key == null) return ResponseEntity.ok(response);
+        summaries.put(key, response);
+        return ResponseEntity.ok()
+                .eTag(etag(key))
+                .cacheControl(privateCaching)
+                .header("Content-Location", SUMMARIES_PATH + key)
+                .body(response);
+    }
+
+    /** {@code GET /api/summaries/{hash}}: 200, 304 on a matching {@code If-None-Match}, or 404. */
+    public ResponseEntity<SummarizeResponse> lookup(String hash, String ifNoneMatch) {
+        SummarizeResponse response = summaries.getIfPresent(hash);
+        if (response == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (matches(ifNoneMatch, hash)) {
+            revalidated.increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag(hash)).cacheControl(sharedCaching).build();
+        }
+        return ResponseEntity.ok().eTag(etag(hash)).cacheControl(sharedCaching).body(response);
+    }
+
+    static String etag(String key) {
+        return "W/\"" + key + "\"";
+    }
+
+    // If-None-Match compares weakly: W/"x" and "x" both match, as does *.
+    static boolean matches(String ifNoneMatch, String key) {
+        if (ifNoneMatch == null) return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = tag.trim();
+            if (t.equals("*")) return true;
+            if (t.startsWith("W/")) t = t.substring(2);
+            if (t.equals("\"" + key + "\"")) return true;
+        }
+        return false;
+    }
+}
@@ -1,21 +1,47 @@
 package com.ai.summarizer.api;
 
+import com.ai.summarizer.ratelimit.Tenants;
 import com.ai.summarizer.service.SummarizerService;
+import com.ai.summarizer.service.TokenBudgets;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+/** Blocking endpoint, only registered when the app runs on the servlet stack. */
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SummarizerController {
     private final SummarizerService summarizerService;
+    private final TokenBudgets tokenBudgets;
+    private final ResponseIndex responseIndex;
 
     @PostMapping("/summarize")
-    public ResponseEntity<SummarizeResponse> summarize(@RequestBody SummarizeRequest request) {
-        return ResponseEntity.ok(summarizerService.summarize(request));
+    public ResponseEntity<SummarizeResponse> summarize(
+            @RequestHeader(name = TokenBudgets.CLIENT_ID_HEADER, required = false) String clientId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestBody SummarizeRequest request) {
+        String key = responseIndex.key(request);
+        if (responseIndex.notModified(key, ifNoneMatch)) {
+            return responseIndex.notModifiedResponse(key);
+        }
+        tokenBudgets.admit(clientId, request);
+        return responseIndex.ok(key, Tenants.callAs(clientId, () -> summarizerService.summarize(request)));
+    }
+
+    @GetMapping("/summaries/{hash}")
+    public ResponseEntity<SummarizeResponse> summary(
+            @PathVariable String hash,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseIndex.lookup(hash, ifNoneMatch);
     }
 }
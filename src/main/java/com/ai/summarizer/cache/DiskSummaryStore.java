@@ -0,0 +1,155 @@
+package com.ai.summarizer.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Second cache tier: one file per key under a directory, so entries evicted from the heap tier can
+ * still be served without another LLM round-trip. Bounded by total bytes (oldest files go first)
+ * and by the same TTL as the heap tier. Each file records when its summary was first written, not
+ * when it spilled, so moving between the tiers never extends an entry's life.
+ */
+@Slf4j
+public class DiskSummaryStore {
+    private static final String SUFFIX = ".summary";
+    // Files written before the header existed have none; their modification time stands in.
+    private static final String HEADER = "\u0000written-at ";
+
+    /** A stored summary and when it was first written, in epoch millis. */
+    public record Entry(String summary, long writtenAtMillis) {
+    }
+
+    private final Path directory;
+    private final long maxBytes;
+    private final Duration ttl;
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    public DiskSummaryStore(Path directory, long maxBytes, Duration ttl) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.ttl = ttl;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = entries()) {
+                usedBytes.set(files.mapToLong(DiskSummaryStore::sizeOf).sum());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open summary cache directory " + directory, e);
+        }
+    }
+
+    public Optional<Entry> get(String key) {
+        Path file = fileFor(key);
+        try {
+            Entry entry = decode(Files.readString(file, StandardCharsets.UTF_8), file);
+            if (entry.writtenAtMillis() + ttl.toMillis() < System.currentTimeMillis()) {
+                delete(file);
+                return Optional.empty();
+            }
+            return Optional.of(entry);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Failed to read cached summary {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    public void put(String key, String summary, long writtenAtMillis) {
+        Path file = fileFor(key);
+        try {
+            Path tmp = Files.createTempFile(directory, key, ".tmp");
+            Files.writeString(tmp, HEADER + writtenAtMillis + "\n" + summary, StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(tmp, FileTime.fromMillis(writtenAtMillis)); // prune order
+            long previous = Files.exists(file) ? sizeOf(file) : 0;
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (usedBytes.addAndGet(sizeOf(file) - previous) > maxBytes) {
+                prune();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write cached summary {}", file, e);
+        }
+    }
+
+    public long usedBytes() {
+        return usedBytes.get();
+    }
+
+    /** Drops the oldest files until usage is back under 90% of the budget. */
+    private synchronized void prune() {
+        if (usedBytes.get() <= maxBytes) return;
+        long target = maxBytes * 9 / 10;
+        List<Path> oldestFirst;
+        try (Stream<Path> files = entries()) {
+            oldestFirst = files.sorted(Comparator.comparing(DiskSummaryStore::modifiedTime)).toList();
+        } catch (IOException e) {
+            log.warn("Failed to list summary cache directory {}", directory, e);
+            return;
+        }
+        for (Path file : oldestFirst) {
+            if (usedBytes.get() <= target) break;
+            delete(file);
+        }
+    }
+
+    private void delete(Path file) {
+        long size = sizeOf(file);
+        try {
+            if (Files.deleteIfExists(file)) {
+                usedBytes.addAndGet(-size);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete cached summary {}", file, e);
+        }
+    }
+
+    private static Entry decode(String content, Path file) throws IOException {
+        if (!content.startsWith(HEADER)) {
+            return new Entry(content, Files.getLastModifiedTime(file).toMillis());
+        }
+        int end = content.indexOf('\n');
+        try {
+            return new Entry(content.substring(end + 1), Long.parseLong(content.substring(HEADER.length(), end)));
+        } catch (RuntimeException e) {
+            throw new IOException("Malformed cached summary header", e);
+        }
+    }
+
+    private Stream<Path> entries() throws IOException {
+        return Files.list(directory).filter(p -> p.getFileName().toString().endsWith(SUFFIX));
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static FileTime modifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
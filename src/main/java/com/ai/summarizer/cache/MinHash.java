@@ -0,0 +1,154 @@
+package com.ai.summarizer.cache;
+
+import java.util.Arrays;
+
+/**
+ * MinHash signatures over word 3-shingles, for finding near-duplicate inputs: the same article with
+ * another tracking footer, timestamp or whitespace. Words are lower-cased letters and digits.
+ * Numbers that are part of a date or time ({@code 2024-05-03}, {@code 03/05/2024}, {@code 10:22})
+ * or of a URL are skipped, so changing them does not change the shingles around them.
+ *
+ * <p>The signature keeps the low 8 bits of each of {@link #SIZE} minimums (b-bit MinHash). Two
+ * signatures agree in a position with probability J + (1 - J) / 256, where J is the Jaccard
+ * similarity of the shingle sets. That is plenty for a similarity test, at 32 bytes per document.
+ * It is followed by {@link #FIGURES} bytes hashing every other number in order: one changed figure
+ * barely moves the Jaccard similarity of a long text, but its summary is wrong for the other.
+ */
+public final class MinHash {
+    public static final int BANDS = 8;
+    public static final int ROWS = 4;
+    public static final int SIZE = BANDS * ROWS;
+    public static final int FIGURES = Long.BYTES;
+    /** Bytes per signature: the minimums, then the figures hash. */
+    public static final int LENGTH = SIZE + FIGURES;
+
+    private static final long[] MULTIPLIERS = new long[SIZE];
+    private static final long[] OFFSETS = new long[SIZE];
+
+    static {
+        // fixed seeds: signatures must stay comparable across restarts and instances
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < SIZE; i++) {
+            MULTIPLIERS[i] = mix(seed += 0x9E3779B97F4A7C15L) | 1;
+            OFFSETS[i] = mix(seed += 0x9E3779B97F4A7C15L);
+        }
+    }
+
+    private MinHash() {
+    }
+
+    /** Signature of {@code text}, or null when it has fewer than {@code minShingles} shingles. */
+    public static byte[] signature(CharSequence text, int minShingles) {
+        int[] mins = new int[SIZE];
+        Arrays.fill(mins, Integer.MAX_VALUE);
+        long w1 = 0, w2 = 0; // the two previous words
+        long figures = 0;
+        int words = 0;
+        int shingles = 0;
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            while (i < n && !Character.isLetterOrDigit(text.charAt(i))) i++;
+            if (i == n) break;
+            int start = i;
+            long h = 0xcbf29ce484222325L; // FNV-1a
+            boolean digitsOnly = true;
+            while (i < n && Character.isLetterOrDigit(text.charAt(i))) {
+                char c = text.charAt(i++);
+                digitsOnly &= isDigit(c);
+                h = (h ^ Character.toLowerCase(c)) * 0x100000001b3L;
+            }
+            if (digitsOnly) {
+                if (isDateOrTime(text, start, i) || inUrl(text, start, i)) continue;
+                figures = mix(figures * 0x9E3779B97F4A7C15L + h);
+            }
+            if (++words >= 3) {
+                long x = mix(w2 * 0x9E3779B97F4A7C15L + w1 * 0xC2B2AE3D27D4EB4FL + h);
+                for (int k = 0; k < SIZE; k++) {
+                    int v = (int) ((x * MULTIPLIERS[k] + OFFSETS[k]) >>> 33);
+                    if (v < mins[k]) mins[k] = v;
+                }
+                shingles++;
+            }
+            w2 = w1;
+            w1 = h;
+        }
+        if (shingles < minShingles) return null;
+        byte[] signature = new byte[LENGTH];
+        for (int k = 0; k < SIZE; k++) signature[k] = (byte) mins[k];
+        for (int k = 0; k < FIGURES; k++) signature[SIZE + k] = (byte) (figures >>> (8 * k));
+        return signature;
+    }
+
+    /** Whether two signatures hash the same figures. */
+    public static boolean sameFigures(byte[] a, int aOffset, byte[] b, int bOffset) {
+        return Arrays.equals(a, aOffset + SIZE, aOffset + LENGTH, b, bOffset + SIZE, bOffset + LENGTH);
+    }
+
+    /**
+     * Whether the number at {@code [start, end)} belongs to a run of numbers joined by single
+     * separators that reads as a time (any {@code :}) or a date (two or more of {@code - / .}).
+     * A lone decimal point, a range ({@code 5-10}) or thousands separators stay figures.
+     */
+    static boolean isDateOrTime(CharSequence text, int start, int end) {
+        int from = start;
+        while (from >= 2 && isJoiner(text.charAt(from - 1)) && isDigit(text.charAt(from - 2))) {
+            from -= 2;
+            while (from > 0 && isDigit(text.charAt(from - 1))) from--;
+        }
+        int to = end;
+        while (to + 1 < text.length() && isJoiner(text.charAt(to)) && isDigit(text.charAt(to + 1))) {
+            to += 2;
+            while (to < text.length() && isDigit(text.charAt(to))) to++;
+        }
+        int dateSeparators = 0;
+        for (int k = from; k < to; k++) {
+            char c = text.charAt(k);
+            if (c == ':') return true;
+            if (c == '-' || c == '/' || c == '.') dateSeparators++;
+        }
+        return dateSeparators >= 2;
+    }
+
+    // tracking links and ids: the whitespace-delimited word around [start, end) is a URL
+    static boolean inUrl(CharSequence text, int start, int end) {
+        int from = start;
+        while (from > 0 && !Character.isWhitespace(text.charAt(from - 1))) from--;
+        int to = end;
+        while (to < text.length() && !Character.isWhitespace(text.charAt(to))) to++;
+        String word = text.subSequence(from, to).toString();
+        return word.contains("://") || word.regionMatches(true, 0, "www.", 0, 4);
+    }
+
+    private static boolean isJoiner(char c) {
+        return c == ':' || c == '-' || c == '/' || c == '.' || c == ',';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /** Estimated Jaccard similarity of two signatures, corrected for 8-bit collisions. */
+    public static double similarity(byte[] a, int aOffset, byte[] b, int bOffset) {
+        int equal = 0;
+        for (int k = 0; k < SIZE; k++) {
+            if (a[aOffset + k] == b[bOffset + k]) equal++;
+        }
+        double raw = (double) equal / SIZE;
+        return Math.max(0, (raw - 1.0 / 256) / (1 - 1.0 / 256));
+    }
+
+    /** The {@code band}-th group of {@link #ROWS} signature bytes as one int. */
+    static int bandKey(byte[] signature, int offset, int band) {
+        int p = offset + band * ROWS;
+        return (signature[p] & 0xff) << 24 | (signature[p + 1] & 0xff) << 16
+                | (signature[p + 2] & 0xff) << 8 | (signature[p + 3] & 0xff);
+    }
+
+    // SplitMix64 finalizer
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,55 @@
+package com.ai.summarizer.cache;
+
+import com.ai.summarizer.api.SummarizeResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Second-chance lookup behind the exact {@link SummaryCache}: reuses the stored summary of an
+ * input that is nearly the same text (same article, different tracking footer, timestamp or
+ * whitespace) requested with the same cap. Its figures must match exactly, dates and times aside.
+ * Inputs shorter than {@code min-words} are never matched, since a few shared phrases are not
+ * evidence of the same document.
+ */
+@Component
+public class NearDuplicateCache {
+    private final boolean enabled;
+    private final int minShingles;
+    private final NearDuplicateIndex index;
+    private final Counter hits;
+    private final Counter misses;
+
+    public NearDuplicateCache(@Value("${summarizer.cache.near-duplicate.enabled}") boolean enabled,
+                              @Value("${summarizer.cache.near-duplicate.capacity}") int capacity,
+                              @Value("${summarizer.cache.near-duplicate.min-similarity}") double minSimilarity,
+                              @Value("${summarizer.cache.near-duplicate.min-words}") int minWords,
+                              MeterRegistry registry) {
+        this.enabled = enabled;
+        this.minShingles = Math.max(1, minWords - 2);
+        this.index = enabled ? new NearDuplicateIndex(capacity, minSimilarity) : null;
+        this.hits = registry.counter("summary.cache.near.duplicate", "result", "hit");
+        this.misses = registry.counter("summary.cache.near.duplicate", "result", "miss");
+        if (enabled) {
+            Gauge.builder("summary.cache.near.duplicate.size", index, NearDuplicateIndex::size).register(registry);
+        }
+    }
+
+    /** Signature to pass to {@link #lookup} and {@link #store}; null when the input cannot be matched. */
+    public byte[] signature(String text) {
+        return enabled ? MinHash.signature(text, minShingles) : null;
+    }
+
+    public SummarizeResponse lookup(byte[] signature, int cap) {
+        if (signature == null) return null;
+        String summary = index.get(signature, cap);
+        (summary != null ? hits : misses).increment();
+        return summary == null ? null : new SummarizeResponse(summary);
+    }
+
+    public void store(byte[] signature, int cap, SummarizeResponse response) {
+        if (signature != null) index.put(signature, cap, response.summary());
+    }
+}
@@ -0,0 +1,127 @@
+package com.ai.summarizer.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fixed-capacity LSH index from {@link MinHash} signatures to summaries. Everything lives in
+ * preallocated primitive arrays: signatures in one {@code byte[]}, and per band a hash table whose
+ * buckets are chains threaded through an {@code int[]}. Nothing is boxed, and memory does not grow
+ * after construction.
+ *
+ * <p>Two documents become candidates when all {@link MinHash#ROWS} rows of any of the
+ * {@link MinHash#BANDS} bands agree. That is near certain above a Jaccard of ~0.8 and vanishingly
+ * unlikely for unrelated text, so a lookup visits a handful of slots whatever the size. Candidates
+ * are then checked against the full signature. Slots are reused in insertion order (FIFO), which
+ * bounds the index at {@code capacity} entries.
+ */
+public final class NearDuplicateIndex {
+    private static final int EMPTY = -1;
+
+    private final int capacity;
+    private final double minSimilarity;
+    private final byte[] signatures;
+    private final int[] caps;
+    private final String[] summaries;
+    private final int[][] heads; // [band][bucket] -> first slot
+    private final int[][] next;  // [band][slot] -> next slot in the same bucket
+    private final int mask;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int cursor;
+    private int size;
+
+    public NearDuplicateIndex(int capacity, double minSimilarity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        this.capacity = capacity;
+        this.minSimilarity = minSimilarity;
+        this.signatures = new byte[capacity * MinHash.LENGTH];
+        this.caps = new int[capacity];
+        this.summaries = new String[capacity];
+        int buckets = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = buckets - 1;
+        this.heads = new int[MinHash.BANDS][buckets];
+        this.next = new int[MinHash.BANDS][capacity];
+        for (int b = 0; b < MinHash.BANDS; b++) {
+            Arrays.fill(heads[b], EMPTY);
+        }
+    }
+
+    /**
+     * The summary of the most similar stored input with the same cap and the same figures, or null
+     * below the threshold.
+     */
+    public String get(byte[] signature, int cap) {
+        lock.readLock().lock();
+        try {
+            int best = EMPTY;
+            double bestSimilarity = minSimilarity;
+            for (int b = 0; b < MinHash.BANDS; b++) {
+                int key = MinHash.bandKey(signature, 0, b);
+                for (int slot = heads[b][bucket(key, b)]; slot != EMPTY; slot = next[b][slot]) {
+                    int offset = slot * MinHash.LENGTH;
+                    if (caps[slot] != cap || MinHash.bandKey(signatures, offset, b) != key
+                            || !MinHash.sameFigures(signature, 0, signatures, offset)) continue;
+                    double similarity = MinHash.similarity(signature, 0, signatures, offset);
+                    if (similarity >= bestSimilarity) {
+                        best = slot;
+                        bestSimilarity = similarity;
+                    }
+                }
+            }
+            return best == EMPTY ? null : summaries[best];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(byte[] signature, int cap, String summary) {
+        lock.writeLock().lock();
+        try {
+            int slot = cursor;
+            cursor = cursor + 1 == capacity ? 0 : cursor + 1;
+            if (summaries[slot] != null) {
+                unlink(slot);
+            } else {
+                size++;
+            }
+            System.arraycopy(signature, 0, signatures, slot * MinHash.LENGTH, MinHash.LENGTH);
+            caps[slot] = cap;
+            summaries[slot] = summary;
+            for (int b = 0; b < MinHash.BANDS; b++) {
+                int bucket = bucket(MinHash.bandKey(signature, 0, b), b);
+                next[b][slot] = heads[b][bucket];
+                heads[b][bucket] = slot;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Chains hold the entries sharing a band key (plus rare bucket collisions), so they stay short.
+    private void unlink(int slot) {
+        for (int b = 0; b < MinHash.BANDS; b++) {
+            int bucket = bucket(MinHash.bandKey(signatures, slot * MinHash.LENGTH, b), b);
+            int current = heads[b][bucket];
+            if (current == slot) {
+                heads[b][bucket] = next[b][slot];
+                continue;
+            }
+            while (next[b][current] != slot) current = next[b][current];
+            next[b][current] = next[b][slot];
+        }
+    }
+
+    private int bucket(int key, int band) {
+        return (int) MinHash.mix(key * 0x9E3779B97F4A7C15L + band) & mask;
+    }
+}
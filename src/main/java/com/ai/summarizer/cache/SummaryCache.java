@@ -0,0 +1,183 @@
+package com.ai.summarizer.cache;
+
+import com.ai.summarizer.api.SummarizeResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier summary cache. The heap tier is a weight-bounded Caffeine cache (W-TinyLFU eviction,
+ * TTL after write) holding futures, so concurrent identical loads share one upstream call. The
+ * optional disk tier receives entries evicted for size and is consulted before loading. The TTL
+ * counts from when a summary was first written: an entry promoted from disk keeps only the rest
+ * of its lifetime.
+ */
+@Component
+@ConditionalOnProperty(name = "summarizer.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class SummaryCache {
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final AsyncCache<String, Stored> heap;
+    private final long ttlNanos;
+    private final DiskSummaryStore disk; // null when the disk tier is disabled
+    private final Counter diskHits;
+    private final Counter diskMisses;
+    private final Counter diskSpills;
+
+    public SummaryCache(MeterRegistry registry,
+                        @Value("${summarizer.cache.max-heap-size}") DataSize maxHeapSize,
+                        @Value("${summarizer.cache.ttl}") Duration ttl,
+                        @Value("${summarizer.cache.disk.enabled}") boolean diskEnabled,
+                        @Value("${summarizer.cache.disk.directory}") Path diskDirectory,
+                        @Value("${summarizer.cache.disk.max-size}") DataSize diskMaxSize) {
+        this.disk = diskEnabled ? new DiskSummaryStore(diskDirectory, diskMaxSize.toBytes(), ttl) : null;
+        this.ttlNanos = ttl.toNanos();
+        this.heap = Caffeine.newBuilder()
+                .maximumWeight(maxHeapSize.toBytes())
+                .weigher((String key, Stored value) -> weigh(key, value))
+                .expireAfter(new Expiry<String, Stored>() {
+                    @Override
+                    public long expireAfterCreate(String key, Stored value, long currentTime) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Stored value, long currentTime, long currentDuration) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Stored value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((String key, Stored value, RemovalCause cause) -> spill(key, value, cause))
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(registry, heap.synchronous(), "summaries");
+        this.diskHits = registry.counter("summary.cache.disk", "result", "hit");
+        this.diskMisses = registry.counter("summary.cache.disk", "result", "miss");
+        this.diskSpills = registry.counter("summary.cache.disk.spills");
+    }
+
+    /** Returns the cached summary for {@code key}, or runs {@code loader} on the calling thread. */
+    public SummarizeResponse get(String key, Supplier<SummarizeResponse> loader) {
+        CompletableFuture<Stored> mine = new CompletableFuture<>();
+        CompletableFuture<Stored> cached = heap.get(key, (k, executor) -> mine);
+        if (cached != mine) {
+            return join(cached).response();
+        }
+        try {
+            Stored loaded = fromDisk(key).orElseGet(() -> Stored.now(loader.get()));
+            mine.complete(loaded);
+            return loaded.response();
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e); // failed futures are dropped by Caffeine, never cached
+            throw e;
+        }
+    }
+
+    /**
+     * Reactive variant of {@link #get}. The load is detached from the caller, so a cancelled
+     * subscriber does not abort the upstream call other waiters are sharing, but runs in the
+     * caller's context (and so for its tenant).
+     */
+    public Mono<SummarizeResponse> getReactive(String key, Supplier<Mono<SummarizeResponse>> loader) {
+        return Mono.deferContextual(context -> {
+            CompletableFuture<Stored> mine = new CompletableFuture<>();
+            CompletableFuture<Stored> cached = heap.get(key, (k, executor) -> mine);
+            if (cached == mine) {
+                diskLookup(key)
+                        .switchIfEmpty(Mono.defer(loader).map(Stored::now))
+                        .contextWrite(context)
+                        .toFuture()
+                        .whenComplete((value, error) -> {
+                            if (error != null) mine.completeExceptionally(error);
+                            else mine.complete(value);
+                        });
+            }
+            return Mono.fromFuture(cached, true).map(Stored::response);
+        });
+    }
+
+    /** Completed entry for {@code key} from either tier, without loading or waiting on in-flight loads. */
+    public Mono<SummarizeResponse> lookup(String key) {
+        return Mono.defer(() -> {
+            CompletableFuture<Stored> cached = heap.getIfPresent(key);
+            if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+                return Mono.justOrEmpty(cached.join().response());
+            }
+            return diskLookup(key).map(Stored::response);
+        });
+    }
+
+    public void put(String key, SummarizeResponse response) {
+        heap.put(key, CompletableFuture.completedFuture(Stored.now(response)));
+    }
+
+    // Disk reads must stay off the event loop on the reactive path.
+    private Mono<Stored> diskLookup(String key) {
+        if (disk == null) return Mono.empty();
+        return Mono.fromCallable(() -> fromDisk(key).orElse(null))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Optional<Stored> fromDisk(String key) {
+        if (disk == null) return Optional.empty();
+        Optional<Stored> hit = disk.get(key)
+                .map(entry -> new Stored(new SummarizeResponse(entry.summary()), entry.writtenAtMillis()));
+        (hit.isPresent() ? diskHits : diskMisses).increment();
+        return hit;
+    }
+
+    private void spill(String key, Stored value, RemovalCause cause) {
+        if (disk != null && cause == RemovalCause.SIZE && value != null) {
+            disk.put(key, value.response().summary(), value.writtenAtMillis());
+            diskSpills.increment();
+        }
+    }
+
+    private long remainingNanos(Stored value) {
+        long age = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - value.writtenAtMillis());
+        return Math.max(0, ttlNanos - age);
+    }
+
+    private static int weigh(String key, Stored value) {
+        return ENTRY_OVERHEAD_BYTES + 2 * (key.length() + value.response().summary().length());
+    }
+
+    private static Stored join(CompletableFuture<Stored> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    /** A cached summary and when it was first written, in epoch millis; the TTL counts from then. */
+    private record Stored(SummarizeResponse response, long writtenAtMillis) {
+        static Stored now(SummarizeResponse response) {
+            return new Stored(response, System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ai.summarizer.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content address of a summary: SHA-256 over the whitespace-normalized input plus everything that
+ * changes the model's answer (sentence cap, model, temperature).
+ */
+public final class SummaryCacheKey {
+    private static final int FLUSH_CHARS = 4096;
+
+    private SummaryCacheKey() {
+    }
+
+    public static String of(CharSequence text, int cap, String model, double temperature) {
+        MessageDigest digest = sha256();
+        digest.update(("v1|" + model + '|' + temperature + '|' + cap + '|').getBytes(StandardCharsets.UTF_8));
+
+        // Normalize on the fly (trim + collapse whitespace runs) instead of building a second copy.
+        StringBuilder chunk = new StringBuilder(FLUSH_CHARS + 1);
+        boolean seenText = false, pendingSpace = false;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = seenText;
+                continue;
+            }
+            if (pendingSpace) {
+                chunk.append(' ');
+                pendingSpace = false;
+            }
+            chunk.append(c);
+            seenText = true;
+            if (chunk.length() >= FLUSH_CHARS && !Character.isHighSurrogate(c)) {
+                digest.update(chunk.toString().getBytes(StandardCharsets.UTF_8));
+                chunk.setLength(0);
+            }
+        }
+        digest.update(chunk.toString().getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ai.summarizer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Transport settings for the Gemini {@code WebClient}: connection pool sizing and eviction plus the
+ * Reactor Netty {@code HttpClient} options. Bound from {@code gemini.http.*}.
+ */
+@ConfigurationProperties("gemini.http")
+public record GeminiHttpProperties(
+    int maxConnections,
+    int pendingAcquireMaxCount,
+    Duration pendingAcquireTimeout,
+    Duration maxIdleTime,
+    Duration maxLifeTime,
+    Duration evictionInterval,
+    boolean http2,
+    boolean keepAlive,
+    boolean compression,
+    Duration connectTimeout,
+    Duration responseTimeout,
+    boolean metrics) {
+}
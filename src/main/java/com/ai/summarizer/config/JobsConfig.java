@@ -0,0 +1,30 @@
+package com.ai.summarizer.config;
+
+import com.ai.summarizer.jobs.JobLog;
+import com.ai.summarizer.jobs.JobService;
+import com.ai.summarizer.service.SummarizerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+@EnableConfigurationProperties(JobsProperties.class)
+@ConditionalOnProperty(name = "summarizer.jobs.enabled", havingValue = "true", matchIfMissing = true)
+public class JobsConfig {
+
+  // Closed after the JobService lifecycle has stopped its workers.
+  @Bean(destroyMethod = "close")
+  public JobLog jobLog(JobsProperties jobs) {
+    return new JobLog(jobs.directory().resolve("jobs.log"), jobs.fsync());
+  }
+
+  // Callbacks go to arbitrary hosts, so they use the default builder rather than the upstream LLM pool.
+  @Bean
+  public JobService jobService(SummarizerService summarizerService, JobLog jobLog, JobsProperties jobs,
+                               WebClient.Builder webClientBuilder, MeterRegistry registry) {
+    return new JobService(summarizerService, jobLog, jobs, webClientBuilder.build(), registry);
+  }
+}
@@ -0,0 +1,32 @@
+package com.ai.summarizer.config;
+
+import com.ai.summarizer.api.SummaryLength;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/** Durable asynchronous summarization jobs; bound from {@code summarizer.jobs.*}. */
+@ConfigurationProperties("summarizer.jobs")
+public record JobsProperties(boolean enabled,
+                             Path directory,
+                             boolean fsync,
+                             int concurrency,
+                             int maxPending,
+                             Duration retention,
+                             DataSize compactThreshold,
+                             Map<SummaryLength, Integer> laneWeights,
+                             Webhook webhook,
+                             Retry retry) {
+
+  /** {@code allowedHosts}: the only callback hosts accepted; when empty, any host with only public addresses. */
+  public record Webhook(Duration timeout, int maxAttempts, List<String> allowedHosts) {
+  }
+
+  /** Runs per job, counting the first; transient failures wait {@code backoff}, doubling up to {@code maxBackoff}. */
+  public record Retry(int maxAttempts, Duration backoff, Duration maxBackoff) {
+  }
+}
@@ -0,0 +1,155 @@
+package com.ai.summarizer.config;
+
+import com.ai.summarizer.llm.BulkheadLlmClient;
+import com.ai.summarizer.llm.CoalescingLlmClient;
+import com.ai.summarizer.llm.GeminiClient;
+import com.ai.summarizer.llm.LlmClient;
+import com.ai.summarizer.llm.MockLlmClient;
+import com.ai.summarizer.llm.OpenAiClient;
+import com.ai.summarizer.llm.PackingLlmClient;
+import com.ai.summarizer.llm.RateLimitedLlmClient;
+import com.ai.summarizer.llm.ResilientLlmClient;
+import com.ai.summarizer.llm.RoutingLlmClient;
+import com.ai.summarizer.llm.TieredLlmClient;
+import com.ai.summarizer.ratelimit.Tenants;
+import com.ai.summarizer.ratelimit.TokenBucket;
+import com.ai.summarizer.resilience.AdaptiveConcurrencyLimiter;
+import com.ai.summarizer.resilience.CircuitBreaker;
+import com.ai.summarizer.resilience.GradientConcurrencyLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Assembles the {@link LlmClient} the services use: the provider client(s) plus their decorators. */
+@Configuration
+@EnableConfigurationProperties({LlmRoutingProperties.class, LlmResilienceProperties.class, MockLlmProperties.class,
+    LlmPackingProperties.class})
+public class LlmClientConfig {
+
+  @Bean
+  @Primary
+  public LlmClient llmClient(GeminiClient geminiClient,
+                             OpenAiClient openAiClient,
+                             LlmRoutingProperties routing,
+                             LlmResilienceProperties resilience,
+                             MockLlmProperties mock,
+                             LlmPackingProperties packing,
+                             Tenants tenants,
+                             TenantProperties tenantProperties,
+                             GeminiHttpProperties http,
+                             ConnectionProvider geminiConnectionProvider,
+                             Environment environment,
+                             MeterRegistry registry,
+                             ObservationRegistry observations,
+                             @Value("${llm.provider}") String provider,
+                             @Value("${llm.economy.model:}") String economyModel,
+                             @Value("${llm.economy.threshold-tokens}") int economyThresholdTokens,
+                             @Value("${gemini.max-concurrency}") int maxConcurrency,
+                             @Value("${gemini.acquire-timeout}") Duration acquireTimeout,
+                             @Value("${gemini.rate-limit}") double rateLimit,
+                             @Value("${gemini.rate-limit-burst}") int rateLimitBurst,
+                             @Value("${llm.coalescing.enabled}") boolean coalescing) {
+    LlmClient client = switch (provider) {
+      case "gemini" -> geminiClient;
+      case "openai" -> openAiClient;
+      case "mock" -> new MockLlmClient(mock.upstream());
+      default -> throw new IllegalStateException("Unknown llm.provider: " + provider);
+    };
+    AdaptiveConcurrencyLimiter limiter = null;
+    CircuitBreaker breaker = null;
+    if (resilience.enabled()) {
+      limiter = limiter(resilience, tenants, tenantProperties.quantumTokens(), registry);
+      breaker = breaker(resilience);
+    }
+    if (!economyModel.isBlank()) {
+      var economy = new LlmRoutingProperties.Route(provider + "-economy", provider, null, null, economyModel, null);
+      LlmClient economyClient = routeClient(economy, environment, http, geminiConnectionProvider, observations);
+      client = new TieredLlmClient(client, economyClient, economyThresholdTokens, registry);
+    }
+    if (!routing.routes().isEmpty() || routing.hedging().enabled()) {
+      List<RoutingLlmClient.Route> routes = new ArrayList<>();
+      routes.add(new RoutingLlmClient.Route(provider, client, 1.0));
+      for (LlmRoutingProperties.Route route : routing.routes()) {
+        routes.add(new RoutingLlmClient.Route(route.name(),
+            routeClient(route, environment, http, geminiConnectionProvider, observations),
+            route.weight() == null ? 1.0 : route.weight()));
+      }
+      var hedging = routing.hedging();
+      // Backups consult the resilience layer's limiter and breaker, so they only use spare capacity.
+      client = new RoutingLlmClient(routes, routing.ewmaAlpha(), new RoutingLlmClient.Hedging(
+          hedging.enabled(), hedging.minDelay(), hedging.initialDelay(), hedging.budgetPercent()),
+          limiter, breaker, registry);
+    }
+    if (resilience.enabled()) {
+      client = new ResilientLlmClient(client, limiter, breaker, resilience.callTimeout(), resilience.deadline(),
+          resilience.retry().maxRetries(), resilience.retry().minBackoff(), resilience.retry().maxBackoff(), registry);
+    }
+    // On virtual threads every request can block on the provider at once; bound it per provider.
+    if (Threading.VIRTUAL.isActive(environment)) {
+      client = new BulkheadLlmClient(provider, client, maxConcurrency, acquireTimeout);
+    }
+    // Outside the bulkhead so callers waiting for quota don't hold concurrency permits.
+    if (rateLimit > 0) {
+      client = new RateLimitedLlmClient(client, new TokenBucket(rateLimit, rateLimitBurst));
+    }
+    if (coalescing) {
+      client = new CoalescingLlmClient(client, registry);
+    }
+    // Outermost: one packed call then takes one rate-limit permit, one concurrency slot, one retry budget.
+    if (packing.enabled() && client.supportsJson()) {
+      client = new PackingLlmClient(client, packing.window(), packing.maxItems(), packing.maxItemTokens(),
+          packing.maxBatchTokens(), registry);
+    }
+    return client;
+  }
+
+  private static AdaptiveConcurrencyLimiter limiter(LlmResilienceProperties p, Tenants tenants, long quantum,
+                                                    MeterRegistry registry) {
+    var l = p.limit();
+    return new AdaptiveConcurrencyLimiter(
+        new GradientConcurrencyLimit(l.initial(), l.min(), l.max(), l.smoothing(), l.tolerance()),
+        l.maxQueue(), l.maxWait(), l.retryAfter(), tenants, quantum, registry);
+  }
+
+  private static CircuitBreaker breaker(LlmResilienceProperties p) {
+    var cb = p.circuitBreaker();
+    return new CircuitBreaker(cb.failureRateThreshold(), cb.window(), cb.minimumCalls(),
+        cb.openDuration(), cb.halfOpenProbes());
+  }
+
+  // Extra routes get their own client instance; unset fields default to that provider's settings.
+  private static LlmClient routeClient(LlmRoutingProperties.Route route,
+                                       Environment env,
+                                       GeminiHttpProperties http,
+                                       ConnectionProvider pool,
+                                       ObservationRegistry observations) {
+    String provider = route.provider();
+    if (!"gemini".equals(provider) && !"openai".equals(provider)) {
+      throw new IllegalStateException("Unknown provider '" + provider + "' for route " + route.name());
+    }
+    String baseUrl = orDefault(route.baseUrl(), env.getRequiredProperty(provider + ".base-url"));
+    String apiKey = orDefault(route.apiKey(), env.getRequiredProperty(provider + ".api-key"));
+    String model = orDefault(route.model(), env.getRequiredProperty(provider + ".model"));
+    double temperature = env.getRequiredProperty("llm.temperature", Double.class);
+    int maxTokens = env.getRequiredProperty("llm.max-tokens", Integer.class);
+    var webClient = WebClientsConfig.webClient(baseUrl, pool, http, observations);
+    return provider.equals("gemini")
+        ? new GeminiClient(webClient, apiKey, model, temperature, maxTokens)
+        : new OpenAiClient(webClient, apiKey, model, temperature, maxTokens);
+  }
+
+  private static String orDefault(String value, String fallback) {
+    return value == null || value.isBlank() ? fallback : value;
+  }
+}
@@ -0,0 +1,14 @@
+package com.ai.summarizer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** Micro-batching of small prompts into packed JSON calls; bound from {@code llm.packing.*}. */
+@ConfigurationProperties("llm.packing")
+public record LlmPackingProperties(boolean enabled,
+                                   Duration window,
+                                   int maxItems,
+                                   int maxItemTokens,
+                                   int maxBatchTokens) {
+}
@@ -0,0 +1,26 @@
+package com.ai.summarizer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** Adaptive limit, circuit breaker, deadlines and retries around LLM calls; bound from {@code llm.resilience.*}. */
+@ConfigurationProperties("llm.resilience")
+public record LlmResilienceProperties(boolean enabled,
+                                      Duration callTimeout,
+                                      Duration deadline,
+                                      Limit limit,
+                                      CircuitBreaker circuitBreaker,
+                                      Retry retry) {
+
+  public record Limit(int initial, int min, int max, double smoothing, double tolerance,
+                      int maxQueue, Duration maxWait, Duration retryAfter) {
+  }
+
+  public record CircuitBreaker(double failureRateThreshold, int window, int minimumCalls,
+                               Duration openDuration, int halfOpenProbes) {
+  }
+
+  public record Retry(int maxRetries, Duration minBackoff, Duration maxBackoff) {
+  }
+}
@@ -0,0 +1,26 @@
+package com.ai.summarizer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Extra upstreams balanced together with {@code llm.provider}, and the router's tuning. Bound from
+ * {@code llm.routing.*}. Unset route fields fall back to the provider's own {@code gemini.*} or
+ * {@code openai.*} settings.
+ */
+@ConfigurationProperties("llm.routing")
+public record LlmRoutingProperties(List<Route> routes, double ewmaAlpha, Hedging hedging) {
+
+  public List<Route> routes() {
+    return routes == null ? List.of() : routes;
+  }
+
+  public record Route(String name, String provider, String baseUrl, String apiKey, String model, Double weight) {
+  }
+
+  /** {@code budgetPercent}: backups allowed per hundred calls. */
+  public record Hedging(boolean enabled, Duration minDelay, Duration initialDelay, int budgetPercent) {
+  }
+}
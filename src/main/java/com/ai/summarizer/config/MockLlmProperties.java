@@ -0,0 +1,27 @@
+package com.ai.summarizer.config;
+
+import com.ai.summarizer.llm.SimulatedUpstream;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** The simulated provider used with {@code llm.provider: mock}; bound from {@code llm.mock.*}. */
+@ConfigurationProperties("llm.mock")
+public record MockLlmProperties(Latency latency,
+                                double errorRate,
+                                int errorStatus,
+                                RateLimitBursts rateLimitBursts,
+                                double tokensPerSecond) {
+
+  public record Latency(SimulatedUpstream.Distribution distribution, Duration median, Duration p99) {
+  }
+
+  public record RateLimitBursts(Duration every, Duration length) {
+  }
+
+  public SimulatedUpstream upstream() {
+    return new SimulatedUpstream(
+        SimulatedUpstream.latency(latency.distribution(), latency.median(), latency.p99()),
+        errorRate, errorStatus, rateLimitBursts.every(), rateLimitBursts.length(), tokensPerSecond);
+  }
+}
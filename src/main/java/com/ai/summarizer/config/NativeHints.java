@@ -0,0 +1,39 @@
+package com.ai.summarizer.config;
+
+import com.ai.summarizer.api.JobResponse;
+import com.ai.summarizer.llm.GeminiCachedContent;
+import com.ai.summarizer.llm.GeminiRequest;
+import com.ai.summarizer.llm.GeminiResponse;
+import com.ai.summarizer.llm.OpenAiChatRequest;
+import com.ai.summarizer.llm.OpenAiChatResponse;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Reflection hints for a native image. Spring AOT registers the types of controller bodies and
+ * configuration properties itself; these are the JSON types it cannot see: bodies sent and read
+ * with {@code WebClient} or a plain {@code ObjectMapper}, and the runtime classes of the maps and
+ * lists that JSON schemas and packed answers are built from.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+  @Override
+  public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+    BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+    bindings.registerReflectionHints(hints.reflection(),
+        GeminiRequest.class, GeminiResponse.class, GeminiCachedContent.class,
+        OpenAiChatRequest.class, OpenAiChatResponse.class,
+        JobResponse.class); // webhook body
+    // Jackson introspects the runtime class of each Map<String, Object> value
+    Stream.of(Map.of(), Map.of(1, 1), Map.of(1, 1, 2, 2), List.of(), List.of(1), List.of(1, 2, 3))
+        .map(Object::getClass)
+        .forEach(type -> hints.reflection().registerType(type));
+    hints.reflection().registerType(EnumMap.class);
+  }
+}
@@ -0,0 +1,14 @@
+package com.ai.summarizer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/** Fair-share weights of known tenants ({@code X-Client-Id} values); bound from {@code summarizer.tenants.*}. */
+@ConfigurationProperties("summarizer.tenants")
+public record TenantProperties(Map<String, Integer> weights, long quantumTokens) {
+
+  public TenantProperties {
+    weights = weights == null ? Map.of() : weights;
+  }
+}
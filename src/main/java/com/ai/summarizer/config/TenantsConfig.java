@@ -0,0 +1,16 @@
+package com.ai.summarizer.config;
+
+import com.ai.summarizer.ratelimit.Tenants;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(TenantProperties.class)
+public class TenantsConfig {
+
+  @Bean
+  public Tenants tenants(TenantProperties properties) {
+    return new Tenants(properties.weights());
+  }
+}
@@ -1,21 +1,83 @@
 package com.ai.summarizer.config;
 
+import io.micrometer.observation.ObservationRegistry;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
+@EnableConfigurationProperties(GeminiHttpProperties.class)
 public class WebClientsConfig {
 
+  // A dedicated pool instead of Reactor Netty's shared default (2 x cores connections), which queues
+  // bursts and churns connections that have to redo the TLS handshake.
+  @Bean(destroyMethod = "dispose")
+  public ConnectionProvider geminiConnectionProvider(GeminiHttpProperties http) {
+    return connectionProvider("gemini", http);
+  }
+
+  @Bean
+  public WebClient geminiWebClient(@Value("${gemini.base-url}") String baseUrl,
+                                   GeminiHttpProperties http,
+                                   ConnectionProvider geminiConnectionProvider,
+                                   ObservationRegistry observations) {
+    return webClient(baseUrl, geminiConnectionProvider, http, observations);
+  }
+
+  // Shares the pool and transport settings: Reactor Netty keeps a separate pool per remote host.
   @Bean
-  public WebClient geminiWebClient(@Value("${gemini.base-url}") String baseUrl) {
+  public WebClient openAiWebClient(@Value("${openai.base-url}") String baseUrl,
+                                   GeminiHttpProperties http,
+                                   ConnectionProvider geminiConnectionProvider,
+                                   ObservationRegistry observations) {
+    return webClient(baseUrl, geminiConnectionProvider, http, observations);
+  }
+
+  // Each exchange is observed: an http.client.requests timer, and a client span when tracing is on.
+  static WebClient webClient(String baseUrl, ConnectionProvider provider, GeminiHttpProperties http,
+                             ObservationRegistry observations) {
     return WebClient.builder()
         .baseUrl(baseUrl)
+        .observationRegistry(observations)
+        .clientConnector(new ReactorClientHttpConnector(httpClient(provider, http, baseUrl.startsWith("https:"))))
         .exchangeStrategies(ExchangeStrategies.builder()
             .codecs(c -> c.defaultCodecs().maxInMemorySize(2 * 1024 * 1024))
             .build())
         .build();
   }
-}
\ No newline at end of file
+
+  static ConnectionProvider connectionProvider(String name, GeminiHttpProperties http) {
+    return ConnectionProvider.builder(name)
+        .maxConnections(http.maxConnections())
+        .pendingAcquireMaxCount(http.pendingAcquireMaxCount())
+        .pendingAcquireTimeout(http.pendingAcquireTimeout())
+        .maxIdleTime(http.maxIdleTime())
+        .maxLifeTime(http.maxLifeTime())
+        .evictInBackground(http.evictionInterval())
+        // active/idle/pending connections and acquire time, published to the global Micrometer registry
+        .metrics(http.metrics())
+        .build();
+  }
+
+  static HttpClient httpClient(ConnectionProvider provider, GeminiHttpProperties http, boolean tls) {
+    HttpClient client = HttpClient.create(provider)
+        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(http.connectTimeout().toMillis()))
+        .option(ChannelOption.SO_KEEPALIVE, http.keepAlive())
+        .keepAlive(http.keepAlive())
+        .compress(http.compression())
+        .responseTimeout(http.responseTimeout());
+    // HTTP/2 is negotiated through ALPN, so it only applies to TLS endpoints; plain http stays on HTTP/1.1
+    if (http.http2() && tls) {
+      client = client.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+    }
+    return client;
+  }
+}
@@ -0,0 +1,132 @@
+package com.ai.summarizer.jobs;
+
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.InetNameResolver;
+import io.netty.resolver.InetSocketAddressResolver;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Promise;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which callback URLs jobs may post to. A callback is a request the service makes to a URL
+ * the caller chose, so without an allowlist only hosts whose every address is public qualify:
+ * loopback, private, link-local (cloud metadata), carrier-grade NAT, unique-local, multicast and
+ * wildcard addresses would reach into the service's own network. With {@code allowedHosts} set,
+ * only those hosts qualify, wherever they resolve.
+ *
+ * <p>Checks resolve the host, so they block. The URL is checked on submission; deliveries resolve
+ * through {@link #resolver()}, which applies the same check to the addresses it hands to the
+ * connection, so a name that resolves differently by then (DNS rebinding) cannot redirect them.
+ */
+public class CallbackPolicy {
+    private final Set<String> allowedHosts;
+
+    public CallbackPolicy(Collection<String> allowedHosts) {
+        this.allowedHosts = allowedHosts == null ? Set.of() : allowedHosts.stream()
+                .map(host -> host.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public void check(String url) {
+        URI uri;
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException e) {
+            throw new CallbackUrlRejectedException("Callback URL is not a valid URI: " + url);
+        }
+        String scheme = uri.getScheme();
+        if (!"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme)) {
+            throw new CallbackUrlRejectedException("Callback URL must be http or https: " + url);
+        }
+        String host = uri.getHost();
+        if (host == null) {
+            throw new CallbackUrlRejectedException("Callback URL has no host: " + url);
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        if (allowedHosts.contains(host)) return; // resolved only when a delivery connects
+        resolve(host);
+    }
+
+    /**
+     * Resolves hosts for the webhook client, failing with {@link CallbackUrlRejectedException} for
+     * any host {@link #check} would refuse, so a delivery only ever connects to checked addresses.
+     * Lookups run off the event loop.
+     */
+    public AddressResolverGroup<InetSocketAddress> resolver() {
+        return new AddressResolverGroup<>() {
+            @Override
+            protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+                return new InetSocketAddressResolver(executor, new InetNameResolver(executor) {
+                    @Override
+                    protected void doResolve(String host, Promise<InetAddress> promise) {
+                        resolveAsync(host, promise, addresses -> addresses.get(0));
+                    }
+
+                    @Override
+                    protected void doResolveAll(String host, Promise<List<InetAddress>> promise) {
+                        resolveAsync(host, promise, Function.identity());
+                    }
+                });
+            }
+        };
+    }
+
+    private <T> void resolveAsync(String host, Promise<T> promise, Function<List<InetAddress>, T> result) {
+        Schedulers.boundedElastic().schedule(() -> {
+            try {
+                promise.trySuccess(result.apply(resolve(host)));
+            } catch (RuntimeException e) {
+                promise.tryFailure(e);
+            }
+        });
+    }
+
+    // The addresses of a host that passes the policy; allowed hosts are taken wherever they resolve.
+    private List<InetAddress> resolve(String host) {
+        host = host.toLowerCase(Locale.ROOT);
+        if (!allowedHosts.isEmpty() && !allowedHosts.contains(host)) {
+            throw new CallbackUrlRejectedException("Callback host is not allowed: " + host);
+        }
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(host);
+        } catch (UnknownHostException e) {
+            throw new CallbackUrlRejectedException("Callback host does not resolve: " + host);
+        }
+        if (allowedHosts.isEmpty()) {
+            for (InetAddress address : addresses) {
+                if (!isPublic(address)) {
+                    throw new CallbackUrlRejectedException("Callback host resolves to a non-public address: " + host);
+                }
+            }
+        }
+        return List.of(addresses);
+    }
+
+    static boolean isPublic(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+        byte[] bytes = address.getAddress();
+        if (bytes.length == 4) {
+            int first = bytes[0] & 0xff;
+            int second = bytes[1] & 0xff;
+            return first != 0 && !(first == 100 && (second & 0xc0) == 64); // 0.0.0.0/8, 100.64.0.0/10
+        }
+        return (bytes[0] & 0xfe) != 0xfc; // fc00::/7
+    }
+}
@@ -0,0 +1,9 @@
+package com.ai.summarizer.jobs;
+
+/** Thrown when a job's callback URL points somewhere the service must not post to. */
+public class CallbackUrlRejectedException extends RuntimeException {
+
+    public CallbackUrlRejectedException(String message) {
+        super(message);
+    }
+}
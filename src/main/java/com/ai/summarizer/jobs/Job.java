@@ -0,0 +1,55 @@
+package com.ai.summarizer.jobs;
+
+import com.ai.summarizer.api.SummarizeRequest;
+import com.ai.summarizer.api.SummaryLength;
+
+import java.time.Instant;
+
+/**
+ * One asynchronous summarization, run for the {@code X-Client-Id} that submitted it. Immutable;
+ * each transition yields a new instance. {@code attempts} counts the runs that failed transiently
+ * and were queued again; the last such failure stays in {@code error} meanwhile. The request and
+ * client id are dropped once the job has finished, so retained results cost only their summary.
+ */
+public record Job(String id,
+                  JobStatus status,
+                  int attempts,
+                  String clientId,
+                  SummarizeRequest request,
+                  String callbackUrl,
+                  Instant createdAt,
+                  Instant finishedAt,
+                  String summary,
+                  String error) {
+
+    public static Job queued(String id, String clientId, SummarizeRequest request, String callbackUrl, Instant createdAt) {
+        return new Job(id, JobStatus.QUEUED, 0, clientId, request, callbackUrl, createdAt, null, null, null);
+    }
+
+    public Job running() {
+        return new Job(id, JobStatus.RUNNING, attempts, clientId, request, callbackUrl, createdAt, null, null, error);
+    }
+
+    /** Queued again after a transient failure. */
+    public Job retried(String error) {
+        return new Job(id, JobStatus.QUEUED, attempts + 1, clientId, request, callbackUrl, createdAt, null, null, error);
+    }
+
+    public Job succeeded(String summary, Instant at) {
+        return new Job(id, JobStatus.SUCCEEDED, attempts, null, null, callbackUrl, createdAt, at, summary, null);
+    }
+
+    public Job failed(String error, Instant at) {
+        return new Job(id, JobStatus.FAILED, attempts, null, null, callbackUrl, createdAt, at, null, error);
+    }
+
+    /** Priority lane: the sentence cap the service will apply, bucketed like {@link SummaryLength}. */
+    public SummaryLength lane() {
+        Integer cap = request.maxSentences();
+        if (cap == null || cap <= 0) {
+            return request.length() != null ? request.length() : SummaryLength.MEDIUM;
+        }
+        if (cap <= SummaryLength.SHORT.toSentenceCap()) return SummaryLength.SHORT;
+        return cap <= SummaryLength.MEDIUM.toSentenceCap() ? SummaryLength.MEDIUM : SummaryLength.LONG;
+    }
+}
@@ -0,0 +1,314 @@
+package com.ai.summarizer.jobs;
+
+import com.ai.summarizer.api.SummarizeRequest;
+import com.ai.summarizer.api.SummaryLength;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only job log: one record per submission, per retry and per outcome, each framed with its
+ * length and a CRC32, so pending jobs survive a restart or a kill -9. Opening the log replays it
+ * and cuts off a torn or corrupt tail. With {@code fsync}, {@link #submitted} returns only once the
+ * record is on disk; concurrent submitters share one flush. Retries and outcomes are never flushed
+ * eagerly, since losing one only means the job runs again.
+ */
+@Slf4j
+public class JobLog implements Closeable {
+    private static final byte SUBMITTED = 1;
+    private static final byte SUCCEEDED = 2;
+    private static final byte FAILED = 3;
+    private static final byte RETRIED = 4;
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 512 << 20;
+    private static final int NO_CAP = Integer.MIN_VALUE;
+
+    private final Path file;
+    private final boolean fsync;
+    private final List<Job> recovered;
+    // Lock order: syncLock, then this. Appends take only this; the channel is swapped under both.
+    private final Object syncLock = new Object();
+    private FileChannel channel;
+    private long written;
+    private volatile long synced;
+
+    public JobLog(Path file, boolean fsync) {
+        this.file = file;
+        this.fsync = fsync;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            Map<String, Job> jobs = new LinkedHashMap<>();
+            long valid = replay(jobs);
+            if (valid < channel.size()) {
+                log.warn("Truncating job log {} from {} to {} bytes after a torn or corrupt record",
+                        file, channel.size(), valid);
+                channel.truncate(valid);
+            }
+            channel.position(valid);
+            this.written = valid;
+            this.synced = valid;
+            this.recovered = List.copyOf(jobs.values());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open job log " + file, e);
+        }
+    }
+
+    /** Every job in the log as of opening, in submission order, with its latest recorded state. */
+    public List<Job> recovered() {
+        return recovered;
+    }
+
+    public void submitted(Job job) {
+        long end = append(encodeSubmitted(job));
+        if (fsync) sync(end);
+    }
+
+    /** Records that {@code job} failed transiently and was queued again. */
+    public void retried(Job job) {
+        append(encodeRetried(job));
+    }
+
+    public void finished(Job job) {
+        append(encodeFinished(job));
+    }
+
+    /**
+     * Rewrites the log with only {@code live} jobs and swaps it in atomically. The snapshot is
+     * taken with appends blocked, so a job recorded before the swap is in the new file.
+     */
+    public void compact(Supplier<Collection<Job>> live) {
+        Path tmp = file.resolveSibling(file.getFileName() + ".compact");
+        synchronized (syncLock) {
+            synchronized (this) {
+                try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    for (Job job : live.get()) {
+                        writeFully(out, frame(job.status().finished() ? encodeFinished(job) : encodeSubmitted(job)));
+                    }
+                    out.force(true);
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    channel.close();
+                    channel = FileChannel.open(file, StandardOpenOption.WRITE);
+                    written = channel.size();
+                    channel.position(written);
+                    synced = written;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to compact job log " + file, e);
+                }
+            }
+        }
+    }
+
+    public synchronized long size() {
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                channel.close();
+            }
+        }
+    }
+
+    private synchronized long append(byte[] payload) {
+        try {
+            written += writeFully(channel, frame(payload));
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to job log " + file, e);
+        }
+    }
+
+    // Group commit: whoever gets the lock flushes everything written so far, covering later callers too.
+    private void sync(long upTo) {
+        if (synced >= upTo) return;
+        synchronized (syncLock) {
+            if (synced >= upTo) return;
+            long end = size();
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to flush job log " + file, e);
+            }
+            synced = end;
+        }
+    }
+
+    private long replay(Map<String, Job> jobs) throws IOException {
+        long valid = 0;
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            while (true) {
+                int length;
+                int checksum;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length <= 0 || length > MAX_RECORD_BYTES) break;
+                byte[] payload = in.readNBytes(length);
+                if (payload.length < length) break;
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) break;
+                apply(ByteBuffer.wrap(payload), jobs);
+                valid += HEADER_BYTES + length;
+            }
+        }
+        return valid;
+    }
+
+    private static void apply(ByteBuffer in, Map<String, Job> jobs) {
+        byte type = in.get();
+        String id = readString(in);
+        Instant createdAt = Instant.ofEpochMilli(in.getLong());
+        String callbackUrl = readString(in);
+        switch (type) {
+            case SUBMITTED -> {
+                String text = readString(in);
+                int cap = in.getInt();
+                byte length = in.get();
+                SummarizeRequest request = new SummarizeRequest(text, cap == NO_CAP ? null : cap,
+                        length < 0 ? null : SummaryLength.values()[length]);
+                // Submissions logged before the client id was recorded end here and run as anonymous.
+                String clientId = in.hasRemaining() ? readString(in) : null;
+                Job queued = Job.queued(id, clientId, request, callbackUrl, createdAt);
+                // A compacted job that was already retried carries its attempts.
+                if (in.hasRemaining()) {
+                    queued = new Job(id, JobStatus.QUEUED, in.getInt(), clientId, request, callbackUrl, createdAt,
+                            null, null, readString(in));
+                }
+                // A submission recorded again by a racing compaction must not undo its outcome.
+                jobs.putIfAbsent(id, queued);
+            }
+            case RETRIED -> {
+                int attempts = in.getInt();
+                String error = readString(in);
+                jobs.computeIfPresent(id, (key, job) -> job.status().finished() ? job
+                        : new Job(id, JobStatus.QUEUED, attempts, job.clientId(), job.request(), callbackUrl,
+                                createdAt, null, null, error));
+            }
+            case SUCCEEDED, FAILED -> {
+                Instant finishedAt = Instant.ofEpochMilli(in.getLong());
+                String result = readString(in);
+                Job queued = new Job(id, JobStatus.QUEUED, 0, null, null, callbackUrl, createdAt, null, null, null);
+                jobs.put(id, type == SUCCEEDED ? queued.succeeded(result, finishedAt) : queued.failed(result, finishedAt));
+            }
+            default -> log.warn("Skipping job log record of unknown type {}", type);
+        }
+    }
+
+    private static byte[] encodeSubmitted(Job job) {
+        SummarizeRequest request = job.request();
+        return encode(out -> {
+            writeHeader(out, SUBMITTED, job);
+            writeString(out, request.text());
+            out.writeInt(request.maxSentences() == null ? NO_CAP : request.maxSentences());
+            out.writeByte(request.length() == null ? -1 : request.length().ordinal());
+            writeString(out, job.clientId());
+            if (job.attempts() > 0) {
+                out.writeInt(job.attempts());
+                writeString(out, job.error());
+            }
+        });
+    }
+
+    private static byte[] encodeRetried(Job job) {
+        return encode(out -> {
+            writeHeader(out, RETRIED, job);
+            out.writeInt(job.attempts());
+            writeString(out, job.error());
+        });
+    }
+
+    private static byte[] encodeFinished(Job job) {
+        return encode(out -> {
+            writeHeader(out, job.status() == JobStatus.SUCCEEDED ? SUCCEEDED : FAILED, job);
+            out.writeLong(job.finishedAt().toEpochMilli());
+            writeString(out, job.status() == JobStatus.SUCCEEDED ? job.summary() : job.error());
+        });
+    }
+
+    private static void writeHeader(DataOutputStream out, byte type, Job job) throws IOException {
+        out.writeByte(type);
+        writeString(out, job.id());
+        out.writeLong(job.createdAt().toEpochMilli());
+        writeString(out, job.callbackUrl());
+    }
+
+    private interface Encoder {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] encode(Encoder encoder) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            encoder.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory stream
+        }
+        return bytes.toByteArray();
+    }
+
+    // DataOutputStream.writeUTF stops at 64KB; documents are far larger.
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        String s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return s;
+    }
+
+    private static ByteBuffer frame(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        record.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+        return record;
+    }
+
+    private static int writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        int bytes = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return bytes;
+    }
+}
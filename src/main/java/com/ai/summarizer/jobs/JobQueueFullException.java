@@ -0,0 +1,17 @@
+package com.ai.summarizer.jobs;
+
+import java.time.Duration;
+
+/** Thrown when a job is submitted while the queue already holds {@code max-pending} jobs. */
+public class JobQueueFullException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public JobQueueFullException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+}
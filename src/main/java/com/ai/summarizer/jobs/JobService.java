@@ -0,0 +1,309 @@
+package com.ai.summarizer.jobs;
+
+import com.ai.summarizer.api.JobResponse;
+import com.ai.summarizer.api.SummarizeRequest;
+import com.ai.summarizer.api.SummaryLength;
+import com.ai.summarizer.config.JobsProperties;
+import com.ai.summarizer.llm.LlmDeadlineExceededException;
+import com.ai.summarizer.llm.LlmOverloadedException;
+import com.ai.summarizer.ratelimit.Tenants;
+import com.ai.summarizer.service.SummarizerService;
+import com.ai.summarizer.service.TokenBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.retry.Retry;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Accepts summarization jobs, records them in the {@link JobLog} before acknowledging them, and
+ * drains them through {@link SummarizerService} on {@code concurrency} worker threads, in
+ * {@link PriorityLanes} order, each as the tenant that submitted it. A job that fails transiently
+ * (overload, deadline, rate limit, upstream 429 or 5xx) goes back to its lane after an exponential
+ * backoff, up to {@code retry.maxAttempts} runs; any other failure is final. Jobs left queued or
+ * running by a crash are replayed on startup. Finished jobs stay pollable for {@code retention}; their
+ * callback URL, if any, receives the result as JSON when the {@link CallbackPolicy} allows it.
+ */
+@Slf4j
+public class JobService implements SmartLifecycle {
+    private static final Duration QUEUE_FULL_RETRY_AFTER = Duration.ofSeconds(30);
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(1);
+
+    private final SummarizerService summarizer;
+    private final JobLog jobLog;
+    private final JobsProperties properties;
+    private final WebClient webhooks;
+    private final CallbackPolicy callbacks;
+    private final PriorityLanes queue;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final long compactThreshold;
+    private volatile long compactAt;
+    private volatile Instant nextPrune = Instant.now().plus(PRUNE_INTERVAL);
+    private volatile boolean running;
+
+    private final Counter submitted;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter retries;
+    private final Timer queueLag;
+    private final Timer duration;
+    private final Counter webhooksDelivered;
+    private final Counter webhooksFailed;
+
+    public JobService(SummarizerService summarizer, JobLog jobLog, JobsProperties properties,
+                      WebClient webhooks, MeterRegistry registry) {
+        this.summarizer = summarizer;
+        this.jobLog = jobLog;
+        this.properties = properties;
+        this.callbacks = new CallbackPolicy(properties.webhook().allowedHosts());
+        this.webhooks = webhooks.mutate()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create().resolver(callbacks.resolver())))
+                .build();
+        this.queue = new PriorityLanes(properties.maxPending(), properties.laneWeights());
+        this.compactThreshold = properties.compactThreshold().toBytes();
+
+        int recovered = 0;
+        for (Job job : retained(jobLog.recovered())) {
+            jobs.put(job.id(), job);
+            if (!job.status().finished()) {
+                queue.add(job);
+                recovered++;
+            }
+        }
+        jobLog.compact(() -> retained(jobs.values()));
+        this.compactAt = Math.max(compactThreshold, 2 * jobLog.size());
+        if (recovered > 0) log.info("Recovered {} unfinished jobs from {}", recovered, properties.directory());
+
+        this.submitted = registry.counter("summarizer.jobs.submitted");
+        this.succeeded = registry.counter("summarizer.jobs.completed", "outcome", "succeeded");
+        this.failed = registry.counter("summarizer.jobs.completed", "outcome", "failed");
+        this.retries = registry.counter("summarizer.jobs.retries");
+        registry.counter("summarizer.jobs.recovered").increment(recovered);
+        this.queueLag = Timer.builder("summarizer.jobs.queue.lag")
+                .description("Time from submission until a worker picks the job up")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.duration = Timer.builder("summarizer.jobs.duration")
+                .description("Time a worker spends on one job")
+                .publishPercentileHistogram()
+                .register(registry);
+        for (SummaryLength lane : SummaryLength.values()) {
+            Gauge.builder("summarizer.jobs.queued", queue, q -> q.size(lane))
+                    .tag("lane", lane.name().toLowerCase())
+                    .register(registry);
+        }
+        Gauge.builder("summarizer.jobs.queue.oldest", queue, q -> q.oldestWait(Instant.now()).toMillis() / 1000.0)
+                .description("How long the oldest queued job has been waiting")
+                .baseUnit("seconds")
+                .register(registry);
+        this.webhooksDelivered = registry.counter("summarizer.jobs.webhooks", "outcome", "delivered");
+        this.webhooksFailed = registry.counter("summarizer.jobs.webhooks", "outcome", "failed");
+    }
+
+    /**
+     * Records the job durably, then queues it to run for {@code clientId}. Blocks for the callback
+     * URL check and the log write (and flush, with fsync).
+     */
+    public Job submit(SummarizeRequest request, String clientId, String callbackUrl) {
+        if (callbackUrl != null) callbacks.check(callbackUrl);
+        Job job = Job.queued(UUID.randomUUID().toString(), clientId, request, callbackUrl, Instant.now());
+        if (queue.size() >= properties.maxPending()) {
+            throw new JobQueueFullException("Job queue is full", QUEUE_FULL_RETRY_AFTER);
+        }
+        // In the map before the log, so a concurrent compaction's snapshot cannot miss a logged job.
+        jobs.put(job.id(), job);
+        try {
+            jobLog.submitted(job);
+        } catch (RuntimeException e) {
+            jobs.remove(job.id());
+            throw e;
+        }
+        if (!queue.offer(job)) {
+            // Lost the race for the last slot; the logged submission is failed rather than silently dropped.
+            finish(job.failed("Job queue is full", Instant.now()));
+            throw new JobQueueFullException("Job queue is full", QUEUE_FULL_RETRY_AFTER);
+        }
+        submitted.increment();
+        return job;
+    }
+
+    public Optional<Job> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < properties.concurrency(); i++) {
+            workers.add(Thread.ofPlatform().name("summarizer-job-" + i).daemon().start(this::work));
+        }
+    }
+
+    /** Interrupts the workers; a job cut short stays unfinished in the log and runs again after restart. */
+    @Override
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void work() {
+        while (running) {
+            Job job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            Job started = job.running();
+            jobs.put(job.id(), started);
+            if (job.attempts() == 0) queueLag.record(Duration.between(job.createdAt(), Instant.now()));
+            long start = System.nanoTime();
+            try {
+                String summary = Tenants.callAs(job.clientId(), () -> summarizer.summarize(job.request())).summary();
+                finish(started.succeeded(summary, Instant.now()));
+                succeeded.increment();
+            } catch (RuntimeException e) {
+                if (!running) return; // interrupted by shutdown: leave it to the replay
+                String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                if (isRetryable(e) && started.attempts() + 1 < properties.retry().maxAttempts()) {
+                    retry(started.retried(error), e);
+                } else {
+                    log.warn("Job {} failed", job.id(), e);
+                    finish(started.failed(error, Instant.now()));
+                    failed.increment();
+                }
+            } finally {
+                duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    // Logged before it is requeued, so a crash during the backoff replays it with its attempts.
+    private void retry(Job job, RuntimeException cause) {
+        Duration delay = backoff(job.attempts(), cause);
+        log.info("Job {} failed transiently (attempt {}), retrying in {}: {}", job.id(), job.attempts(), delay, job.error());
+        jobs.put(job.id(), job);
+        jobLog.retried(job);
+        retries.increment();
+        Schedulers.parallel().schedule(() -> queue.add(job), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Doubles per attempt up to maxBackoff, but never comes back before the failure's own Retry-After.
+    private Duration backoff(int attempts, RuntimeException cause) {
+        JobsProperties.Retry retry = properties.retry();
+        Duration delay = retry.backoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (delay.compareTo(retry.maxBackoff()) > 0) delay = retry.maxBackoff();
+        Duration retryAfter = null;
+        if (cause instanceof LlmOverloadedException o) retryAfter = o.retryAfter();
+        if (cause instanceof TokenBudgetExceededException t) retryAfter = t.retryAfter();
+        return retryAfter != null && retryAfter.compareTo(delay) > 0 ? retryAfter : delay;
+    }
+
+    /**
+     * Failures worth another run: load shed locally or by the provider, a blown deadline, a spent
+     * token budget. Validation errors, oversized inputs and other 4xx responses are final.
+     */
+    static boolean isRetryable(Throwable e) {
+        Throwable cause = Exceptions.unwrap(e);
+        return cause instanceof LlmOverloadedException
+                || cause instanceof LlmDeadlineExceededException
+                || cause instanceof TimeoutException
+                || (cause instanceof TokenBudgetExceededException t && t.retryAfter() != null)
+                || cause instanceof WebClientRequestException
+                || (cause instanceof WebClientResponseException w
+                && (w.getStatusCode().value() == 429 || w.getStatusCode().is5xxServerError()));
+    }
+
+    private void finish(Job job) {
+        jobs.put(job.id(), job);
+        jobLog.finished(job);
+        notifyCallback(job);
+        maintain();
+    }
+
+    private void notifyCallback(Job job) {
+        if (job.callbackUrl() == null) return;
+        JobsProperties.Webhook webhook = properties.webhook();
+        webhooks.post()
+                .uri(URI.create(job.callbackUrl()))
+                .bodyValue(JobResponse.of(job))
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(webhook.timeout())
+                .retryWhen(Retry.backoff(webhook.maxAttempts() - 1, Duration.ofSeconds(1))
+                        .filter(e -> !(e.getCause() instanceof CallbackUrlRejectedException)))
+                .subscribe(ok -> webhooksDelivered.increment(), e -> {
+                    webhooksFailed.increment();
+                    log.warn("Callback for job {} to {} failed", job.id(), job.callbackUrl(), e);
+                });
+    }
+
+    // Drops expired results about once a minute, and rewrites the log once it has doubled since the last rewrite.
+    private void maintain() {
+        Instant now = Instant.now();
+        if (now.isAfter(nextPrune)) {
+            nextPrune = now.plus(PRUNE_INTERVAL);
+            Instant cutoff = now.minus(properties.retention());
+            jobs.values().removeIf(job -> job.status().finished() && job.finishedAt().isBefore(cutoff));
+        }
+        if (jobLog.size() > compactAt && compacting.compareAndSet(false, true)) {
+            try {
+                jobLog.compact(() -> retained(jobs.values()));
+                compactAt = Math.max(compactThreshold, 2 * jobLog.size());
+            } catch (RuntimeException e) {
+                log.warn("Job log compaction failed", e);
+            } finally {
+                compacting.set(false);
+            }
+        }
+    }
+
+    private List<Job> retained(Iterable<Job> candidates) {
+        Instant cutoff = Instant.now().minus(properties.retention());
+        List<Job> kept = new ArrayList<>();
+        for (Job job : candidates) {
+            if (!job.status().finished() || job.finishedAt().isAfter(cutoff)) kept.add(job);
+        }
+        kept.sort(Comparator.comparing(Job::createdAt)); // the log replays in this order
+        return kept;
+    }
+}
@@ -0,0 +1,121 @@
+package com.ai.summarizer.jobs;
+
+import com.ai.summarizer.api.SummaryLength;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded job queue with one FIFO lane per {@link SummaryLength}, drained by weighted round robin:
+ * each round takes up to {@code weight} jobs from every non-empty lane, shortest summaries first.
+ * Short jobs overtake long ones without starving them.
+ */
+public class PriorityLanes {
+    private static final SummaryLength[] LANES = SummaryLength.values();
+
+    private final int capacity;
+    private final int[] weights = new int[LANES.length];
+    private final int[] credits = new int[LANES.length];
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Job>[] lanes = new ArrayDeque[LANES.length];
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private int size;
+
+    public PriorityLanes(int capacity, Map<SummaryLength, Integer> weights) {
+        this.capacity = capacity;
+        for (SummaryLength lane : LANES) {
+            int weight = weights.getOrDefault(lane, 1);
+            if (weight < 1) throw new IllegalArgumentException("Lane weight must be at least 1: " + lane);
+            this.weights[lane.ordinal()] = weight;
+            this.credits[lane.ordinal()] = weight;
+            this.lanes[lane.ordinal()] = new ArrayDeque<>();
+        }
+    }
+
+    /** Queues {@code job} in its lane; false when the queue is full. */
+    public boolean offer(Job job) {
+        lock.lock();
+        try {
+            if (size >= capacity) return false;
+            enqueue(job);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Queues {@code job} regardless of capacity; for jobs recovered on startup, which were already accepted. */
+    public void add(Job job) {
+        lock.lock();
+        try {
+            enqueue(job);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Job take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            while (true) {
+                for (int i = 0; i < LANES.length; i++) {
+                    if (credits[i] > 0 && !lanes[i].isEmpty()) {
+                        credits[i]--;
+                        size--;
+                        return lanes[i].poll();
+                    }
+                }
+                System.arraycopy(weights, 0, credits, 0, weights.length);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size(SummaryLength lane) {
+        lock.lock();
+        try {
+            return lanes[lane.ordinal()].size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** How long the oldest queued job has been waiting; zero when the queue is empty. */
+    public Duration oldestWait(Instant now) {
+        lock.lock();
+        try {
+            Instant oldest = null;
+            for (ArrayDeque<Job> lane : lanes) {
+                Job head = lane.peek();
+                if (head != null && (oldest == null || head.createdAt().isBefore(oldest))) oldest = head.createdAt();
+            }
+            return oldest == null ? Duration.ZERO : Duration.between(oldest, now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(Job job) {
+        lanes[job.lane().ordinal()].add(job);
+        size++;
+        notEmpty.signal();
+    }
+}
@@ -0,0 +1,115 @@
+package com.ai.summarizer.llm;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent blocking calls to one provider. Cheap virtual threads make it easy to park
+ * thousands of callers on the upstream at once; the semaphore keeps that number bounded.
+ *
+ * <p>Reactive, streamed and JSON calls go through the same permits without blocking: each holds
+ * its permit for the lifetime of the delegate's publisher, and gives it back on completion, error
+ * or cancellation. They subscribe to the delegate in the caller's context. Only when no permit is
+ * free does waiting for one occupy a {@code boundedElastic} thread, never the caller's.
+ */
+public class BulkheadLlmClient implements LlmClient {
+    private final String provider;
+    private final LlmClient delegate;
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    public BulkheadLlmClient(String provider, LlmClient delegate, int maxConcurrency, Duration acquireTimeout) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.provider = provider;
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public String summarize(String text, Integer maxSentences) {
+        acquire();
+        try {
+            return delegate.summarize(text, maxSentences);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+        return Mono.usingWhen(permit(), permit -> delegate.summarizeReactive(text, maxSentences), this::release);
+    }
+
+    @Override
+    public Flux<String> stream(String text, Integer maxSentences) {
+        return Flux.usingWhen(permit(), permit -> delegate.stream(text, maxSentences), this::release);
+    }
+
+    @Override
+    public String model() {
+        return delegate.model();
+    }
+
+    @Override
+    public boolean supportsJson() {
+        return delegate.supportsJson();
+    }
+
+    @Override
+    public Mono<String> generateJson(String prompt, Map<String, Object> schema, int answers) {
+        return Mono.usingWhen(permit(), permit -> delegate.generateJson(prompt, schema, answers), this::release);
+    }
+
+    /** Permits currently free; exposed for diagnostics and tests. */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    // A free permit is taken right away (in fair order); otherwise the wait runs on boundedElastic.
+    private Mono<Permit> permit() {
+        return Mono.defer(() -> {
+            if (tryAcquireNow()) return Mono.just(Permit.HELD);
+            return Mono.fromCallable(() -> {
+                        acquire();
+                        return Permit.HELD;
+                    })
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .doOnDiscard(Permit.class, permit -> permits.release()); // acquired after a cancel
+        });
+    }
+
+    private boolean tryAcquireNow() {
+        try {
+            return permits.tryAcquire(0, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Mono<Void> release(Permit permit) {
+        return Mono.fromRunnable(permits::release);
+    }
+
+    private enum Permit { HELD }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new LlmOverloadedException("Too many concurrent " + provider + " calls, try again later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmOverloadedException("Interrupted while waiting for a " + provider + " slot");
+        }
+    }
+}
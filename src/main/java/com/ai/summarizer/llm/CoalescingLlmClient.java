@@ -0,0 +1,112 @@
+package com.ai.summarizer.llm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight wrapper: while a call for a given prompt and cap is in flight, identical calls
+ * attach to it instead of issuing their own. The entry is removed as soon as the call settles, so
+ * nothing is cached here and a failure is seen only by the callers that were already waiting.
+ */
+public class CoalescingLlmClient implements LlmClient {
+    private final LlmClient delegate;
+    private final Map<PromptKey, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final Counter issued;
+    private final Counter coalesced;
+
+    public CoalescingLlmClient(LlmClient delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.issued = registry.counter("llm.requests", "outcome", "issued");
+        this.coalesced = registry.counter("llm.requests", "outcome", "coalesced");
+        registry.gauge("llm.requests.in.flight.keys", inFlight, Map::size);
+    }
+
+    @Override
+    public String summarize(String text, Integer maxSentences) {
+        PromptKey key = new PromptKey(text, maxSentences);
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> pending = inFlight.putIfAbsent(key, mine);
+        if (pending != null) {
+            coalesced.increment();
+            return join(pending);
+        }
+        issued.increment();
+        try {
+            String result = delegate.summarize(text, maxSentences);
+            settle(key, mine, result, null);
+            return result;
+        } catch (RuntimeException e) {
+            settle(key, mine, null, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+        return Mono.deferContextual(context -> {
+            PromptKey key = new PromptKey(text, maxSentences);
+            CompletableFuture<String> mine = new CompletableFuture<>();
+            CompletableFuture<String> pending = inFlight.putIfAbsent(key, mine);
+            if (pending != null) {
+                coalesced.increment();
+                return Mono.fromFuture(pending, true);
+            }
+            issued.increment();
+            // Detached from this subscriber: other waiters still need the result if it cancels.
+            // It still runs in the subscriber's context, so the limiter can tell its tenant.
+            delegate.summarizeReactive(text, maxSentences)
+                    .contextWrite(context)
+                    .toFuture()
+                    .whenComplete((result, error) -> settle(key, mine, result, error));
+            return Mono.fromFuture(mine, true);
+        });
+    }
+
+    /** Streams are per-subscriber (each one can cancel independently), so they are not shared. */
+    @Override
+    public Flux<String> stream(String text, Integer maxSentences) {
+        return delegate.stream(text, maxSentences);
+    }
+
+    // Packed prompts combine several callers' documents, so they practically never repeat.
+    @Override
+    public boolean supportsJson() {
+        return delegate.supportsJson();
+    }
+
+    @Override
+    public Mono<String> generateJson(String prompt, Map<String, Object> schema, int answers) {
+        return delegate.generateJson(prompt, schema, answers);
+    }
+
+    @Override
+    public String model() {
+        return delegate.model();
+    }
+
+    private void settle(PromptKey key, CompletableFuture<String> future, String result, Throwable error) {
+        // Unregister before completing so late arrivals start a fresh call rather than reuse this one.
+        inFlight.remove(key, future);
+        if (error != null) future.completeExceptionally(error);
+        else future.complete(result);
+    }
+
+    private static String join(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    // String caches its hash, so repeated lookups of the same prompt don't rescan it.
+    private record PromptKey(String text, Integer maxSentences) {}
+}
@@ -0,0 +1,34 @@
+package com.ai.summarizer.llm;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A {@code cachedContents} resource: sent with {@code model}, {@code contents} and {@code ttl} to
+ * create one, with only {@code ttl} to extend it; read back for its {@code name} and
+ * {@code expireTime}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GeminiCachedContent(String name,
+                                  String model,
+                                  List<GeminiRequest.Content> contents,
+                                  String ttl,
+                                  String expireTime) {
+
+    static GeminiCachedContent create(String model, String text, Duration ttl) {
+        return new GeminiCachedContent(null, "models/" + model, List.of(GeminiRequest.Content.user(text)), ttl(ttl), null);
+    }
+
+    static GeminiCachedContent extend(Duration ttl) {
+        return new GeminiCachedContent(null, null, null, ttl(ttl), null);
+    }
+
+    // google.protobuf.Duration in JSON: seconds with an "s" suffix
+    private static String ttl(Duration ttl) {
+        return ttl.toSeconds() + "s";
+    }
+}
@@ -1,64 +1,227 @@
 package com.ai.summarizer.llm;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.List;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
+import java.util.Optional;
 
+/**
+ * Gemini {@code generateContent} client. With context caching on, a document seen again is sent once
+ * as a {@code cachedContents} resource and later calls carry only the instruction plus a reference
+ * to it, so the document's prompt tokens are billed at the cached rate (see
+ * {@link GeminiContextCache}). JSON calls use Gemini's structured output ({@code responseMimeType}
+ * and {@code responseSchema}).
+ */
 @Component
-@RequiredArgsConstructor
 public class GeminiClient implements LlmClient {
+    private static final String PROVIDER = "gemini";
+    // A header rather than ?key=, so the key stays out of access logs, metrics and trace attributes.
+    private static final String API_KEY_HEADER = "x-goog-api-key";
     private final WebClient webClient;
+    private final String apiKey;
+    private final String model;
+    private final GeminiRequest.GenerationConfig generationConfig;
+    private final GeminiContextCache contextCache; // null when context caching is off
 
-    @Value("${gemini.api-key}")
-    private String apiKey;
-    @Value("${gemini.model}")
-    private String model;
-    @Value("${llm.temperature}")
-    private double temperature;
-    @Value("${llm.max-tokens}")
-    private int maxTokens;
+    /** Settings of {@code gemini.context-cache}. */
+    public record ContextCaching(boolean enabled, Duration ttl, int minTokens, long maxEntries) {
+        public static final ContextCaching OFF = new ContextCaching(false, Duration.ZERO, 0, 0);
+    }
+
+    @Autowired
+    public GeminiClient(@Qualifier("geminiWebClient") WebClient webClient,
+                        @Value("${gemini.api-key}") String apiKey,
+                        @Value("${gemini.model}") String model,
+                        @Value("${llm.temperature}") double temperature,
+                        @Value("${llm.max-tokens}") int maxTokens,
+                        @Value("${gemini.context-cache.enabled}") boolean contextCacheEnabled,
+                        @Value("${gemini.context-cache.ttl}") Duration contextCacheTtl,
+                        @Value("${gemini.context-cache.min-tokens}") int contextCacheMinTokens,
+                        @Value("${gemini.context-cache.max-entries}") long contextCacheMaxEntries) {
+        this(webClient, apiKey, model, temperature, maxTokens,
+                new ContextCaching(contextCacheEnabled, contextCacheTtl, contextCacheMinTokens, contextCacheMaxEntries));
+    }
+
+    public GeminiClient(WebClient webClient, String apiKey, String model, double temperature, int maxTokens) {
+        this(webClient, apiKey, model, temperature, maxTokens, ContextCaching.OFF);
+    }
+
+    public GeminiClient(WebClient webClient, String apiKey, String model, double temperature, int maxTokens,
+                        ContextCaching caching) {
+        this.webClient = webClient;
+        this.apiKey = apiKey;
+        this.model = model;
+        this.generationConfig = new GeminiRequest.GenerationConfig(temperature, maxTokens);
+        this.contextCache = caching.enabled()
+                ? new GeminiContextCache(caching.ttl(), caching.minTokens(), caching.maxEntries(),
+                        document -> createCache(document, caching.ttl()), this::extendCache, this::deleteCache)
+                : null;
+    }
 
-    // com/ai/summarizer/llm/GeminiClient.java
+    // Blocking adapter for servlet callers; the reactive path below is the real implementation.
     @Override
     public String summarize(String userContent, Integer ignoredCap) {
-        Map<String, Object> body = Map.of(
-                "contents", List.of(Map.of(
-                        "role", "user",
-                        "parts", List.of(Map.of("text", userContent))
-                )),
-                "generationConfig", Map.of(
-                        "temperature", temperature,
-                        "maxOutputTokens", maxTokens
-                )
-        );
-
-        Map<?, ?> resp = webClient.post()
-                .uri(u -> u.path("/v1beta/models/{model}:generateContent")
-                        .queryParam("key", apiKey)
-                        .build(model))
+        return summarizeReactive(userContent, ignoredCap).block();
+    }
+
+    @Override
+    public Mono<String> summarizeReactive(String userContent, Integer ignoredCap) {
+        if (contextCache == null) {
+            return generate(userContent, GeminiRequest.userPrompt(userContent, generationConfig));
+        }
+        PromptParts parts = PromptParts.of(userContent);
+        return cachedContent(parts).flatMap(cache -> cache.isEmpty()
+                ? generate(userContent, GeminiRequest.userPrompt(userContent, generationConfig))
+                : generate(userContent, GeminiRequest.cachedPrompt(cache.get(), parts.instruction(), generationConfig))
+                        .onErrorResume(GeminiClient::isCacheGone, e -> {
+                            contextCache.invalidate(parts.document());
+                            return generate(userContent, GeminiRequest.userPrompt(userContent, generationConfig));
+                        }));
+    }
+
+    @Override
+    public String model() {
+        return "gemini:" + model;
+    }
+
+    @Override
+    public boolean supportsJson() {
+        return true;
+    }
+
+    // Packed prompts hold several small documents, far below the context cache's minimum size.
+    @Override
+    public Mono<String> generateJson(String prompt, Map<String, Object> schema, int answers) {
+        return generate(prompt, GeminiRequest.userPrompt(prompt, generationConfig.json(schema, answers)));
+    }
+
+    private Mono<String> generate(String userContent, GeminiRequest request) {
+        return webClient.post()
+                .uri("/v1beta/models/{model}:generateContent", model)
+                .header(API_KEY_HEADER, apiKey)
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON)
-                .bodyValue(body)
+                .bodyValue(request)
                 .retrieve()
-                .bodyToMono(Map.class)
-                .block();
+                .bodyToMono(GeminiResponse.class)
+                .handle((resp, sink) -> {
+                    if (resp.usageMetadata() != null) {
+                        UpstreamMetrics.usage(PROVIDER, userContent,
+                                resp.usageMetadata().promptTokenCount(), resp.usageMetadata().candidatesTokenCount());
+                        UpstreamMetrics.cachedTokens(PROVIDER, resp.usageMetadata().cachedContentTokenCount());
+                    }
+                    String text = extractText(resp);
+                    if (text != null) sink.next(text);
+                })
+                .doOnError(e -> UpstreamMetrics.error(PROVIDER, e, GeminiClient::errorStatus));
+    }
 
-        if (resp != null && resp.containsKey("error")) {
-            Map<String, Object> err = (Map<String, Object>) resp.get("error");
-            throw new RuntimeException("Gemini API error (" + err.get("code") + "): " + err.get("message"));
+    // alt=sse makes Gemini frame each partial GenerateContentResponse as a server-sent event;
+    // cancelling the returned Flux closes the connection and stops generation upstream.
+    @Override
+    public Flux<String> stream(String userContent, Integer ignoredCap) {
+        if (contextCache == null) {
+            return streamGenerate(GeminiRequest.userPrompt(userContent, generationConfig));
         }
-        var candidates = resp == null ? null : (List<Map<String, Object>>) resp.get("candidates");
-        if (candidates == null || candidates.isEmpty()) return null;
-        var content = (Map<String, Object>) candidates.get(0).get("content");
-        var parts = content == null ? null : (List<Map<String, Object>>) content.get("parts");
-        if (parts == null || parts.isEmpty()) return null;
-        return (String) parts.get(0).get("text");
+        PromptParts parts = PromptParts.of(userContent);
+        // a missing cache fails the call before the first event, so falling back can't repeat output
+        return cachedContent(parts).flatMapMany(cache -> cache.isEmpty()
+                ? streamGenerate(GeminiRequest.userPrompt(userContent, generationConfig))
+                : streamGenerate(GeminiRequest.cachedPrompt(cache.get(), parts.instruction(), generationConfig))
+                        .onErrorResume(GeminiClient::isCacheGone, e -> {
+                            contextCache.invalidate(parts.document());
+                            return streamGenerate(GeminiRequest.userPrompt(userContent, generationConfig));
+                        }));
     }
 
+    private Flux<String> streamGenerate(GeminiRequest request) {
+        return webClient.post()
+                .uri("/v1beta/models/{model}:streamGenerateContent?alt=sse", model)
+                .header(API_KEY_HEADER, apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToFlux(GeminiResponse.class)
+                .handle((chunk, sink) -> {
+                    String text = extractText(chunk);
+                    if (text != null && !text.isEmpty()) sink.next(text);
+                })
+                .doOnError(e -> UpstreamMetrics.error(PROVIDER, e, GeminiClient::errorStatus));
+    }
+
+    // Only the document is cached: the instruction changes with the sentence cap and is far below
+    // the minimum cacheable size. A prompt without an instruction is sent as it is.
+    private Mono<Optional<String>> cachedContent(PromptParts parts) {
+        if (parts.instruction().isEmpty()) {
+            return Mono.just(Optional.empty());
+        }
+        return contextCache.lookup(parts.document()).map(Optional::of).defaultIfEmpty(Optional.empty());
+    }
+
+    private Mono<GeminiContextCache.Handle> createCache(String document, Duration ttl) {
+        return webClient.post()
+                .uri("/v1beta/cachedContents")
+                .header(API_KEY_HEADER, apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(GeminiCachedContent.create(model, document, ttl))
+                .retrieve()
+                .bodyToMono(GeminiCachedContent.class)
+                .map(created -> handle(created, ttl));
+    }
+
+    private Mono<GeminiContextCache.Handle> extendCache(String name, Duration ttl) {
+        return webClient.patch()
+                .uri("/v1beta/" + name + "?updateMask=ttl")
+                .header(API_KEY_HEADER, apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(GeminiCachedContent.extend(ttl))
+                .retrieve()
+                .bodyToMono(GeminiCachedContent.class)
+                .map(extended -> handle(extended, ttl));
+    }
+
+    private void deleteCache(String name) {
+        webClient.delete()
+                .uri("/v1beta/" + name)
+                .header(API_KEY_HEADER, apiKey)
+                .retrieve()
+                .toBodilessEntity()
+                .subscribe(deleted -> { }, e -> { }); // it expires on its own anyway
+    }
+
+    private static GeminiContextCache.Handle handle(GeminiCachedContent cache, Duration ttl) {
+        Instant expireTime = cache.expireTime() == null ? Instant.now().plus(ttl) : Instant.parse(cache.expireTime());
+        return new GeminiContextCache.Handle(cache.name(), expireTime);
+    }
 
+    // Gemini answers 403 or 404 for a cachedContent that has expired or been deleted.
+    private static boolean isCacheGone(Throwable e) {
+        return e instanceof WebClientResponseException w
+                && (w.getStatusCode().value() == 403 || w.getStatusCode().value() == 404);
+    }
+
+    static String extractText(GeminiResponse resp) {
+        if (resp.error() != null) {
+            throw new LlmApiException("Gemini API error (" + resp.error().code() + "): " + resp.error().message(),
+                    String.valueOf(resp.error().code()), resp.error().status());
+        }
+        return resp.firstText();
+    }
+
+    // Gemini error bodies look like {"error":{"code":429,"status":"RESOURCE_EXHAUSTED",...}}.
+    private static String errorStatus(WebClientResponseException e) {
+        GeminiResponse body = e.getResponseBodyAs(GeminiResponse.class);
+        return body == null || body.error() == null ? null : body.error().status();
+    }
 }
@@ -0,0 +1,171 @@
+package com.ai.summarizer.llm;
+
+import com.ai.summarizer.text.TokenEstimator;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Local registry of the Gemini context caches ({@code cachedContents}) holding documents we have
+ * sent, keyed by the document's SHA-256:
+ * <ul>
+ *   <li>a cache is created on a document's second sighting, and only if it reaches
+ *       {@code minTokens} (the provider's minimum, below which caching doesn't pay); concurrent
+ *       lookups share one creation;</li>
+ *   <li>a hit on a cache past half its TTL extends it in the background;</li>
+ *   <li>entries leave the registry shortly before the remote cache expires, and the remote cache is
+ *       deleted when its entry is evicted for size or invalidated, so storage stays bounded.</li>
+ * </ul>
+ * Lookups never fail: any problem with the cache means the caller sends the document itself.
+ */
+final class GeminiContextCache {
+
+    /** A remote cache: its resource name ({@code cachedContents/...}) and when it expires. */
+    record Handle(String name, Instant expireTime) {
+    }
+
+    private static final Duration MAX_EXPIRY_MARGIN = Duration.ofSeconds(30);
+
+    private final Duration ttl;
+    private final Duration margin;
+    private final int minTokens;
+    private final Function<String, Mono<Handle>> create;
+    private final BiFunction<String, Duration, Mono<Handle>> refresh;
+    private final Consumer<String> delete;
+    private final Cache<String, Boolean> seen;
+    private final AsyncCache<String, Handle> handles;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param create  creates a cache holding the given document
+     * @param refresh extends the named cache by the given TTL
+     * @param delete  deletes the named cache, fire-and-forget
+     */
+    GeminiContextCache(Duration ttl, int minTokens, long maxEntries,
+                       Function<String, Mono<Handle>> create,
+                       BiFunction<String, Duration, Mono<Handle>> refresh,
+                       Consumer<String> delete) {
+        this.ttl = ttl;
+        this.margin = ttl.dividedBy(10).compareTo(MAX_EXPIRY_MARGIN) < 0 ? ttl.dividedBy(10) : MAX_EXPIRY_MARGIN;
+        this.minTokens = minTokens;
+        this.create = create;
+        this.refresh = refresh;
+        this.delete = delete;
+        this.seen = Caffeine.newBuilder()
+                .maximumSize(maxEntries * 16)
+                .expireAfterWrite(ttl)
+                .build();
+        this.handles = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, Handle>() {
+                    @Override
+                    public long expireAfterCreate(String key, Handle handle, long currentTime) {
+                        return nanosToLive(handle);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Handle handle, long currentTime, long currentDuration) {
+                        return nanosToLive(handle);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Handle handle, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((String key, Handle handle, RemovalCause cause) -> {
+                    // EXPIRED caches are going away upstream anyway; REPLACED ones are the same cache, extended
+                    if (handle != null && (cause == RemovalCause.SIZE || cause == RemovalCause.EXPLICIT)) {
+                        count("delete");
+                        delete.accept(handle.name());
+                    }
+                })
+                .buildAsync();
+    }
+
+    /** Name of the cache holding {@code document}, or empty to send the document inline. */
+    Mono<String> lookup(String document) {
+        if (TokenEstimator.estimate(document) < minTokens) {
+            return Mono.empty();
+        }
+        String key = key(document);
+        CompletableFuture<Handle> pending = handles.getIfPresent(key);
+        if (pending != null) {
+            count("hit");
+        } else if (seen.asMap().putIfAbsent(key, Boolean.TRUE) == null) {
+            return Mono.empty();
+        } else {
+            pending = handles.get(key, (k, executor) -> {
+                count("create");
+                return create.apply(document).toFuture();
+            });
+        }
+        return Mono.fromFuture(pending, true)
+                .doOnNext(handle -> refreshIfDue(key, handle))
+                .map(Handle::name)
+                .onErrorResume(e -> {
+                    count("failure");
+                    return Mono.empty();
+                });
+    }
+
+    /** Forgets (and deletes) the cache for {@code document}, e.g. after the provider reported it gone. */
+    void invalidate(String document) {
+        handles.synchronous().invalidate(key(document));
+    }
+
+    private void refreshIfDue(String key, Handle handle) {
+        Duration left = Duration.between(Instant.now(), handle.expireTime());
+        if (left.compareTo(ttl.dividedBy(2)) >= 0 || !refreshing.add(key)) {
+            return;
+        }
+        count("refresh");
+        refresh.apply(handle.name(), ttl)
+                .doFinally(signal -> refreshing.remove(key))
+                .subscribe(extended -> handles.put(key, CompletableFuture.completedFuture(extended)),
+                        e -> {
+                            count("failure");
+                            handles.synchronous().invalidate(key);
+                        });
+    }
+
+    private long nanosToLive(Handle handle) {
+        return Math.max(0, Duration.between(Instant.now(), handle.expireTime()).minus(margin).toNanos());
+    }
+
+    private static void count(String event) {
+        Counter.builder("llm.context.cache")
+                .description("Gemini context cache lookups and lifecycle calls")
+                .tag("provider", "gemini")
+                .tag("event", event)
+                .register(Metrics.globalRegistry)
+                .increment();
+    }
+
+    private static String key(String document) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(document.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.ai.summarizer.llm;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body of a {@code generateContent} / {@code streamGenerateContent} call; only the fields we send.
+ * With {@code cachedContent} set, the cache's contents come before {@code contents}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GeminiRequest(List<Content> contents, GenerationConfig generationConfig, String cachedContent) {
+
+    public static GeminiRequest userPrompt(String text, GenerationConfig config) {
+        return new GeminiRequest(List.of(Content.user(text)), config, null);
+    }
+
+    /** {@code text} as the turn after the contents of the cache named {@code cachedContent}. */
+    public static GeminiRequest cachedPrompt(String cachedContent, String text, GenerationConfig config) {
+        return new GeminiRequest(List.of(Content.user(text)), config, cachedContent);
+    }
+
+    public record Content(String role, List<Part> parts) {
+
+        static Content user(String text) {
+            return new Content("user", List.of(new Part(text)));
+        }
+    }
+
+    public record Part(String text) {
+    }
+
+    /**
+     * Constant per client, so it is built once and shared by every request; JSON calls derive their
+     * own with {@link #json}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record GenerationConfig(double temperature, int maxOutputTokens,
+                                   String responseMimeType, Map<String, Object> responseSchema) {
+
+        public GenerationConfig(double temperature, int maxOutputTokens) {
+            this(temperature, maxOutputTokens, null, null);
+        }
+
+        /** JSON output matching {@code schema}, with {@code maxOutputTokens} scaled to {@code answers}. */
+        public GenerationConfig json(Map<String, Object> schema, int answers) {
+            return new GenerationConfig(temperature, maxOutputTokens * answers, "application/json", schema);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ai.summarizer.llm;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * The parts of a {@code GenerateContentResponse} (or one streamed chunk of it) that we read.
+ * Everything else — safety ratings, citations, logprobs — is skipped by the parser without being
+ * materialized.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GeminiResponse(List<Candidate> candidates, UsageMetadata usageMetadata, Error error) {
+
+    /** Text of the first part of the first candidate, or null if the response carries none. */
+    public String firstText() {
+        if (candidates == null || candidates.isEmpty()) return null;
+        Content content = candidates.get(0).content();
+        if (content == null || content.parts() == null || content.parts().isEmpty()) return null;
+        return content.parts().get(0).text();
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Candidate(Content content, String finishReason) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Content(List<Part> parts) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Part(String text) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record UsageMetadata(int promptTokenCount, int candidatesTokenCount, int totalTokenCount,
+                                int cachedContentTokenCount) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Error(int code, String message, String status) {
+    }
+}
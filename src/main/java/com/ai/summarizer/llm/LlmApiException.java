@@ -0,0 +1,21 @@
+package com.ai.summarizer.llm;
+
+/** An error the provider reported inside an otherwise successful (HTTP 200) response body. */
+public class LlmApiException extends RuntimeException {
+    private final String code;
+    private final String status;
+
+    public LlmApiException(String message, String code, String status) {
+        super(message);
+        this.code = code;
+        this.status = status;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public String status() {
+        return status;
+    }
+}
@@ -1,5 +1,52 @@
 package com.ai.summarizer.llm;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+
 public interface LlmClient {
     String summarize(String text, Integer maxSentences);
+
+    /**
+     * Non-blocking variant of {@link #summarize}. Clients backed by a reactive transport should
+     * override this; the default only moves the blocking call off the caller's thread.
+     */
+    default Mono<String> summarizeReactive(String text, Integer maxSentences) {
+        return Mono.fromCallable(() -> summarize(text, maxSentences))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Streams the summary as text deltas in arrival order. Cancelling the subscription must stop
+     * the upstream generation. The default emits the whole non-streamed summary as a single delta.
+     */
+    default Flux<String> stream(String text, Integer maxSentences) {
+        return summarizeReactive(text, maxSentences).flux();
+    }
+
+    /**
+     * What answers the prompts: provider and model, including every tier or route a decorator can
+     * send a prompt to. Summary cache keys and ETags include it, so changing a model retires the
+     * summaries it did not write.
+     */
+    default String model() {
+        return getClass().getSimpleName();
+    }
+
+    /** Whether {@link #generateJson} is available; decorators answer for the client they wrap. */
+    default boolean supportsJson() {
+        return false;
+    }
+
+    /**
+     * Answers {@code prompt} with a JSON document matching {@code schema} (an OpenAPI-style schema
+     * object, as Gemini's {@code responseSchema} takes it). {@code answers} is how many separate
+     * results the document carries, so the provider can scale its output budget. Only called when
+     * {@link #supportsJson} is true.
+     */
+    default Mono<String> generateJson(String prompt, Map<String, Object> schema, int answers) {
+        return Mono.error(new UnsupportedOperationException(getClass().getSimpleName() + " has no structured output"));
+    }
 }
@@ -0,0 +1,25 @@
+package com.ai.summarizer.llm;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import reactor.core.Exceptions;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Thrown by the blocking adapters when an LLM call runs past its deadline. The reactive chain
+ * signals a {@link TimeoutException}, but {@code block()} wraps checked exceptions, so blocking
+ * callers would otherwise see an opaque wrapper instead of the timeout.
+ */
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class LlmDeadlineExceededException extends RuntimeException {
+
+    public LlmDeadlineExceededException(TimeoutException cause) {
+        super("LLM call exceeded its deadline", cause);
+    }
+
+    /** What a blocking caller should throw for an error raised by {@code block()}. */
+    public static RuntimeException fromBlocking(RuntimeException e) {
+        return Exceptions.unwrap(e) instanceof TimeoutException t ? new LlmDeadlineExceededException(t) : e;
+    }
+}
@@ -0,0 +1,30 @@
+package com.ai.summarizer.llm;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+/**
+ * Thrown when an LLM call is refused locally because the provider is already saturated or failing.
+ * Carries a hint for when the client may retry, sent back as {@code Retry-After}.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class LlmOverloadedException extends RuntimeException {
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final Duration retryAfter;
+
+    public LlmOverloadedException(String message) {
+        this(message, DEFAULT_RETRY_AFTER);
+    }
+
+    public LlmOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,121 @@
+package com.ai.summarizer.llm;
+
+import com.ai.summarizer.text.SentenceCapper;
+import com.ai.summarizer.text.SentenceScanner;
+import com.ai.summarizer.text.TokenEstimator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process provider for load tests and offline runs ({@code llm.provider: mock}). It answers with
+ * the first sentences of the prompt's text (of each document, for a packed JSON call), after the latency, failures and output throughput of a
+ * {@link SimulatedUpstream}. Failures are raised as the {@link WebClientResponseException} a real
+ * provider's error response would produce, so retries, the circuit breaker and the error metrics
+ * behave as they do against Gemini.
+ */
+public class MockLlmClient implements LlmClient {
+    private static final String PROVIDER = "mock";
+    private static final int DEFAULT_SENTENCES = 5;
+
+    private final SimulatedUpstream upstream;
+
+    public MockLlmClient(SimulatedUpstream upstream) {
+        this.upstream = upstream;
+    }
+
+    @Override
+    public String summarize(String userContent, Integer maxSentences) {
+        return summarizeReactive(userContent, maxSentences).block();
+    }
+
+    @Override
+    public Mono<String> summarizeReactive(String userContent, Integer maxSentences) {
+        return Mono.defer(() -> {
+            int failure = upstream.nextFailure();
+            Mono<Long> firstToken = Mono.delay(upstream.nextLatency());
+            if (failure != 0) {
+                return firstToken.then(Mono.error(error(failure)));
+            }
+            String summary = summary(userContent, maxSentences);
+            return firstToken
+                    .then(Mono.delay(upstream.generationTime(TokenEstimator.estimate(summary))))
+                    .thenReturn(summary);
+        }).doOnError(e -> UpstreamMetrics.error(PROVIDER, e, w -> SimulatedUpstream.statusName(w.getStatusCode().value())));
+    }
+
+    /** One delta per sentence, each after the time its tokens take to generate. */
+    @Override
+    public Flux<String> stream(String userContent, Integer maxSentences) {
+        return Flux.defer(() -> {
+            int failure = upstream.nextFailure();
+            Mono<Long> firstToken = Mono.delay(upstream.nextLatency());
+            if (failure != 0) {
+                return firstToken.thenMany(Flux.error(error(failure)));
+            }
+            return firstToken.thenMany(Flux.fromIterable(sentences(summary(userContent, maxSentences)))
+                    .concatMap(sentence -> Mono.delay(upstream.generationTime(TokenEstimator.estimate(sentence)))
+                            .thenReturn(sentence)));
+        }).doOnError(e -> UpstreamMetrics.error(PROVIDER, e, w -> SimulatedUpstream.statusName(w.getStatusCode().value())));
+    }
+
+    @Override
+    public String model() {
+        return "mock";
+    }
+
+    @Override
+    public boolean supportsJson() {
+        return true;
+    }
+
+    @Override
+    public Mono<String> generateJson(String prompt, Map<String, Object> schema, int answers) {
+        return Mono.defer(() -> {
+            int failure = upstream.nextFailure();
+            Mono<Long> firstToken = Mono.delay(upstream.nextLatency());
+            if (failure != 0) {
+                return firstToken.then(Mono.error(error(failure)));
+            }
+            List<String> summaries = PackedPrompt.parse(prompt).stream()
+                    .map(task -> SentenceCapper.cap(task.document(), task.maxSentences()))
+                    .toList();
+            String answer = PackedPrompt.answer(summaries);
+            return firstToken
+                    .then(Mono.delay(upstream.generationTime(TokenEstimator.estimate(answer))))
+                    .thenReturn(answer);
+        }).doOnError(e -> UpstreamMetrics.error(PROVIDER, e, w -> SimulatedUpstream.statusName(w.getStatusCode().value())));
+    }
+
+    private static String summary(String userContent, Integer maxSentences) {
+        String document = PromptParts.of(userContent).document();
+        return SentenceCapper.cap(document, maxSentences == null ? DEFAULT_SENTENCES : maxSentences);
+    }
+
+    private static List<String> sentences(String text) {
+        List<String> sentences = new ArrayList<>();
+        SentenceScanner scanner = new SentenceScanner(text);
+        int from = 0, end;
+        while ((end = scanner.next(text.length(), true)) >= 0) {
+            sentences.add(text.substring(from, end));
+            from = end;
+        }
+        if (from < text.length()) sentences.add(text.substring(from));
+        return sentences;
+    }
+
+    private static WebClientResponseException error(int status) {
+        HttpStatus httpStatus = HttpStatus.resolve(status);
+        byte[] body = ("{\"error\":{\"code\":" + status + ",\"message\":\"simulated\",\"status\":\""
+                + SimulatedUpstream.statusName(status) + "\"}}").getBytes(StandardCharsets.UTF_8);
+        return WebClientResponseException.create(status, httpStatus == null ? "" : httpStatus.getReasonPhrase(),
+                HttpHeaders.EMPTY, body, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ai.summarizer.llm;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/** Body of an OpenAI-compatible {@code /chat/completions} call; only the fields we send. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OpenAiChatRequest(String model,
+                                List<Message> messages,
+                                double temperature,
+                                @JsonProperty("max_tokens") int maxTokens,
+                                Boolean stream) {
+
+    public static OpenAiChatRequest userPrompt(String model, String text, double temperature, int maxTokens, boolean stream) {
+        return new OpenAiChatRequest(model, List.of(new Message("user", text)), temperature, maxTokens, stream ? true : null);
+    }
+
+    public record Message(String role, String content) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.ai.summarizer.llm;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/** A chat completion, or one streamed {@code chat.completion.chunk}; unread fields are skipped. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record OpenAiChatResponse(List<Choice> choices, Usage usage, Error error) {
+
+    /** Message content of the first choice; for streamed chunks, the delta's content. */
+    public String firstText() {
+        if (choices == null || choices.isEmpty()) return null;
+        Choice choice = choices.get(0);
+        Message message = choice.message() != null ? choice.message() : choice.delta();
+        return message == null ? null : message.content();
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Choice(Message message, Message delta, @JsonProperty("finish_reason") String finishReason) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Message(String role, String content) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Usage(@JsonProperty("prompt_tokens") int promptTokens,
+                        @JsonProperty("completion_tokens") int completionTokens,
+                        @JsonProperty("total_tokens") int totalTokens) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Error(String message, String type, String code) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.ai.summarizer.llm;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** OpenAI-compatible {@code /chat/completions} client; also works with gateways that speak the same API. */
+@Component
+public class OpenAiClient implements LlmClient {
+    private static final String PROVIDER = "openai";
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE = new ParameterizedTypeReference<>() {
+    };
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final WebClient webClient;
+    private final String apiKey;
+    private final String model;
+    private final double temperature;
+    private final int maxTokens;
+
+    public OpenAiClient(@Qualifier("openAiWebClient") WebClient webClient,
+                        @Value("${openai.api-key}") String apiKey,
+                        @Value("${openai.model}") String model,
+                        @Value("${llm.temperature}") double temperature,
+                        @Value("${llm.max-tokens}") int maxTokens) {
+        this.webClient = webClient;
+        this.apiKey = apiKey;
+        this.model = model;
+        this.temperature = temperature;
+        this.maxTokens = maxTokens;
+    }
+
+    @Override
+    public String model() {
+        return "openai:" + model;
+    }
+
+    @Override
+    public String summarize(String userContent, Integer ignoredCap) {
+        return summarizeReactive(userContent, ignoredCap).block();
+    }
+
+    @Override
+    public Mono<String> summarizeReactive(String userContent, Integer ignoredCap) {
+        return webClient.post()
+                .uri("/chat/completions")
+                .headers(h -> h.setBearerAuth(apiKey))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(OpenAiChatRequest.userPrompt(model, userContent, temperature, maxTokens, false))
+                .retrieve()
+                .bodyToMono(OpenAiChatResponse.class)
+                .handle((resp, sink) -> {
+                    if (resp.usage() != null) {
+                        UpstreamMetrics.usage(PROVIDER, userContent,
+                                resp.usage().promptTokens(), resp.usage().completionTokens());
+                    }
+                    String text = extractText(resp);
+                    if (text != null) sink.next(text);
+                })
+                .doOnError(e -> UpstreamMetrics.error(PROVIDER, e, OpenAiClient::errorStatus));
+    }
+
+    // Each chunk is an SSE event carrying a chat.completion.chunk; the stream ends with "data: [DONE]".
+    @Override
+    public Flux<String> stream(String userContent, Integer ignoredCap) {
+        return webClient.post()
+                .uri("/chat/completions")
+                .headers(h -> h.setBearerAuth(apiKey))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(OpenAiChatRequest.userPrompt(model, userContent, temperature, maxTokens, true))
+                .retrieve()
+                .bodyToFlux(SSE)
+                .mapNotNull(ServerSentEvent::data)
+                .takeWhile(data -> !data.equals("[DONE]"))
+                .handle((data, sink) -> {
+                    String text = extractText(parse(data));
+                    if (text != null && !text.isEmpty()) sink.next(text);
+                })
+                .doOnError(e -> UpstreamMetrics.error(PROVIDER, e, OpenAiClient::errorStatus));
+    }
+
+    static String extractText(OpenAiChatResponse resp) {
+        if (resp.error() != null) {
+            throw new LlmApiException("OpenAI API error (" + resp.error().code() + "): " + resp.error().message(),
+                    "body", resp.error().code());
+        }
+        return resp.firstText();
+    }
+
+    // OpenAI error bodies look like {"error":{"type":"requests","code":"rate_limit_exceeded",...}}.
+    private static String errorStatus(WebClientResponseException e) {
+        OpenAiChatResponse body = e.getResponseBodyAs(OpenAiChatResponse.class);
+        return body == null || body.error() == null ? null : body.error().code();
+    }
+
+    private static OpenAiChatResponse parse(String data) {
+        try {
+            return MAPPER.readValue(data, OpenAiChatResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed OpenAI stream chunk", e);
+        }
+    }
+}
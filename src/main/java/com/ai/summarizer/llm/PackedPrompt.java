@@ -0,0 +1,138 @@
+package com.ai.summarizer.llm;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Several summarization prompts as one structured-output request. Each distinct document is written
+ * once; each prompt becomes a numbered task naming its document and carrying its own instruction.
+ * The answer is {@code {"summaries":[{"id":0,"summary":"..."},...]}}, one entry per task, matched
+ * back to the tasks by id rather than by position.
+ */
+final class PackedPrompt {
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Pattern DOCUMENT = Pattern.compile("<document id=\"(\\d+)\">\n(.*?)\n</document>",
+            Pattern.DOTALL);
+    private static final Pattern TASK = Pattern.compile(
+            "<task id=\"(\\d+)\" document=\"(\\d+)\" sentences=\"(\\d+)\">\n(.*?)\n</task>", Pattern.DOTALL);
+
+    static final String INSTRUCTION = "Below are numbered documents, then numbered tasks. Carry out each task "
+            + "on the document it names, independently of the other tasks and documents. Answer with one entry "
+            + "in \"summaries\" per task: the task's id and the resulting text.";
+
+    /** One packed prompt: its document, its sentence cap and its own instruction. */
+    record Task(String document, int maxSentences, String instruction) {
+    }
+
+    private final String prompt;
+    private final int tasks;
+
+    private PackedPrompt(String prompt, int tasks) {
+        this.prompt = prompt;
+        this.tasks = tasks;
+    }
+
+    static PackedPrompt of(List<Task> tasks) {
+        Map<String, Integer> documents = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            documents.putIfAbsent(task.document(), documents.size());
+        }
+        StringBuilder sb = new StringBuilder(INSTRUCTION).append("\n\n");
+        documents.forEach((document, id) ->
+                sb.append("<document id=\"").append(id).append("\">\n").append(document).append("\n</document>\n\n"));
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            sb.append("<task id=\"").append(i)
+                    .append("\" document=\"").append(documents.get(task.document()))
+                    .append("\" sentences=\"").append(task.maxSentences()).append("\">\n")
+                    .append(task.instruction()).append("\n</task>\n\n");
+        }
+        return new PackedPrompt(sb.toString().stripTrailing(), tasks.size());
+    }
+
+    String prompt() {
+        return prompt;
+    }
+
+    int tasks() {
+        return tasks;
+    }
+
+    /** The response schema: exactly one {@code {id, summary}} entry per task. */
+    Map<String, Object> schema() {
+        Map<String, Object> entry = Map.of(
+                "type", "OBJECT",
+                "properties", Map.of(
+                        "id", Map.of("type", "INTEGER"),
+                        "summary", Map.of("type", "STRING")),
+                "required", List.of("id", "summary"),
+                "propertyOrdering", List.of("id", "summary"));
+        return Map.of(
+                "type", "OBJECT",
+                "properties", Map.of("summaries", Map.of(
+                        "type", "ARRAY",
+                        "items", entry,
+                        "minItems", tasks,
+                        "maxItems", tasks)),
+                "required", List.of("summaries"));
+    }
+
+    /**
+     * The summaries in {@code json} by task id. Entries with an unknown or repeated id or no text are
+     * dropped, and an answer that isn't of this shape at all yields none, so any task can be missing.
+     */
+    Map<Integer, String> answers(String json) {
+        JsonNode summaries;
+        try {
+            summaries = JSON.readTree(json).path("summaries");
+        } catch (JsonProcessingException e) {
+            return Map.of();
+        }
+        Map<Integer, String> answers = new HashMap<>();
+        for (JsonNode entry : summaries) {
+            JsonNode id = entry.path("id");
+            JsonNode summary = entry.path("summary");
+            if (id.canConvertToInt() && id.intValue() >= 0 && id.intValue() < tasks && summary.isTextual()) {
+                answers.putIfAbsent(id.intValue(), summary.textValue());
+            }
+        }
+        return answers;
+    }
+
+    /** The tasks written in a packed {@code prompt}, in id order; for providers that simulate a model. */
+    static List<Task> parse(String prompt) {
+        Map<String, String> documents = new HashMap<>();
+        Matcher d = DOCUMENT.matcher(prompt);
+        while (d.find()) {
+            documents.put(d.group(1), d.group(2));
+        }
+        List<Task> tasks = new ArrayList<>();
+        Matcher t = TASK.matcher(prompt);
+        while (t.find()) {
+            tasks.add(new Task(documents.getOrDefault(t.group(2), ""), Integer.parseInt(t.group(3)), t.group(4)));
+        }
+        return tasks;
+    }
+
+    /** {@code summaries} (in task order) as the answer the schema describes. */
+    static String answer(List<String> summaries) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (int i = 0; i < summaries.size(); i++) {
+            entries.add(Map.of("id", i, "summary", summaries.get(i)));
+        }
+        try {
+            return JSON.writeValueAsString(Map.of("summaries", entries));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.ai.summarizer.llm;
+
+import com.ai.summarizer.ratelimit.Tenants;
+import com.ai.summarizer.text.TokenEstimator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-batches small summarization calls into JSON calls. Prompts arriving within {@code window}
+ * of the first one in a batch (up to {@code maxItems} of them, or {@code maxBatchTokens} of distinct
+ * documents) go upstream as one {@link PackedPrompt}, and each caller gets its own entry of the
+ * answer. Several lengths of one document share one copy of it, and identical prompts one task.
+ *
+ * <p>Prompts without an instruction or a cap, or with a document above {@code maxItemTokens}, are
+ * passed through. So is a batch of one, after its window, and any task the answer lacks. An
+ * upstream error fails every caller in the packed call.
+ *
+ * <p>Each tenant has its own open batch, so a packed call carries one tenant's prompts only: it is
+ * scheduled and metered as that tenant's work, and no caller's text shares a prompt with another
+ * tenant's. The packed call runs detached from its callers, so one cancelling doesn't fail the
+ * rest, in the context of the caller that opened the batch.
+ */
+public class PackingLlmClient implements LlmClient {
+    private final LlmClient delegate;
+    private final long windowNanos;
+    private final int maxItems;
+    private final int maxItemTokens;
+    private final int maxBatchTokens;
+    private final boolean supported;
+    private final DistributionSummary batchSize;
+    private final Counter packed;
+    private final Counter unpacked;
+    private final Object lock = new Object();
+    private final Map<String, Batch> open = new HashMap<>(); // by tenant, guarded by lock
+
+    public PackingLlmClient(LlmClient delegate, Duration window, int maxItems, int maxItemTokens,
+                            int maxBatchTokens, MeterRegistry registry) {
+        if (maxItems < 2) {
+            throw new IllegalArgumentException("maxItems must be at least 2: " + maxItems);
+        }
+        if (maxItemTokens > maxBatchTokens) {
+            throw new IllegalArgumentException("maxItemTokens must not exceed maxBatchTokens");
+        }
+        this.delegate = delegate;
+        this.windowNanos = window.toNanos();
+        this.maxItems = maxItems;
+        this.maxItemTokens = maxItemTokens;
+        this.maxBatchTokens = maxBatchTokens;
+        this.supported = delegate.supportsJson();
+        this.batchSize = DistributionSummary.builder("llm.packing.batch.size")
+                .description("Prompts per micro-batch sent upstream")
+                .register(registry);
+        this.packed = prompts(registry, "packed");
+        this.unpacked = prompts(registry, "unpacked");
+    }
+
+    private static Counter prompts(MeterRegistry registry, String outcome) {
+        return Counter.builder("llm.packing.prompts")
+                .description("Batched prompts answered by a packed call, or by a plain call after all")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @Override
+    public String summarize(String text, Integer maxSentences) {
+        Item item = item(text, maxSentences);
+        if (item == null) {
+            return delegate.summarize(text, maxSentences);
+        }
+        try {
+            return submit(item).contextWrite(Tenants::propagate).block();
+        } catch (RuntimeException e) {
+            throw LlmDeadlineExceededException.fromBlocking(e);
+        }
+    }
+
+    @Override
+    public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+        Item item = item(text, maxSentences);
+        return item == null ? delegate.summarizeReactive(text, maxSentences) : submit(item);
+    }
+
+    /** Streams are per-caller deltas, so they are never packed. */
+    @Override
+    public Flux<String> stream(String text, Integer maxSentences) {
+        return delegate.stream(text, maxSentences);
+    }
+
+    @Override
+    public String model() {
+        return delegate.model();
+    }
+
+    @Override
+    public boolean supportsJson() {
+        return supported;
+    }
+
+    @Override
+    public Mono<String> generateJson(String prompt, Map<String, Object> schema, int answers) {
+        return delegate.generateJson(prompt, schema, answers);
+    }
+
+    // null when the prompt is not worth packing
+    private Item item(String text, Integer maxSentences) {
+        if (!supported || maxSentences == null) return null;
+        PromptParts parts = PromptParts.of(text);
+        if (parts.instruction().isEmpty()) return null;
+        int tokens = TokenEstimator.estimate(parts.document());
+        if (tokens > maxItemTokens) return null;
+        return new Item(text, new PackedPrompt.Task(parts.document(), maxSentences, parts.instruction()), tokens);
+    }
+
+    private Mono<String> submit(Item item) {
+        return Mono.deferContextual(context -> Mono.fromFuture(enqueue(item, context), true));
+    }
+
+    private CompletableFuture<String> enqueue(Item item, ContextView context) {
+        List<Batch> sealed = new ArrayList<>(2);
+        CompletableFuture<String> result;
+        String tenant = Tenants.current(context);
+        synchronized (lock) {
+            Batch batch = open.get(tenant);
+            if (batch != null && !batch.fits(item, maxBatchTokens)) {
+                sealed.add(seal(batch));
+                batch = null;
+            }
+            if (batch == null) {
+                Batch created = new Batch(tenant, context);
+                created.timer = Schedulers.parallel().schedule(() -> expire(created), windowNanos, TimeUnit.NANOSECONDS);
+                open.put(tenant, created);
+                batch = created;
+            }
+            result = batch.add(item);
+            if (batch.items.size() >= maxItems) {
+                sealed.add(seal(batch));
+            }
+        }
+        sealed.forEach(this::dispatch);
+        return result;
+    }
+
+    // caller holds the lock
+    private Batch seal(Batch batch) {
+        open.remove(batch.tenant);
+        batch.timer.dispose();
+        return batch;
+    }
+
+    private void expire(Batch batch) {
+        synchronized (lock) {
+            if (!open.remove(batch.tenant, batch)) return; // already sealed when it filled up
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        List<Pending> pending = List.copyOf(batch.items.values());
+        batchSize.record(pending.size());
+        if (pending.size() == 1) {
+            passThrough(pending.get(0), batch.context);
+            return;
+        }
+        PackedPrompt prompt = PackedPrompt.of(pending.stream().map(p -> p.item.task()).toList());
+        delegate.generateJson(prompt.prompt(), prompt.schema(), prompt.tasks())
+                .map(prompt::answers)
+                .defaultIfEmpty(Map.of())
+                .contextWrite(batch.context)
+                .subscribe(answers -> {
+                    for (int i = 0; i < pending.size(); i++) {
+                        String answer = answers.get(i);
+                        if (answer == null) {
+                            passThrough(pending.get(i), batch.context);
+                        } else {
+                            packed.increment();
+                            pending.get(i).result.complete(answer);
+                        }
+                    }
+                }, error -> pending.forEach(p -> p.result.completeExceptionally(error)));
+    }
+
+    private void passThrough(Pending p, ContextView context) {
+        unpacked.increment();
+        delegate.summarizeReactive(p.item.prompt(), p.item.task().maxSentences())
+                .contextWrite(context)
+                .subscribe(p.result::complete, p.result::completeExceptionally, () -> p.result.complete(null));
+    }
+
+    private record Item(String prompt, PackedPrompt.Task task, int documentTokens) {
+    }
+
+    private record Pending(Item item, CompletableFuture<String> result) {
+    }
+
+    private static final class Batch {
+        final String tenant;
+        final ContextView context;
+        final Map<String, Pending> items = new LinkedHashMap<>(); // by prompt
+        final Set<String> documents = new HashSet<>();
+        int documentTokens;
+        Disposable timer;
+
+        Batch(String tenant, ContextView context) {
+            this.tenant = tenant;
+            this.context = context;
+        }
+
+        boolean fits(Item item, int maxTokens) {
+            return items.containsKey(item.prompt())
+                    || documents.contains(item.task().document())
+                    || documentTokens + item.documentTokens() <= maxTokens;
+        }
+
+        CompletableFuture<String> add(Item item) {
+            Pending existing = items.get(item.prompt());
+            if (existing != null) return existing.result;
+            Pending p = new Pending(item, new CompletableFuture<>());
+            items.put(item.prompt(), p);
+            if (documents.add(item.task().document())) documentTokens += item.documentTokens();
+            return p.result;
+        }
+    }
+}
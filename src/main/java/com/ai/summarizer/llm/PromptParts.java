@@ -0,0 +1,15 @@
+package com.ai.summarizer.llm;
+
+/**
+ * The two halves of a summarization prompt: the instruction, then a blank line, then the document
+ * (the shape {@code LlmSummarizerService} builds). A prompt without a blank line is all document.
+ */
+record PromptParts(String instruction, String document) {
+
+    static PromptParts of(String userContent) {
+        int body = userContent.indexOf("\n\n");
+        return body < 0
+                ? new PromptParts("", userContent)
+                : new PromptParts(userContent.substring(0, body), userContent.substring(body + 2));
+    }
+}
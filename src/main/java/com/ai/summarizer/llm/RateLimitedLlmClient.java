@@ -0,0 +1,64 @@
+package com.ai.summarizer.llm;
+
+import com.ai.summarizer.ratelimit.TokenBucket;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spaces calls to one provider according to its requests-per-second quota. Reactive callers wait on
+ * a timer instead of a thread, so a large batch queued behind the limit costs no threads.
+ */
+public class RateLimitedLlmClient implements LlmClient {
+    private final LlmClient delegate;
+    private final TokenBucket bucket;
+
+    public RateLimitedLlmClient(LlmClient delegate, TokenBucket bucket) {
+        this.delegate = delegate;
+        this.bucket = bucket;
+    }
+
+    @Override
+    public String summarize(String text, Integer maxSentences) {
+        long waitNanos = bucket.reserve(1);
+        if (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
+        }
+        return delegate.summarize(text, maxSentences);
+    }
+
+    @Override
+    public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+        return permit().then(delegate.summarizeReactive(text, maxSentences));
+    }
+
+    @Override
+    public Flux<String> stream(String text, Integer maxSentences) {
+        return permit().thenMany(delegate.stream(text, maxSentences));
+    }
+
+    @Override
+    public String model() {
+        return delegate.model();
+    }
+
+    @Override
+    public boolean supportsJson() {
+        return delegate.supportsJson();
+    }
+
+    @Override
+    public Mono<String> generateJson(String prompt, Map<String, Object> schema, int answers) {
+        return permit().then(delegate.generateJson(prompt, schema, answers));
+    }
+
+    private Mono<Void> permit() {
+        return Mono.defer(() -> {
+            long waitNanos = bucket.reserve(1);
+            return waitNanos == 0 ? Mono.empty() : Mono.delay(Duration.ofNanos(waitNanos)).then();
+        });
+    }
+}
@@ -0,0 +1,193 @@
+package com.ai.summarizer.llm;
+
+import com.ai.summarizer.ratelimit.Tenants;
+import com.ai.summarizer.resilience.AdaptiveConcurrencyLimiter;
+import com.ai.summarizer.resilience.CircuitBreaker;
+import com.ai.summarizer.text.TokenEstimator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Protects the service from a slow or failing provider:
+ * <ul>
+ *   <li>an {@link AdaptiveConcurrencyLimiter} caps calls in flight, queues the excess fairly across
+ *       tenants by estimated prompt tokens, and sheds what does not fit;</li>
+ *   <li>a {@link CircuitBreaker} fails fast while the provider keeps erroring;</li>
+ *   <li>each attempt has a timeout, and the whole call, retries included, has a deadline;</li>
+ *   <li>429 and 5xx responses are retried with jittered exponential backoff; nothing else is.</li>
+ * </ul>
+ * Local rejections surface as {@link LlmOverloadedException} carrying a retry-after hint.
+ */
+public class ResilientLlmClient implements LlmClient {
+    private final LlmClient delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CircuitBreaker breaker;
+    private final Duration callTimeout;
+    private final Duration deadline;
+    private final RetryBackoffSpec retry;
+    private final Counter circuitOpen;
+
+    public ResilientLlmClient(LlmClient delegate,
+                              AdaptiveConcurrencyLimiter limiter,
+                              CircuitBreaker breaker,
+                              Duration callTimeout,
+                              Duration deadline,
+                              int maxRetries,
+                              Duration minBackoff,
+                              Duration maxBackoff,
+                              MeterRegistry registry) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.breaker = breaker;
+        this.callTimeout = callTimeout;
+        this.deadline = deadline;
+        Counter retries = Counter.builder("llm.retries")
+                .description("LLM calls retried after a 429 or 5xx response")
+                .register(registry);
+        this.retry = Retry.backoff(maxRetries, minBackoff)
+                .maxBackoff(maxBackoff)
+                .jitter(0.5)
+                .filter(ResilientLlmClient::isRetryable)
+                .doBeforeRetry(signal -> retries.increment())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+        this.circuitOpen = Counter.builder("llm.requests.rejected")
+                .description("LLM calls shed locally instead of being sent upstream")
+                .tag("reason", "circuit_open")
+                .register(registry);
+        Gauge.builder("llm.circuit.state", breaker, b -> b.state().ordinal())
+                .description("0 = closed, 1 = half-open, 2 = open")
+                .register(registry);
+    }
+
+    // The deadline also bounds the blocking adapter, so servlet threads can no longer hang on .block().
+    @Override
+    public String summarize(String text, Integer maxSentences) {
+        try {
+            return summarizeReactive(text, maxSentences).contextWrite(Tenants::propagate).block();
+        } catch (RuntimeException e) {
+            throw LlmDeadlineExceededException.fromBlocking(e);
+        }
+    }
+
+    @Override
+    public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+        int tokens = TokenEstimator.estimate(text);
+        return guarded(tokens, () -> delegate.summarizeReactive(text, maxSentences).timeout(callTimeout))
+                .retryWhen(retry)
+                .timeout(deadline);
+    }
+
+    @Override
+    public String model() {
+        return delegate.model();
+    }
+
+    @Override
+    public boolean supportsJson() {
+        return delegate.supportsJson();
+    }
+
+    @Override
+    public Mono<String> generateJson(String prompt, Map<String, Object> schema, int answers) {
+        int tokens = TokenEstimator.estimate(prompt);
+        return guarded(tokens, () -> delegate.generateJson(prompt, schema, answers).timeout(callTimeout))
+                .retryWhen(retry)
+                .timeout(deadline);
+    }
+
+    // Streams are not retried: part of the summary may already be on its way to the client.
+    // The call timeout applies between deltas.
+    @Override
+    public Flux<String> stream(String text, Integer maxSentences) {
+        return Flux.defer(() -> {
+            if (!breaker.tryAcquire()) {
+                return Flux.error(circuitOpenException());
+            }
+            return Flux.usingWhen(
+                    acquireOrReleaseProbe(TokenEstimator.estimate(text)),
+                    permit -> delegate.stream(text, maxSentences).timeout(callTimeout),
+                    permit -> onSuccess(permit),
+                    (permit, error) -> onError(permit, error),
+                    permit -> onCancel(permit));
+        });
+    }
+
+    private Mono<String> guarded(int tokens, Supplier<Mono<String>> call) {
+        return Mono.defer(() -> {
+            if (!breaker.tryAcquire()) {
+                return Mono.error(circuitOpenException());
+            }
+            return Mono.usingWhen(
+                    acquireOrReleaseProbe(tokens),
+                    permit -> call.get(),
+                    permit -> onSuccess(permit),
+                    (permit, error) -> onError(permit, error),
+                    permit -> onCancel(permit));
+        });
+    }
+
+    private Mono<AdaptiveConcurrencyLimiter.Permit> acquireOrReleaseProbe(int tokens) {
+        // a call that never got a permit must not hold a half-open probe slot
+        return limiter.acquire(tokens)
+                .doOnError(e -> breaker.onIgnored())
+                .doOnCancel(breaker::onIgnored);
+    }
+
+    private Mono<Void> onSuccess(AdaptiveConcurrencyLimiter.Permit permit) {
+        return Mono.fromRunnable(() -> {
+            permit.success();
+            breaker.onSuccess();
+        });
+    }
+
+    private Mono<Void> onError(AdaptiveConcurrencyLimiter.Permit permit, Throwable error) {
+        return Mono.fromRunnable(() -> {
+            if (isDropped(error)) permit.dropped();
+            else permit.ignore();
+            if (isUpstreamFailure(error)) breaker.onFailure();
+            else breaker.onSuccess();
+        });
+    }
+
+    private Mono<Void> onCancel(AdaptiveConcurrencyLimiter.Permit permit) {
+        return Mono.fromRunnable(() -> {
+            permit.ignore();
+            breaker.onIgnored();
+        });
+    }
+
+    private LlmOverloadedException circuitOpenException() {
+        circuitOpen.increment();
+        Duration wait = breaker.retryAfter();
+        return new LlmOverloadedException("LLM provider is failing, circuit open", wait.isZero() ? Duration.ofSeconds(1) : wait);
+    }
+
+    static boolean isRetryable(Throwable e) {
+        return e instanceof WebClientResponseException w
+                && (w.getStatusCode().value() == 429 || w.getStatusCode().is5xxServerError());
+    }
+
+    // Signals that the upstream is at capacity: these shrink the concurrency limit.
+    static boolean isDropped(Throwable e) {
+        return e instanceof TimeoutException
+                || (e instanceof WebClientResponseException w
+                && (w.getStatusCode().value() == 429 || w.getStatusCode().value() == 503));
+    }
+
+    // Anything but a 4xx the caller caused counts against the provider's health.
+    static boolean isUpstreamFailure(Throwable e) {
+        return !(e instanceof WebClientResponseException w) || w.getStatusCode().value() == 429
+                || w.getStatusCode().is5xxServerError();
+    }
+}
@@ -0,0 +1,330 @@
+package com.ai.summarizer.llm;
+
+import com.ai.summarizer.resilience.AdaptiveConcurrencyLimiter;
+import com.ai.summarizer.resilience.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Spreads calls over several upstreams (providers, models or API keys). Each call picks a route at
+ * random with weight {@code configured weight x EWMA success rate / (EWMA latency x (in-flight + 1))},
+ * so a slow or failing route sheds traffic but keeps being probed.
+ *
+ * <p>With hedging enabled, a call that has not answered within its route's recent p95 latency fires
+ * a backup on another route (the same one if it is the only route) and takes whichever answers
+ * first; the other call is cancelled. Backups only use spare capacity: each call earns
+ * {@code budgetPercent}% of one, banked up to ten, and none is sent while the
+ * circuit breaker is not closed or the concurrency limiter has no free slot. A backup holds a
+ * limiter slot of its own while it runs.
+ */
+public class RoutingLlmClient implements LlmClient {
+    private static final double MIN_SUCCESS_RATE = 0.05;
+    private static final long MIN_SAMPLES_FOR_P95 = 20;
+    private static final long P95_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int HEDGE_BURST = 10;
+
+    public record Route(String name, LlmClient client, double weight) {
+    }
+
+    /** {@code budgetPercent}: backups allowed per hundred calls. */
+    public record Hedging(boolean enabled, Duration minDelay, Duration initialDelay, int budgetPercent) {
+        public static Hedging disabled() {
+            return new Hedging(false, Duration.ZERO, Duration.ZERO, 0);
+        }
+    }
+
+    private final RouteState[] routes;
+    private final double alpha;
+    private final Hedging hedging;
+    private final HedgeBudget hedgeBudget;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CircuitBreaker breaker;
+    private final Counter hedgesFired;
+    private final Counter hedgesWon;
+    private final Counter hedgesSkipped;
+
+    /** Without a limiter or breaker to consult: backups are bounded by the hedge budget alone. */
+    public RoutingLlmClient(List<Route> routes, double ewmaAlpha, Hedging hedging, MeterRegistry registry) {
+        this(routes, ewmaAlpha, hedging, null, null, registry);
+    }
+
+    /** {@code limiter} and {@code breaker} are those of the {@link ResilientLlmClient} around this client. */
+    public RoutingLlmClient(List<Route> routes, double ewmaAlpha, Hedging hedging,
+                            AdaptiveConcurrencyLimiter limiter, CircuitBreaker breaker, MeterRegistry registry) {
+        if (routes.isEmpty()) {
+            throw new IllegalArgumentException("at least one route is required");
+        }
+        if (ewmaAlpha <= 0 || ewmaAlpha > 1) {
+            throw new IllegalArgumentException("ewmaAlpha must be in (0, 1]: " + ewmaAlpha);
+        }
+        this.routes = routes.stream().map(r -> new RouteState(r, registry)).toArray(RouteState[]::new);
+        this.alpha = ewmaAlpha;
+        this.hedging = hedging;
+        this.hedgeBudget = new HedgeBudget(hedging.budgetPercent());
+        this.limiter = limiter;
+        this.breaker = breaker;
+        this.hedgesFired = Counter.builder("llm.hedges").tag("outcome", "fired")
+                .description("Backup requests sent because the first had not answered by its p95")
+                .register(registry);
+        this.hedgesWon = Counter.builder("llm.hedges").tag("outcome", "won")
+                .description("Backup requests that answered before the original")
+                .register(registry);
+        this.hedgesSkipped = Counter.builder("llm.hedges").tag("outcome", "skipped")
+                .description("Backup requests not sent: hedge budget spent, or the upstream at capacity")
+                .register(registry);
+    }
+
+    @Override
+    public String summarize(String text, Integer maxSentences) {
+        return summarizeReactive(text, maxSentences).block();
+    }
+
+    @Override
+    public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+        return Mono.defer(() -> {
+            RouteState primary = pick(null);
+            Mono<String> first = primary.call(client -> client.summarizeReactive(text, maxSentences));
+            if (!hedging.enabled()) {
+                return first;
+            }
+            hedgeBudget.deposit();
+            RouteState backup = routes.length > 1 ? pick(primary) : primary;
+            Mono<String> hedge = Mono.delay(primary.hedgeDelay())
+                    .then(Mono.defer(() -> backup(backup, client -> client.summarizeReactive(text, maxSentences))));
+            return Mono.firstWithValue(first, hedge).onErrorMap(RoutingLlmClient::firstCause);
+        });
+    }
+
+    // Empty when skipped, so the original alone decides the outcome.
+    private Mono<String> backup(RouteState route, Function<LlmClient, Mono<String>> request) {
+        if (breaker != null && breaker.state() != CircuitBreaker.State.CLOSED) {
+            hedgesSkipped.increment();
+            return Mono.empty();
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = limiter == null ? null : limiter.tryAcquire();
+        if ((limiter != null && permit == null) || !hedgeBudget.tryWithdraw()) {
+            if (permit != null) permit.ignore();
+            hedgesSkipped.increment();
+            return Mono.empty();
+        }
+        hedgesFired.increment();
+        Mono<String> call = route.call(request).doOnNext(v -> hedgesWon.increment());
+        if (permit == null) {
+            return call;
+        }
+        return call.doOnSuccess(v -> permit.success())
+                .doOnError(e -> {
+                    if (ResilientLlmClient.isDropped(e)) permit.dropped();
+                    else permit.ignore();
+                })
+                .doOnCancel(permit::ignore);
+    }
+
+    // Streams are not hedged: the first delta usually arrives well before a p95 would fire.
+    @Override
+    public Flux<String> stream(String text, Integer maxSentences) {
+        return Flux.defer(() -> pick(null).stream(text, maxSentences));
+    }
+
+    /** Only when every route has it, since any of them may be picked. */
+    @Override
+    public boolean supportsJson() {
+        for (RouteState route : routes) {
+            if (!route.route.client().supportsJson()) return false;
+        }
+        return true;
+    }
+
+    // Not hedged: a packed call carries several callers' work, so a backup would double all of it.
+    @Override
+    public Mono<String> generateJson(String prompt, Map<String, Object> schema, int answers) {
+        return Mono.defer(() -> pick(null).call(client -> client.generateJson(prompt, schema, answers)));
+    }
+
+    @Override
+    public String model() {
+        StringJoiner models = new StringJoiner(",", "routes[", "]");
+        for (RouteState route : routes) {
+            models.add(route.route.client().model());
+        }
+        return models.toString();
+    }
+
+    /** Current selection weight of each route, by name; for diagnostics and tests. */
+    public double weightOf(String name) {
+        double fallback = fastestSampledLatency();
+        for (RouteState route : routes) {
+            if (route.route.name().equals(name)) return route.weight(fallback);
+        }
+        throw new IllegalArgumentException("Unknown route: " + name);
+    }
+
+    private RouteState pick(RouteState exclude) {
+        if (routes.length == 1) return routes[0];
+        double fallback = fastestSampledLatency();
+        double[] weights = new double[routes.length];
+        double total = 0;
+        for (int i = 0; i < routes.length; i++) {
+            weights[i] = routes[i] == exclude ? 0 : routes[i].weight(fallback);
+            total += weights[i];
+        }
+        double r = ThreadLocalRandom.current().nextDouble(total);
+        for (int i = 0; i < routes.length; i++) {
+            r -= weights[i];
+            if (r < 0) return routes[i];
+        }
+        return routes[routes.length - 1];
+    }
+
+    // Routes without samples yet are assumed as fast as the best known one, so they get tried.
+    private double fastestSampledLatency() {
+        double min = Double.MAX_VALUE;
+        for (RouteState route : routes) {
+            if (route.samples > 0) min = Math.min(min, route.latencyNanos);
+        }
+        return min == Double.MAX_VALUE ? 1 : min;
+    }
+
+    // Mono.firstWithValue reports "all failed" as NoSuchElementException; surface the real cause.
+    private static Throwable firstCause(Throwable e) {
+        if (e instanceof NoSuchElementException && e.getSuppressed().length > 0) {
+            return e.getSuppressed()[0];
+        }
+        return e;
+    }
+
+    // Each call deposits budgetPercent hundredths of a backup, up to HEDGE_BURST backups; starts full.
+    private static final class HedgeBudget {
+        private final long deposit;
+        private final long capacity = HEDGE_BURST * 100L;
+        private final AtomicLong balance = new AtomicLong(capacity);
+
+        HedgeBudget(int percent) {
+            this.deposit = percent;
+        }
+
+        void deposit() {
+            balance.accumulateAndGet(deposit, (b, d) -> Math.min(capacity, b + d));
+        }
+
+        boolean tryWithdraw() {
+            while (true) {
+                long current = balance.get();
+                if (current < 100) return false;
+                if (balance.compareAndSet(current, current - 100)) return true;
+            }
+        }
+    }
+
+    private final class RouteState {
+        final Route route;
+        final Timer latency;
+        final Counter errors;
+        final AtomicInteger inFlight = new AtomicInteger();
+        // written under the monitor, read without it
+        volatile double latencyNanos;
+        volatile double successRate = 1.0;
+        volatile long samples;
+        volatile long hedgeDelayNanos;
+        volatile long hedgeDelayComputedAt = System.nanoTime() - P95_REFRESH_NANOS;
+
+        RouteState(Route route, MeterRegistry registry) {
+            this.route = route;
+            this.latency = Timer.builder("llm.route.latency")
+                    .tag("route", route.name())
+                    .publishPercentiles(0.95)
+                    .register(registry);
+            this.errors = Counter.builder("llm.route.errors").tag("route", route.name()).register(registry);
+            Gauge.builder("llm.route.ewma.latency", this, s -> s.latencyNanos / 1e9)
+                    .tag("route", route.name())
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("llm.route.in.flight", inFlight, AtomicInteger::get)
+                    .tag("route", route.name())
+                    .register(registry);
+        }
+
+        Mono<String> call(Function<LlmClient, Mono<String>> request) {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                inFlight.incrementAndGet();
+                return request.apply(route.client())
+                        .doOnSuccess(v -> recordSuccess(System.nanoTime() - start))
+                        .doOnError(e -> recordError())
+                        .doOnCancel(() -> recordCancelled(System.nanoTime() - start))
+                        .doFinally(s -> inFlight.decrementAndGet());
+            });
+        }
+
+        Flux<String> stream(String text, Integer maxSentences) {
+            return Flux.defer(() -> {
+                inFlight.incrementAndGet();
+                return route.client().stream(text, maxSentences)
+                        .doOnError(e -> recordError())
+                        .doFinally(s -> inFlight.decrementAndGet());
+            });
+        }
+
+        double weight(double fallbackLatency) {
+            double lat = samples > 0 ? latencyNanos : fallbackLatency;
+            double success = Math.max(MIN_SUCCESS_RATE, successRate);
+            return route.weight() * success / (Math.max(1, lat) * (inFlight.get() + 1));
+        }
+
+        Duration hedgeDelay() {
+            long now = System.nanoTime();
+            if (now - hedgeDelayComputedAt >= P95_REFRESH_NANOS) {
+                hedgeDelayNanos = latency.count() >= MIN_SAMPLES_FOR_P95 ? p95Nanos() : hedging.initialDelay().toNanos();
+                hedgeDelayComputedAt = now;
+            }
+            return Duration.ofNanos(Math.max(hedging.minDelay().toNanos(), hedgeDelayNanos));
+        }
+
+        private long p95Nanos() {
+            for (ValueAtPercentile v : latency.takeSnapshot().percentileValues()) {
+                if (v.percentile() == 0.95) return (long) v.value(TimeUnit.NANOSECONDS);
+            }
+            return hedging.initialDelay().toNanos();
+        }
+
+        synchronized void recordSuccess(long nanos) {
+            updateLatency(nanos);
+            successRate += alpha * (1 - successRate);
+            latency.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        // A call cancelled after losing a hedge race took at least this long; that only tells us
+        // something when it is slower than the current estimate (e.g. a route that has stalled).
+        synchronized void recordCancelled(long nanos) {
+            if (samples == 0 || nanos > latencyNanos) {
+                updateLatency(nanos);
+            }
+        }
+
+        private void updateLatency(long nanos) {
+            latencyNanos = samples == 0 ? nanos : latencyNanos + alpha * (nanos - latencyNanos);
+            samples++;
+        }
+
+        synchronized void recordError() {
+            successRate -= alpha * successRate;
+            errors.increment();
+        }
+    }
+}
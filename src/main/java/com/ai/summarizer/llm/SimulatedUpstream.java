@@ -0,0 +1,89 @@
+package com.ai.summarizer.llm;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Behaviour of a simulated LLM provider, shared by {@link MockLlmClient} and the
+ * {@code LlmStubServer} test fixture:
+ * <ul>
+ *   <li>time to first token drawn from a latency distribution;</li>
+ *   <li>independent failures at {@code errorRate} with {@code errorStatus};</li>
+ *   <li>quota bursts: for {@code burstLength} out of every {@code burstEvery}, every call gets 429,
+ *       the way a per-minute quota runs out;</li>
+ *   <li>output produced at {@code tokensPerSecond} after the first token (0 = instantly).</li>
+ * </ul>
+ * Thread-safe.
+ */
+public final class SimulatedUpstream {
+    /** z-score of the 99th percentile of a standard normal. */
+    private static final double Z_99 = 2.3263;
+
+    public enum Distribution { FIXED, UNIFORM, LOG_NORMAL }
+
+    private final Supplier<Duration> latency;
+    private final double errorRate;
+    private final int errorStatus;
+    private final long burstEveryNanos;
+    private final long burstLengthNanos;
+    private final double tokensPerSecond;
+    private final long epoch = System.nanoTime();
+
+    public SimulatedUpstream(Supplier<Duration> latency, double errorRate, int errorStatus,
+                             Duration burstEvery, Duration burstLength, double tokensPerSecond) {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.burstEveryNanos = burstEvery == null ? 0 : burstEvery.toNanos();
+        this.burstLengthNanos = burstLength == null ? 0 : burstLength.toNanos();
+        this.tokensPerSecond = tokensPerSecond;
+    }
+
+    /**
+     * Latency around {@code median}: fixed, uniform on [0, 2 * median], or log-normal with its 99th
+     * percentile at {@code p99} (the long tail real providers show).
+     */
+    public static Supplier<Duration> latency(Distribution distribution, Duration median, Duration p99) {
+        long medianNanos = median.toNanos();
+        return switch (distribution) {
+            case FIXED -> () -> median;
+            case UNIFORM -> () -> Duration.ofNanos(ThreadLocalRandom.current().nextLong(2 * medianNanos + 1));
+            case LOG_NORMAL -> {
+                double sigma = Math.log((double) Math.max(p99.toNanos(), medianNanos) / Math.max(1, medianNanos)) / Z_99;
+                yield () -> Duration.ofNanos((long) (medianNanos * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian())));
+            }
+        };
+    }
+
+    public Duration nextLatency() {
+        return latency.get();
+    }
+
+    /** The HTTP status the next call fails with, or 0 if it succeeds. */
+    public int nextFailure() {
+        if (burstEveryNanos > 0 && (System.nanoTime() - epoch) % burstEveryNanos < burstLengthNanos) {
+            return 429;
+        }
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate ? errorStatus : 0;
+    }
+
+    /** Google API status name for an HTTP status, as in Gemini's error bodies. */
+    static String statusName(int code) {
+        return switch (code) {
+            case 400 -> "INVALID_ARGUMENT";
+            case 403 -> "PERMISSION_DENIED";
+            case 404 -> "NOT_FOUND";
+            case 429 -> "RESOURCE_EXHAUSTED";
+            case 500 -> "INTERNAL";
+            case 503 -> "UNAVAILABLE";
+            case 504 -> "DEADLINE_EXCEEDED";
+            default -> "UNKNOWN";
+        };
+    }
+
+    /** Time to generate {@code tokens} of output after the first one. */
+    public Duration generationTime(int tokens) {
+        return tokensPerSecond <= 0 ? Duration.ZERO : Duration.ofNanos((long) (tokens * 1e9 / tokensPerSecond));
+    }
+}
@@ -0,0 +1,76 @@
+package com.ai.summarizer.llm;
+
+import com.ai.summarizer.text.TokenEstimator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Sends prompts above {@code thresholdTokens} (estimated locally) to a cheaper model. Cost and
+ * latency then stay flat for the large inputs that would otherwise dominate both; short prompts
+ * keep the standard model.
+ */
+public class TieredLlmClient implements LlmClient {
+    private final LlmClient standard;
+    private final LlmClient economy;
+    private final int thresholdTokens;
+    private final Counter standardCalls;
+    private final Counter economyCalls;
+
+    public TieredLlmClient(LlmClient standard, LlmClient economy, int thresholdTokens, MeterRegistry registry) {
+        this.standard = standard;
+        this.economy = economy;
+        this.thresholdTokens = thresholdTokens;
+        this.standardCalls = calls(registry, "standard");
+        this.economyCalls = calls(registry, "economy");
+    }
+
+    private static Counter calls(MeterRegistry registry, String tier) {
+        return Counter.builder("llm.tier.calls")
+                .description("LLM calls by model tier")
+                .tag("tier", tier)
+                .register(registry);
+    }
+
+    @Override
+    public String summarize(String text, Integer maxSentences) {
+        return pick(text).summarize(text, maxSentences);
+    }
+
+    @Override
+    public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+        return Mono.defer(() -> pick(text).summarizeReactive(text, maxSentences));
+    }
+
+    @Override
+    public Flux<String> stream(String text, Integer maxSentences) {
+        return Flux.defer(() -> pick(text).stream(text, maxSentences));
+    }
+
+    @Override
+    public String model() {
+        return standard.model() + "+economy>" + thresholdTokens + ":" + economy.model();
+    }
+
+    @Override
+    public boolean supportsJson() {
+        return standard.supportsJson() && economy.supportsJson();
+    }
+
+    @Override
+    public Mono<String> generateJson(String prompt, Map<String, Object> schema, int answers) {
+        return Mono.defer(() -> pick(prompt).generateJson(prompt, schema, answers));
+    }
+
+    LlmClient pick(String text) {
+        if (TokenEstimator.estimate(text) > thresholdTokens) {
+            economyCalls.increment();
+            return economy;
+        }
+        standardCalls.increment();
+        return standard;
+    }
+}
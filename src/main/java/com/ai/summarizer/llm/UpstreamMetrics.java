@@ -0,0 +1,91 @@
+package com.ai.summarizer.llm;
+
+import com.ai.summarizer.text.TokenEstimator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Per-provider meters for upstream calls:
+ * <ul>
+ *   <li>Token usage as the provider reports it, next to our local estimate for the same prompt. The
+ *       {@code llm.tokens.estimate.ratio} summary (estimate / actual) shows how far
+ *       {@link TokenEstimator}, and the budgets and thresholds built on it, can be trusted.</li>
+ *   <li>{@code llm.tokens.cached}: prompt tokens served from a provider-side context cache.</li>
+ *   <li>{@code llm.errors}, tagged with the HTTP (or in-body) error code and the provider's error
+ *       status, e.g. {@code 429 / RESOURCE_EXHAUSTED}.</li>
+ * </ul>
+ * Meters go to the global registry, which Spring Boot bridges to the application's registries.
+ */
+final class UpstreamMetrics {
+
+    private UpstreamMetrics() {
+    }
+
+    static void usage(String provider, String prompt, int promptTokens, int completionTokens) {
+        usage(Metrics.globalRegistry, provider, prompt, promptTokens, completionTokens);
+    }
+
+    static void usage(MeterRegistry registry, String provider, String prompt, int promptTokens, int completionTokens) {
+        if (promptTokens <= 0) return;
+        int estimated = TokenEstimator.estimate(prompt);
+        tokens(registry, "llm.tokens.estimated", provider, "Locally estimated prompt tokens").record(estimated);
+        tokens(registry, "llm.tokens.prompt", provider, "Prompt tokens reported by the provider").record(promptTokens);
+        tokens(registry, "llm.tokens.completion", provider, "Completion tokens reported by the provider").record(completionTokens);
+        DistributionSummary.builder("llm.tokens.estimate.ratio")
+                .description("Estimated over actual prompt tokens")
+                .tag("provider", provider)
+                .publishPercentiles(0.5, 0.95)
+                .register(registry)
+                .record((double) estimated / promptTokens);
+    }
+
+    static void cachedTokens(String provider, int tokens) {
+        if (tokens <= 0) return;
+        tokens(Metrics.globalRegistry, "llm.tokens.cached", provider, "Prompt tokens read from a context cache").record(tokens);
+    }
+
+    /**
+     * Counts a failed call. {@code bodyStatus} reads the provider's error status out of an HTTP
+     * error body; it may return null.
+     */
+    static void error(String provider, Throwable e, Function<WebClientResponseException, String> bodyStatus) {
+        String code;
+        String status = null;
+        if (e instanceof WebClientResponseException w) {
+            code = String.valueOf(w.getStatusCode().value());
+            try {
+                status = bodyStatus.apply(w);
+            } catch (RuntimeException undecodable) {
+                // not the provider's JSON error shape (e.g. an HTML page from a proxy)
+            }
+        } else if (e instanceof LlmApiException api) {
+            code = api.code();
+            status = api.status();
+        } else if (e instanceof TimeoutException) {
+            code = "timeout";
+        } else {
+            code = "transport";
+        }
+        Counter.builder("llm.errors")
+                .description("Failed upstream LLM calls by error code")
+                .tag("provider", provider)
+                .tag("code", code)
+                .tag("status", status == null || status.isBlank() ? "none" : status)
+                .register(Metrics.globalRegistry)
+                .increment();
+    }
+
+    private static DistributionSummary tokens(MeterRegistry registry, String name, String provider, String description) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("tokens")
+                .tag("provider", provider)
+                .register(registry);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ai.summarizer.ratelimit;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Tenants are callers as identified by the {@code X-Client-Id} header; requests without one share
+ * the {@link #ANONYMOUS} tenant. The tenant travels with a request in the Reactor {@link Context}
+ * (or, on the blocking stack, in a thread-local the blocking adapters copy into it), so components
+ * far from the controller, like the LLM call scheduler, can tell tenants apart.
+ *
+ * <p>Configured tenants have a fair-share weight and their own metric tags; all others weigh 1 and
+ * are tagged {@link #OTHER}, so arbitrary client ids never create new time series.
+ */
+public final class Tenants {
+    public static final String ANONYMOUS = "anonymous";
+    public static final String OTHER = "other";
+    public static final Tenants NONE = new Tenants(Map.of());
+
+    private static final String CONTEXT_KEY = Tenants.class.getName();
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> weights;
+
+    public Tenants(Map<String, Integer> weights) {
+        weights.forEach((tenant, weight) -> {
+            if (weight == null || weight < 1) {
+                throw new IllegalArgumentException("Tenant weight must be at least 1: " + tenant);
+            }
+        });
+        this.weights = Map.copyOf(weights);
+    }
+
+    /** The tenant a client id belongs to. */
+    public static String id(String clientId) {
+        return clientId == null || clientId.isBlank() ? ANONYMOUS : clientId;
+    }
+
+    public int weight(String tenant) {
+        return weights.getOrDefault(tenant, 1);
+    }
+
+    /** Metric tag value for {@code tenant}: itself if configured (or anonymous), else {@link #OTHER}. */
+    public String tag(String tenant) {
+        return weights.containsKey(tenant) || ANONYMOUS.equals(tenant) ? tenant : OTHER;
+    }
+
+    /** Context entry marking everything downstream as work for {@code clientId}'s tenant. */
+    public static Context context(String clientId) {
+        return Context.of(CONTEXT_KEY, id(clientId));
+    }
+
+    /** The tenant the subscriber works for; {@link #ANONYMOUS} if none was set. */
+    public static String current(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, ANONYMOUS);
+    }
+
+    /** Runs blocking {@code work} for {@code clientId}'s tenant; see {@link #propagate}. */
+    public static <T> T callAs(String clientId, Supplier<T> work) {
+        String previous = CURRENT.get();
+        CURRENT.set(id(clientId));
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) CURRENT.remove();
+            else CURRENT.set(previous);
+        }
+    }
+
+    /** For {@code contextWrite} before a {@code block()}: carries the thread's tenant into the pipeline. */
+    public static Context propagate(Context context) {
+        String tenant = CURRENT.get();
+        return tenant == null || context.hasKey(CONTEXT_KEY) ? context : context.put(CONTEXT_KEY, tenant);
+    }
+}
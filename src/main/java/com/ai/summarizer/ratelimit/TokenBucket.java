@@ -0,0 +1,70 @@
+package com.ai.summarizer.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in GCRA form: the whole state is one "theoretical arrival time" updated by
+ * CAS, so callers never block each other. {@link #reserve} hands out future slots (the caller waits
+ * the returned delay); {@link #tryAcquire} only takes permits that are available right now.
+ */
+public final class TokenBucket {
+    private final long nanosPerPermit;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param permitsPerSecond sustained rate
+     * @param burst            permits that may be taken at once after an idle period
+     */
+    public TokenBucket(double permitsPerSecond, long burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate and burst must be positive");
+        }
+        this.nanosPerPermit = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstNanos = (burst - 1) * nanosPerPermit;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime() - burstNanos); // starts full
+    }
+
+    /** Reserves {@code permits} and returns how long the caller must wait before using them. */
+    public long reserve(long permits) {
+        long cost = permits * nanosPerPermit;
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long start = Math.max(tat, now - burstNanos);
+            long next = start + cost;
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return Math.max(0, next - nanosPerPermit - now);
+            }
+        }
+    }
+
+    /** Takes {@code permits} only if that needs no waiting; otherwise leaves the bucket untouched. */
+    public boolean tryAcquire(long permits) {
+        long cost = permits * nanosPerPermit;
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long start = Math.max(tat, now - burstNanos);
+            long next = start + cost;
+            if (next - nanosPerPermit > now) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return true;
+            }
+        }
+    }
+
+    /** Gives back {@code permits} taken by {@link #tryAcquire} for work that did not go ahead. */
+    public void refund(long permits) {
+        theoreticalArrival.addAndGet(-permits * nanosPerPermit);
+    }
+
+    /** Time until {@code permits} could be acquired without waiting; 0 if available now. */
+    public long nanosUntilAvailable(long permits) {
+        long now = System.nanoTime();
+        long start = Math.max(theoreticalArrival.get(), now - burstNanos);
+        return Math.max(0, start + permits * nanosPerPermit - nanosPerPermit - now);
+    }
+}
@@ -0,0 +1,248 @@
+package com.ai.summarizer.resilience;
+
+import com.ai.summarizer.llm.LlmOverloadedException;
+import com.ai.summarizer.ratelimit.Tenants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits calls up to the current {@link GradientConcurrencyLimit}; beyond it, callers wait in a
+ * bounded queue for at most {@code maxWait}. The queue is fair across tenants ({@link Tenants},
+ * read from the subscriber's context): freed slots go out by weighted deficit round robin over
+ * each call's estimated tokens, and a full queue sheds the newest call of the tenant queueing the
+ * most rather than the newcomer. A full queue or an expired wait is shed at once with
+ * {@link LlmOverloadedException}, so overload turns into fast 503s instead of a growing pile of
+ * stalled requests. Waiting is non-blocking: a queued caller is a pending {@link Mono}.
+ */
+public final class AdaptiveConcurrencyLimiter {
+    /** Tokens per round for a tenant of weight 1, when not configured. */
+    public static final long DEFAULT_QUANTUM = 4096;
+
+    private final GradientConcurrencyLimit limit;
+    private final int maxQueue;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+    private final Tenants tenants;
+    private final FairQueue<Waiter> waiters;
+    private final MeterRegistry registry;
+    private final Counter queueFull;
+    private final Counter queueTimeout;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(GradientConcurrencyLimit limit, int maxQueue, Duration maxWait,
+                                      Duration retryAfter, MeterRegistry registry) {
+        this(limit, maxQueue, maxWait, retryAfter, Tenants.NONE, DEFAULT_QUANTUM, registry);
+    }
+
+    public AdaptiveConcurrencyLimiter(GradientConcurrencyLimit limit, int maxQueue, Duration maxWait,
+                                      Duration retryAfter, Tenants tenants, long quantum, MeterRegistry registry) {
+        this.limit = limit;
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+        this.retryAfter = retryAfter;
+        this.tenants = tenants;
+        this.waiters = new FairQueue<>(quantum, tenants::weight);
+        this.registry = registry;
+        Gauge.builder("llm.concurrency.limit", limit, GradientConcurrencyLimit::limit)
+                .description("Current adaptive limit on concurrent LLM calls")
+                .register(registry);
+        Gauge.builder("llm.concurrency.in.flight", this, AdaptiveConcurrencyLimiter::inFlight).register(registry);
+        Gauge.builder("llm.concurrency.queue", this, AdaptiveConcurrencyLimiter::queueDepth)
+                .description("Calls waiting for a permit")
+                .register(registry);
+        this.queueFull = rejections(registry, "queue_full");
+        this.queueTimeout = rejections(registry, "queue_timeout");
+    }
+
+    static Counter rejections(MeterRegistry registry, String reason) {
+        return Counter.builder("llm.requests.rejected")
+                .description("LLM calls shed locally instead of being sent upstream")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    /** {@link #acquire(long)} for a call of unknown size. */
+    public Mono<Permit> acquire() {
+        return acquire(1);
+    }
+
+    /**
+     * Emits a permit once the call, of about {@code cost} tokens, may proceed; the caller must
+     * release it exactly once.
+     */
+    public Mono<Permit> acquire(long cost) {
+        return Mono.deferContextual(context -> {
+            String tenant = Tenants.current(context);
+            Waiter pushedOut = null;
+            int running = 0;
+            boolean full = false;
+            synchronized (this) {
+                if (inFlight < limit.limit() && waiters.size() == 0) {
+                    running = ++inFlight;
+                } else if (waiters.size() >= maxQueue) {
+                    pushedOut = waiters.pushOut(tenant);
+                    full = pushedOut == null;
+                }
+            }
+            if (running > 0) {
+                waitTimer(tenant).record(0, TimeUnit.NANOSECONDS);
+                return Mono.just(new Permit(running));
+            }
+            if (full) {
+                queueFull.increment();
+                shed(tenant, "queue_full");
+                return Mono.error(overloaded("LLM call queue is full"));
+            }
+            if (pushedOut != null && pushedOut.state.compareAndSet(Waiter.WAITING, Waiter.CANCELLED)) {
+                queueFull.increment();
+                shed(pushedOut.tenant, "queue_full");
+                pushedOut.sink.error(overloaded("LLM call queue is full"));
+            }
+            return Mono.<Permit>create(sink -> {
+                        Waiter waiter = new Waiter(sink, tenant);
+                        synchronized (this) {
+                            waiters.add(tenant, cost, waiter);
+                        }
+                        sink.onCancel(() -> {
+                            if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.CANCELLED)) {
+                                synchronized (this) {
+                                    waiters.remove(tenant, waiter);
+                                }
+                            }
+                        });
+                        drain();
+                    })
+                    .timeout(maxWait, Mono.fromRunnable(() -> {
+                                queueTimeout.increment();
+                                shed(tenant, "queue_timeout");
+                            })
+                            .then(Mono.error(() -> overloaded("Timed out waiting for an LLM call slot"))))
+                    // a permit granted in the same instant the wait was cancelled is handed back
+                    .doOnDiscard(Permit.class, Permit::ignore);
+        });
+    }
+
+    /**
+     * A permit right away if a slot is free and no call is queued for one, otherwise null; never
+     * waits. For optional work, such as hedged backups, that may only use spare capacity.
+     */
+    public Permit tryAcquire() {
+        int running;
+        synchronized (this) {
+            if (inFlight >= limit.limit() || waiters.size() > 0) return null;
+            running = ++inFlight;
+        }
+        return new Permit(running);
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized int queueDepth() {
+        return waiters.size();
+    }
+
+    public int limit() {
+        return limit.limit();
+    }
+
+    private Timer waitTimer(String tenant) {
+        return Timer.builder("llm.queue.wait")
+                .description("Time LLM calls waited for a concurrency slot, by tenant")
+                .tag("tenant", tenants.tag(tenant))
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    private void shed(String tenant, String reason) {
+        Counter.builder("llm.queue.shed")
+                .description("LLM calls refused a concurrency slot, by tenant")
+                .tag("tenant", tenants.tag(tenant))
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    private LlmOverloadedException overloaded(String message) {
+        return new LlmOverloadedException(message, retryAfter);
+    }
+
+    private void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        drain();
+    }
+
+    // Grants permits outside the lock: completing a sink runs downstream code.
+    private void drain() {
+        while (true) {
+            Waiter next;
+            int running;
+            synchronized (this) {
+                if (inFlight >= limit.limit() || waiters.size() == 0) return;
+                next = waiters.poll();
+                if (!next.state.compareAndSet(Waiter.WAITING, Waiter.GRANTED)) continue;
+                running = ++inFlight;
+            }
+            waitTimer(next.tenant).record(System.nanoTime() - next.enqueuedNanos, TimeUnit.NANOSECONDS);
+            next.sink.success(new Permit(running));
+        }
+    }
+
+    /** One admitted call. Report how it went; that is what drives the limit. */
+    public final class Permit {
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private final AtomicInteger released = new AtomicInteger();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /** The call completed; its latency is a sample for the limit. */
+        public void success() {
+            if (released.compareAndSet(0, 1)) {
+                limit.onSample(System.nanoTime() - startNanos, inFlightAtStart);
+                release();
+            }
+        }
+
+        /** The upstream refused the call or did not answer in time. */
+        public void dropped() {
+            if (released.compareAndSet(0, 1)) {
+                limit.onDrop();
+                release();
+            }
+        }
+
+        /** The outcome says nothing about upstream capacity (cancelled, bad request). */
+        public void ignore() {
+            if (released.compareAndSet(0, 1)) {
+                release();
+            }
+        }
+    }
+
+    private static final class Waiter {
+        static final int WAITING = 0, GRANTED = 1, CANCELLED = 2;
+        final MonoSink<Permit> sink;
+        final String tenant;
+        final long enqueuedNanos = System.nanoTime();
+        final AtomicInteger state = new AtomicInteger(WAITING);
+
+        Waiter(MonoSink<Permit> sink, String tenant) {
+            this.sink = sink;
+            this.tenant = tenant;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ai.summarizer.resilience;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. It opens when the failure rate over the last {@code windowSize}
+ * calls reaches the threshold (once at least {@code minimumCalls} have been recorded). After
+ * {@code openDuration} it lets {@code halfOpenProbes} trial calls through. If they all succeed the
+ * circuit closes; any failure re-opens it.
+ */
+public final class CircuitBreaker {
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final double failureRateThreshold;
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failures;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    public CircuitBreaker(double failureRateThreshold, int windowSize, int minimumCalls,
+                          Duration openDuration, int halfOpenProbes) {
+        this(failureRateThreshold, windowSize, minimumCalls, openDuration, halfOpenProbes, System::nanoTime);
+    }
+
+    CircuitBreaker(double failureRateThreshold, int windowSize, int minimumCalls,
+                   Duration openDuration, int halfOpenProbes, LongSupplier clock) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.clock = clock;
+    }
+
+    /** Whether a call may go upstream now; every permitted call must be reported back once. */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            probesStarted = probesSucceeded = 0;
+        }
+        if (state == State.CLOSED) return true;
+        if (state == State.HALF_OPEN && probesStarted < halfOpenProbes) {
+            probesStarted++;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++probesSucceeded >= halfOpenProbes) close();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls && failures >= failureRateThreshold * recorded) {
+            open();
+        }
+    }
+
+    /** A permitted call whose outcome says nothing about upstream health (e.g. cancelled). */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesStarted > probesSucceeded) {
+            probesStarted--;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /** How long until the circuit will let a probe through; zero unless open. */
+    public synchronized Duration retryAfter() {
+        if (state != State.OPEN) return Duration.ZERO;
+        return Duration.ofNanos(Math.max(0, openNanos - (clock.getAsLong() - openedAt)));
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[next]) failures--;
+        } else {
+            recorded++;
+        }
+        window[next] = failure;
+        if (failure) failures++;
+        next = (next + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        recorded = next = failures = 0;
+    }
+}
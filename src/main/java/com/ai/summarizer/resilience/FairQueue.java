@@ -0,0 +1,120 @@
+package com.ai.summarizer.resilience;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Weighted fair queue by deficit round robin: one FIFO per flow (tenant), visited in turn; each
+ * visit credits the flow {@code quantum * weight} and serves its items while their cost fits the
+ * credit. Over time every backlogged flow gets a share of the total cost served proportional to its
+ * weight, however many items the others queue. Costs are estimated tokens, so a flow of large
+ * prompts gets fewer calls, not more upstream work. Not thread-safe; the owner locks.
+ */
+final class FairQueue<T> {
+    private final long quantum;
+    private final ToIntFunction<String> weight;
+    private final Map<String, Flow<T>> flows = new HashMap<>();
+    private final ArrayDeque<Flow<T>> active = new ArrayDeque<>();
+    private int size;
+
+    FairQueue(long quantum, ToIntFunction<String> weight) {
+        if (quantum < 1) throw new IllegalArgumentException("quantum must be positive: " + quantum);
+        this.quantum = quantum;
+        this.weight = weight;
+    }
+
+    void add(String flow, long cost, T item) {
+        Flow<T> f = flows.computeIfAbsent(flow, Flow::new);
+        if (f.items.isEmpty()) active.addLast(f);
+        f.items.addLast(new Item<>(Math.max(1, cost), item));
+        size++;
+    }
+
+    /** Next item in fair order, or null when empty. */
+    T poll() {
+        while (!active.isEmpty()) {
+            Flow<T> f = active.peekFirst();
+            Item<T> head = f.items.peekFirst();
+            if (head.cost <= f.deficit) {
+                f.deficit -= head.cost;
+                f.items.pollFirst();
+                size--;
+                if (f.items.isEmpty()) {
+                    active.pollFirst();
+                    retire(f);
+                }
+                return head.value;
+            }
+            active.pollFirst();
+            f.deficit += quantum * weight.applyAsInt(f.id);
+            active.addLast(f);
+        }
+        return null;
+    }
+
+    boolean remove(String flow, T item) {
+        Flow<T> f = flows.get(flow);
+        if (f == null) return false;
+        for (Iterator<Item<T>> it = f.items.iterator(); it.hasNext(); ) {
+            if (it.next().value == item) {
+                it.remove();
+                size--;
+                if (f.items.isEmpty()) {
+                    active.remove(f);
+                    retire(f);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes and returns the newest item of the flow with the most queued, if that flow holds more
+     * than {@code flow} would after one more item; otherwise null. Lets a full queue shed the
+     * heaviest tenant's excess instead of refusing a lighter tenant.
+     */
+    T pushOut(String flow) {
+        Flow<T> longest = null;
+        for (Flow<T> f : active) {
+            if (longest == null || f.items.size() > longest.items.size()) longest = f;
+        }
+        if (longest == null || longest.id.equals(flow) || longest.items.size() <= size(flow) + 1) {
+            return null;
+        }
+        Item<T> newest = longest.items.pollLast();
+        size--;
+        return newest.value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int size(String flow) {
+        Flow<T> f = flows.get(flow);
+        return f == null ? 0 : f.items.size();
+    }
+
+    // An idle flow keeps no credit (standard DRR) and no map entry.
+    private void retire(Flow<T> f) {
+        f.deficit = 0;
+        flows.remove(f.id);
+    }
+
+    private static final class Flow<T> {
+        final String id;
+        final ArrayDeque<Item<T>> items = new ArrayDeque<>();
+        long deficit;
+
+        Flow(String id) {
+            this.id = id;
+        }
+    }
+
+    private record Item<T>(long cost, T value) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.ai.summarizer.resilience;
+
+/**
+ * Gradient-style adaptive concurrency limit. It compares a short-term latency average with a slowly
+ * moving long-term baseline. While they agree, the limit grows by about {@code sqrt(limit)} per
+ * sample. When recent latency rises above {@code tolerance x baseline} — the upstream is queueing —
+ * the limit shrinks in proportion, down to half per sample. Dropped calls (timeouts, 429, 503)
+ * back off multiplicatively.
+ *
+ * <p>Samples taken while fewer than half the permits are in use are ignored, so an idle service
+ * does not inflate its limit.
+ */
+public final class GradientConcurrencyLimit {
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_ALPHA = 2.0 / (600 + 1);
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    /**
+     * @param smoothing how far each sample moves the limit towards its target, in (0, 1]
+     * @param tolerance latency growth over the baseline accepted before the limit shrinks, e.g. 1.5
+     */
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("need 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.limit = initialLimit;
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    /** Records a completed call that took {@code rttNanos} while {@code inFlight} calls were running. */
+    public synchronized void onSample(long rttNanos, int inFlight) {
+        if (inFlight < limit / 2) {
+            return;
+        }
+        if (longRttNanos == 0) {
+            shortRttNanos = longRttNanos = rttNanos;
+        } else {
+            shortRttNanos += SHORT_ALPHA * (rttNanos - shortRttNanos);
+            longRttNanos += LONG_ALPHA * (rttNanos - longRttNanos);
+            // after a sustained drop in latency, let the baseline catch up quickly
+            if (longRttNanos / shortRttNanos > 2) longRttNanos *= 0.95;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        update(limit * (1 - smoothing) + target * smoothing);
+    }
+
+    /** Records a call the upstream refused or did not answer in time. */
+    public synchronized void onDrop() {
+        update(limit * DROP_BACKOFF);
+    }
+
+    private void update(double newLimit) {
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
@@ -0,0 +1,59 @@
+package com.ai.summarizer.service;
+
+import com.ai.summarizer.api.BatchItemResult;
+import com.ai.summarizer.api.SummarizeRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Consumer;
+
+/**
+ * Fans a stream of requests out to the summarizer with bounded parallelism. Results are emitted in
+ * completion order, tagged with the request's position; a failed item becomes an error row instead
+ * of terminating the batch.
+ */
+@Slf4j
+@Component
+public class BatchSummarizer {
+    private final SummarizerService summarizerService;
+    private final int parallelism;
+
+    public BatchSummarizer(SummarizerService summarizerService,
+                           @Value("${summarizer.batch.parallelism}") int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.summarizerService = summarizerService;
+        this.parallelism = parallelism;
+    }
+
+    public Flux<BatchItemResult> summarize(Flux<SummarizeRequest> requests) {
+        return summarize(requests, request -> { });
+    }
+
+    /** As above; {@code admission} may throw to refuse an item, which then becomes its error row. */
+    public Flux<BatchItemResult> summarize(Flux<SummarizeRequest> requests, Consumer<SummarizeRequest> admission) {
+        // prefetch 1: pull the next request only when a slot frees up, so large NDJSON uploads stay streamed
+        return requests.index()
+                .flatMap(item -> summarizeOne(item.getT1(), item.getT2(), admission), parallelism, 1);
+    }
+
+    private Mono<BatchItemResult> summarizeOne(long index, SummarizeRequest request, Consumer<SummarizeRequest> admission) {
+        return Mono.defer(() -> {
+                    admission.accept(request);
+                    return summarizerService.summarizeReactive(request);
+                })
+                .map(response -> BatchItemResult.success(index, response.summary()))
+                .onErrorResume(e -> {
+                    log.debug("Batch item {} failed", index, e);
+                    return Mono.just(BatchItemResult.failure(index, describe(e)));
+                });
+    }
+
+    private static String describe(Throwable e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+}
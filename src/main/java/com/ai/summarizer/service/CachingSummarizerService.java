@@ -0,0 +1,102 @@
+package com.ai.summarizer.service;
+
+import com.ai.summarizer.api.SummarizeRequest;
+import com.ai.summarizer.api.SummarizeResponse;
+import com.ai.summarizer.cache.NearDuplicateCache;
+import com.ai.summarizer.cache.SummaryCache;
+import com.ai.summarizer.cache.SummaryCacheKey;
+import com.ai.summarizer.llm.LlmClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves repeated summaries of the same text from {@link SummaryCache} instead of the LLM. On an
+ * exact miss, {@link NearDuplicateCache} is consulted for a nearly identical input before the LLM is
+ * called. Validation still happens in the delegate, and failures are never cached.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "summarizer.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingSummarizerService implements SummarizerService {
+    private final LlmSummarizerService delegate;
+    private final SummaryCache cache;
+    private final NearDuplicateCache nearDuplicates;
+    private final String model;
+    private final double temperature;
+
+    public CachingSummarizerService(LlmSummarizerService delegate,
+                                    SummaryCache cache,
+                                    NearDuplicateCache nearDuplicates,
+                                    LlmClient llmClient,
+                                    @Value("${llm.temperature}") double temperature) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.nearDuplicates = nearDuplicates;
+        this.model = llmClient.model();
+        this.temperature = temperature;
+    }
+
+    @Override
+    public SummarizeResponse summarize(SummarizeRequest request) {
+        if (request.text() == null) return delegate.summarize(request);
+        return cache.get(keyOf(request), () -> {
+            int cap = LlmSummarizerService.resolveCap(request);
+            byte[] signature = nearDuplicates.signature(request.text());
+            SummarizeResponse similar = nearDuplicates.lookup(signature, cap);
+            if (similar != null) return similar;
+            SummarizeResponse response = delegate.summarize(request);
+            nearDuplicates.store(signature, cap, response);
+            return response;
+        });
+    }
+
+    @Override
+    public Mono<SummarizeResponse> summarizeReactive(SummarizeRequest request) {
+        if (request.text() == null) return delegate.summarizeReactive(request);
+        return Mono.defer(() -> cache.getReactive(keyOf(request), () -> {
+            int cap = LlmSummarizerService.resolveCap(request);
+            byte[] signature = nearDuplicates.signature(request.text());
+            SummarizeResponse similar = nearDuplicates.lookup(signature, cap);
+            if (similar != null) return Mono.just(similar);
+            return delegate.summarizeReactive(request)
+                    .doOnNext(response -> nearDuplicates.store(signature, cap, response));
+        }));
+    }
+
+    /** Cached summaries are replayed as one delta; a stream that runs to completion fills the cache. */
+    @Override
+    public Flux<String> summarizeStream(SummarizeRequest request) {
+        if (request.text() == null) return delegate.summarizeStream(request);
+        return Flux.defer(() -> {
+            String key = keyOf(request);
+            return cache.lookup(key)
+                    .map(SummarizeResponse::summary)
+                    .flux()
+                    .switchIfEmpty(Flux.defer(() -> {
+                        int cap = LlmSummarizerService.resolveCap(request);
+                        byte[] signature = nearDuplicates.signature(request.text());
+                        SummarizeResponse similar = nearDuplicates.lookup(signature, cap);
+                        if (similar != null) {
+                            cache.put(key, similar);
+                            return Flux.just(similar.summary());
+                        }
+                        StringBuilder streamed = new StringBuilder();
+                        return delegate.summarizeStream(request)
+                                .doOnNext(streamed::append)
+                                .doOnComplete(() -> {
+                                    SummarizeResponse response = new SummarizeResponse(streamed.toString().trim());
+                                    cache.put(key, response);
+                                    nearDuplicates.store(signature, cap, response);
+                                });
+                    }));
+        });
+    }
+
+    String keyOf(SummarizeRequest request) {
+        return SummaryCacheKey.of(request.text(), LlmSummarizerService.resolveCap(request), model, temperature);
+    }
+}
@@ -0,0 +1,84 @@
+package com.ai.summarizer.service;
+
+import com.ai.summarizer.llm.LlmClient;
+import com.ai.summarizer.text.TextChunker;
+import com.ai.summarizer.text.TokenEstimator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Map-reduce summarization for inputs too large for one prompt. The text is split into
+ * token-budgeted chunks that are summarized in parallel (bounded), the partial summaries are joined,
+ * and the result is reduced again until it fits one final call with the requested cap. Latency grows
+ * with the depth of that tree rather than with the document length.
+ */
+@Component
+public class HierarchicalSummarizer {
+    private final LlmClient llmClient;
+    private final int thresholdTokens;
+    private final int chunkTokens;
+    private final int partialSentences;
+    private final int concurrency;
+    private final int maxDepth;
+
+    public HierarchicalSummarizer(LlmClient llmClient,
+                                  @Value("${summarizer.chunking.threshold-tokens}") int thresholdTokens,
+                                  @Value("${summarizer.chunking.chunk-tokens}") int chunkTokens,
+                                  @Value("${summarizer.chunking.partial-sentences}") int partialSentences,
+                                  @Value("${summarizer.chunking.concurrency}") int concurrency,
+                                  @Value("${summarizer.chunking.max-depth}") int maxDepth) {
+        this.llmClient = llmClient;
+        this.thresholdTokens = thresholdTokens;
+        this.chunkTokens = chunkTokens;
+        this.partialSentences = partialSentences;
+        this.concurrency = concurrency;
+        this.maxDepth = maxDepth;
+    }
+
+    /** Whether {@code input} is large enough to take the chunked path (a threshold of 0 disables it). */
+    public boolean shouldChunk(String input) {
+        return thresholdTokens > 0 && TokenEstimator.estimate(input) > thresholdTokens;
+    }
+
+    public Mono<String> summarize(String input, int cap) {
+        return reduce(input, cap, 0);
+    }
+
+    /**
+     * Map-reduce over chunks cut elsewhere, each at most {@link #chunkTokens()}, e.g. while a request
+     * body is still being read. Only {@code concurrency} chunks are requested at a time.
+     */
+    public Mono<String> summarizeChunks(Flux<String> chunks, int cap) {
+        return summarizeParts(chunks, cap).flatMap(joined -> reduce(joined, cap, 1));
+    }
+
+    public int chunkTokens() {
+        return chunkTokens;
+    }
+
+    private Mono<String> reduce(String text, int cap, int depth) {
+        int tokens = TokenEstimator.estimate(text);
+        if (tokens <= chunkTokens || depth >= maxDepth) {
+            return llmClient.summarizeReactive(LlmSummarizerService.concisePromptPrefix(cap) + text, cap);
+        }
+        // dense scripts (CJK) get proportionally shorter chunks; others keep the 4 chars/token cut
+        double charsPerToken = Math.min(TextChunker.CHARS_PER_TOKEN, (double) text.length() / tokens);
+        List<String> chunks = TextChunker.split(text, chunkTokens, charsPerToken);
+        return summarizeParts(Flux.fromIterable(chunks), cap)
+                .flatMap(joined -> reduce(joined, cap, depth + 1));
+    }
+
+    // flatMapSequential keeps the partial summaries in document order while calls run in parallel.
+    private Mono<String> summarizeParts(Flux<String> chunks, int cap) {
+        int partialCap = Math.max(cap, partialSentences);
+        return chunks
+                .flatMapSequential(chunk -> llmClient.summarizeReactive(
+                        LlmSummarizerService.concisePromptPrefix(partialCap) + chunk, partialCap), concurrency)
+                .collect(Collectors.joining("\n\n"));
+    }
+}
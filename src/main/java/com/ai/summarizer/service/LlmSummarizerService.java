@@ -3,44 +3,155 @@ package com.ai.summarizer.service;
 import com.ai.summarizer.api.SummarizeRequest;
 import com.ai.summarizer.api.SummarizeResponse;
 import com.ai.summarizer.llm.LlmClient;
-import lombok.RequiredArgsConstructor;
+import com.ai.summarizer.llm.LlmDeadlineExceededException;
+import com.ai.summarizer.ratelimit.Tenants;
+import com.ai.summarizer.text.ExtractiveSummarizer;
+import com.ai.summarizer.text.IncrementalSentenceCap;
+import com.ai.summarizer.text.PromptCompactor;
+import com.ai.summarizer.text.SentenceCapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@RequiredArgsConstructor
 public class LlmSummarizerService implements SummarizerService {
     private static final int DEFAULT_CAP = 5; // safe default
     private final LlmClient llmClient;
+    private final HierarchicalSummarizer hierarchicalSummarizer;
+    private final SummarizerMetrics metrics;
+    private final int extractiveTokens;
+    private final boolean extractiveFallback;
+    private final boolean dedupeLines;
+
+    public LlmSummarizerService(LlmClient llmClient,
+                                HierarchicalSummarizer hierarchicalSummarizer,
+                                MeterRegistry registry,
+                                @Value("${summarizer.extractive.max-prompt-tokens}") int extractiveTokens,
+                                @Value("${summarizer.extractive.fallback}") boolean extractiveFallback,
+                                @Value("${summarizer.compaction.dedupe-lines}") boolean dedupeLines) {
+        this.llmClient = llmClient;
+        this.hierarchicalSummarizer = hierarchicalSummarizer;
+        this.metrics = new SummarizerMetrics(registry);
+        this.extractiveTokens = extractiveTokens;
+        this.extractiveFallback = extractiveFallback;
+        this.dedupeLines = dedupeLines;
+    }
 
     @Override
     public SummarizeResponse summarize(SummarizeRequest req) {
-        String input = req.text().trim();
+        String input = metrics.validate.record(() -> validInput(req));
+        int cap = resolveCap(req);
+        String source = extract(input);
+
+        // 1) Ask the LLM explicitly to be concise — never expand
+        String llmOut;
+        if (chunked(source)) {
+            llmOut = metrics.llm.record(() -> {
+                try {
+                    return hierarchicalSummarizer.summarize(source, cap)
+                            .contextWrite(Tenants::propagate)
+                            .block();
+                } catch (RuntimeException e) {
+                    throw LlmDeadlineExceededException.fromBlocking(e);
+                }
+            });
+        } else {
+            String prompt = metrics.prompt.record(() -> concisePromptPrefix(cap) + source);
+            llmOut = metrics.llm.record(() -> llmClient.summarize(prompt, cap));
+        }
+        return toResponse(llmOut, input, cap);
+    }
+
+    @Override
+    public Mono<SummarizeResponse> summarizeReactive(SummarizeRequest req) {
+        return Mono.defer(() -> {
+            String input = metrics.validate.record(() -> validInput(req));
+            int cap = resolveCap(req);
+            String source = extract(input);
+            Mono<String> summary = chunked(source)
+                    ? hierarchicalSummarizer.summarize(source, cap)
+                    : llmClient.summarizeReactive(metrics.prompt.record(() -> concisePromptPrefix(cap) + source), cap);
+            return metrics.timeLlm(summary)
+                    .defaultIfEmpty("")
+                    .map(llmOut -> toResponse(llmOut, input, cap));
+        });
+    }
+
+    @Override
+    public Flux<String> summarizeStream(SummarizeRequest req) {
+        return Flux.defer(() -> {
+            String input = metrics.validate.record(() -> validInput(req));
+            int cap = resolveCap(req);
+            String source = extract(input);
+            if (chunked(source)) {
+                // partial summaries must complete before the reduce step, so there is nothing to stream early
+                return hierarchicalSummarizer.summarize(source, cap)
+                        .map(summary -> toResponse(summary, input, cap).summary())
+                        .flux();
+            }
+            // Incremental guardrail: once the cap is hit, takeUntil completes and cancels the upstream.
+            metrics.inputChars.record(input.length());
+            IncrementalSentenceCap guard = new IncrementalSentenceCap(cap, input.length());
+            return llmClient.stream(metrics.prompt.record(() -> concisePromptPrefix(cap) + source), cap)
+                    .map(guard::accept)
+                    .takeUntil(delta -> guard.isDone())
+                    .filter(delta -> !delta.isEmpty());
+        });
+    }
+
+    // With a budget set, a longer input is cut down to its highest-ranked sentences before the model sees it.
+    private String extract(String input) {
+        if (extractiveTokens <= 0) {
+            return input;
+        }
+        String source = metrics.extract.record(() -> ExtractiveSummarizer.select(input, extractiveTokens));
+        if (source.length() < input.length()) {
+            metrics.extractedChars.record(source.length());
+        }
+        return source;
+    }
+
+    private boolean chunked(String input) {
+        boolean chunked = hierarchicalSummarizer.shouldChunk(input);
+        if (chunked) metrics.chunked.increment();
+        return chunked;
+    }
+
+    // Whitespace runs and separator lines are paid for in input tokens but carry nothing.
+    private String validInput(SummarizeRequest req) {
+        String input = PromptCompactor.compact(req.text(), dedupeLines);
         if (input.length() < 20) {
             throw new IllegalArgumentException("Input text is too short to summarize.");
         }
+        return input;
+    }
 
-        int cap = resolveCap(req);
-
-        // 1) Ask the LLM explicitly to be concise — never expand
-        String llmOut = llmClient.summarize(concisePromptPrefix(cap) + input, cap);
+    private SummarizeResponse toResponse(String llmOut, String input, int cap) {
         if (llmOut == null || llmOut.isBlank()) {
             throw new RuntimeException("Empty summary from LLM");
         }
 
         // 2) Guardrail: never return something longer than input
-        String trimmed = hardCapBySentences(llmOut, cap);
+        long start = System.nanoTime();
+        String trimmed = SentenceCapper.cap(llmOut, cap);
         if (trimmed.length() >= input.length()) {
             // If LLM “expanded”, fall back to head summary (very rare with cap + prompt)
-            trimmed = hardCapBySentences(input, cap);
+            metrics.fallback.increment();
+            trimmed = extractiveFallback ? ExtractiveSummarizer.summarize(input, cap) : SentenceCapper.cap(input, cap);
         }
-
-        return new SummarizeResponse(trimmed.trim());
+        String summary = trimmed.trim();
+        metrics.cap.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        metrics.inputChars.record(input.length());
+        metrics.outputChars.record(summary.length());
+        return new SummarizeResponse(summary);
     }
 
-    private int resolveCap(SummarizeRequest req) {
+    /** The sentence cap a request asks for: explicit, by length, or the default. */
+    public static int resolveCap(SummarizeRequest req) {
         if (req.maxSentences() != null && req.maxSentences() > 0) {
             return Math.min(req.maxSentences(), 12); // sanity ceiling
         }
@@ -51,29 +162,9 @@ public class LlmSummarizerService implements SummarizerService {
     }
 
     // Keep the instruction minimal; LlmClient will pass this text as the "user" message.
-    private String concisePromptPrefix(int cap) {
+    static String concisePromptPrefix(int cap) {
         return "Summarize the following text in a strictly concise way. " +
                 "Do not expand, rephrase extensively, or add new facts. " +
                 "Focus only on the key points. Limit to a maximum of " + cap + " sentences.\n\n";
     }
-
-    /** Very simple sentence capper (period/question/exclamation). */
-    private String hardCapBySentences(String text, int cap) {
-        List<String> out = new ArrayList<>(cap);
-        int start = 0, count = 0;
-        for (int i = 0; i < text.length() && count < cap; i++) {
-            char c = text.charAt(i);
-            boolean end = (c == '.' || c == '!' || c == '?');
-            if (end) {
-                out.add(text.substring(start, i + 1).trim());
-                count++;
-                start = Math.min(i + 1, text.length());
-            }
-        }
-        // If the model returned no punctuation, take a hard substring
-        if (out.isEmpty()) {
-            return text.length() > 500 ? text.substring(0, 500) : text;
-        }
-        return String.join(" ", out);
-    }
 }
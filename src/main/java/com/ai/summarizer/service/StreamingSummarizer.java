@@ -0,0 +1,117 @@
+package com.ai.summarizer.service;
+
+import com.ai.summarizer.api.SummarizeRequest;
+import com.ai.summarizer.api.SummarizeResponse;
+import com.ai.summarizer.api.SummaryLength;
+import com.ai.summarizer.text.SentenceCapper;
+import com.ai.summarizer.text.StreamingChunker;
+import com.ai.summarizer.text.TokenEstimator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+/**
+ * Summarizes a plain-text body while it is still arriving. Each buffer is decoded, compacted and cut
+ * into chunks by a {@link StreamingChunker} and released right away; chunks go to the map step of
+ * {@link HierarchicalSummarizer} as they fill up. Demand comes from the LLM calls, so the body is
+ * read only as fast as chunks are summarized and the memory held stays about {@code concurrency}
+ * chunks, whatever the upload size. The input is never materialized as one string, so this path
+ * skips the summary cache.
+ */
+@Component
+public class StreamingSummarizer {
+    private static final int MIN_INPUT_CHARS = 20;
+
+    private final HierarchicalSummarizer hierarchicalSummarizer;
+    private final SummarizerMetrics metrics;
+    private final boolean dedupeLines;
+
+    public StreamingSummarizer(HierarchicalSummarizer hierarchicalSummarizer, MeterRegistry registry,
+                               @Value("${summarizer.compaction.dedupe-lines}") boolean dedupeLines) {
+        this.hierarchicalSummarizer = hierarchicalSummarizer;
+        this.metrics = new SummarizerMetrics(registry);
+        this.dedupeLines = dedupeLines;
+    }
+
+    /** {@code admission} is charged each chunk's estimated tokens and may throw to abort the upload. */
+    public Mono<SummarizeResponse> summarize(Flux<DataBuffer> body, Charset charset, Integer maxSentences,
+                                             SummaryLength length, IntConsumer admission) {
+        int cap = LlmSummarizerService.resolveCap(new SummarizeRequest(null, maxSentences, length));
+        return Mono.defer(() -> {
+            StreamingChunker chunker = new StreamingChunker(hierarchicalSummarizer.chunkTokens(), charset, dedupeLines);
+            AtomicReference<String> head = new AtomicReference<>();
+            Flux<String> chunks = body
+                    .concatMapIterable(buffer -> accept(chunker, buffer))
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(chunker.finish())))
+                    .doOnNext(chunk -> {
+                        head.compareAndSet(null, chunk);
+                        admission.accept(TokenEstimator.estimate(chunk));
+                    });
+            // Whether the document was a single chunk is known once the first one arrives: the
+            // chunker only cuts early when more text follows.
+            Mono<String> summary = chunks
+                    .switchOnFirst((first, all) -> {
+                        if (!first.hasValue()) {
+                            return all.thenMany(Flux.<String>error(tooShort())); // empty body, or a read error
+                        }
+                        if (chunker.isFinished() && chunker.chunks() == 1) {
+                            return first.get().length() < MIN_INPUT_CHARS
+                                    ? Flux.<String>error(tooShort())
+                                    : hierarchicalSummarizer.summarize(first.get(), cap).flux();
+                        }
+                        metrics.chunked.increment();
+                        return hierarchicalSummarizer.summarizeChunks(all, cap).flux();
+                    })
+                    .next();
+            return metrics.timeLlm(summary)
+                    .defaultIfEmpty("")
+                    .map(llmOut -> toResponse(llmOut, head.get(), chunker.chars(), cap));
+        });
+    }
+
+    private static IllegalArgumentException tooShort() {
+        return new IllegalArgumentException("Input text is too short to summarize.");
+    }
+
+    private static List<String> accept(StreamingChunker chunker, DataBuffer buffer) {
+        try {
+            List<String> chunks = new ArrayList<>();
+            try (DataBuffer.ByteBufferIterator it = buffer.readableByteBuffers()) {
+                while (it.hasNext()) {
+                    ByteBuffer bytes = it.next();
+                    chunks.addAll(chunker.accept(bytes));
+                }
+            }
+            return chunks;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    // Same guardrails as LlmSummarizerService, against the head of the input for the fallback.
+    private SummarizeResponse toResponse(String llmOut, String head, long inputChars, int cap) {
+        if (llmOut.isBlank()) {
+            throw new RuntimeException("Empty summary from LLM");
+        }
+        String summary = SentenceCapper.cap(llmOut, cap);
+        if (summary.length() >= inputChars) {
+            metrics.fallback.increment();
+            summary = SentenceCapper.cap(head, cap);
+        }
+        summary = summary.trim();
+        metrics.inputChars.record(inputChars);
+        metrics.outputChars.record(summary.length());
+        return new SummarizeResponse(summary);
+    }
+}
@@ -0,0 +1,66 @@
+package com.ai.summarizer.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Meters of the summarize pipeline. Every stage is a {@code summarizer.stage} timer tagged with the
+ * stage name, published as a histogram so p95/p99 can be aggregated across instances in Prometheus.
+ */
+final class SummarizerMetrics {
+    final Timer validate;
+    final Timer extract;
+    final Timer prompt;
+    final Timer llm;
+    final Timer cap;
+    final Counter fallback;
+    final Counter chunked;
+    final DistributionSummary inputChars;
+    final DistributionSummary outputChars;
+    final DistributionSummary extractedChars;
+
+    SummarizerMetrics(MeterRegistry registry) {
+        this.validate = stage(registry, "validate");
+        this.extract = stage(registry, "extract");
+        this.prompt = stage(registry, "prompt");
+        this.llm = stage(registry, "llm");
+        this.cap = stage(registry, "cap");
+        this.fallback = Counter.builder("summarizer.fallback")
+                .description("Summaries replaced by the input's head because the model expanded the text")
+                .register(registry);
+        this.chunked = Counter.builder("summarizer.chunked")
+                .description("Requests summarized map-reduce style")
+                .register(registry);
+        this.inputChars = chars(registry, "summarizer.input.chars", "Characters of input after compaction");
+        this.outputChars = chars(registry, "summarizer.output.chars", "Characters of the returned summary");
+        this.extractedChars = chars(registry, "summarizer.extracted.chars",
+                "Characters of input left for the model by the extractive stage");
+    }
+
+    private static Timer stage(MeterRegistry registry, String stage) {
+        return Timer.builder("summarizer.stage")
+                .description("Time spent per summarize pipeline stage")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static DistributionSummary chars(MeterRegistry registry, String name, String description) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("chars")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /** Times {@code call} from subscription to termination or cancellation. */
+    <T> Mono<T> timeLlm(Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return call.doFinally(signal -> sample.stop(llm));
+        });
+    }
+}
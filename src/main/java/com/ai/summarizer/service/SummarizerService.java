@@ -2,7 +2,32 @@ package com.ai.summarizer.service;
 
 import com.ai.summarizer.api.SummarizeRequest;
 import com.ai.summarizer.api.SummarizeResponse;
+import com.ai.summarizer.api.SummaryLength;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 public interface SummarizerService {
     SummarizeResponse summarize(SummarizeRequest request);
+
+    /** Non-blocking variant of {@link #summarize}; failures are signalled through the returned Mono. */
+    Mono<SummarizeResponse> summarizeReactive(SummarizeRequest request);
+
+    /** Summary as text deltas, already capped; completing early cancels the upstream generation. */
+    Flux<String> summarizeStream(SummarizeRequest request);
+
+    /**
+     * Summaries of one text at each of {@code lengths}. They are requested concurrently, so a packing
+     * LLM client sends the text upstream once for all of them.
+     */
+    default Mono<Map<SummaryLength, String>> summarizeLengths(String text, List<SummaryLength> lengths) {
+        return Flux.fromIterable(lengths)
+                .distinct()
+                .flatMap(length -> summarizeReactive(new SummarizeRequest(text, null, length))
+                        .map(response -> Map.entry(length, response.summary())))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, () -> new EnumMap<>(SummaryLength.class));
+    }
 }
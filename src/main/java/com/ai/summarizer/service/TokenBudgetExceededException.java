@@ -0,0 +1,21 @@
+package com.ai.summarizer.service;
+
+import java.time.Duration;
+
+/**
+ * A request refused before any LLM call because of its estimated input size. Without a
+ * {@link #retryAfter()} the request can never fit; with one, the client's budget refills by then.
+ */
+public class TokenBudgetExceededException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public TokenBudgetExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /** When the client's budget will cover this request again; null if it is too large outright. */
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,167 @@
+package com.ai.summarizer.service;
+
+import com.ai.summarizer.api.SummarizeRequest;
+import com.ai.summarizer.ratelimit.Tenants;
+import com.ai.summarizer.ratelimit.TokenBucket;
+import com.ai.summarizer.text.TokenEstimator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.IntConsumer;
+
+/**
+ * Admission control, checked before a request reaches the cache or the LLM: a hard cap on
+ * estimated input tokens per request, and per client (tenant, identified by the
+ * {@code X-Client-Id} header) a sustained budget in requests per minute and one in tokens per
+ * minute. Estimates come from {@link TokenEstimator}, so admission costs one pass over the text and
+ * no network call. Each client's budgets are lock-free {@link TokenBucket}s of their own, so
+ * clients never contend with each other.
+ */
+@Component
+public class TokenBudgets {
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    public static final String ANONYMOUS = Tenants.ANONYMOUS;
+
+    private final int maxRequestTokens;
+    private final double clientTokensPerSecond;
+    private final long clientBurst;
+    private final double clientRequestsPerSecond;
+    private final long clientRequestBurst;
+    private final Tenants tenants;
+    private final MeterRegistry registry;
+    // An idle client's buckets are full again long before they expire, so eviction loses nothing.
+    private final Cache<String, TokenBucket> buckets = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+    private final Cache<String, TokenBucket> requestBuckets = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+    private final DistributionSummary admitted;
+    private final Counter tooLarge;
+    private final Counter overBudget;
+    private final Counter overRequestBudget;
+
+    public TokenBudgets(int maxRequestTokens, long clientTokensPerMinute, long clientBurst, MeterRegistry registry) {
+        this(maxRequestTokens, clientTokensPerMinute, clientBurst, 0, 1, Tenants.NONE, registry);
+    }
+
+    @Autowired
+    public TokenBudgets(@Value("${summarizer.tokens.max-request-tokens}") int maxRequestTokens,
+                        @Value("${summarizer.tokens.client-tokens-per-minute}") long clientTokensPerMinute,
+                        @Value("${summarizer.tokens.client-burst}") long clientBurst,
+                        @Value("${summarizer.tokens.client-requests-per-minute}") long clientRequestsPerMinute,
+                        @Value("${summarizer.tokens.client-request-burst}") long clientRequestBurst,
+                        Tenants tenants,
+                        MeterRegistry registry) {
+        this.maxRequestTokens = maxRequestTokens;
+        this.clientTokensPerSecond = clientTokensPerMinute / 60.0;
+        this.clientBurst = clientBurst;
+        this.clientRequestsPerSecond = clientRequestsPerMinute / 60.0;
+        this.clientRequestBurst = clientRequestBurst;
+        this.tenants = tenants;
+        this.registry = registry;
+        this.admitted = DistributionSummary.builder("summarizer.tokens.admitted")
+                .description("Estimated input tokens per admitted request")
+                .baseUnit("tokens")
+                .register(registry);
+        this.tooLarge = rejected(registry, "request_too_large");
+        this.overBudget = rejected(registry, "client_budget");
+        this.overRequestBudget = rejected(registry, "client_request_budget");
+    }
+
+    private static Counter rejected(MeterRegistry registry, String reason) {
+        return Counter.builder("summarizer.tokens.rejected")
+                .description("Requests refused for their estimated input size")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    /**
+     * Charges one request and its estimated tokens to {@code clientId}, or throws if it may not run.
+     * A refused request costs the client nothing: the size limit is checked before any budget is
+     * charged, and the request is given back if the token budget refuses it.
+     */
+    public void admit(String clientId, SummarizeRequest request) {
+        if (request.text() == null) return; // validation reports it
+        int tokens = TokenEstimator.estimate(request.text());
+        checkSize(tokens, tokens);
+        TokenBucket requests = chargeRequest(clientId);
+        chargeTokens(clientId, tokens, requests);
+    }
+
+    /**
+     * Admission for a body read incrementally, whose size is unknown up front: one request is
+     * charged now, then each call of the returned consumer charges one more part, and the running
+     * total is held to the per-request limit. A part that is refused gives the request back.
+     */
+    public IntConsumer streamingAdmission(String clientId) {
+        TokenBucket requests = chargeRequest(clientId);
+        long[] total = new long[1];
+        return tokens -> {
+            total[0] += tokens;
+            try {
+                checkSize(tokens, total[0]);
+            } catch (TokenBudgetExceededException e) {
+                if (requests != null) requests.refund(1);
+                throw e;
+            }
+            chargeTokens(clientId, tokens, requests);
+        };
+    }
+
+    // The client's request bucket, after taking one request from it; null without a request budget.
+    private TokenBucket chargeRequest(String clientId) {
+        if (clientRequestsPerSecond <= 0) return null;
+        String client = Tenants.id(clientId);
+        TokenBucket bucket = requestBuckets.get(client, c -> new TokenBucket(clientRequestsPerSecond, clientRequestBurst));
+        if (!bucket.tryAcquire(1)) {
+            overRequestBudget.increment();
+            throttled(client, "requests");
+            throw new TokenBudgetExceededException("Request rate exhausted for client " + client,
+                    Duration.ofNanos(bucket.nanosUntilAvailable(1)));
+        }
+        return bucket;
+    }
+
+    private void checkSize(int tokens, long requestTokens) {
+        if ((maxRequestTokens > 0 && requestTokens > maxRequestTokens)
+                || (clientTokensPerSecond > 0 && tokens > clientBurst)) {
+            tooLarge.increment();
+            throw new TokenBudgetExceededException(
+                    "Input of ~" + requestTokens + " tokens exceeds the per-request limit", null);
+        }
+    }
+
+    private void chargeTokens(String clientId, int tokens, TokenBucket requests) {
+        if (clientTokensPerSecond > 0) {
+            String client = Tenants.id(clientId);
+            TokenBucket bucket = buckets.get(client, c -> new TokenBucket(clientTokensPerSecond, clientBurst));
+            if (!bucket.tryAcquire(tokens)) {
+                if (requests != null) requests.refund(1);
+                overBudget.increment();
+                throttled(client, "tokens");
+                throw new TokenBudgetExceededException("Token budget exhausted for client " + client,
+                        Duration.ofNanos(bucket.nanosUntilAvailable(tokens)));
+            }
+        }
+        admitted.record(tokens);
+    }
+
+    private void throttled(String client, String quota) {
+        Counter.builder("summarizer.tenant.throttled")
+                .description("Requests refused for a spent per-tenant quota")
+                .tag("tenant", tenants.tag(client))
+                .tag("quota", quota)
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,232 @@
+package com.ai.summarizer.text;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Local extractive summarizer: ranks the sentences of a text by TF-IDF and keeps the best ones, in
+ * document order. Each sentence is a "document" for the IDF, so terms that appear everywhere weigh
+ * little and the sentences sharing the text's distinctive terms rank first.
+ *
+ * <p>Terms are hashed into a fixed array of buckets instead of a dictionary, so scoring allocates
+ * only primitive arrays and never a string per word. Texts of at least
+ * {@link #PARALLEL_MIN_SENTENCES} sentences are tokenized and scored on the common fork-join pool.
+ */
+public final class ExtractiveSummarizer {
+    /** Sentences above which tokenizing, scoring and sorting run in parallel. */
+    static final int PARALLEL_MIN_SENTENCES = 2048;
+    /** Term hash buckets; a collision only blends the weights of two terms. */
+    private static final int BUCKETS = 1 << 16;
+    private static final int MIN_WORD_CHARS = 3;
+    private static final boolean[] STOP_WORDS = new boolean[BUCKETS];
+
+    static {
+        String words = "the and for are but not you all any can had her was one our out has have this that with "
+                + "from they been were will would there their what which when where who whom into than then them "
+                + "these those its also such some more most other only over very about after before being both "
+                + "each few may might must should could does did his she him how why own same just while because "
+                + "between through during under again further once here your yours ours itself upon";
+        for (String word : words.split(" ")) {
+            STOP_WORDS[bucket(word, 0, word.length())] = true;
+        }
+    }
+
+    private ExtractiveSummarizer() {
+    }
+
+    /**
+     * The highest-ranked sentences that fit in {@code maxTokens} (estimated), in document order; the
+     * text itself when it already fits. A text with no sentence short enough falls back to its head.
+     */
+    public static String select(CharSequence text, int maxTokens) {
+        if (TokenEstimator.estimate(text) <= maxTokens) {
+            return text.toString();
+        }
+        Sentences sentences = Sentences.of(text);
+        double[] scores = scores(text, sentences, sentences.count >= PARALLEL_MIN_SENTENCES);
+        boolean[] keep = new boolean[sentences.count];
+        int budget = maxTokens;
+        for (int i : ranking(scores)) {
+            int tokens = TokenEstimator.estimate(CharBuffer.wrap(text, sentences.start[i], sentences.end[i])) + 1;
+            if (tokens <= budget) {
+                keep[i] = true;
+                budget -= tokens;
+            }
+            if (budget <= 0) break;
+        }
+        String selected = join(text, sentences, keep);
+        if (!selected.isEmpty()) {
+            return selected;
+        }
+        int limit = Math.min(text.length(), Math.max(1, maxTokens) * TextChunker.CHARS_PER_TOKEN);
+        return text.subSequence(0, TextChunker.cutPoint(text, 0, limit)).toString().strip();
+    }
+
+    /**
+     * The {@code maxSentences} highest-ranked sentences, in document order. Text without any sentence
+     * boundary is capped by {@link SentenceCapper}, which returns its head.
+     */
+    public static String summarize(CharSequence text, int maxSentences) {
+        Sentences sentences = Sentences.of(text);
+        if (sentences.count <= Math.max(1, maxSentences)) {
+            return SentenceCapper.cap(text, maxSentences);
+        }
+        double[] scores = scores(text, sentences, sentences.count >= PARALLEL_MIN_SENTENCES);
+        boolean[] keep = new boolean[sentences.count];
+        int[] ranking = ranking(scores);
+        for (int r = 0; r < maxSentences; r++) {
+            keep[ranking[r]] = true;
+        }
+        return join(text, sentences, keep);
+    }
+
+    /** Score of each sentence of {@code text}, in order. */
+    static double[] scores(CharSequence text, boolean parallel) {
+        return scores(text, Sentences.of(text), parallel);
+    }
+
+    private static double[] scores(CharSequence text, Sentences sentences, boolean parallel) {
+        int n = sentences.count;
+        int[][] terms = new int[n][];
+        range(n, parallel).forEach(i -> terms[i] = terms(text, sentences.start[i], sentences.end[i]));
+
+        // document frequency per sentence and total frequency per term; terms[i] is sorted
+        int[] df = new int[BUCKETS];
+        int[] tf = new int[BUCKETS];
+        for (int[] sentence : terms) {
+            for (int j = 0; j < sentence.length; j++) {
+                tf[sentence[j]]++;
+                if (j == 0 || sentence[j] != sentence[j - 1]) df[sentence[j]]++;
+            }
+        }
+        float[] weight = new float[BUCKETS];
+        for (int b = 0; b < BUCKETS; b++) {
+            if (tf[b] > 0) weight[b] = (float) (Math.log1p(tf[b]) * Math.log1p((double) n / df[b]));
+        }
+
+        // sum of distinct term weights, damped by length so long sentences do not win by size alone
+        double[] scores = new double[n];
+        range(n, parallel).forEach(i -> {
+            int[] sentence = terms[i];
+            double sum = 0;
+            int distinct = 0;
+            for (int j = 0; j < sentence.length; j++) {
+                if (j > 0 && sentence[j] == sentence[j - 1]) continue;
+                sum += weight[sentence[j]];
+                distinct++;
+            }
+            scores[i] = distinct == 0 ? 0 : sum / Math.sqrt(distinct);
+        });
+        return scores;
+    }
+
+    private static IntStream range(int n, boolean parallel) {
+        IntStream range = IntStream.range(0, n);
+        return parallel ? range.parallel() : range;
+    }
+
+    // Hashed, stop-word-free terms of text[from, to), sorted. Each CJK character is a term of its own.
+    private static int[] terms(CharSequence text, int from, int to) {
+        int[] terms = new int[16];
+        int count = 0;
+        int i = from;
+        while (i < to) {
+            char c = text.charAt(i);
+            int start = i;
+            int term = -1;
+            if (TokenEstimator.isIdeographic(c)) {
+                i++;
+                if (Character.isLetter(c)) term = bucket(text, start, i);
+            } else if (Character.isLetterOrDigit(c)) {
+                while (i < to && Character.isLetterOrDigit(text.charAt(i)) && !TokenEstimator.isIdeographic(text.charAt(i))) i++;
+                if (i - start >= MIN_WORD_CHARS) term = bucket(text, start, i);
+            } else {
+                i++;
+            }
+            if (term >= 0 && !STOP_WORDS[term]) {
+                if (count == terms.length) terms = Arrays.copyOf(terms, count * 2);
+                terms[count++] = term;
+            }
+        }
+        int[] sorted = Arrays.copyOf(terms, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static int bucket(CharSequence text, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + Character.toLowerCase(text.charAt(i));
+        }
+        h ^= h >>> 16;
+        h *= 0x45d9f3b;
+        h ^= h >>> 16;
+        return h & (BUCKETS - 1);
+    }
+
+    // Sentence indices by descending score, earlier sentences first on ties. Scores are >= 0, so their
+    // float bits order like the floats and one primitive sort of (score, reversed index) keys does it.
+    private static int[] ranking(double[] scores) {
+        int n = scores.length;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = ((long) Float.floatToIntBits((float) scores[i]) << 32) | (n - 1 - i);
+        }
+        if (n >= PARALLEL_MIN_SENTENCES) Arrays.parallelSort(keys);
+        else Arrays.sort(keys);
+        int[] ranking = new int[n];
+        for (int r = 0; r < n; r++) {
+            ranking[r] = n - 1 - (int) keys[n - 1 - r];
+        }
+        return ranking;
+    }
+
+    // Kept sentences in document order; a sentence that started a line in the text starts one here too.
+    private static String join(CharSequence text, Sentences sentences, boolean[] keep) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < sentences.count; i++) {
+            if (!keep[i]) continue;
+            int start = sentences.start[i];
+            if (!out.isEmpty()) {
+                boolean lineStart = start > 0 && text.charAt(start - 1) == '\n';
+                out.append(lineStart ? '\n' : ' ');
+            }
+            out.append(text, start, sentences.end[i]);
+        }
+        return out.toString();
+    }
+
+    /** Sentence spans as parallel offset arrays, whitespace between them excluded. */
+    private static final class Sentences {
+        int count;
+        int[] start = new int[64];
+        int[] end = new int[64];
+
+        static Sentences of(CharSequence text) {
+            Sentences sentences = new Sentences();
+            SentenceScanner scanner = new SentenceScanner(text);
+            int from = 0;
+            int end;
+            while ((end = scanner.next(text.length(), true)) >= 0) {
+                sentences.add(text, from, end);
+                from = end;
+            }
+            sentences.add(text, from, text.length()); // text after the last terminator, if any
+            return sentences;
+        }
+
+        private void add(CharSequence text, int from, int to) {
+            while (from < to && Character.isWhitespace(text.charAt(from))) from++;
+            while (to > from && Character.isWhitespace(text.charAt(to - 1))) to--;
+            if (from == to) return;
+            if (count == start.length) {
+                start = Arrays.copyOf(start, count * 2);
+                end = Arrays.copyOf(end, count * 2);
+            }
+            start[count] = from;
+            end[count] = to;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ai.summarizer.text;
+
+/**
+ * Streaming counterpart of {@link SentenceCapper}: fed text deltas in order, it forwards them until
+ * the cap-th sentence boundary (or the character budget) is reached and trims the delta that
+ * crosses it. Boundaries follow the same {@link SentenceScanner} rules; a terminator at the very end
+ * of a delta is decided once the next delta shows what follows it. Not thread-safe; use one
+ * instance per stream.
+ */
+public final class IncrementalSentenceCap {
+    private final int maxSentences;
+    private final int maxChars;
+    private final StringBuilder text = new StringBuilder();
+    private final SentenceScanner scanner = new SentenceScanner(text);
+    private int sentences;
+    private boolean done;
+
+    public IncrementalSentenceCap(int maxSentences, int maxChars) {
+        this.maxSentences = maxSentences;
+        this.maxChars = maxChars;
+    }
+
+    /** Returns the part of {@code delta} to emit; empty once the cap has been reached. */
+    public String accept(String delta) {
+        if (done) return "";
+        int deltaStart = text.length();
+        text.append(delta);
+        int end;
+        while ((end = scanner.next(text.length(), false)) >= 0 && end <= maxChars) {
+            if (++sentences >= maxSentences) {
+                return finish(delta, end - deltaStart);
+            }
+        }
+        if (text.length() >= maxChars) {
+            return finish(delta, maxChars - deltaStart);
+        }
+        return delta;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    // keep may be <= 0 when the boundary was only confirmed by this delta's first characters
+    private String finish(String delta, int keep) {
+        done = true;
+        return delta.substring(0, Math.max(0, Math.min(keep, delta.length())));
+    }
+}
@@ -0,0 +1,91 @@
+package com.ai.summarizer.text;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Removes what costs input tokens but carries no content: runs of spaces and tabs, blank-line runs,
+ * zero-width characters and separator lines ({@code -----}, {@code ****}). Paragraph breaks are
+ * preserved because the chunker cuts on them.
+ *
+ * <p>Optionally ({@code dedupeLines}), short lines repeated verbatim through the document, such as
+ * a running page header, keep only their first occurrence. That is off by default: repeated table
+ * rows, headings and dialogue lines are content too.
+ */
+public final class PromptCompactor {
+    /** Lines longer than this are content, not boilerplate, however often they repeat. */
+    static final int MAX_BOILERPLATE_CHARS = 80;
+    static final int MIN_REPEATS = 3;
+
+    private PromptCompactor() {
+    }
+
+    public static String compact(String text) {
+        return compact(text, false);
+    }
+
+    public static String compact(String text, boolean dedupeLines) {
+        String[] lines = normalize(text).split("\n", -1);
+        Map<String, Integer> repeats = new HashMap<>();
+        if (dedupeLines) {
+            for (String line : lines) {
+                if (!line.isEmpty() && line.length() <= MAX_BOILERPLATE_CHARS) {
+                    repeats.merge(line, 1, Integer::sum);
+                }
+            }
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        Map<String, Boolean> emitted = new HashMap<>();
+        int blankRun = 0;
+        for (String line : lines) {
+            if (line.isEmpty() || isSeparator(line)) {
+                blankRun++;
+                continue;
+            }
+            if (repeats.getOrDefault(line, 0) >= MIN_REPEATS && emitted.putIfAbsent(line, Boolean.TRUE) != null) {
+                continue;
+            }
+            if (!out.isEmpty()) out.append(blankRun > 0 ? "\n\n" : "\n");
+            out.append(line);
+            blankRun = 0;
+        }
+        return out.toString();
+    }
+
+    // One pass: drop zero-width characters and CRs, collapse horizontal whitespace, trim each line.
+    private static String normalize(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isIgnorable(c)) continue;
+            if (c == '\n') {
+                sb.append('\n');
+                pendingSpace = false;
+            } else if (isHorizontalSpace(c)) {
+                pendingSpace = !sb.isEmpty() && sb.charAt(sb.length() - 1) != '\n';
+            } else {
+                if (pendingSpace) sb.append(' ');
+                sb.append(c);
+                pendingSpace = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    static boolean isIgnorable(char c) {
+        return c == '\u200b' || c == '\u200c' || c == '\u200d' || c == '\ufeff' || c == '\r';
+    }
+
+    static boolean isHorizontalSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\u00a0' || c == '\f' || c == '\u000b';
+    }
+
+    static boolean isSeparator(CharSequence line) {
+        if (line.length() < 3) return false;
+        for (int i = 0; i < line.length(); i++) {
+            if (Character.isLetterOrDigit(line.charAt(i))) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ai.summarizer.text;
+
+/**
+ * Keeps the first {@code maxSentences} sentences of a text. Whitespace between sentences collapses
+ * to a single space (none where the text had none, as in CJK); when the text already has that shape
+ * the result is one substring, otherwise one builder pass.
+ */
+public final class SentenceCapper {
+    /** Longest stretch scanned per requested sentence before giving up on finding a terminator. */
+    static final int MAX_SENTENCE_CHARS = 4000;
+    /** Head returned when the scanned text contains no sentence boundary at all. */
+    static final int UNPUNCTUATED_HEAD_CHARS = 500;
+
+    private SentenceCapper() {
+    }
+
+    /**
+     * Sentences up to the cap, or the head of the text if it has no terminator within the scan
+     * window. Scanning stops at the cap, so the cost is bounded by the output rather than the input.
+     */
+    public static String cap(CharSequence text, int maxSentences) {
+        long window = (long) Math.max(1, maxSentences) * MAX_SENTENCE_CHARS;
+        int limit = (int) Math.min(text.length(), window);
+        SentenceScanner scanner = new SentenceScanner(text);
+        int[] bounds = new int[2 * Math.max(1, maxSentences)];
+        int count = 0, from = 0;
+        boolean singleSpaced = true;
+        while (count < maxSentences) {
+            int end = scanner.next(limit, true);
+            if (end < 0) break;
+            int start = skipWhitespace(text, from, end);
+            int gap = start - from;
+            if (count > 0 && gap > 0 && (gap != 1 || text.charAt(from) != ' ')) singleSpaced = false;
+            bounds[2 * count] = start;
+            bounds[2 * count + 1] = end;
+            count++;
+            from = end;
+        }
+        if (count == 0) {
+            int head = Math.min(text.length(), UNPUNCTUATED_HEAD_CHARS);
+            return text.subSequence(0, head).toString();
+        }
+        if (singleSpaced) {
+            return text.subSequence(bounds[0], bounds[2 * count - 1]).toString();
+        }
+        StringBuilder out = new StringBuilder(bounds[2 * count - 1] - bounds[0]);
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && bounds[2 * i] > bounds[2 * i - 1]) out.append(' ');
+            out.append(text, bounds[2 * i], bounds[2 * i + 1]);
+        }
+        return out.toString();
+    }
+
+    private static int skipWhitespace(CharSequence text, int from, int to) {
+        while (from < to && Character.isWhitespace(text.charAt(from))) from++;
+        return from;
+    }
+}
@@ -0,0 +1,126 @@
+package com.ai.summarizer.text;
+
+/**
+ * Single-pass sentence boundary scanner over a {@link CharSequence}. It reports end offsets into
+ * the original text and never copies it. Handled without regex or backtracking:
+ * <ul>
+ *   <li>terminator runs ({@code ?!}, {@code ...}, {@code …}) count once, with trailing quotes and brackets;</li>
+ *   <li>a period must be followed by whitespace, so decimals, versions and URLs do not split;</li>
+ *   <li>known abbreviations ({@code Dr.}, {@code e.g.}, {@code U.S.}) do not end a sentence;
+ *       single letters do, since "A. B. C." is more common in model output than initials;</li>
+ *   <li>an ellipsis followed by a lowercase word continues the sentence;</li>
+ *   <li>full-width terminators ({@code 。！？}) end a sentence without trailing whitespace.</li>
+ * </ul>
+ * The scanned sequence may grow between calls (e.g. a {@link StringBuilder} fed by a stream).
+ * Not thread-safe.
+ */
+public final class SentenceScanner {
+    private static final String[] ABBREVIATIONS = {
+            "mr", "mrs", "ms", "dr", "prof", "sr", "jr", "st", "vs", "mt", "ft",
+            "inc", "ltd", "co", "corp", "dept", "est", "approx", "fig", "gen", "gov", "sen", "rep",
+            "jan", "feb", "mar", "apr", "aug", "sep", "sept", "oct", "nov", "dec"
+    };
+    private static final int YES = 1, NO = 0, NEED_MORE = -1;
+
+    private final CharSequence text;
+    private int pos;
+
+    public SentenceScanner(CharSequence text) {
+        this(text, 0);
+    }
+
+    /** Scans from {@code from} on; the text before it is only consulted to recognise abbreviations. */
+    public SentenceScanner(CharSequence text, int from) {
+        this.text = text;
+        this.pos = from;
+    }
+
+    /**
+     * Returns the end offset (exclusive) of the next sentence, or -1 if none ends before
+     * {@code limit}. With {@code complete == false} a terminator too close to the end of the text to
+     * classify is left for a later call, after more text has been appended.
+     */
+    public int next(int limit, boolean complete) {
+        int len = text.length();
+        int stop = Math.min(limit, len);
+        while (pos < stop) {
+            if (!isTerminator(text.charAt(pos))) {
+                pos++;
+                continue;
+            }
+            int runEnd = pos;
+            while (runEnd < len && isTerminator(text.charAt(runEnd))) runEnd++;
+            int end = runEnd;
+            while (end < len && isCloser(text.charAt(end))) end++;
+            int verdict = end == len ? (complete ? YES : NEED_MORE) : classify(pos, runEnd, end, complete);
+            if (verdict == NEED_MORE) {
+                return -1;
+            }
+            pos = end;
+            if (verdict == YES) {
+                return end;
+            }
+        }
+        return -1;
+    }
+
+    /** Offset up to which the text has been scanned. */
+    public int position() {
+        return pos;
+    }
+
+    private int classify(int start, int runEnd, int end, boolean complete) {
+        boolean period = true, fullWidth = false;
+        for (int i = start; i < runEnd; i++) {
+            char c = text.charAt(i);
+            if (c == '\u3002' || c == '\uff01' || c == '\uff1f') fullWidth = true;
+            else if (c != '.' && c != '\u2026') period = false;
+        }
+        if (fullWidth) return YES;
+        if (!Character.isWhitespace(text.charAt(end))) return NO;
+        if (!period) return YES; // ? and ! runs
+        if (runEnd - start > 1 || text.charAt(start) == '\u2026') {
+            int next = end;
+            while (next < text.length() && Character.isWhitespace(text.charAt(next))) next++;
+            if (next == text.length()) return complete ? YES : NEED_MORE;
+            return Character.isLowerCase(text.charAt(next)) ? NO : YES;
+        }
+        return isAbbreviation(start) ? NO : YES;
+    }
+
+    // The word before the period at dot: a listed abbreviation, or dotted initials such as "e.g" / "U.S".
+    private boolean isAbbreviation(int dot) {
+        int from = dot;
+        while (from > 0 && (Character.isLetter(text.charAt(from - 1)) || text.charAt(from - 1) == '.')) from--;
+        int len = dot - from;
+        if (len == 0) return false;
+        boolean dotted = false, initials = true;
+        for (int i = from; i < dot; i++) {
+            if (text.charAt(i) == '.') {
+                dotted = true;
+            } else if ((i > from && text.charAt(i - 1) != '.') || (i + 1 < dot && text.charAt(i + 1) != '.')) {
+                initials = false;
+            }
+        }
+        if (dotted) return initials;
+        for (String abbreviation : ABBREVIATIONS) {
+            if (abbreviation.length() == len && equalsIgnoreCase(abbreviation, from)) return true;
+        }
+        return false;
+    }
+
+    private boolean equalsIgnoreCase(String word, int from) {
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.toLowerCase(text.charAt(from + i)) != word.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    static boolean isTerminator(char c) {
+        return c == '.' || c == '!' || c == '?' || c == '\u2026' || c == '\u3002' || c == '\uff01' || c == '\uff1f';
+    }
+
+    private static boolean isCloser(char c) {
+        return c == '"' || c == '\'' || c == ')' || c == ']' || c == '\u201d' || c == '\u2019' || c == '\u00bb' || c == '\u300d' || c == '\u300f';
+    }
+}
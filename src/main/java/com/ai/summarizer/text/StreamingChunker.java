@@ -0,0 +1,206 @@
+package com.ai.summarizer.text;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental counterpart of {@link PromptCompactor} plus {@link TextChunker}, for request bodies
+ * read piece by piece. Bytes are decoded, compacted line by line and cut into chunks of at most
+ * {@code maxTokens} (estimated) as soon as a chunk is full, so the text held at any time is about
+ * one chunk plus the current line, whatever the size of the whole document.
+ *
+ * <p>With {@code dedupeLines}, two differences from the whole-document compactor, both forced by
+ * not seeing ahead: a short line repeated verbatim is dropped from its
+ * {@link PromptCompactor#MIN_REPEATS}th occurrence on (rather than keeping only the first), and
+ * lines longer than {@link PromptCompactor#MAX_BOILERPLATE_CHARS} are passed through as content
+ * without waiting for their end. Not thread-safe.
+ */
+public final class StreamingChunker {
+    /** Distinct short lines tracked for repeats; beyond this, new lines are simply kept. */
+    private static final int MAX_TRACKED_LINES = 4096;
+
+    private final int maxTokens;
+    private final int maxChars;
+    private final boolean dedupeLines;
+    private final CharsetDecoder decoder;
+    private final CharBuffer decoded = CharBuffer.allocate(8192);
+    private ByteBuffer carry = ByteBuffer.allocate(0);
+
+    private final StringBuilder line = new StringBuilder();
+    private boolean lineSpilled;
+    private boolean pendingSpace;
+    private int blankRun;
+    private boolean anyContent;
+    private final Map<String, Integer> shortLines = new HashMap<>();
+
+    private final StringBuilder pending = new StringBuilder();
+    private final List<String> ready = new ArrayList<>();
+    private long chars;
+    private int chunks;
+    private boolean finished;
+
+    public StreamingChunker(int maxTokens, Charset charset) {
+        this(maxTokens, charset, false);
+    }
+
+    public StreamingChunker(int maxTokens, Charset charset, boolean dedupeLines) {
+        this.maxTokens = Math.max(1, maxTokens);
+        this.maxChars = this.maxTokens * TextChunker.CHARS_PER_TOKEN;
+        this.dedupeLines = dedupeLines;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /** Consumes {@code bytes} entirely; returns the chunks it completed, in order (often none). */
+    public List<String> accept(ByteBuffer bytes) {
+        if (finished) throw new IllegalStateException("Already finished");
+        ByteBuffer in = bytes;
+        if (carry.hasRemaining()) {
+            // a multi-byte character split across reads: at most a few bytes
+            in = ByteBuffer.allocate(carry.remaining() + bytes.remaining()).put(carry).put(bytes).flip();
+        }
+        decode(in, false);
+        carry = in.hasRemaining() ? ByteBuffer.allocate(in.remaining()).put(in).flip() : ByteBuffer.allocate(0);
+        drain(false);
+        return takeReady();
+    }
+
+    /** Ends the input; returns the remaining chunks. */
+    public List<String> finish() {
+        if (!finished) {
+            decode(carry, true);
+            decoded.clear();
+            decoder.flush(decoded);
+            consume(decoded.flip());
+            endLine();
+            finished = true;
+            drain(true);
+        }
+        return takeReady();
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /** Chunks completed so far. */
+    public int chunks() {
+        return chunks;
+    }
+
+    /** Characters in the chunks completed so far (compacted text). */
+    public long chars() {
+        return chars;
+    }
+
+    /** Characters currently held: the unfinished chunk and line. */
+    public int bufferedChars() {
+        return pending.length() + line.length();
+    }
+
+    private void decode(ByteBuffer in, boolean endOfInput) {
+        while (true) {
+            decoded.clear();
+            boolean overflow = decoder.decode(in, decoded, endOfInput).isOverflow();
+            consume(decoded.flip());
+            if (!overflow) return;
+            drain(false); // keep pending near one chunk even when a single read is large
+        }
+    }
+
+    // Same normalization as PromptCompactor, one character at a time.
+    private void consume(CharBuffer text) {
+        while (text.hasRemaining()) {
+            char c = text.get();
+            if (PromptCompactor.isIgnorable(c)) continue;
+            if (c == '\n') {
+                endLine();
+            } else if (PromptCompactor.isHorizontalSpace(c)) {
+                pendingSpace = lineSpilled || !line.isEmpty();
+            } else {
+                StringBuilder target = lineSpilled ? pending : line;
+                if (pendingSpace) target.append(' ');
+                target.append(c);
+                pendingSpace = false;
+                if (!lineSpilled && line.length() > PromptCompactor.MAX_BOILERPLATE_CHARS) {
+                    startContentLine();
+                    pending.append(line);
+                    line.setLength(0);
+                    lineSpilled = true;
+                }
+            }
+        }
+    }
+
+    private void endLine() {
+        if (lineSpilled) {
+            lineSpilled = false;
+        } else if (line.isEmpty() || PromptCompactor.isSeparator(line)) {
+            blankRun++;
+        } else if (!dedupeLines || !isRepeatedLine()) {
+            startContentLine();
+            pending.append(line);
+        }
+        line.setLength(0);
+        pendingSpace = false;
+    }
+
+    private boolean isRepeatedLine() {
+        String key = line.toString();
+        Integer seen = shortLines.get(key);
+        if (seen == null) {
+            if (shortLines.size() < MAX_TRACKED_LINES) shortLines.put(key, 1);
+            return false;
+        }
+        shortLines.put(key, seen + 1);
+        return seen + 1 >= PromptCompactor.MIN_REPEATS;
+    }
+
+    private void startContentLine() {
+        if (anyContent) pending.append(blankRun > 0 ? "\n\n" : "\n");
+        anyContent = true;
+        blankRun = 0;
+    }
+
+    // Cuts full chunks off the front of pending; on the last call, everything that is left.
+    private void drain(boolean last) {
+        while (!pending.isEmpty()) {
+            int window = Math.min(pending.length(), maxChars);
+            int tokens = TokenEstimator.estimate(CharBuffer.wrap(pending, 0, window));
+            // dense scripts (CJK) get proportionally shorter chunks
+            int limit = tokens > maxTokens ? Math.max(1, (int) ((long) window * maxTokens / tokens)) : window;
+            if (limit == pending.length()) {
+                if (last) cut(limit);
+                return;
+            }
+            cut(TextChunker.cutPoint(pending, 0, limit));
+        }
+    }
+
+    private void cut(int end) {
+        String chunk = pending.substring(0, end).strip();
+        int next = end;
+        while (next < pending.length() && Character.isWhitespace(pending.charAt(next))) next++;
+        pending.delete(0, next);
+        if (!chunk.isEmpty()) {
+            ready.add(chunk);
+            chars += chunk.length();
+            chunks++;
+        }
+    }
+
+    private List<String> takeReady() {
+        if (ready.isEmpty()) return List.of();
+        List<String> out = List.copyOf(ready);
+        ready.clear();
+        return out;
+    }
+}
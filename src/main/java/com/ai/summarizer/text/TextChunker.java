@@ -0,0 +1,86 @@
+package com.ai.summarizer.text;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits text into chunks of at most a given token budget, cutting on the last paragraph break
+ * that fits, else the last sentence end ({@link SentenceScanner} rules: CJK terminators count,
+ * abbreviations such as "Dr." do not), else the last whitespace. Works on offsets into the input
+ * and allocates only the chunk strings themselves.
+ */
+public final class TextChunker {
+    /** Rough English average; good enough to keep chunks well inside model context limits. */
+    public static final int CHARS_PER_TOKEN = 4;
+
+    private TextChunker() {
+    }
+
+    public static int estimateTokens(CharSequence text) {
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    public static List<String> split(String text, int maxTokens) {
+        return split(text, maxTokens, CHARS_PER_TOKEN);
+    }
+
+    /** Same, for text whose measured density is {@code charsPerToken} (e.g. ~1 for CJK). */
+    public static List<String> split(String text, int maxTokens, double charsPerToken) {
+        int maxChars = Math.max(1, (int) (Math.max(1, maxTokens) * charsPerToken));
+        List<String> chunks = new ArrayList<>(text.length() / maxChars + 1);
+        int start = skipWhitespace(text, 0);
+        while (start < text.length()) {
+            int end;
+            if (text.length() - start <= maxChars) {
+                end = text.length();
+            } else {
+                end = cutPoint(text, start, start + maxChars);
+            }
+            String chunk = text.substring(start, end).strip();
+            if (!chunk.isEmpty()) chunks.add(chunk);
+            start = skipWhitespace(text, end);
+        }
+        return chunks;
+    }
+
+    // Prefer the largest cut that still keeps chunks reasonably full; limit must be < text.length().
+    static int cutPoint(CharSequence text, int start, int limit) {
+        int minUseful = start + (limit - start) / 2;
+        int paragraph = lastParagraphBreak(text, start, limit);
+        if (paragraph > minUseful) return paragraph;
+        int sentence = lastSentenceEnd(text, start, limit);
+        if (sentence > minUseful) return sentence;
+        int space = lastWhitespace(text, start, limit);
+        return space > start ? space : limit;
+    }
+
+    private static int lastParagraphBreak(CharSequence text, int start, int limit) {
+        for (int i = limit - 1; i > start; i--) {
+            if (text.charAt(i) == '\n' && text.charAt(i - 1) == '\n') return i + 1;
+        }
+        return -1;
+    }
+
+    // Text past limit is only looked at to classify a terminator; a sentence must end by limit.
+    private static int lastSentenceEnd(CharSequence text, int start, int limit) {
+        SentenceScanner scanner = new SentenceScanner(text, start);
+        int last = -1;
+        for (int end = scanner.next(limit, false); end != -1 && end <= limit; end = scanner.next(limit, false)) {
+            last = end;
+        }
+        return last;
+    }
+
+    private static int lastWhitespace(CharSequence text, int start, int limit) {
+        for (int i = limit; i > start; i--) {
+            if (Character.isWhitespace(text.charAt(i))) return i;
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(String text, int from) {
+        int i = from;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) i++;
+        return i;
+    }
+}
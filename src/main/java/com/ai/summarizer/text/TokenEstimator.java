@@ -0,0 +1,59 @@
+package com.ai.summarizer.text;
+
+/**
+ * Local, allocation-free estimate of how many tokens a BPE/SentencePiece tokenizer (Gemini, GPT)
+ * would produce for a text, without a network round trip. It walks the text once and charges each
+ * run of characters by class:
+ * <ul>
+ *   <li>Latin words: one token per up to 7 letters (common words are single tokens);</li>
+ *   <li>other alphabetic scripts: one token per 3 letters;</li>
+ *   <li>CJK, kana and hangul: one token per character;</li>
+ *   <li>digits: one token per 3; other symbols one each, repeated symbols one per 4.</li>
+ * </ul>
+ * Whitespace is free; tokenizers fold it into the following token. Good to within about 15% for
+ * English prose, and far closer than a fixed characters-per-token ratio for CJK text.
+ */
+public final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        int n = text.length();
+        int tokens = 0;
+        int i = 0;
+        while (i < n) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (isIdeographic(c)) {
+                tokens++;
+                i++;
+            } else if (Character.isLetter(c)) {
+                boolean latin = c < 0x250;
+                int start = i;
+                while (i < n && Character.isLetter(text.charAt(i)) && !isIdeographic(text.charAt(i))) i++;
+                int len = i - start;
+                tokens += latin ? (len + 6) / 7 : (len + 2) / 3;
+            } else if (c >= '0' && c <= '9') {
+                int start = i;
+                while (i < n && text.charAt(i) >= '0' && text.charAt(i) <= '9') i++;
+                tokens += (i - start + 2) / 3;
+            } else {
+                int start = i;
+                while (i < n && text.charAt(i) == c) i++;
+                tokens += (i - start + 3) / 4;
+            }
+        }
+        return tokens;
+    }
+
+    // CJK unified ideographs, kana, hangul syllables, full-width forms, and CJK punctuation.
+    static boolean isIdeographic(char c) {
+        return (c >= '\u3000' && c <= '\u30ff')
+                || (c >= '\u3400' && c <= '\u4dbf')
+                || (c >= '\u4e00' && c <= '\u9fff')
+                || (c >= '\uac00' && c <= '\ud7af')
+                || (c >= '\uff00' && c <= '\uffef');
+    }
+}
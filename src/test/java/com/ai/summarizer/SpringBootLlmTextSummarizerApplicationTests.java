@@ -1,24 +1,35 @@
 package com.ai.summarizer;
 
+import com.ai.summarizer.api.ResponseIndex;
 import com.ai.summarizer.api.SummarizeRequest;
 import com.ai.summarizer.api.SummarizeResponse;
 import com.ai.summarizer.api.SummarizerController;
 import com.ai.summarizer.api.SummaryLength;
+import com.ai.summarizer.llm.LlmClient;
 import com.ai.summarizer.service.SummarizerService;
+import com.ai.summarizer.service.TokenBudgets;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(SummarizerController.class)
+@WebMvcTest(controllers = SummarizerController.class,
+        properties = "spring.main.web-application-type=servlet")
+@Import({ResponseIndex.class, SimpleMeterRegistry.class})
 class SpringBootLlmTextSummarizerApplicationTests {
 
     @Autowired
@@ -30,6 +41,12 @@ class SpringBootLlmTextSummarizerApplicationTests {
     @MockBean
     private SummarizerService summarizerService;
 
+    @MockBean
+    private TokenBudgets tokenBudgets;
+
+    @MockBean
+    private LlmClient llmClient;
+
     @Test
     void contextLoads() {
         // This test ensures that the Spring application context loads successfully
@@ -233,4 +250,37 @@ class SpringBootLlmTextSummarizerApplicationTests {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.summary").value(expectedResponse.summary()));
     }
+
+    @Test
+    void shouldAnswerNotModified_whenTheClientHoldsTheSummary() throws Exception {
+        SummarizeRequest request = new SummarizeRequest(
+            "Conditional requests let clients revalidate a summary they already hold without another model call.",
+            2,
+            null
+        );
+        String body = objectMapper.writeValueAsString(request);
+
+        when(summarizerService.summarize(any(SummarizeRequest.class)))
+            .thenReturn(new SummarizeResponse("Clients revalidate summaries."));
+
+        String etag = mockMvc.perform(post("/api/summarize")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/api/summarize")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isNotModified());
+        verify(summarizerService, times(1)).summarize(any(SummarizeRequest.class));
+
+        String hash = etag.substring(3, etag.length() - 1);
+        mockMvc.perform(get("/api/summaries/" + hash))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, public"))
+                .andExpect(jsonPath("$.summary").value("Clients revalidate summaries."));
+    }
 }
@@ -0,0 +1,182 @@
+package com.ai.summarizer;
+
+import com.ai.summarizer.llm.LlmStubServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Cold start of the packaged app in each mode against a local Gemini stub: time from launching the
+ * process to a healthy {@code /actuator/health}, and to the first successful {@code POST /api/summarize}.
+ * Every run is a fresh process. Modes:
+ * <ul>
+ *   <li>{@code jvm}: the extracted boot jar;</li>
+ *   <li>{@code jvm-cds}: the same jar with the CDS archive of a training run and Spring AOT's
+ *       generated initializers;</li>
+ *   <li>{@code native}: the GraalVM native executable, if it has been built.</li>
+ * </ul>
+ * Run with {@code ./gradlew startupBenchmark} (after {@code nativeCompile} to include native).
+ * Results go to stdout and {@code build/reports/startup/startup.json}.
+ */
+@Tag("startup")
+class StartupBenchmark {
+
+  private static final int RUNS = Integer.getInteger("startup.runs", 5);
+  private static final Duration TIMEOUT = Duration.ofSeconds(60);
+  private static final String BODY = "{\"text\":\"Revenue grew in every region this quarter. Costs stayed flat "
+      + "while hiring slowed. The board approved the budget for the data center expansion.\",\"maxSentences\":2}";
+
+  private final HttpClient http = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(1))
+      .build();
+
+  @Test
+  void startupAndFirstSummary_perMode() throws Exception {
+    List<Mode> modes = modes();
+    assumeFalse(modes.isEmpty(), "no packaged app; run ./gradlew startupBenchmark");
+    Path reports = Path.of(System.getProperty("startup.reportDir", "build/reports/startup"));
+    Files.createDirectories(reports);
+
+    List<Result> results = new ArrayList<>();
+    try (LlmStubServer stub = LlmStubServer.start(Duration.ZERO)) {
+      for (Mode mode : modes) {
+        results.add(measure(mode, stub, reports));
+      }
+    }
+
+    System.out.printf("%n%-8s %5s %24s %24s%n", "mode", "runs", "startup ms (min/p50/max)", "first summary ms");
+    for (Result r : results) {
+      System.out.printf("%-8s %5d %24s %24s%n", r.mode, RUNS, r.startup.summary(), r.firstSummary.summary());
+    }
+    Files.writeString(reports.resolve("startup.json"),
+        results.stream().map(Result::json).collect(Collectors.joining(",", "[", "]\n")));
+  }
+
+  private static List<Mode> modes() {
+    List<Mode> modes = new ArrayList<>();
+    String java = System.getProperty("startup.java");
+    Path jar = path("startup.jar");
+    if (java != null && jar != null) {
+      modes.add(new Mode("jvm", List.of(java, "-jar", jar.toString())));
+      Path archive = path("startup.cdsArchive");
+      if (archive != null) {
+        modes.add(new Mode("jvm-cds", List.of(java, "-XX:SharedArchiveFile=" + archive,
+            "-Dspring.aot.enabled=true", "-jar", jar.toString())));
+      }
+    }
+    Path nativeImage = path("startup.nativeImage");
+    if (nativeImage != null) {
+      modes.add(new Mode("native", List.of(nativeImage.toString())));
+    }
+    return modes;
+  }
+
+  private static Path path(String property) {
+    String value = System.getProperty(property);
+    return value != null && Files.exists(Path.of(value)) ? Path.of(value) : null;
+  }
+
+  private Result measure(Mode mode, LlmStubServer stub, Path reports) throws Exception {
+    long[] startup = new long[RUNS];
+    long[] firstSummary = new long[RUNS];
+    Path jobs = Files.createTempDirectory("startup-jobs");
+    for (int run = 0; run < RUNS; run++) {
+      int port = freePort();
+      List<String> command = new ArrayList<>(mode.command);
+      command.addAll(List.of(
+          "--server.port=" + port,
+          "--llm.provider=gemini",
+          "--gemini.base-url=" + stub.baseUrl(),
+          "--gemini.api-key=bench",
+          "--summarizer.jobs.directory=" + jobs));
+      Path log = reports.resolve(mode.name + "-" + run + ".log");
+      long start = System.nanoTime();
+      Process app = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+      try {
+        URI base = URI.create("http://127.0.0.1:" + port);
+        awaitOk(app, log, HttpRequest.newBuilder(base.resolve("/actuator/health")).GET().build());
+        startup[run] = System.nanoTime() - start;
+        awaitOk(app, log, HttpRequest.newBuilder(base.resolve("/api/summarize"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(BODY))
+            .build());
+        firstSummary[run] = System.nanoTime() - start;
+      } finally {
+        app.destroy();
+        app.waitFor();
+      }
+    }
+    return new Result(mode.name, new Millis(startup), new Millis(firstSummary));
+  }
+
+  // Polls until the request answers 200; the app is still starting while the port refuses connections.
+  private void awaitOk(Process app, Path log, HttpRequest request) throws InterruptedException {
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (System.nanoTime() < deadline) {
+      assertThat(app.isAlive()).as("app exited early, see %s", log).isTrue();
+      try {
+        if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) return;
+      } catch (IOException notListeningYet) {
+        // retry
+      }
+      Thread.sleep(5);
+    }
+    throw new AssertionError("no 200 from " + request.uri() + " within " + TIMEOUT + ", see " + log);
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private record Mode(String name, List<String> command) {
+  }
+
+  private record Millis(long[] nanos) {
+
+    long at(double p) {
+      long[] sorted = nanos.clone();
+      Arrays.sort(sorted);
+      return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1_000_000;
+    }
+
+    long min() {
+      return Arrays.stream(nanos).min().orElse(0) / 1_000_000;
+    }
+
+    String summary() {
+      return min() + " / " + at(0.5) + " / " + at(1.0);
+    }
+
+    String json() {
+      return String.format(Locale.ROOT, "{\"min\":%d,\"p50\":%d,\"max\":%d}", min(), at(0.5), at(1.0));
+    }
+  }
+
+  private record Result(String mode, Millis startup, Millis firstSummary) {
+
+    String json() {
+      return String.format(Locale.ROOT, "{\"mode\":\"%s\",\"runs\":%d,\"startupMillis\":%s,\"firstSummaryMillis\":%s}",
+          mode, RUNS, startup.json(), firstSummary.json());
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package com.ai.summarizer.api;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Multi-tenant load test of the fair scheduling in front of the LLM: one tenant offers three times
+ * what the upstream can serve while two light tenants send a trickle. Upstream slots are fixed at 8
+ * and the mock answers in 200ms, so capacity is 40 calls/s. The light tenants must keep their
+ * latency and success rate; the heavy tenant's excess is what gets queued and shed. Caching and
+ * coalescing keep their defaults: every text is unique, so each call has to carry its tenant
+ * through them to the scheduler. Runs with {@code ./gradlew loadTest}; per-tenant results go to
+ * stdout and {@code build/reports/load}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class FairShareLoadTest {
+
+  private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadDuration", 30));
+  private static final long P95_MILLIS = Long.getLong("loadP95Millis", 1500);
+  private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadMaxErrorRate", "0.01"));
+  private static final Map<String, Double> RATES = Map.of("heavy", 120.0, "light-1", 5.0, "light-2", 5.0);
+
+  private static final String DOCUMENT = "Revenue grew in every region this quarter, led by the new subscription "
+      + "plans. Costs stayed flat while hiring slowed in the second half. The board approved the budget for the "
+      + "data center expansion. Customer churn fell after support moved to a follow-the-sun rota.";
+
+  @LocalServerPort
+  int port;
+
+  @DynamicPropertySource
+  static void constrainedUpstream(DynamicPropertyRegistry registry) {
+    registry.add("llm.provider", () -> "mock");
+    registry.add("llm.mock.latency.distribution", () -> "FIXED");
+    registry.add("llm.mock.latency.median", () -> "200ms");
+    registry.add("llm.mock.tokens-per-second", () -> "0");
+    registry.add("llm.mock.rate-limit-bursts.every", () -> "0s");
+    registry.add("llm.resilience.limit.initial", () -> "8");
+    registry.add("llm.resilience.limit.min", () -> "8");
+    registry.add("llm.resilience.limit.max", () -> "8");
+    registry.add("llm.resilience.limit.max-queue", () -> "200");
+    registry.add("llm.resilience.limit.max-wait", () -> "5s");
+    registry.add("summarizer.tenants.weights.light-1", () -> "1");
+    registry.add("summarizer.tenants.weights.light-2", () -> "1");
+  }
+
+  @Test
+  void lightTenants_keepTheirLatencyAndSuccessRate_whileAHeavyTenantFloods() throws IOException {
+    ConnectionProvider pool = ConnectionProvider.builder("fair-share-load-test")
+        .maxConnections(2000)
+        .pendingAcquireMaxCount(-1)
+        .build();
+    WebClient client = WebClient.builder()
+        .baseUrl("http://localhost:" + port)
+        .clientConnector(new ReactorClientHttpConnector(HttpClient.create(pool)))
+        .build();
+    try {
+      Map<String, TenantResult> results = Flux.fromIterable(RATES.entrySet())
+          .flatMap(tenant -> run(client, tenant.getKey(), tenant.getValue()))
+          .collectMap(TenantResult::tenant)
+          .block(DURATION.plusMinutes(2));
+
+      String report = results.values().stream().map(TenantResult::summary).sorted().collect(Collectors.joining());
+      System.out.printf("%nPOST /api/summarize, 8 upstream slots, %ds%n%s", DURATION.toSeconds(), report);
+      Path reports = Path.of(System.getProperty("load.reportDir", "build/reports/load"));
+      Files.createDirectories(reports);
+      Files.writeString(reports.resolve("fair-share.json"), results.values().stream()
+          .map(TenantResult::json).collect(Collectors.joining(",", "[", "]\n")));
+
+      for (String light : List.of("light-1", "light-2")) {
+        assertThat(results.get(light).errorRate()).as(light + " error rate").isLessThanOrEqualTo(MAX_ERROR_RATE);
+        assertThat(results.get(light).percentileMillis(0.95)).as(light + " p95 ms").isLessThanOrEqualTo(P95_MILLIS);
+      }
+      // the flood is what gets shed, but it still gets the capacity the light tenants leave
+      TenantResult heavy = results.get("heavy");
+      assertThat(heavy.errorRate()).as("heavy error rate").isGreaterThan(0.0);
+      assertThat(heavy.okPerSecond()).as("heavy ok/s").isGreaterThan(25.0);
+    } finally {
+      pool.disposeLater().block();
+    }
+  }
+
+  private static Mono<TenantResult> run(WebClient client, String tenant, double rate) {
+    long requests = (long) (rate * DURATION.toSeconds());
+    return Flux.interval(Duration.ofNanos((long) (1e9 / rate)))
+        .take(requests)
+        .flatMap(i -> send(client, tenant, i), Integer.MAX_VALUE)
+        .collectList()
+        .map(samples -> new TenantResult(tenant, samples));
+  }
+
+  private static Mono<Sample> send(WebClient client, String tenant, long i) {
+    return Mono.defer(() -> {
+      long start = System.nanoTime();
+      return client.post()
+          .uri("/api/summarize")
+          .header("X-Client-Id", tenant)
+          .contentType(MediaType.APPLICATION_JSON)
+          .bodyValue(Map.of("text", tenant + " report " + i + ". " + DOCUMENT, "maxSentences", 2))
+          .exchangeToMono(r -> r.releaseBody().thenReturn(r.statusCode().value()))
+          .onErrorReturn(-1)
+          .map(status -> new Sample(status, System.nanoTime() - start));
+    });
+  }
+
+  private record Sample(int status, long nanos) {
+  }
+
+  private record TenantResult(String tenant, List<Sample> samples) {
+
+    double errorRate() {
+      return samples.isEmpty() ? 1 : (double) samples.stream().filter(s -> s.status() != 200).count() / samples.size();
+    }
+
+    double okPerSecond() {
+      return samples.stream().filter(s -> s.status() == 200).count() / (double) DURATION.toSeconds();
+    }
+
+    long percentileMillis(double p) {
+      long[] nanos = samples.stream().filter(s -> s.status() == 200).mapToLong(Sample::nanos).sorted().toArray();
+      if (nanos.length == 0) return Long.MAX_VALUE;
+      return nanos[Math.min(nanos.length - 1, (int) Math.ceil(p * nanos.length) - 1)] / 1_000_000;
+    }
+
+    String summary() {
+      return String.format("  %-8s requests=%d ok/s=%.1f errors=%.2f%% p50=%dms p95=%dms p99=%dms%n",
+          tenant, samples.size(), okPerSecond(), 100 * errorRate(),
+          percentileMillis(0.5), percentileMillis(0.95), percentileMillis(0.99));
+    }
+
+    String json() {
+      return String.format(Locale.ROOT,
+          "{\"tenant\":\"%s\",\"requests\":%d,\"okPerSecond\":%.2f,\"errorRate\":%.5f,"
+              + "\"latencyMillis\":{\"p50\":%d,\"p95\":%d,\"p99\":%d}}",
+          tenant, samples.size(), okPerSecond(), errorRate(),
+          percentileMillis(0.5), percentileMillis(0.95), percentileMillis(0.99));
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.ai.summarizer.api;
+
+import com.ai.summarizer.jobs.JobStatus;
+import com.ai.summarizer.llm.LlmClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+class JobControllerIT {
+
+  @TempDir
+  static Path jobsDir;
+
+  @DynamicPropertySource
+  static void jobsDirectory(DynamicPropertyRegistry registry) {
+    registry.add("summarizer.jobs.directory", jobsDir::toString);
+  }
+
+  @Autowired
+  WebTestClient webTestClient;
+
+  @MockBean
+  LlmClient llmClient;
+
+  @Test
+  void submittedJob_isAccepted_thenPolledToItsSummary() throws Exception {
+    when(llmClient.summarize(anyString(), anyInt())).thenReturn("Jobs run in the background. Poll for the result.");
+
+    JobResponse accepted = webTestClient.post()
+        .uri("/api/jobs")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of(
+            "text", "Large documents are summarized asynchronously so the request does not time out. " +
+                "The client polls the job until it has finished.",
+            "length", "SHORT"))
+        .exchange()
+        .expectStatus().isAccepted()
+        .expectHeader().valueMatches("Location", "/api/jobs/[0-9a-f-]{36}")
+        .expectBody(JobResponse.class)
+        .returnResult().getResponseBody();
+    assertThat(accepted).isNotNull();
+
+    JobResponse polled = null;
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (System.nanoTime() < deadline) {
+      polled = webTestClient.get().uri("/api/jobs/{id}", accepted.id())
+          .exchange()
+          .expectStatus().isOk()
+          .expectBody(JobResponse.class)
+          .returnResult().getResponseBody();
+      if (polled != null && polled.status().finished()) break;
+      Thread.sleep(20);
+    }
+
+    assertThat(polled).isNotNull();
+    assertThat(polled.status()).isEqualTo(JobStatus.SUCCEEDED);
+    assertThat(polled.summary()).isEqualTo("Jobs run in the background. Poll for the result.");
+  }
+
+  @Test
+  void unknownJob_is404() {
+    webTestClient.get().uri("/api/jobs/{id}", "no-such-job")
+        .exchange()
+        .expectStatus().isNotFound();
+  }
+
+  @Test
+  void blankTextOrBadCallback_is400() {
+    webTestClient.post()
+        .uri("/api/jobs")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("text", " "))
+        .exchange()
+        .expectStatus().isBadRequest();
+
+    webTestClient.post()
+        .uri("/api/jobs")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("text", "Valid text for a job.", "callbackUrl", "file:///etc/passwd"))
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+}
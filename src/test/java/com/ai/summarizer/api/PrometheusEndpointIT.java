@@ -0,0 +1,58 @@
+package com.ai.summarizer.api;
+
+import com.ai.summarizer.llm.LlmClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@AutoConfigureObservability(tracing = false)
+class PrometheusEndpointIT {
+
+  @Autowired
+  WebTestClient webTestClient;
+
+  @MockBean
+  LlmClient llmClient;
+
+  @Test
+  void scrape_includesPipelineStageTimers() {
+    when(llmClient.summarizeReactive(anyString(), anyInt())).thenReturn(Mono.just("Stages are timed."));
+
+    webTestClient.post()
+        .uri("/api/summarize")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("text", "Metrics for every stage of the summarize pipeline are scraped by Prometheus.",
+            "maxSentences", 1))
+        .exchange()
+        .expectStatus().isOk();
+
+    String scrape = webTestClient.get()
+        .uri("/actuator/prometheus")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(String.class)
+        .returnResult()
+        .getResponseBody();
+
+    assertThat(scrape.lines().filter(l -> l.startsWith("summarizer_stage_seconds_bucket")))
+        .anySatisfy(l -> assertThat(l).contains("stage=\"llm\""));
+    assertThat(scrape.lines().filter(l -> l.startsWith("summarizer_stage_seconds_count")))
+        .anySatisfy(l -> assertThat(l).contains("stage=\"validate\"", "application=\"summarizer\""));
+    assertThat(scrape).contains("summarizer_input_chars");
+  }
+}
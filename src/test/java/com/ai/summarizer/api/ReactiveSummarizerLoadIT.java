@@ -0,0 +1,79 @@
+package com.ai.summarizer.api;
+
+import com.ai.summarizer.llm.LlmClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives more concurrent requests than Tomcat's default pool (200 threads) against a slow LLM stub
+ * and checks that all of them are in flight at the same time on the reactive stack.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveSummarizerLoadIT {
+
+  private static final int SERVLET_POOL_SIZE = 200;
+  private static final int CLIENTS = 500;
+  private static final Duration STUB_LATENCY = Duration.ofMillis(750);
+
+  @LocalServerPort
+  int port;
+
+  @MockBean
+  LlmClient llmClient;
+
+  @Test
+  void inFlightRequests_growPastServletThreadPool() {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    when(llmClient.summarizeReactive(anyString(), anyInt())).thenAnswer(inv -> Mono.defer(() -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      return Mono.delay(STUB_LATENCY).thenReturn("Stub summary sentence.");
+    }).doFinally(s -> inFlight.decrementAndGet()));
+
+    ConnectionProvider pool = ConnectionProvider.builder("load-test")
+        .maxConnections(CLIENTS)
+        .pendingAcquireMaxCount(-1)
+        .build();
+    WebClient client = WebClient.builder()
+        .baseUrl("http://localhost:" + port)
+        .clientConnector(new ReactorClientHttpConnector(HttpClient.create(pool)))
+        .build();
+
+    try {
+      List<Integer> statuses = Flux.range(0, CLIENTS)
+          .flatMap(i -> client.post()
+              .uri("/api/summarize")
+              .contentType(MediaType.APPLICATION_JSON)
+              // distinct bodies so no caching/coalescing layer can short-circuit the stub
+              .bodyValue(Map.of("text", "Load test document number " + i + " with enough text to summarize.",
+                  "maxSentences", 1))
+              .exchangeToMono(r -> r.releaseBody().thenReturn(r.statusCode().value())), CLIENTS)
+          .collectList()
+          .block(Duration.ofSeconds(60));
+
+      assertThat(statuses).hasSize(CLIENTS).containsOnly(200);
+      assertThat(maxInFlight.get()).isGreaterThan(SERVLET_POOL_SIZE);
+    } finally {
+      pool.disposeLater().block();
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.ai.summarizer.api;
+
+import com.ai.summarizer.llm.LlmClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseIndexTest {
+
+  private static final String TEXT = "Revenue grew in every region. Costs stayed flat. The board approved the budget.";
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ResponseIndex index = index("gemini:gemini-1.5-flash");
+
+  @Test
+  void key_isTheCacheKeyOfTextAndCap() {
+    String key = index.key(new SummarizeRequest(TEXT, 2, null));
+
+    assertThat(index.key(new SummarizeRequest("  " + TEXT + "\n", 2, null))).isEqualTo(key);
+    assertThat(index.key(new SummarizeRequest(TEXT, 3, null))).isNotEqualTo(key);
+    assertThat(index.key(new SummarizeRequest(TEXT, null, SummaryLength.SHORT)))
+        .isEqualTo(index.key(new SummarizeRequest(TEXT, 2, null)));
+    assertThat(index.key(new SummarizeRequest(null, 2, null))).isNull();
+  }
+
+  @Test
+  void key_changesWithTheConfiguredModel() {
+    SummarizeRequest request = new SummarizeRequest(TEXT, 2, null);
+
+    assertThat(index("gemini:gemini-1.5-pro").key(request)).isNotEqualTo(index.key(request));
+    assertThat(index("openai:gpt-4o-mini").key(request)).isNotEqualTo(index.key(request));
+  }
+
+  @Test
+  void ok_tagsAndIndexesTheSummary() {
+    String key = index.key(new SummarizeRequest(TEXT, 2, null));
+
+    ResponseEntity<SummarizeResponse> response = index.ok(key, new SummarizeResponse("Revenue grew."));
+
+    assertThat(response.getHeaders().getETag()).isEqualTo("W/\"" + key + "\"");
+    assertThat(response.getHeaders().getFirst("Content-Location")).isEqualTo("/api/summaries/" + key);
+    assertThat(response.getHeaders().getCacheControl()).isEqualTo("max-age=600, private");
+    assertThat(index.lookup(key, null).getBody()).isEqualTo(new SummarizeResponse("Revenue grew."));
+  }
+
+  @Test
+  void notModified_onlyForAnIndexedSummaryTheClientNames() {
+    String key = index.key(new SummarizeRequest(TEXT, 2, null));
+    assertThat(index.notModified(key, "W/\"" + key + "\"")).as("not served yet").isFalse();
+
+    index.ok(key, new SummarizeResponse("Revenue grew."));
+
+    assertThat(index.notModified(key, "W/\"" + key + "\"")).isTrue();
+    assertThat(index.notModified(key, "\"" + key + "\"")).as("weak comparison").isTrue();
+    assertThat(index.notModified(key, "\"other\", W/\"" + key + "\"")).isTrue();
+    assertThat(index.notModified(key, "*")).isTrue();
+    assertThat(index.notModified(key, "\"other\"")).isFalse();
+    assertThat(index.notModified(key, null)).isFalse();
+    assertThat(registry.get("summarizer.http.not.modified").counter().count()).isEqualTo(4);
+  }
+
+  @Test
+  void lookup_isPublic_andAnswers304Or404() {
+    String key = index.key(new SummarizeRequest(TEXT, 2, null));
+    assertThat(index.lookup(key, null).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+    index.ok(key, new SummarizeResponse("Revenue grew."));
+
+    ResponseEntity<SummarizeResponse> hit = index.lookup(key, null);
+    assertThat(hit.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(hit.getHeaders().getCacheControl()).isEqualTo("max-age=600, public");
+    ResponseEntity<SummarizeResponse> revalidated = index.lookup(key, hit.getHeaders().getETag());
+    assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    assertThat(revalidated.getBody()).isNull();
+  }
+
+  private ResponseIndex index(String model) {
+    LlmClient client = new LlmClient() {
+      @Override
+      public String summarize(String text, Integer maxSentences) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public String model() {
+        return model;
+      }
+    };
+    return new ResponseIndex(registry, client, 0.2, 100, Duration.ofHours(1), Duration.ofMinutes(10));
+  }
+}
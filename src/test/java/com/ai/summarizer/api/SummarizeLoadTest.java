@@ -0,0 +1,165 @@
+package com.ai.summarizer.api;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Open-model load test of {@code POST /api/summarize} against the in-process mock provider: requests
+ * arrive at a constant rate whether or not earlier ones have answered, as real clients do, so a
+ * slowdown shows up as latency and errors rather than as a quietly lower request rate. Reports
+ * throughput, latency percentiles and status counts (stdout and {@code build/reports/load}) and fails
+ * when the p95 or error-rate threshold is missed. Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class SummarizeLoadTest {
+
+  private static final double RATE = Double.parseDouble(System.getProperty("loadRate", "100"));
+  private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadDuration", 30));
+  private static final Duration WARM_UP = Duration.ofSeconds(5);
+  private static final long P95_MILLIS = Long.getLong("loadP95Millis", 1500);
+  private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadMaxErrorRate", "0.01"));
+
+  private static final String DOCUMENT = "Revenue grew in every region this quarter, led by the new subscription "
+      + "plans. Costs stayed flat while hiring slowed in the second half. The board approved the budget for the "
+      + "data center expansion. Customer churn fell after support moved to a follow-the-sun rota. Supply delays "
+      + "pushed two hardware launches into next year. Margins improved as hosting contracts were renegotiated.";
+
+  @LocalServerPort
+  int port;
+
+  // A provider with a long latency tail, occasional 5xx and short quota bursts; caches off, so every
+  // request reaches it.
+  @DynamicPropertySource
+  static void mockProvider(DynamicPropertyRegistry registry) {
+    registry.add("llm.provider", () -> "mock");
+    registry.add("llm.mock.latency.distribution", () -> "LOG_NORMAL");
+    registry.add("llm.mock.latency.median", () -> "100ms");
+    registry.add("llm.mock.latency.p99", () -> "600ms");
+    registry.add("llm.mock.error-rate", () -> "0.01");
+    registry.add("llm.mock.rate-limit-bursts.every", () -> "20s");
+    registry.add("llm.mock.rate-limit-bursts.length", () -> "100ms");
+    registry.add("llm.mock.tokens-per-second", () -> "500");
+    registry.add("summarizer.cache.enabled", () -> "false");
+    registry.add("summarizer.cache.near-duplicate.enabled", () -> "false");
+  }
+
+  @Test
+  void summarize_meetsItsLatencyAndErrorThresholds_atAConstantArrivalRate() throws IOException {
+    ConnectionProvider pool = ConnectionProvider.builder("load-test")
+        .maxConnections(2000)
+        .pendingAcquireMaxCount(-1)
+        .build();
+    WebClient client = WebClient.builder()
+        .baseUrl("http://localhost:" + port)
+        .clientConnector(new ReactorClientHttpConnector(HttpClient.create(pool)))
+        .build();
+    try {
+      run(client, WARM_UP); // JIT, connection pool and the adaptive limit settle first
+      Result result = run(client, DURATION);
+
+      System.out.println(result.summary());
+      Path reports = Path.of(System.getProperty("load.reportDir", "build/reports/load"));
+      Files.createDirectories(reports);
+      Files.writeString(reports.resolve("summarize.json"), result.json());
+
+      assertThat(result.errorRate()).as("error rate").isLessThanOrEqualTo(MAX_ERROR_RATE);
+      assertThat(result.percentileMillis(0.95)).as("p95 ms").isLessThanOrEqualTo(P95_MILLIS);
+    } finally {
+      pool.disposeLater().block();
+    }
+  }
+
+  private static Result run(WebClient client, Duration duration) {
+    long requests = (long) (RATE * duration.toSeconds());
+    long start = System.nanoTime();
+    List<Sample> samples = Flux.interval(Duration.ofNanos((long) (1e9 / RATE)))
+        .take(requests)
+        .flatMap(i -> send(client, i), Integer.MAX_VALUE)
+        .collectList()
+        .block(duration.plusMinutes(2));
+    return new Result(samples, System.nanoTime() - start);
+  }
+
+  private static Mono<Sample> send(WebClient client, long i) {
+    return Mono.defer(() -> {
+      long start = System.nanoTime();
+      return client.post()
+          .uri("/api/summarize")
+          .contentType(MediaType.APPLICATION_JSON)
+          .bodyValue(Map.of("text", "Report " + i + ". " + DOCUMENT, "maxSentences", 2))
+          .exchangeToMono(r -> r.releaseBody().thenReturn(r.statusCode().value()))
+          .onErrorReturn(-1) // connection-level failure
+          .map(status -> new Sample(status, System.nanoTime() - start));
+    });
+  }
+
+  private record Sample(int status, long nanos) {
+  }
+
+  private record Result(List<Sample> samples, long wallNanos) {
+
+    double throughput() {
+      return samples.size() * 1e9 / wallNanos;
+    }
+
+    double errorRate() {
+      return samples.isEmpty() ? 1 : (double) samples.stream().filter(s -> s.status() != 200).count() / samples.size();
+    }
+
+    long percentileMillis(double p) {
+      long[] nanos = samples.stream().mapToLong(Sample::nanos).sorted().toArray();
+      if (nanos.length == 0) return Long.MAX_VALUE;
+      return nanos[Math.min(nanos.length - 1, (int) Math.ceil(p * nanos.length) - 1)] / 1_000_000;
+    }
+
+    Map<Integer, Long> statuses() {
+      return samples.stream().collect(Collectors.groupingBy(Sample::status, TreeMap::new, Collectors.counting()));
+    }
+
+    String summary() {
+      return String.format("%nPOST /api/summarize at %.0f req/s for %ds%n"
+              + "  requests........: %d (%.1f/s)%n"
+              + "  errors..........: %.2f%% %s%n"
+              + "  latency ms......: p50=%d p90=%d p95=%d p99=%d max=%d%n",
+          RATE, DURATION.toSeconds(), samples.size(), throughput(), 100 * errorRate(), statuses(),
+          percentileMillis(0.5), percentileMillis(0.9), percentileMillis(0.95), percentileMillis(0.99),
+          percentileMillis(1.0));
+    }
+
+    String json() {
+      String statuses = statuses().entrySet().stream()
+          .map(e -> "\"" + e.getKey() + "\":" + e.getValue())
+          .collect(Collectors.joining(","));
+      return String.format(Locale.ROOT,
+          "{\"rate\":%.1f,\"durationSeconds\":%d,\"requests\":%d,\"throughput\":%.2f,\"errorRate\":%.5f,"
+              + "\"latencyMillis\":{\"p50\":%d,\"p90\":%d,\"p95\":%d,\"p99\":%d,\"max\":%d},\"statuses\":{%s}}%n",
+          RATE, DURATION.toSeconds(), samples.size(), throughput(), errorRate(),
+          percentileMillis(0.5), percentileMillis(0.9), percentileMillis(0.95), percentileMillis(0.99),
+          percentileMillis(1.0), statuses);
+    }
+  }
+}
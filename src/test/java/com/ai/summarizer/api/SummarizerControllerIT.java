@@ -1,18 +1,25 @@
 package com.ai.summarizer.api;
 
 import com.ai.summarizer.llm.LlmClient;
+import com.ai.summarizer.llm.LlmOverloadedException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -31,6 +38,8 @@ class SummarizerControllerIT {
     // Model tries to return 4 sentences, but we will ask for max 2
     when(llmClient.summarize(anyString(), anyInt()))
         .thenReturn("S1. S2. S3. S4.");
+    when(llmClient.summarizeReactive(anyString(), anyInt()))
+        .thenReturn(Mono.just("S1. S2. S3. S4."));
 
     Map<String, Object> body = Map.of(
         "text", "Artificial intelligence is being used to automate repetitive tasks, " +
@@ -72,4 +81,95 @@ class SummarizerControllerIT {
         .exchange()
         .expectStatus().is5xxServerError(); // If you add @ControllerAdvice, change to isBadRequest()
   }
-}
\ No newline at end of file
+
+  @Test
+  void summarize_returns503WithRetryAfter_whenLlmIsOverloaded() {
+    when(llmClient.summarizeReactive(anyString(), anyInt()))
+        .thenReturn(Mono.error(new LlmOverloadedException("LLM call queue is full", Duration.ofMillis(2500))));
+
+    Map<String, Object> body = Map.of(
+        "text", "Load shedding keeps latency bounded when the upstream model is saturated. " +
+                 "Callers are told when to come back instead of waiting on a queue that never drains.",
+        "maxSentences", 2
+    );
+
+    webTestClient.post()
+        .uri("/api/summarize")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(body)
+        .exchange()
+        .expectStatus().isEqualTo(503)
+        .expectHeader().valueEquals("Retry-After", "3");
+  }
+
+  @Test
+  void summarize_answersNotModified_fromTheIndex_withoutCallingTheModel() {
+    when(llmClient.summarizeReactive(anyString(), anyInt())).thenReturn(Mono.just("Tags are derived."));
+    Map<String, Object> body = Map.of(
+        "text", "Entity tags are derived from the input hash, the model and the sentence cap. " +
+                 "Clients holding a summary can revalidate it without another model call.",
+        "maxSentences", 2
+    );
+
+    String etag = webTestClient.post()
+        .uri("/api/summarize")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(body)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueMatches(HttpHeaders.ETAG, "W/\"[0-9a-f]{64}\"")
+        .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=3600, private")
+        .returnResult(SummarizeResponse.class)
+        .getResponseHeaders().getETag();
+    String hash = etag.substring(3, etag.length() - 1);
+
+    webTestClient.post()
+        .uri("/api/summarize")
+        .header(HttpHeaders.IF_NONE_MATCH, etag)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(body)
+        .exchange()
+        .expectStatus().isNotModified()
+        .expectBody().isEmpty();
+    verify(llmClient, times(1)).summarizeReactive(anyString(), anyInt());
+
+    webTestClient.get()
+        .uri("/api/summaries/{hash}", hash)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=3600, public")
+        .expectBody().jsonPath("$.summary").isEqualTo("Tags are derived.");
+    webTestClient.get()
+        .uri("/api/summaries/{hash}", hash)
+        .header(HttpHeaders.IF_NONE_MATCH, etag)
+        .exchange()
+        .expectStatus().isNotModified();
+    webTestClient.get()
+        .uri("/api/summaries/{hash}", "0".repeat(64))
+        .exchange()
+        .expectStatus().isNotFound();
+  }
+
+  @Test
+  void batch_isCompressed_whenTheClientAcceptsGzip() {
+    when(llmClient.summarizeReactive(anyString(), anyInt()))
+        .thenAnswer(call -> Mono.just("Compressed summary of a batch document. ".repeat(10)));
+    StringBuilder ndjson = new StringBuilder();
+    for (int i = 0; i < 8; i++) {
+      ndjson.append("{\"text\":\"Batch document ").append(i)
+          .append(" is long enough to be summarized, and its summary is long enough to compress.\"}\n");
+    }
+
+    byte[] compressed = webTestClient.post()
+        .uri("/api/summarize/batch")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+        .bodyValue(ndjson.toString())
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+        .expectBody().returnResult().getResponseBody();
+
+    assertThat(compressed).startsWith((byte) 0x1f, (byte) 0x8b);
+  }
+}
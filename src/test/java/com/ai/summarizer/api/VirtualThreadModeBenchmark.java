@@ -0,0 +1,139 @@
+package com.ai.summarizer.api;
+
+import com.ai.summarizer.SpringBootLlmTextSummarizerApplication;
+import com.ai.summarizer.llm.LlmStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Platform-thread vs virtual-thread servlet stack against a delayed local Gemini stub.
+ * Closed-loop load: {@code CLIENTS} virtual-thread clients each send requests back to back.
+ *
+ * <p>Run with {@code ./gradlew benchmark --tests '*VirtualThreadModeBenchmark'}.
+ */
+@Tag("benchmark")
+class VirtualThreadModeBenchmark {
+
+  private static final int CLIENTS = Integer.getInteger("bench.clients", 1000);
+  private static final Duration STUB_LATENCY = Duration.ofMillis(Long.getLong("bench.stubLatencyMs", 200));
+  private static final Duration WARMUP = Duration.ofSeconds(3);
+  private static final Duration MEASURE = Duration.ofSeconds(10);
+
+  private static LlmStubServer stub;
+
+  @BeforeAll
+  static void startStub() throws Exception {
+    stub = LlmStubServer.start(STUB_LATENCY);
+  }
+
+  @AfterAll
+  static void stopStub() {
+    stub.close();
+  }
+
+  @Test
+  void platformVsVirtualThreads() throws Exception {
+    Result platform = run("platform", false);
+    Result virtual = run("virtual", true);
+
+    System.out.printf("%n%-9s %8s %12s %9s %9s %7s%n", "mode", "clients", "throughput", "p50 ms", "p99 ms", "errors");
+    for (Result r : List.of(platform, virtual)) {
+      System.out.printf("%-9s %8d %10.1f/s %9.1f %9.1f %7d%n",
+          r.mode, CLIENTS, r.throughput, r.p50Millis, r.p99Millis, r.errors);
+    }
+  }
+
+  private Result run(String mode, boolean virtualThreads) throws Exception {
+    try (ConfigurableApplicationContext app = new SpringApplicationBuilder(SpringBootLlmTextSummarizerApplication.class)
+        .properties(
+            "server.port=0",
+            "spring.main.web-application-type=servlet",
+            "spring.threads.virtual.enabled=" + virtualThreads,
+            "gemini.base-url=" + stub.baseUrl(),
+            "gemini.api-key=bench",
+            // same upstream ceiling for both modes so only the request threading differs
+            "gemini.max-concurrency=" + CLIENTS,
+            // keep the connection pool from being the bottleneck for either mode
+            "gemini.http.max-connections=" + CLIENTS * 2,
+            "llm.resilience.enabled=false")
+        .run()) {
+      int port = Integer.parseInt(app.getEnvironment().getProperty("local.server.port"));
+      return drive(mode, URI.create("http://127.0.0.1:" + port + "/api/summarize"));
+    }
+  }
+
+  private Result drive(String mode, URI uri) throws InterruptedException {
+    HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    long warmupEnd = System.nanoTime() + WARMUP.toNanos();
+    long measureEnd = warmupEnd + MEASURE.toNanos();
+    AtomicInteger errors = new AtomicInteger();
+    List<long[]> perClient = new ArrayList<>(CLIENTS);
+    List<Thread> threads = new ArrayList<>(CLIENTS);
+
+    for (int c = 0; c < CLIENTS; c++) {
+      long[] samples = new long[4096];
+      perClient.add(samples);
+      int client = c;
+      threads.add(Thread.ofVirtual().start(() -> {
+        int n = 0, seq = 0;
+        while (System.nanoTime() < measureEnd) {
+          String body = "{\"text\":\"Benchmark document " + client + "-" + (seq++) +
+              " with enough words to pass validation.\",\"maxSentences\":1}";
+          HttpRequest req = HttpRequest.newBuilder(uri)
+              .header("Content-Type", "application/json")
+              .POST(HttpRequest.BodyPublishers.ofString(body))
+              .build();
+          long start = System.nanoTime();
+          try {
+            HttpResponse<Void> resp = http.send(req, HttpResponse.BodyHandlers.discarding());
+            long end = System.nanoTime();
+            if (resp.statusCode() != 200) {
+              if (start >= warmupEnd) errors.incrementAndGet();
+            } else if (start >= warmupEnd && end <= measureEnd && n < samples.length - 1) {
+              samples[++n] = end - start;
+            }
+          } catch (Exception e) {
+            if (start >= warmupEnd) errors.incrementAndGet();
+          }
+        }
+        samples[0] = n;
+      }));
+    }
+    for (Thread t : threads) t.join();
+
+    int total = perClient.stream().mapToInt(s -> (int) s[0]).sum();
+    long[] all = new long[total];
+    int i = 0;
+    for (long[] s : perClient) {
+      System.arraycopy(s, 1, all, i, (int) s[0]);
+      i += (int) s[0];
+    }
+    Arrays.sort(all);
+    return new Result(mode,
+        total / (MEASURE.toNanos() / 1e9),
+        percentile(all, 0.50) / 1e6,
+        percentile(all, 0.99) / 1e6,
+        errors.get());
+  }
+
+  private static double percentile(long[] sorted, double p) {
+    if (sorted.length == 0) return Double.NaN;
+    return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+  }
+
+  private record Result(String mode, double throughput, double p50Millis, double p99Millis, int errors) {}
+}
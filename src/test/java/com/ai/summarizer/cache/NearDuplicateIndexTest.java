@@ -0,0 +1,130 @@
+package com.ai.summarizer.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearDuplicateIndexTest {
+
+  private static final int MIN_SHINGLES = 20;
+
+  private final Random random = new Random(42);
+  private final String[] vocabulary = vocabulary(5000);
+
+  @Test
+  void perturbedCopies_hitTheirOriginal_andUnrelatedTextMisses() {
+    int articles = 2000;
+    NearDuplicateIndex index = new NearDuplicateIndex(articles, 0.8);
+    String[] originals = new String[articles];
+    for (int i = 0; i < articles; i++) {
+      originals[i] = article(200 + random.nextInt(800));
+      index.put(MinHash.signature(originals[i], MIN_SHINGLES), 3, "summary " + i);
+    }
+
+    int hits = 0;
+    int wrong = 0;
+    for (int i = 0; i < articles; i++) {
+      String found = index.get(MinHash.signature(perturb(originals[i]), MIN_SHINGLES), 3);
+      if (("summary " + i).equals(found)) hits++;
+      else if (found != null) wrong++;
+    }
+    int falsePositives = 0;
+    for (int i = 0; i < articles; i++) {
+      if (index.get(MinHash.signature(article(500), MIN_SHINGLES), 3) != null) falsePositives++;
+    }
+
+    assertThat((double) hits / articles).isGreaterThanOrEqualTo(0.99);
+    assertThat(wrong).isZero();
+    assertThat(falsePositives).isZero();
+  }
+
+  @Test
+  void differentCap_isNotAMatch() {
+    NearDuplicateIndex index = new NearDuplicateIndex(16, 0.8);
+    String text = article(300);
+    index.put(MinHash.signature(text, MIN_SHINGLES), 3, "three sentences");
+
+    assertThat(index.get(MinHash.signature(text, MIN_SHINGLES), 5)).isNull();
+    assertThat(index.get(MinHash.signature(text, MIN_SHINGLES), 3)).isEqualTo("three sentences");
+  }
+
+  @Test
+  void fullIndex_evictsOldestFirst_andStaysBounded() {
+    NearDuplicateIndex index = new NearDuplicateIndex(3, 0.8);
+    String[] texts = {article(300), article(300), article(300), article(300)};
+    for (int i = 0; i < texts.length; i++) {
+      index.put(MinHash.signature(texts[i], MIN_SHINGLES), 3, "s" + i);
+    }
+
+    assertThat(index.size()).isEqualTo(3);
+    assertThat(index.get(MinHash.signature(texts[0], MIN_SHINGLES), 3)).isNull();
+    for (int i = 1; i < texts.length; i++) {
+      assertThat(index.get(MinHash.signature(texts[i], MIN_SHINGLES), 3)).isEqualTo("s" + i);
+    }
+  }
+
+  @Test
+  void shortText_hasNoSignature() {
+    assertThat(MinHash.signature("Only a handful of words here.", MIN_SHINGLES)).isNull();
+  }
+
+  @Test
+  void datesAndTimes_doNotChangeTheSignature() {
+    String body = article(300);
+
+    assertThat(MinHash.signature("Updated 2024-05-03 10:22 UTC " + body, MIN_SHINGLES))
+        .isEqualTo(MinHash.signature("Updated 2025-11-30 08:01 UTC " + body, MIN_SHINGLES));
+    assertThat(MinHash.signature("Posted 03/05/2024 " + body, MIN_SHINGLES))
+        .isEqualTo(MinHash.signature("Posted 30.11.2025 " + body, MIN_SHINGLES));
+  }
+
+  @Test
+  void inputsDifferingInFigures_doNotHit() {
+    NearDuplicateIndex index = new NearDuplicateIndex(16, 0.8);
+    String body = article(300);
+    index.put(MinHash.signature("Revenue rose 5 percent to 1,200 million. " + body, MIN_SHINGLES), 3, "rose 5");
+
+    assertThat(index.get(MinHash.signature("Revenue rose 50 percent to 1,200 million. " + body, MIN_SHINGLES), 3))
+        .isNull();
+    assertThat(index.get(MinHash.signature("Revenue rose 5 percent to 1,300 million. " + body, MIN_SHINGLES), 3))
+        .isNull();
+    assertThat(index.get(MinHash.signature("Revenue rose 5.5 percent to 1,200 million. " + body, MIN_SHINGLES), 3))
+        .isNull();
+    assertThat(index.get(MinHash.signature(
+        "Updated 2025-01-02 09:30. Revenue rose 5 percent to 1,200 million. " + body, MIN_SHINGLES), 3))
+        .as("a new timestamp is still the same document").isEqualTo("rose 5");
+  }
+
+  private String article(int words) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < words; i++) {
+      sb.append(vocabulary[random.nextInt(vocabulary.length)]).append(i % 15 == 14 ? ". " : " ");
+    }
+    return sb.toString();
+  }
+
+  // What the same article looks like when it arrives again: new tracking footer, new timestamp, or reflowed.
+  private String perturb(String article) {
+    return switch (random.nextInt(3)) {
+      case 0 -> article + "\n\nRead more at https://news.example.com/a/" + random.nextInt(100_000)
+          + "?utm_source=newsletter&utm_medium=email&utm_campaign=c" + random.nextInt(99)
+          + " Follow us for more stories like this one.";
+      case 1 -> "Updated 2024-0" + (1 + random.nextInt(9)) + "-1" + random.nextInt(9) + " "
+          + random.nextInt(24) + ":" + random.nextInt(60) + " UTC\n" + article;
+      default -> article.replace(". ", ".   \n ");
+    };
+  }
+
+  private String[] vocabulary(int size) {
+    String[] words = new String[size];
+    for (int i = 0; i < size; i++) {
+      StringBuilder w = new StringBuilder();
+      int length = 3 + random.nextInt(7);
+      for (int j = 0; j < length; j++) w.append((char) ('a' + random.nextInt(26)));
+      words[i] = w.toString();
+    }
+    return words;
+  }
+}
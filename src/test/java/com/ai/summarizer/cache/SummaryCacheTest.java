@@ -0,0 +1,151 @@
+package com.ai.summarizer.cache;
+
+import com.ai.summarizer.api.SummarizeResponse;
+import com.ai.summarizer.ratelimit.Tenants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SummaryCacheTest {
+
+  @TempDir
+  Path tempDir;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void key_ignoresWhitespaceDifferences_butNotCapOrModel() {
+    String key = SummaryCacheKey.of("Some  article\ttext.\n", 3, "gemini-1.5-flash", 0.2);
+
+    assertThat(SummaryCacheKey.of("  Some article text.", 3, "gemini-1.5-flash", 0.2)).isEqualTo(key);
+    assertThat(SummaryCacheKey.of("Some article text.", 2, "gemini-1.5-flash", 0.2)).isNotEqualTo(key);
+    assertThat(SummaryCacheKey.of("Some article text.", 3, "gemini-1.5-pro", 0.2)).isNotEqualTo(key);
+    assertThat(SummaryCacheKey.of("Some article text.", 3, "gemini-1.5-flash", 0.7)).isNotEqualTo(key);
+  }
+
+  @Test
+  void concurrentIdenticalLoads_collapseIntoOneCall() throws Exception {
+    SummaryCache cache = newCache();
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    int callers = 16;
+
+    ExecutorService pool = Executors.newFixedThreadPool(callers);
+    try {
+      List<Future<SummarizeResponse>> results = new ArrayList<>();
+      for (int i = 0; i < callers; i++) {
+        results.add(pool.submit(() -> cache.get("k", () -> {
+          loads.incrementAndGet();
+          await(release);
+          return new SummarizeResponse("cached");
+        })));
+      }
+      Thread.sleep(100); // let every caller reach the cache
+      release.countDown();
+      for (Future<SummarizeResponse> f : results) {
+        assertThat(f.get(5, TimeUnit.SECONDS).summary()).isEqualTo("cached");
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertThat(loads).hasValue(1);
+    assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(callers - 1);
+  }
+
+  @Test
+  void failures_areNotCached() {
+    SummaryCache cache = newCache();
+
+    assertThatThrownBy(() -> cache.get("k", () -> { throw new IllegalStateException("boom"); }))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(cache.get("k", () -> new SummarizeResponse("second try")).summary()).isEqualTo("second try");
+  }
+
+  @Test
+  void reactiveLoad_isSharedWithLaterCallers() {
+    SummaryCache cache = newCache();
+    AtomicInteger loads = new AtomicInteger();
+
+    for (int i = 0; i < 3; i++) {
+      StepVerifier.create(cache.getReactive("k", () -> Mono.fromCallable(() -> {
+            loads.incrementAndGet();
+            return new SummarizeResponse("reactive");
+          })))
+          .assertNext(r -> assertThat(r.summary()).isEqualTo("reactive"))
+          .verifyComplete();
+    }
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void reactiveLoad_runsInTheCallersTenantContext() {
+    SummaryCache cache = newCache();
+
+    StepVerifier.create(cache.getReactive("k", () -> Mono.deferContextual(context ->
+            Mono.just(new SummarizeResponse("for " + Tenants.current(context)))))
+            .contextWrite(Tenants.context("acme")))
+        .assertNext(r -> assertThat(r.summary()).isEqualTo("for acme"))
+        .verifyComplete();
+  }
+
+  @Test
+  void diskTier_servesEntriesAndRespectsTtlAndBudget() throws Exception {
+    DiskSummaryStore store = new DiskSummaryStore(tempDir, 100, Duration.ofHours(1));
+    long now = System.currentTimeMillis();
+    store.put("a", "x".repeat(40), now - 20); // "a" is the oldest
+    assertThat(store.get("a")).map(DiskSummaryStore.Entry::summary).contains("x".repeat(40));
+
+    store.put("b", "y".repeat(40), now); // over budget: oldest entry is pruned
+    assertThat(store.get("a")).isEmpty();
+    assertThat(store.get("b")).map(DiskSummaryStore.Entry::writtenAtMillis).contains(now);
+    assertThat(store.usedBytes()).isLessThanOrEqualTo(100);
+
+    DiskSummaryStore roomy = new DiskSummaryStore(tempDir, 1024, Duration.ofHours(1));
+    roomy.put("c", "z".repeat(10), now - Duration.ofHours(2).toMillis()); // written long before it spilled
+    assertThat(roomy.get("c")).isEmpty();
+  }
+
+  @Test
+  void entryPromotedFromDisk_keepsItsOriginalWriteTime() throws Exception {
+    Duration ttl = Duration.ofSeconds(1);
+    new DiskSummaryStore(tempDir, 1024, ttl).put("k", "from disk", System.currentTimeMillis() - 800);
+    SummaryCache cache = new SummaryCache(registry, DataSize.ofMegabytes(1), ttl, true, tempDir, DataSize.ofKilobytes(1));
+
+    assertThat(cache.get("k", () -> new SummarizeResponse("loaded")).summary()).isEqualTo("from disk");
+    Thread.sleep(400); // past the original TTL, though well within one counted from the promotion
+
+    assertThat(cache.get("k", () -> new SummarizeResponse("loaded")).summary()).isEqualTo("loaded");
+  }
+
+  private SummaryCache newCache() {
+    return new SummaryCache(registry, DataSize.ofMegabytes(1), Duration.ofMinutes(5),
+        false, tempDir, DataSize.ofMegabytes(1));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
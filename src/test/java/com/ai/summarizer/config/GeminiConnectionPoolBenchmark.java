@@ -0,0 +1,111 @@
+package com.ai.summarizer.config;
+
+import com.ai.summarizer.llm.LlmStubServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bursty load against a local Gemini stub: Reactor Netty's shared default pool vs the pool built
+ * from {@code gemini.http.*}. Bursts arrive all at once and are separated by idle gaps, which is
+ * where a small pool queues requests (and rejects them past its pending limit).
+ *
+ * <p>Run with {@code ./gradlew benchmark --tests '*GeminiConnectionPoolBenchmark'}.
+ */
+@Tag("benchmark")
+class GeminiConnectionPoolBenchmark {
+
+  private static final int BURST = Integer.getInteger("bench.burst", 400);
+  private static final int BURSTS = Integer.getInteger("bench.bursts", 15);
+  private static final Duration GAP = Duration.ofMillis(Long.getLong("bench.gapMs", 500));
+  private static final Duration STUB_LATENCY = Duration.ofMillis(Long.getLong("bench.stubLatencyMs", 50));
+
+  @Test
+  void p99UnderBurstLoad() throws Exception {
+    try (LlmStubServer stub = LlmStubServer.start(STUB_LATENCY)) {
+      String uri = stub.baseUrl() + "/v1beta/models/bench:generateContent";
+
+      Result shared = run("default", HttpClient.create(), uri);
+      ConnectionProvider tuned = WebClientsConfig.connectionProvider("bench",
+          WebClientsConfigTest.properties(BURST));
+      Result pooled;
+      try {
+        pooled = run("tuned", WebClientsConfig.httpClient(tuned, WebClientsConfigTest.properties(BURST), false), uri);
+      } finally {
+        tuned.dispose();
+      }
+
+      System.out.printf("%n%-8s %8s %9s %9s %9s %7s%n", "pool", "requests", "p50 ms", "p99 ms", "max ms", "errors");
+      for (Result r : List.of(shared, pooled)) {
+        System.out.printf("%-8s %8d %9.1f %9.1f %9.1f %7d%n",
+            r.name, r.latenciesNanos.size(), r.percentile(0.50), r.percentile(0.99), r.percentile(1.0), r.errors);
+      }
+    }
+  }
+
+  private static Result run(String name, HttpClient client, String uri) throws InterruptedException {
+    Result result = new Result(name);
+    burst(client, uri, result); // warm-up: open connections, JIT
+    result.clear();
+    for (int i = 0; i < BURSTS; i++) {
+      burst(client, uri, result);
+      Thread.sleep(GAP);
+    }
+    return result;
+  }
+
+  private static void burst(HttpClient client, String uri, Result result) {
+    Flux.range(0, BURST)
+        .flatMap(i -> Mono.defer(() -> {
+          long start = System.nanoTime();
+          return client.post()
+              .uri(uri)
+              .responseSingle((resp, body) -> body.asString())
+              .doOnSuccess(body -> result.record(System.nanoTime() - start))
+              .onErrorResume(e -> {
+                result.error();
+                return Mono.empty();
+              });
+        }), BURST)
+        .blockLast(Duration.ofMinutes(2));
+  }
+
+  private static final class Result {
+    final String name;
+    final List<Long> latenciesNanos = Collections.synchronizedList(new ArrayList<>());
+    int errors;
+
+    Result(String name) {
+      this.name = name;
+    }
+
+    void record(long nanos) {
+      latenciesNanos.add(nanos);
+    }
+
+    synchronized void error() {
+      errors++;
+    }
+
+    synchronized void clear() {
+      latenciesNanos.clear();
+      errors = 0;
+    }
+
+    double percentile(double p) {
+      List<Long> sorted = new ArrayList<>(latenciesNanos);
+      if (sorted.isEmpty()) return Double.NaN;
+      Collections.sort(sorted);
+      int idx = (int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1);
+      return sorted.get(Math.max(0, idx)) / 1e6;
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.ai.summarizer.config;
+
+import com.ai.summarizer.llm.GeminiRequest;
+import com.ai.summarizer.llm.GeminiResponse;
+import com.ai.summarizer.llm.OpenAiChatResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeHintsTest {
+
+  private final RuntimeHints hints = new RuntimeHints();
+
+  NativeHintsTest() {
+    new NativeHints().registerHints(hints, getClass().getClassLoader());
+  }
+
+  @Test
+  void upstreamBodies_andTheirNestedRecords_areBindable() {
+    for (Class<?> type : List.of(GeminiRequest.class, GeminiRequest.GenerationConfig.class,
+        GeminiResponse.class, GeminiResponse.UsageMetadata.class, OpenAiChatResponse.Choice.class)) {
+      assertThat(RuntimeHintsPredicates.reflection().onType(type)).as(type.getName()).accepts(hints);
+    }
+    assertThat(RuntimeHintsPredicates.reflection()
+        .onMethodInvocation(GeminiResponse.UsageMetadata.class, "cachedContentTokenCount"))
+        .accepts(hints);
+  }
+
+  @Test
+  void immutableMapsAndLists_usedInJsonSchemas_areRegistered() {
+    Map<String, Object> schema = Map.of("type", "ARRAY", "items", Map.of("type", "STRING"), "required", List.of("a", "b", "c"));
+
+    assertThat(RuntimeHintsPredicates.reflection().onType(schema.getClass())).accepts(hints);
+    assertThat(RuntimeHintsPredicates.reflection().onType(Map.of("type", "STRING").getClass())).accepts(hints);
+    assertThat(RuntimeHintsPredicates.reflection().onType(List.of("a", "b", "c").getClass())).accepts(hints);
+  }
+}
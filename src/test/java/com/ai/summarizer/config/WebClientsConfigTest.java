@@ -0,0 +1,75 @@
+package com.ai.summarizer.config;
+
+import com.ai.summarizer.llm.LlmStubServer;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebClientsConfigTest {
+
+  private static final int BURST = 150;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private LlmStubServer stub;
+  private ConnectionProvider provider;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    Metrics.addRegistry(registry);
+    stub = LlmStubServer.start(Duration.ofMillis(300));
+    provider = WebClientsConfig.connectionProvider("gemini-test", properties(BURST));
+  }
+
+  @AfterEach
+  void tearDown() {
+    provider.dispose();
+    stub.close();
+    Metrics.removeRegistry(registry);
+  }
+
+  @Test
+  void burstLargerThanTheDefaultPool_runsFullyInParallel() {
+    HttpClient client = WebClientsConfig.httpClient(provider, properties(BURST), false);
+
+    List<Integer> statuses = Flux.range(0, BURST)
+        .flatMap(i -> client.post()
+            .uri(stub.baseUrl() + "/v1beta/models/m:generateContent")
+            .responseSingle((resp, body) -> body.thenReturn(resp.status().code())), BURST)
+        .collectList()
+        .block(Duration.ofSeconds(30));
+
+    assertThat(statuses).hasSize(BURST).containsOnly(200);
+    // the shared default pool would cap this at 2 x cores
+    assertThat(stub.maxInFlight()).isGreaterThan(100);
+  }
+
+  @Test
+  void poolPublishesConnectionMetrics() {
+    HttpClient client = WebClientsConfig.httpClient(provider, properties(BURST), false);
+    client.post()
+        .uri(stub.baseUrl() + "/v1beta/models/m:generateContent")
+        .responseSingle((resp, body) -> body.asString())
+        .block(Duration.ofSeconds(10));
+
+    assertThat(registry.find("reactor.netty.connection.provider.total.connections")
+        .tag("name", "gemini-test").gauge()).isNotNull();
+    assertThat(registry.find("reactor.netty.connection.provider.pending.connections.time")
+        .tag("name", "gemini-test").timer()).isNotNull();
+  }
+
+  static GeminiHttpProperties properties(int maxConnections) {
+    return new GeminiHttpProperties(maxConnections, -1, Duration.ofSeconds(10),
+        Duration.ofSeconds(60), Duration.ofMinutes(10), Duration.ofSeconds(30),
+        true, true, true, Duration.ofSeconds(5), Duration.ofSeconds(60), true);
+  }
+}
@@ -0,0 +1,71 @@
+package com.ai.summarizer.jobs;
+
+import com.sun.net.httpserver.HttpServer;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CallbackPolicyTest {
+
+  @Test
+  void resolver_refusesHostsThatResolveToInternalAddresses() throws Exception {
+    Future<InetSocketAddress> resolved = resolve(new CallbackPolicy(List.of()), "localhost");
+
+    assertThat(resolved.isSuccess()).isFalse();
+    assertThat(resolved.cause()).isInstanceOf(CallbackUrlRejectedException.class);
+  }
+
+  @Test
+  void resolver_resolvesAllowedHostsWhereverTheyPoint() throws Exception {
+    Future<InetSocketAddress> resolved = resolve(new CallbackPolicy(List.of("localhost")), "localhost");
+
+    assertThat(resolved.isSuccess()).isTrue();
+    assertThat(resolved.getNow().getAddress().isLoopbackAddress()).isTrue();
+  }
+
+  /** A name that passed the check on submission but now points inside the network is never connected to. */
+  @Test
+  void delivery_neverConnectsToARefusedAddress() throws Exception {
+    AtomicInteger hits = new AtomicInteger();
+    HttpServer hook = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    hook.createContext("/hook", exchange -> {
+      hits.incrementAndGet();
+      exchange.sendResponseHeaders(204, -1);
+      exchange.close();
+    });
+    hook.start();
+    try {
+      WebClient webhooks = WebClient.builder()
+          .clientConnector(new ReactorClientHttpConnector(
+              HttpClient.create().resolver(new CallbackPolicy(List.of()).resolver())))
+          .build();
+
+      assertThatThrownBy(() -> webhooks.post()
+          .uri("http://localhost:" + hook.getAddress().getPort() + "/hook")
+          .retrieve()
+          .toBodilessEntity()
+          .block(Duration.ofSeconds(5)))
+          .hasRootCauseInstanceOf(CallbackUrlRejectedException.class);
+      assertThat(hits).hasValue(0);
+    } finally {
+      hook.stop(0);
+    }
+  }
+
+  private static Future<InetSocketAddress> resolve(CallbackPolicy policy, String host) throws InterruptedException {
+    return policy.resolver().getResolver(GlobalEventExecutor.INSTANCE)
+        .resolve(InetSocketAddress.createUnresolved(host, 80))
+        .await();
+  }
+}
@@ -0,0 +1,164 @@
+package com.ai.summarizer.jobs;
+
+import com.ai.summarizer.api.SummarizeRequest;
+import com.ai.summarizer.api.SummaryLength;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobLogTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void reopenedLog_replaysSubmissionsAndOutcomes() throws Exception {
+    Path file = dir.resolve("jobs.log");
+    Job pending = Job.queued("a", "acme", new SummarizeRequest("x".repeat(100_000), null, SummaryLength.LONG),
+        "http://hook/a", now());
+    Job done = job("b", new SummarizeRequest("Some text.", 3, null), null);
+    try (JobLog log = new JobLog(file, true)) {
+      log.submitted(pending);
+      log.submitted(done);
+      log.finished(done.running().succeeded("Summary.", now()));
+    }
+
+    List<Job> recovered = new JobLog(file, true).recovered();
+
+    assertThat(recovered).extracting(Job::id).containsExactly("a", "b");
+    assertThat(recovered.get(0)).isEqualTo(pending);
+    assertThat(recovered.get(1).status()).isEqualTo(JobStatus.SUCCEEDED);
+    assertThat(recovered.get(1).summary()).isEqualTo("Summary.");
+  }
+
+  @Test
+  void retriedJob_replaysWithItsAttempts_alsoAfterCompaction() throws Exception {
+    Path file = dir.resolve("jobs.log");
+    Job queued = Job.queued("a", "acme", new SummarizeRequest("Some text.", null, null), null, now());
+    Job retried = queued.running().retried("busy").running().retried("still busy");
+    try (JobLog log = new JobLog(file, false)) {
+      log.submitted(queued);
+      log.retried(queued.running().retried("busy"));
+      log.retried(retried);
+    }
+
+    JobLog reopened = new JobLog(file, false);
+    assertThat(reopened.recovered()).containsExactly(retried);
+    reopened.compact(() -> List.of(retried));
+    reopened.close();
+
+    assertThat(new JobLog(file, false).recovered()).containsExactly(retried);
+  }
+
+  @Test
+  void tornTail_isCutOff_andTheLogStaysAppendable() throws Exception {
+    Path file = dir.resolve("jobs.log");
+    try (JobLog log = new JobLog(file, false)) {
+      log.submitted(job("a", new SummarizeRequest("First document.", null, null), null));
+      log.submitted(job("b", new SummarizeRequest("Second document.", null, null), null));
+    }
+    // a crash in the middle of writing "b", followed by garbage
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - 5);
+    }
+    Files.write(file, new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+
+    try (JobLog log = new JobLog(file, false)) {
+      assertThat(log.recovered()).extracting(Job::id).containsExactly("a");
+      log.submitted(job("c", new SummarizeRequest("Third document.", null, null), null));
+    }
+
+    assertThat(new JobLog(file, false).recovered()).extracting(Job::id).containsExactly("a", "c");
+  }
+
+  @Test
+  void compaction_keepsOnlyTheGivenJobs() throws Exception {
+    Path file = dir.resolve("jobs.log");
+    Job kept = job("kept", new SummarizeRequest("Still queued.", null, null), null);
+    Job finished = job("finished", new SummarizeRequest("Done already.", null, null), null).failed("boom", now());
+    try (JobLog log = new JobLog(file, false)) {
+      for (int i = 0; i < 100; i++) {
+        log.submitted(job("old-" + i, new SummarizeRequest("Old document " + i, null, null), null));
+      }
+      log.submitted(kept);
+      long before = log.size();
+
+      log.compact(() -> List.of(kept, finished));
+
+      assertThat(log.size()).isLessThan(before / 10);
+      log.submitted(job("new", new SummarizeRequest("After compaction.", null, null), null));
+    }
+
+    Map<String, Job> recovered = new JobLog(file, false).recovered().stream()
+        .collect(Collectors.toMap(Job::id, Function.identity()));
+    assertThat(recovered).containsOnlyKeys("kept", "finished", "new");
+    assertThat(recovered.get("finished").error()).isEqualTo("boom");
+  }
+
+  /** A writer process killed with SIGKILL mid-stream loses no acknowledged submission. */
+  @Test
+  void killedWriter_losesNoAcknowledgedSubmission() throws Exception {
+    Path file = dir.resolve("jobs.log");
+    Process writer = new ProcessBuilder(
+        ProcessHandle.current().info().command().orElse("java"),
+        "-cp", System.getProperty("java.class.path"),
+        CrashingWriter.class.getName(), file.toString())
+        .redirectErrorStream(true)
+        .start();
+
+    Set<String> acknowledged = new HashSet<>();
+    try (BufferedReader out = new BufferedReader(new InputStreamReader(writer.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while (acknowledged.size() < 2000 && (line = out.readLine()) != null) {
+        if (line.startsWith("ack ")) acknowledged.add(line.substring(4));
+      }
+      writer.destroyForcibly(); // SIGKILL: no shutdown hooks, no close
+      assertThat(writer.waitFor(30, TimeUnit.SECONDS)).isTrue();
+    }
+
+    List<Job> recovered = new JobLog(file, false).recovered();
+    assertThat(acknowledged).hasSize(2000);
+    assertThat(recovered).extracting(Job::id).containsAll(acknowledged);
+    assertThat(recovered).allSatisfy(job -> assertThat(job.request().text()).startsWith("Document "));
+  }
+
+  /** Appends submissions as fast as it can and acknowledges each one on stdout, until killed. */
+  static final class CrashingWriter {
+    public static void main(String[] args) {
+      JobLog log = new JobLog(Path.of(args[0]), false);
+      for (int i = 0; ; i++) {
+        String id = "job-" + i;
+        log.submitted(job(id, new SummarizeRequest("Document " + i + " " + "text ".repeat(i % 500), null, null), null));
+        System.out.println("ack " + id);
+        System.out.flush();
+      }
+    }
+  }
+
+  private static Job job(String id, SummarizeRequest request, String callbackUrl) {
+    return Job.queued(id, null, request, callbackUrl, now());
+  }
+
+  // The log keeps millisecond timestamps.
+  private static Instant now() {
+    return Instant.now().truncatedTo(ChronoUnit.MILLIS);
+  }
+}
@@ -0,0 +1,257 @@
+package com.ai.summarizer.jobs;
+
+import com.ai.summarizer.api.SummarizeRequest;
+import com.ai.summarizer.api.SummarizeResponse;
+import com.ai.summarizer.api.SummaryLength;
+import com.ai.summarizer.config.JobsProperties;
+import com.ai.summarizer.llm.LlmOverloadedException;
+import com.ai.summarizer.ratelimit.Tenants;
+import com.ai.summarizer.service.SummarizerService;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.util.context.Context;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobServiceTest {
+
+  @TempDir
+  Path dir;
+
+  private final SummarizerService summarizer = mock(SummarizerService.class);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final List<JobService> services = new ArrayList<>();
+  private final List<JobLog> logs = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() throws Exception {
+    services.forEach(JobService::stop);
+    for (JobLog log : logs) log.close();
+  }
+
+  @Test
+  void submittedJob_isSummarized_andItsOutcomeIsLogged() throws Exception {
+    when(summarizer.summarize(any())).thenAnswer(inv ->
+        new SummarizeResponse("Summary of " + inv.<SummarizeRequest>getArgument(0).text()));
+    JobService service = service(10, 2);
+    service.start();
+
+    Job job = service.submit(new SummarizeRequest("a long report", null, SummaryLength.LONG), null, null);
+
+    Job done = awaitFinished(service, job.id());
+    assertThat(done.status()).isEqualTo(JobStatus.SUCCEEDED);
+    assertThat(done.summary()).isEqualTo("Summary of a long report");
+    assertThat(registry.counter("summarizer.jobs.completed", "outcome", "succeeded").count()).isEqualTo(1);
+    assertThat(registry.timer("summarizer.jobs.queue.lag").count()).isEqualTo(1);
+  }
+
+  @Test
+  void failingSummary_marksTheJobFailed() throws Exception {
+    when(summarizer.summarize(any())).thenThrow(new IllegalArgumentException("Input text is too short to summarize."));
+    JobService service = service(10, 1);
+    service.start();
+
+    Job job = service.submit(new SummarizeRequest("short", null, null), null, null);
+
+    Job done = awaitFinished(service, job.id());
+    assertThat(done.status()).isEqualTo(JobStatus.FAILED);
+    assertThat(done.error()).isEqualTo("Input text is too short to summarize.");
+    verify(summarizer, times(1)).summarize(any()); // not retryable
+  }
+
+  @Test
+  void transientFailure_isRetried_untilTheJobSucceeds() throws Exception {
+    when(summarizer.summarize(any()))
+        .thenThrow(new LlmOverloadedException("busy", Duration.ofMillis(1)))
+        .thenReturn(new SummarizeResponse("Second time lucky."));
+    JobService service = service(10, 1);
+    service.start();
+
+    Job job = service.submit(new SummarizeRequest("text", null, null), "acme", null);
+
+    Job done = awaitFinished(service, job.id());
+    assertThat(done.status()).isEqualTo(JobStatus.SUCCEEDED);
+    assertThat(done.attempts()).isEqualTo(1);
+    assertThat(done.summary()).isEqualTo("Second time lucky.");
+    assertThat(registry.counter("summarizer.jobs.retries").count()).isEqualTo(1);
+    assertThat(registry.timer("summarizer.jobs.queue.lag").count()).isEqualTo(1);
+  }
+
+  @Test
+  void transientFailures_failTheJobAfterMaxAttempts() throws Exception {
+    when(summarizer.summarize(any())).thenThrow(new LlmOverloadedException("still busy", Duration.ofMillis(1)));
+    JobService service = service(10, 1);
+    service.start();
+
+    Job job = service.submit(new SummarizeRequest("text", null, null), null, null);
+
+    Job done = awaitFinished(service, job.id());
+    assertThat(done.status()).isEqualTo(JobStatus.FAILED);
+    assertThat(done.error()).isEqualTo("still busy");
+    verify(summarizer, times(3)).summarize(any());
+  }
+
+  @Test
+  void jobWaitingToBeRetried_runsAfterARestart() throws Exception {
+    when(summarizer.summarize(any())).thenThrow(new LlmOverloadedException("busy", Duration.ofMinutes(10)));
+    JobService before = service(10, 1);
+    before.start();
+    Job job = before.submit(new SummarizeRequest("text", null, null), null, null);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (registry.counter("summarizer.jobs.retries").count() == 0 && System.nanoTime() < deadline) Thread.sleep(10);
+    before.stop(); // dies during the ten-minute backoff
+    logs.remove(0).close();
+
+    when(summarizer.summarize(any())).thenReturn(new SummarizeResponse("Done."));
+    JobService after = service(10, 1);
+    after.start();
+
+    Job done = awaitFinished(after, job.id());
+    assertThat(done.status()).isEqualTo(JobStatus.SUCCEEDED);
+    assertThat(done.attempts()).isEqualTo(1);
+  }
+
+  @Test
+  void jobsQueuedBeforeARestart_runAfterIt() throws Exception {
+    JobService before = service(10, 1); // never started: the process "dies" with everything queued
+    List<String> ids = List.of(
+        before.submit(new SummarizeRequest("first", null, null), "acme", null).id(),
+        before.submit(new SummarizeRequest("second", null, null), "acme", null).id());
+    logs.remove(0).close();
+
+    List<String> tenants = new CopyOnWriteArrayList<>();
+    when(summarizer.summarize(any())).thenAnswer(inv -> {
+      tenants.add(currentTenant());
+      return new SummarizeResponse("Done.");
+    });
+    JobService after = service(10, 1);
+    after.start();
+
+    for (String id : ids) {
+      assertThat(awaitFinished(after, id).status()).isEqualTo(JobStatus.SUCCEEDED);
+    }
+    assertThat(tenants).containsExactly("acme", "acme");
+    assertThat(registry.counter("summarizer.jobs.recovered").count()).isEqualTo(2);
+  }
+
+  @Test
+  void job_runsAsTheClientThatSubmittedIt() throws Exception {
+    when(summarizer.summarize(any())).thenAnswer(inv -> new SummarizeResponse("Run for " + currentTenant() + "."));
+    JobService service = service(10, 1);
+    service.start();
+
+    Job job = service.submit(new SummarizeRequest("text", null, null), "acme", null);
+
+    assertThat(awaitFinished(service, job.id()).summary()).isEqualTo("Run for acme.");
+  }
+
+  @Test
+  void fullQueue_refusesSubmissions() {
+    JobService service = service(1, 1);
+    service.submit(new SummarizeRequest("queued", null, null), null, null);
+
+    assertThatThrownBy(() -> service.submit(new SummarizeRequest("one too many", null, null), null, null))
+        .isInstanceOf(JobQueueFullException.class);
+  }
+
+  @Test
+  void finishedJob_isPostedToItsCallback() throws Exception {
+    CompletableFuture<String> delivered = new CompletableFuture<>();
+    HttpServer hook = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    hook.createContext("/hook", exchange -> {
+      delivered.complete(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+      exchange.sendResponseHeaders(204, -1);
+      exchange.close();
+    });
+    hook.start();
+    try {
+      when(summarizer.summarize(any())).thenReturn(new SummarizeResponse("Called back."));
+      JobService service = service(10, 1);
+      service.start();
+
+      Job job = service.submit(new SummarizeRequest("text", null, null), null,
+          "http://127.0.0.1:" + hook.getAddress().getPort() + "/hook");
+
+      assertThat(delivered.get(5, TimeUnit.SECONDS))
+          .contains("\"id\":\"" + job.id() + "\"")
+          .contains("\"status\":\"SUCCEEDED\"")
+          .contains("\"summary\":\"Called back.\"");
+    } finally {
+      hook.stop(0);
+    }
+  }
+
+  @Test
+  void callbacksToInternalAddresses_areRefused() {
+    JobService service = service(10, 1, List.of());
+
+    for (String url : List.of("http://127.0.0.1:8080/hook", "http://169.254.169.254/latest/meta-data",
+        "http://10.0.0.7/hook", "http://[::1]/hook", "http://[fd00::1]/hook", "ftp://example.com/hook")) {
+      assertThatThrownBy(() -> service.submit(new SummarizeRequest("text", null, null), null, url))
+          .as(url)
+          .isInstanceOf(CallbackUrlRejectedException.class);
+    }
+    assertThat(registry.counter("summarizer.jobs.submitted").count()).isZero();
+  }
+
+  @Test
+  void allowedHosts_areTheOnlyCallbackHosts() {
+    JobService service = service(10, 1);
+
+    assertThatThrownBy(() -> service.submit(new SummarizeRequest("text", null, null), null, "http://localhost/hook"))
+        .isInstanceOf(CallbackUrlRejectedException.class)
+        .hasMessageContaining("not allowed");
+  }
+
+  private JobService service(int maxPending, int concurrency) {
+    return service(maxPending, concurrency, List.of("127.0.0.1"));
+  }
+
+  private JobService service(int maxPending, int concurrency, List<String> allowedHosts) {
+    JobLog log = new JobLog(dir.resolve("jobs.log"), false);
+    logs.add(log);
+    JobsProperties properties = new JobsProperties(true, dir, false, concurrency, maxPending, Duration.ofHours(1),
+        DataSize.ofMegabytes(1), Map.of(SummaryLength.SHORT, 4, SummaryLength.MEDIUM, 2, SummaryLength.LONG, 1),
+        new JobsProperties.Webhook(Duration.ofSeconds(5), 2, allowedHosts),
+        new JobsProperties.Retry(3, Duration.ofMillis(10), Duration.ofMillis(50)));
+    JobService service = new JobService(summarizer, log, properties, WebClient.create(), registry);
+    services.add(service);
+    return service;
+  }
+
+  private static String currentTenant() {
+    return Tenants.current(Tenants.propagate(Context.empty()));
+  }
+
+  private static Job awaitFinished(JobService service, String id) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (System.nanoTime() < deadline) {
+      Job job = service.find(id).orElseThrow();
+      if (job.status().finished()) return job;
+      Thread.sleep(10);
+    }
+    throw new AssertionError("Job " + id + " did not finish");
+  }
+}
@@ -0,0 +1,75 @@
+package com.ai.summarizer.jobs;
+
+import com.ai.summarizer.api.SummarizeRequest;
+import com.ai.summarizer.api.SummaryLength;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriorityLanesTest {
+
+  private final PriorityLanes lanes = new PriorityLanes(100,
+      Map.of(SummaryLength.SHORT, 4, SummaryLength.MEDIUM, 2, SummaryLength.LONG, 1));
+
+  @Test
+  void lanesAreDrainedByWeight_shortFirst_withoutStarvingLong() throws Exception {
+    for (int i = 0; i < 10; i++) lanes.offer(job("L" + i, SummaryLength.LONG));
+    for (int i = 0; i < 10; i++) lanes.offer(job("M" + i, SummaryLength.MEDIUM));
+    for (int i = 0; i < 10; i++) lanes.offer(job("S" + i, SummaryLength.SHORT));
+
+    List<String> order = new ArrayList<>();
+    for (int i = 0; i < 14; i++) order.add(lanes.take().id());
+
+    assertThat(order).containsExactly(
+        "S0", "S1", "S2", "S3", "M0", "M1", "L0",
+        "S4", "S5", "S6", "S7", "M2", "M3", "L1");
+  }
+
+  @Test
+  void anEmptyLane_doesNotHoldBackTheOthers() throws Exception {
+    for (int i = 0; i < 3; i++) lanes.offer(job("L" + i, SummaryLength.LONG));
+
+    assertThat(List.of(lanes.take().id(), lanes.take().id(), lanes.take().id())).containsExactly("L0", "L1", "L2");
+    assertThat(lanes.size()).isZero();
+  }
+
+  @Test
+  void explicitCap_picksTheLane() {
+    assertThat(job("a", new SummarizeRequest("t", 1, SummaryLength.LONG)).lane()).isEqualTo(SummaryLength.SHORT);
+    assertThat(job("b", new SummarizeRequest("t", 7, null)).lane()).isEqualTo(SummaryLength.LONG);
+    assertThat(job("c", new SummarizeRequest("t", null, null)).lane()).isEqualTo(SummaryLength.MEDIUM);
+  }
+
+  @Test
+  void offer_refusesPastCapacity_butRecoveredJobsAreAlwaysAdded() {
+    PriorityLanes small = new PriorityLanes(1, Map.of());
+
+    assertThat(small.offer(job("a", SummaryLength.SHORT))).isTrue();
+    assertThat(small.offer(job("b", SummaryLength.SHORT))).isFalse();
+    small.add(job("c", SummaryLength.SHORT));
+    assertThat(small.size()).isEqualTo(2);
+  }
+
+  @Test
+  void oldestWait_isTheAgeOfTheOldestHead() {
+    Instant now = Instant.now();
+    lanes.offer(Job.queued("new", null, new SummarizeRequest("t", null, SummaryLength.SHORT), null, now.minusSeconds(1)));
+    lanes.offer(Job.queued("old", null, new SummarizeRequest("t", null, SummaryLength.LONG), null, now.minusSeconds(30)));
+
+    assertThat(lanes.oldestWait(now)).isEqualTo(Duration.ofSeconds(30));
+  }
+
+  private static Job job(String id, SummaryLength length) {
+    return job(id, new SummarizeRequest("text", null, length));
+  }
+
+  private static Job job(String id, SummarizeRequest request) {
+    return Job.queued(id, null, request, null, Instant.now());
+  }
+}
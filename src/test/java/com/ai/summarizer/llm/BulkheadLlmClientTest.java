@@ -0,0 +1,99 @@
+package com.ai.summarizer.llm;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadLlmClientTest {
+
+  @Test
+  void stream_passesEveryDelta_andHoldsItsPermitUntilTheEnd() {
+    Sinks.Many<String> deltas = Sinks.many().unicast().onBackpressureBuffer();
+    BulkheadLlmClient client = new BulkheadLlmClient("test", new Stub(deltas.asFlux()), 1, Duration.ofMillis(50));
+
+    StepVerifier.create(client.stream("text", 2))
+        .then(() -> deltas.tryEmitNext("Revenue "))
+        .expectNext("Revenue ")
+        .then(() -> assertThat(client.availablePermits()).isZero())
+        .then(() -> deltas.tryEmitNext("grew."))
+        .expectNext("grew.")
+        .then(deltas::tryEmitComplete)
+        .verifyComplete();
+    assertThat(client.availablePermits()).isEqualTo(1);
+  }
+
+  @Test
+  void cancellingAStream_cancelsUpstream_andReleasesThePermit() {
+    Sinks.Many<String> deltas = Sinks.many().unicast().onBackpressureBuffer();
+    BulkheadLlmClient client = new BulkheadLlmClient("test", new Stub(deltas.asFlux()), 1, Duration.ofMillis(50));
+
+    StepVerifier.create(client.stream("text", 2))
+        .then(() -> deltas.tryEmitNext("Revenue "))
+        .expectNext("Revenue ")
+        .thenCancel()
+        .verify(Duration.ofSeconds(5));
+
+    assertThat(deltas.currentSubscriberCount()).isZero();
+    assertThat(client.availablePermits()).isEqualTo(1);
+  }
+
+  @Test
+  void reactiveCalls_waitForAPermit_orAreShed() {
+    Sinks.One<String> first = Sinks.one();
+    BulkheadLlmClient client = new BulkheadLlmClient("test", new Stub(Flux.never()) {
+      @Override
+      public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+        return first.asMono();
+      }
+    }, 1, Duration.ofMillis(50));
+
+    StepVerifier.create(client.summarizeReactive("first", 2))
+        .then(() -> StepVerifier.create(client.summarizeReactive("second", 2))
+            .expectError(LlmOverloadedException.class)
+            .verify(Duration.ofSeconds(5)))
+        .then(() -> first.tryEmitValue("done"))
+        .expectNext("done")
+        .verifyComplete();
+    assertThat(client.availablePermits()).isEqualTo(1);
+  }
+
+  @Test
+  void reactiveCalls_seeTheCallersContext() {
+    BulkheadLlmClient client = new BulkheadLlmClient("test", new Stub(Flux.never()) {
+      @Override
+      public Mono<String> generateJson(String prompt, Map<String, Object> schema, int answers) {
+        return Mono.deferContextual(context -> Mono.just(context.getOrDefault("tenant", "anonymous")));
+      }
+    }, 1, Duration.ofMillis(50));
+
+    StepVerifier.create(client.generateJson("prompt", Map.of(), 1).contextWrite(Context.of("tenant", "acme")))
+        .expectNext("acme")
+        .verifyComplete();
+  }
+
+  private static class Stub implements LlmClient {
+    private final Flux<String> deltas;
+
+    Stub(Flux<String> deltas) {
+      this.deltas = deltas;
+    }
+
+    @Override
+    public String summarize(String text, Integer maxSentences) {
+      return "summary";
+    }
+
+    @Override
+    public Flux<String> stream(String text, Integer maxSentences) {
+      return deltas;
+    }
+  }
+}
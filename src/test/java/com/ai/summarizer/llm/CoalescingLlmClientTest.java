@@ -0,0 +1,170 @@
+package com.ai.summarizer.llm;
+
+import com.ai.summarizer.ratelimit.Tenants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoalescingLlmClientTest {
+
+  private static final int CALLERS = 32;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void concurrentIdenticalCalls_shareOneUpstreamCall() throws Exception {
+    CountingStub stub = new CountingStub();
+    CoalescingLlmClient client = new CoalescingLlmClient(stub, registry);
+
+    List<Future<String>> results = callConcurrently(() -> client.summarize("same prompt", 2), stub);
+
+    for (Future<String> f : results) {
+      assertThat(f.get(5, TimeUnit.SECONDS)).isEqualTo("summary #1");
+    }
+    assertThat(stub.calls).hasValue(1);
+    assertThat(count("issued")).isEqualTo(1);
+    assertThat(count("coalesced")).isEqualTo(CALLERS - 1);
+  }
+
+  @Test
+  void failure_reachesEveryWaiter_andIsNotReused() throws Exception {
+    CountingStub stub = new CountingStub();
+    stub.failNext = true;
+    CoalescingLlmClient client = new CoalescingLlmClient(stub, registry);
+
+    List<Future<String>> results = callConcurrently(() -> client.summarize("same prompt", 2), stub);
+
+    for (Future<String> f : results) {
+      assertThatThrownBy(() -> f.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("upstream 500");
+    }
+    stub.release = new CountDownLatch(0);
+    assertThat(client.summarize("same prompt", 2)).isEqualTo("summary #2");
+    assertThat(stub.calls).hasValue(2);
+  }
+
+  @Test
+  void differentPromptsOrCaps_areNotCoalesced() {
+    CountingStub stub = new CountingStub();
+    stub.release = new CountDownLatch(0);
+    CoalescingLlmClient client = new CoalescingLlmClient(stub, registry);
+
+    client.summarize("prompt a", 2);
+    client.summarize("prompt a", 3);
+    client.summarize("prompt b", 2);
+
+    assertThat(stub.calls).hasValue(3);
+    assertThat(count("coalesced")).isZero();
+  }
+
+  @Test
+  void reactiveCallers_shareOneCall_evenIfTheFirstCancels() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    Sinks.One<String> upstream = Sinks.one();
+    LlmClient reactiveStub = new LlmClient() {
+      @Override
+      public String summarize(String text, Integer maxSentences) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+        calls.incrementAndGet();
+        return upstream.asMono();
+      }
+    };
+    CoalescingLlmClient client = new CoalescingLlmClient(reactiveStub, registry);
+
+    client.summarizeReactive("p", 1).subscribe().dispose(); // first caller gives up immediately
+    CompletableFuture<List<String>> waiters = Flux.range(0, CALLERS)
+        .flatMap(i -> client.summarizeReactive("p", 1))
+        .collectList()
+        .toFuture();
+
+    upstream.tryEmitValue("shared");
+
+    assertThat(waiters.get(5, TimeUnit.SECONDS)).hasSize(CALLERS).containsOnly("shared");
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void reactiveCall_reachesUpstreamWithTheCallersTenant() {
+    LlmClient tenantEcho = new LlmClient() {
+      @Override
+      public String summarize(String text, Integer maxSentences) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+        return Mono.deferContextual(context -> Mono.just("for " + Tenants.current(context)));
+      }
+    };
+    CoalescingLlmClient client = new CoalescingLlmClient(tenantEcho, registry);
+
+    StepVerifier.create(client.summarizeReactive("p", 1).contextWrite(Tenants.context("acme")))
+        .expectNext("for acme")
+        .verifyComplete();
+  }
+
+  private List<Future<String>> callConcurrently(Callable<String> call, CountingStub stub)
+      throws InterruptedException {
+    ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < CALLERS; i++) {
+        results.add(pool.submit(call));
+      }
+      assertThat(stub.entered.await(5, TimeUnit.SECONDS)).isTrue();
+      Thread.sleep(100); // the other callers attach while the first one is parked upstream
+      stub.release.countDown();
+      return results;
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private double count(String outcome) {
+    return registry.get("llm.requests").tag("outcome", outcome).counter().count();
+  }
+
+  /** Counts upstream calls and parks each one until the test releases it. */
+  private static final class CountingStub implements LlmClient {
+    final AtomicInteger calls = new AtomicInteger();
+    final CountDownLatch entered = new CountDownLatch(1);
+    volatile CountDownLatch release = new CountDownLatch(1);
+    volatile boolean failNext;
+
+    @Override
+    public String summarize(String text, Integer maxSentences) {
+      int n = calls.incrementAndGet();
+      entered.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      if (failNext) {
+        failNext = false;
+        throw new IllegalStateException("upstream 500");
+      }
+      return "summary #" + n;
+    }
+  }
+}
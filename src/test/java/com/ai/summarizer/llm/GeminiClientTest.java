@@ -0,0 +1,217 @@
+package com.ai.summarizer.llm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class GeminiClientTest {
+
+  private static final String REPORT = """
+      Revenue grew in every region this quarter, led by the new subscription plans. Costs stayed flat \
+      while hiring slowed in the second half. The board approved the budget for the data center \
+      expansion. Customer churn fell after support moved to a follow-the-sun rota. Supply delays pushed \
+      two hardware launches into next year. Margins improved as hosting contracts were renegotiated.""";
+
+  private LlmStubServer stub;
+  private GeminiClient client;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    stub = LlmStubServer.start(Duration.ZERO);
+    client = new GeminiClient(WebClient.create(stub.baseUrl()), "test-key", "gemini-test", 0.2, 200);
+  }
+
+  @AfterEach
+  void tearDown() {
+    stub.close();
+  }
+
+  @Test
+  void summarize_readsFirstCandidateText() {
+    assertThat(client.summarize("Some text.", 2)).isEqualTo("Stub summary sentence.");
+  }
+
+  @Test
+  void summarize_recordsReportedUsageNextToTheLocalEstimate() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Metrics.addRegistry(registry);
+    try {
+      client.summarize("Some text to summarize.", 2);
+
+      assertThat(registry.get("llm.tokens.prompt").tag("provider", "gemini").summary().totalAmount()).isEqualTo(10);
+      assertThat(registry.get("llm.tokens.completion").tag("provider", "gemini").summary().totalAmount()).isEqualTo(4);
+      assertThat(registry.get("llm.tokens.estimated").tag("provider", "gemini").summary().totalAmount()).isEqualTo(6);
+      assertThat(registry.get("llm.tokens.estimate.ratio").tag("provider", "gemini").summary().totalAmount()).isEqualTo(0.6);
+    } finally {
+      Metrics.removeRegistry(registry);
+    }
+  }
+
+  @Test
+  void upstreamErrors_areCountedByCodeAndStatus() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Metrics.addRegistry(registry);
+    try {
+      stub.failNext(2, 429);
+
+      assertThatThrownBy(() -> client.summarize("Some text.", 2)).isInstanceOf(WebClientResponseException.TooManyRequests.class);
+      StepVerifier.create(client.stream("Some text.", 2)).expectError().verify(Duration.ofSeconds(5));
+
+      assertThat(registry.get("llm.errors")
+          .tags("provider", "gemini", "code", "429", "status", "RESOURCE_EXHAUSTED")
+          .counter().count()).isEqualTo(2);
+    } finally {
+      Metrics.removeRegistry(registry);
+    }
+  }
+
+  @Test
+  void stream_emitsOneDeltaPerServerSentEvent() {
+    stub.setStream(3, Duration.ZERO);
+
+    StepVerifier.create(client.stream("Some text.", 2))
+        .expectNext("Sentence 1. ", "Sentence 2. ", "Sentence 3. ")
+        .verifyComplete();
+  }
+
+  @Test
+  void stream_cancellationStopsTheUpstreamGeneration() {
+    stub.setStream(50, Duration.ofMillis(20));
+
+    StepVerifier.create(client.stream("Some text.", 2).take(2))
+        .expectNextCount(2)
+        .verifyComplete();
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> stub.streamsAborted() == 1);
+    assertThat(stub.streamEventsWritten()).isLessThan(50);
+  }
+
+  @Test
+  void contextCache_isCreatedOnTheSecondSighting_andServesLaterCalls() {
+    GeminiClient caching = cachingClient(Duration.ofHours(1), 10);
+
+    caching.summarize(prompt(2, REPORT), 2);
+    assertThat(stub.cachesCreated()).isZero();
+
+    caching.summarize(prompt(2, REPORT), 2);
+    caching.summarize(prompt(4, REPORT), 4); // another instruction, same document
+    StepVerifier.create(caching.stream(prompt(2, REPORT), 2)).expectNextCount(20).verifyComplete();
+
+    assertThat(stub.cachesCreated()).isEqualTo(1);
+    assertThat(stub.cacheHits()).isEqualTo(3);
+  }
+
+  @Test
+  void contextCache_skipsDocumentsBelowTheMinimumSize() {
+    GeminiClient caching = cachingClient(Duration.ofHours(1), 10);
+
+    for (int i = 0; i < 3; i++) {
+      caching.summarize(prompt(2, "A short note."), 2);
+    }
+
+    assertThat(stub.cachesCreated()).isZero();
+    assertThat(stub.cacheHits()).isZero();
+  }
+
+  @Test
+  void contextCache_goneUpstream_fallsBackToTheFullPrompt_andIsRecreated() {
+    GeminiClient caching = cachingClient(Duration.ofHours(1), 10);
+    caching.summarize(prompt(2, REPORT), 2);
+    caching.summarize(prompt(2, REPORT), 2);
+
+    stub.dropCaches();
+
+    assertThat(caching.summarize(prompt(2, REPORT), 2)).isEqualTo("Stub summary sentence.");
+    caching.summarize(prompt(2, REPORT), 2);
+    assertThat(stub.cachesCreated()).isEqualTo(2);
+    assertThat(stub.cacheHits()).isEqualTo(2);
+  }
+
+  @Test
+  void contextCache_evictedForSize_isDeletedUpstream() {
+    GeminiClient caching = cachingClient(Duration.ofHours(1), 1);
+
+    for (String document : new String[] {REPORT, "Second report. " + REPORT}) {
+      caching.summarize(prompt(2, document), 2);
+      caching.summarize(prompt(2, document), 2);
+    }
+
+    assertThat(stub.cachesCreated()).isEqualTo(2);
+    await().atMost(Duration.ofSeconds(5)).until(() -> stub.cachesDeleted() == 1);
+    assertThat(stub.liveCaches()).isEqualTo(1);
+  }
+
+  @Test
+  void contextCache_pastHalfItsTtl_isExtendedOnUse() throws InterruptedException {
+    GeminiClient caching = cachingClient(Duration.ofSeconds(2), 10);
+    caching.summarize(prompt(2, REPORT), 2);
+    caching.summarize(prompt(2, REPORT), 2);
+
+    Thread.sleep(1200);
+    caching.summarize(prompt(2, REPORT), 2);
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> stub.cacheRefreshes() == 1);
+    assertThat(stub.cachesCreated()).isEqualTo(1);
+    assertThat(stub.cacheHits()).isEqualTo(2);
+  }
+
+  @Test
+  void generateJson_asksForStructuredOutput_andReturnsTheAnswer() {
+    PackedPrompt packed = PackedPrompt.of(List.of(
+        new PackedPrompt.Task(REPORT, 2, "Summarize in at most 2 sentences."),
+        new PackedPrompt.Task(REPORT, 5, "Summarize in at most 5 sentences.")));
+
+    String answer = client.generateJson(packed.prompt(), packed.schema(), packed.tasks()).block();
+
+    assertThat(client.supportsJson()).isTrue();
+    assertThat(stub.jsonRequests()).isEqualTo(1);
+    assertThat(packed.answers(answer)).containsEntry(0, "Stub summary sentence.").containsEntry(1, "Stub summary sentence.");
+  }
+
+  @Test
+  void response_skipsFieldsWeDoNotRead_andKeepsUsage() throws Exception {
+    GeminiResponse resp = new ObjectMapper().readValue("""
+        {"candidates":[{"content":{"role":"model","parts":[{"text":"Short."}]},"finishReason":"STOP",
+          "safetyRatings":[{"category":"HARM_CATEGORY_HARASSMENT","probability":"NEGLIGIBLE"}],
+          "citationMetadata":{"citationSources":[{"startIndex":1,"endIndex":5,"uri":"https://example.com"}]}}],
+         "usageMetadata":{"promptTokenCount":120,"candidatesTokenCount":8,"totalTokenCount":128},
+         "modelVersion":"gemini-test"}""", GeminiResponse.class);
+
+    assertThat(GeminiClient.extractText(resp)).isEqualTo("Short.");
+    assertThat(resp.usageMetadata().totalTokenCount()).isEqualTo(128);
+  }
+
+  @Test
+  void errorPayload_surfacesCodeAndMessage() throws Exception {
+    GeminiResponse resp = new ObjectMapper().readValue("""
+        {"error":{"code":429,"message":"Resource has been exhausted","status":"RESOURCE_EXHAUSTED"}}""",
+        GeminiResponse.class);
+
+    assertThatThrownBy(() -> GeminiClient.extractText(resp))
+        .isInstanceOfSatisfying(LlmApiException.class, e -> assertThat(e.status()).isEqualTo("RESOURCE_EXHAUSTED"))
+        .hasMessageContaining("429")
+        .hasMessageContaining("Resource has been exhausted");
+  }
+
+  private GeminiClient cachingClient(Duration ttl, long maxEntries) {
+    return new GeminiClient(WebClient.create(stub.baseUrl()), "test-key", "gemini-test", 0.2, 200,
+        new GeminiClient.ContextCaching(true, ttl, 50, maxEntries));
+  }
+
+  private static String prompt(int cap, String document) {
+    return "Summarize the following text. Limit to a maximum of " + cap + " sentences.\n\n" + document;
+  }
+}
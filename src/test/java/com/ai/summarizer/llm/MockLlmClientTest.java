@@ -0,0 +1,75 @@
+package com.ai.summarizer.llm;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MockLlmClientTest {
+
+  private static final String PROMPT = "Summarize the following text.\n\n"
+      + "Revenue grew in every region. Costs stayed flat. Hiring slowed. Margins improved.";
+
+  @Test
+  void answersWithTheFirstSentencesOfTheText_afterTheSimulatedLatency() {
+    MockLlmClient client = new MockLlmClient(upstream(Duration.ofMillis(50), 0, Duration.ZERO, 0));
+
+    long start = System.nanoTime();
+    String summary = client.summarize(PROMPT, 2);
+
+    assertThat(summary).isEqualTo("Revenue grew in every region. Costs stayed flat.");
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+  }
+
+  @Test
+  void streamsOneDeltaPerSentence_atTheConfiguredThroughput() {
+    // 100 tokens/s: each short sentence takes a few tens of milliseconds
+    MockLlmClient client = new MockLlmClient(upstream(Duration.ZERO, 0, Duration.ZERO, 100));
+
+    long start = System.nanoTime();
+    StepVerifier.create(client.stream(PROMPT, 3))
+        .expectNext("Revenue grew in every region.", " Costs stayed flat.", " Hiring slowed.")
+        .verifyComplete();
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+  }
+
+  @Test
+  void answersPackedPrompts_withTheFirstSentencesOfEachTasksDocument() {
+    MockLlmClient client = new MockLlmClient(upstream(Duration.ZERO, 0, Duration.ZERO, 0));
+    PackedPrompt packed = PackedPrompt.of(List.of(
+        new PackedPrompt.Task("One. Two. Three.", 1, "Summarize briefly."),
+        new PackedPrompt.Task("Alpha. Beta.", 2, "Summarize briefly.")));
+
+    String answer = client.generateJson(packed.prompt(), packed.schema(), packed.tasks()).block();
+
+    assertThat(packed.answers(answer)).isEqualTo(Map.of(0, "One.", 1, "Alpha. Beta."));
+  }
+
+  @Test
+  void failuresLookLikeTheProvidersErrorResponses() {
+    MockLlmClient failing = new MockLlmClient(upstream(Duration.ZERO, 1.0, Duration.ZERO, 0));
+    // the whole period is one quota burst
+    MockLlmClient throttled = new MockLlmClient(upstream(Duration.ZERO, 0, Duration.ofHours(1), 0));
+
+    StepVerifier.create(failing.summarizeReactive(PROMPT, 2))
+        .expectErrorSatisfies(e -> {
+          assertThat(e).isInstanceOf(WebClientResponseException.class);
+          assertThat(((WebClientResponseException) e).getStatusCode().value()).isEqualTo(503);
+          assertThat(ResilientLlmClient.isRetryable(e)).isTrue();
+        })
+        .verify();
+    StepVerifier.create(throttled.stream(PROMPT, 2))
+        .expectErrorSatisfies(e ->
+            assertThat(((WebClientResponseException) e).getStatusCode().value()).isEqualTo(429))
+        .verify();
+  }
+
+  private static SimulatedUpstream upstream(Duration latency, double errorRate, Duration burst, double tokensPerSecond) {
+    return new SimulatedUpstream(() -> latency, errorRate, 503, Duration.ofHours(1), burst, tokensPerSecond);
+  }
+}
@@ -0,0 +1,55 @@
+package com.ai.summarizer.llm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OpenAiClientTest {
+
+  private LlmStubServer stub;
+  private OpenAiClient client;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    stub = LlmStubServer.start(Duration.ZERO);
+    client = new OpenAiClient(WebClient.create(stub.baseUrl() + "/v1"), "test-key", "gpt-test", 0.2, 200);
+  }
+
+  @AfterEach
+  void tearDown() {
+    stub.close();
+  }
+
+  @Test
+  void summarize_readsFirstChoiceContent() {
+    assertThat(client.summarize("Some text.", 2)).isEqualTo("Stub summary sentence.");
+  }
+
+  @Test
+  void stream_emitsDeltaContent_untilDone() {
+    stub.setStream(3, Duration.ZERO);
+
+    StepVerifier.create(client.stream("Some text.", 2))
+        .expectNext("Sentence 1. ", "Sentence 2. ", "Sentence 3. ")
+        .verifyComplete();
+  }
+
+  @Test
+  void errorPayload_surfacesCodeAndMessage() throws Exception {
+    OpenAiChatResponse resp = new ObjectMapper().readValue("""
+        {"error":{"message":"Rate limit reached","type":"requests","code":"rate_limit_exceeded"}}""",
+        OpenAiChatResponse.class);
+
+    assertThatThrownBy(() -> OpenAiClient.extractText(resp))
+        .hasMessageContaining("rate_limit_exceeded")
+        .hasMessageContaining("Rate limit reached");
+  }
+}
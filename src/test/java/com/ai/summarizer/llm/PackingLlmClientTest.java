@@ -0,0 +1,179 @@
+package com.ai.summarizer.llm;
+
+import com.ai.summarizer.ratelimit.Tenants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PackingLlmClientTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final FakeUpstream upstream = new FakeUpstream();
+
+  @Test
+  void concurrentSmallPrompts_goUpstreamAsOnePackedCall() {
+    PackingLlmClient client = client(Duration.ofMillis(20), 16);
+
+    List<String> summaries = Flux.range(0, 5)
+        .flatMapSequential(i -> client.summarizeReactive(prompt(2, "Review " + i + "."), 2))
+        .collectList()
+        .block(Duration.ofSeconds(5));
+
+    assertThat(summaries).containsExactly("Review 0./2", "Review 1./2", "Review 2./2", "Review 3./2", "Review 4./2");
+    assertThat(upstream.jsonPrompts).hasSize(1);
+    assertThat(upstream.plainCalls).hasValue(0);
+    assertThat(registry.get("llm.packing.prompts").tag("outcome", "packed").counter().count()).isEqualTo(5);
+    assertThat(registry.get("llm.packing.batch.size").summary().max()).isEqualTo(5);
+  }
+
+  @Test
+  void lengthsOfOneDocument_shareOneCopyOfIt() {
+    PackingLlmClient client = client(Duration.ofMillis(20), 16);
+    String document = "The quarterly report. Revenue grew. Costs fell.";
+
+    List<String> summaries = Flux.just(2, 5, 8)
+        .flatMapSequential(cap -> client.summarizeReactive(prompt(cap, document), cap))
+        .collectList()
+        .block(Duration.ofSeconds(5));
+
+    assertThat(summaries).containsExactly(document + "/2", document + "/5", document + "/8");
+    assertThat(upstream.jsonPrompts).singleElement()
+        .satisfies(packed -> assertThat(packed.split("The quarterly report", -1)).hasSize(2));
+    assertThat(PackedPrompt.parse(upstream.jsonPrompts.get(0)))
+        .extracting(PackedPrompt.Task::maxSentences).containsExactly(2, 5, 8);
+  }
+
+  @Test
+  void fullBatch_isSentWithoutWaitingForTheWindow() {
+    PackingLlmClient client = client(Duration.ofSeconds(30), 2);
+
+    StepVerifier.create(Flux.merge(
+            client.summarizeReactive(prompt(2, "First."), 2),
+            client.summarizeReactive(prompt(2, "Second."), 2)).collectList())
+        .assertNext(summaries -> assertThat(summaries).containsExactlyInAnyOrder("First./2", "Second./2"))
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+    assertThat(upstream.jsonPrompts).hasSize(1);
+  }
+
+  @Test
+  void tasksMissingFromTheAnswer_fallBackToPlainCalls() {
+    upstream.answer = tasks -> PackedPrompt.answer(List.of("only the first")); // task 1 is missing
+    PackingLlmClient client = client(Duration.ofMillis(20), 16);
+
+    List<String> summaries = Flux.just("One.", "Two.")
+        .flatMapSequential(doc -> client.summarizeReactive(prompt(2, doc), 2))
+        .collectList()
+        .block(Duration.ofSeconds(5));
+
+    assertThat(summaries).containsExactly("only the first", "plain Two.");
+    assertThat(upstream.plainCalls).hasValue(1);
+
+    upstream.answer = tasks -> "not json";
+    assertThat(Flux.just("Three.", "Four.")
+        .flatMapSequential(doc -> client.summarizeReactive(prompt(2, doc), 2))
+        .collectList()
+        .block(Duration.ofSeconds(5))).containsExactly("plain Three.", "plain Four.");
+  }
+
+  @Test
+  void largeDocuments_andLonePrompts_getPlainCalls() {
+    PackingLlmClient client = client(Duration.ofMillis(20), 16);
+
+    assertThat(client.summarize(prompt(2, "word ".repeat(500)), 2)).startsWith("plain word");
+    assertThat(client.summarize(prompt(2, "Alone."), 2)).isEqualTo("plain Alone.");
+    assertThat(client.summarize("no instruction", 2)).isEqualTo("plain no instruction");
+
+    assertThat(upstream.jsonPrompts).isEmpty();
+    assertThat(upstream.plainCalls).hasValue(3);
+  }
+
+  @Test
+  void upstreamError_failsEveryCallerInThePackedCall() {
+    upstream.failure = new LlmApiException("Gemini API error (500): boom", "500", "INTERNAL");
+    PackingLlmClient client = client(Duration.ofMillis(20), 16);
+
+    StepVerifier.create(Flux.merge(
+            client.summarizeReactive(prompt(2, "First."), 2).onErrorReturn("failed"),
+            client.summarizeReactive(prompt(2, "Second."), 2).onErrorReturn("failed")).collectList())
+        .assertNext(results -> assertThat(results).containsExactly("failed", "failed"))
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+    assertThat(upstream.plainCalls).hasValue(0);
+  }
+
+  @Test
+  void tenants_neverShareAPackedCall() {
+    PackingLlmClient client = client(Duration.ofMillis(20), 16);
+
+    List<String> summaries = Flux.just("acme", "globex", "acme", "globex").index()
+        .flatMapSequential(call -> client.summarizeReactive(prompt(2, call.getT2() + " " + call.getT1() + "."), 2)
+            .contextWrite(Tenants.context(call.getT2())))
+        .collectList()
+        .block(Duration.ofSeconds(5));
+
+    assertThat(summaries).containsExactly("acme 0./2", "globex 1./2", "acme 2./2", "globex 3./2");
+    assertThat(upstream.jsonPrompts).hasSize(2);
+    assertThat(PackedPrompt.parse(upstream.jsonByTenant.get("acme")))
+        .extracting(PackedPrompt.Task::document).containsExactly("acme 0.", "acme 2.");
+    assertThat(PackedPrompt.parse(upstream.jsonByTenant.get("globex")))
+        .extracting(PackedPrompt.Task::document).containsExactly("globex 1.", "globex 3.");
+  }
+
+  private PackingLlmClient client(Duration window, int maxItems) {
+    return new PackingLlmClient(upstream, window, maxItems, 200, 1000, registry);
+  }
+
+  private static String prompt(int cap, String document) {
+    return "Summarize in at most " + cap + " sentences.\n\n" + document;
+  }
+
+  /** Answers each packed task with "document/cap"; plain calls with "plain document". */
+  private static final class FakeUpstream implements LlmClient {
+    final List<String> jsonPrompts = new CopyOnWriteArrayList<>();
+    final Map<String, String> jsonByTenant = new ConcurrentHashMap<>();
+    final AtomicInteger plainCalls = new AtomicInteger();
+    volatile Function<List<PackedPrompt.Task>, String> answer = tasks -> PackedPrompt.answer(tasks.stream()
+        .map(task -> task.document() + "/" + task.maxSentences())
+        .toList());
+    volatile RuntimeException failure;
+
+    @Override
+    public String summarize(String text, Integer maxSentences) {
+      plainCalls.incrementAndGet();
+      return "plain " + PromptParts.of(text).document();
+    }
+
+    @Override
+    public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+      return Mono.fromCallable(() -> summarize(text, maxSentences));
+    }
+
+    @Override
+    public boolean supportsJson() {
+      return true;
+    }
+
+    @Override
+    public Mono<String> generateJson(String prompt, Map<String, Object> schema, int answers) {
+      jsonPrompts.add(prompt);
+      if (failure != null) return Mono.error(failure);
+      return Mono.deferContextual(context -> {
+        jsonByTenant.put(Tenants.current(context), prompt);
+        return Mono.fromCallable(() -> answer.apply(PackedPrompt.parse(prompt)));
+      });
+    }
+  }
+}
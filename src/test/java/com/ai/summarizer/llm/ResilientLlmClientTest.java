@@ -0,0 +1,158 @@
+package com.ai.summarizer.llm;
+
+import com.ai.summarizer.resilience.AdaptiveConcurrencyLimiter;
+import com.ai.summarizer.resilience.CircuitBreaker;
+import com.ai.summarizer.resilience.GradientConcurrencyLimit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientLlmClientTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private LlmStubServer stub;
+  private GeminiClient gemini;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    stub = LlmStubServer.start(Duration.ofMillis(5));
+    gemini = new GeminiClient(WebClient.create(stub.baseUrl()), "k", "m", 0.2, 200);
+  }
+
+  @AfterEach
+  void tearDown() {
+    stub.close();
+  }
+
+  @Test
+  void transient503_isRetried_untilItSucceeds() {
+    stub.failNext(2, 503);
+    ResilientLlmClient client = client(limiter(20, 10), breaker(), Duration.ofSeconds(5), 2);
+
+    StepVerifier.create(client.summarizeReactive("Document", 2))
+        .expectNext("Stub summary sentence.")
+        .verifyComplete();
+
+    assertThat(stub.requests()).isEqualTo(3);
+    assertThat(registry.get("llm.retries").counter().count()).isEqualTo(2);
+  }
+
+  @Test
+  void clientError_isNotRetried_andDoesNotTripTheBreaker() {
+    stub.failNext(1, 400);
+    CircuitBreaker breaker = new CircuitBreaker(0.5, 4, 1, Duration.ofSeconds(30), 1);
+    ResilientLlmClient client = client(limiter(20, 10), breaker, Duration.ofSeconds(5), 2);
+
+    StepVerifier.create(client.summarizeReactive("Document", 2))
+        .expectError(WebClientResponseException.BadRequest.class)
+        .verify(Duration.ofSeconds(5));
+
+    assertThat(stub.requests()).isEqualTo(1);
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void persistentFailures_openTheCircuit_andLaterCallsFailFast() {
+    stub.setFailureRate(1.0, 500);
+    CircuitBreaker breaker = new CircuitBreaker(0.5, 10, 4, Duration.ofSeconds(30), 1);
+    ResilientLlmClient client = client(limiter(20, 10), breaker, Duration.ofSeconds(5), 0);
+
+    for (int i = 0; i < 4; i++) {
+      StepVerifier.create(client.summarizeReactive("Document " + i, 2))
+          .expectError(WebClientResponseException.InternalServerError.class)
+          .verify(Duration.ofSeconds(5));
+    }
+
+    StepVerifier.create(client.summarizeReactive("Document", 2))
+        .expectErrorSatisfies(e -> assertThat(e).isInstanceOf(LlmOverloadedException.class)
+            .extracting(ex -> ((LlmOverloadedException) ex).retryAfter())
+            .satisfies(retryAfter -> assertThat(retryAfter).isPositive()))
+        .verify(Duration.ofSeconds(1));
+    assertThat(stub.requests()).isEqualTo(4);
+    assertThat(registry.get("llm.requests.rejected").tag("reason", "circuit_open").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void fullQueue_shedsTheCall_immediately() {
+    stub.setLatency(Duration.ofMillis(500));
+    ResilientLlmClient client = client(limiter(1, 0), breaker(), Duration.ofSeconds(5), 0);
+
+    Disposable running = client.summarizeReactive("First", 2).subscribe();
+    try {
+      StepVerifier.create(client.summarizeReactive("Second", 2))
+          .expectErrorSatisfies(e -> assertThat(e).isInstanceOf(LlmOverloadedException.class)
+              .hasMessageContaining("queue is full"))
+          .verify(Duration.ofMillis(200));
+      assertThat(registry.get("llm.requests.rejected").tag("reason", "queue_full").counter().count()).isEqualTo(1);
+    } finally {
+      running.dispose();
+    }
+  }
+
+  @Test
+  void queuedCall_runsOnceAPermitIsReleased() {
+    stub.setLatency(Duration.ofMillis(100));
+    ResilientLlmClient client = client(limiter(1, 1), breaker(), Duration.ofSeconds(5), 0);
+
+    Disposable running = client.summarizeReactive("First", 2).subscribe();
+    StepVerifier.create(client.summarizeReactive("Second", 2))
+        .expectNext("Stub summary sentence.")
+        .verifyComplete();
+
+    assertThat(stub.maxInFlight()).isEqualTo(1);
+    running.dispose();
+  }
+
+  @Test
+  void slowUpstream_timesOut_andShrinksTheLimit() {
+    stub.setLatency(Duration.ofSeconds(2));
+    GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 2, 20, 0.2, 1.5);
+    AdaptiveConcurrencyLimiter limiter =
+        new AdaptiveConcurrencyLimiter(limit, 10, Duration.ofSeconds(1), Duration.ofSeconds(1), registry);
+    ResilientLlmClient client = new ResilientLlmClient(gemini, limiter, breaker(),
+        Duration.ofMillis(200), Duration.ofSeconds(1), 2, Duration.ofMillis(10), Duration.ofMillis(50), registry);
+
+    StepVerifier.create(client.summarizeReactive("Document", 2))
+        .expectError(TimeoutException.class)
+        .verify(Duration.ofSeconds(2));
+
+    assertThat(limit.limit()).isLessThan(20);
+    assertThat(limiter.inFlight()).isZero();
+  }
+
+  @Test
+  void blockingSummarize_surfacesTheDeadline_unwrapped() {
+    stub.setLatency(Duration.ofSeconds(2));
+    ResilientLlmClient client = client(limiter(20, 10), breaker(), Duration.ofMillis(100), 0);
+
+    assertThatThrownBy(() -> client.summarize("Document", 2))
+        .isInstanceOf(LlmDeadlineExceededException.class)
+        .hasCauseInstanceOf(TimeoutException.class);
+  }
+
+  private AdaptiveConcurrencyLimiter limiter(int limit, int maxQueue) {
+    return new AdaptiveConcurrencyLimiter(new GradientConcurrencyLimit(limit, 1, limit, 0.2, 1.5),
+        maxQueue, Duration.ofSeconds(2), Duration.ofSeconds(1), registry);
+  }
+
+  private static CircuitBreaker breaker() {
+    return new CircuitBreaker(0.5, 50, 20, Duration.ofSeconds(10), 3);
+  }
+
+  private ResilientLlmClient client(AdaptiveConcurrencyLimiter limiter, CircuitBreaker breaker,
+                                    Duration callTimeout, int maxRetries) {
+    return new ResilientLlmClient(gemini, limiter, breaker, callTimeout, callTimeout.multipliedBy(3),
+        maxRetries, Duration.ofMillis(10), Duration.ofMillis(50), registry);
+  }
+}
@@ -0,0 +1,210 @@
+package com.ai.summarizer.llm;
+
+import com.ai.summarizer.resilience.AdaptiveConcurrencyLimiter;
+import com.ai.summarizer.resilience.CircuitBreaker;
+import com.ai.summarizer.resilience.GradientConcurrencyLimit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoutingLlmClientTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void slowRoute_receivesLessTraffic() {
+    FakeRoute fast = new FakeRoute("fast", Duration.ofMillis(5), 0);
+    FakeRoute slow = new FakeRoute("slow", Duration.ofMillis(60), 0);
+    RoutingLlmClient router = router(RoutingLlmClient.Hedging.disabled(), fast, slow);
+
+    callSequentially(router, 30); // learn latencies
+    fast.calls.set(0);
+    slow.calls.set(0);
+    callSequentially(router, 100);
+
+    assertThat(slow.calls.get()).isLessThan(fast.calls.get() / 4);
+    assertThat(router.weightOf("fast")).isGreaterThan(router.weightOf("slow") * 4);
+  }
+
+  @Test
+  void failingRoute_shedsTraffic_butKeepsBeingProbed() {
+    FakeRoute healthy = new FakeRoute("healthy", Duration.ofMillis(5), 0);
+    FakeRoute failing = new FakeRoute("failing", Duration.ofMillis(5), 1.0);
+    RoutingLlmClient router = router(RoutingLlmClient.Hedging.disabled(), healthy, failing);
+
+    callSequentially(router, 40);
+    healthy.calls.set(0);
+    failing.calls.set(0);
+    callSequentially(router, 200);
+
+    assertThat(failing.calls.get()).isPositive().isLessThan(40);
+    assertThat(registry.get("llm.route.errors").tag("route", "failing").counter().count()).isPositive();
+  }
+
+  @Test
+  void hedging_cutsTheTail_whenOneProviderDegrades() throws Exception {
+    try (LlmStubServer degraded = LlmStubServer.start(Duration.ZERO);
+         LlmStubServer healthy = LlmStubServer.start(Duration.ofMillis(20))) {
+      // one in five Gemini responses stalls for 1.5s; the OpenAI-compatible stub stays at 20ms
+      degraded.setLatency(() -> ThreadLocalRandom.current().nextInt(5) == 0 ? Duration.ofMillis(1500) : Duration.ofMillis(20));
+      LlmClient gemini = new GeminiClient(WebClient.create(degraded.baseUrl()), "k", "m", 0.2, 200);
+      LlmClient openAi = new OpenAiClient(WebClient.create(healthy.baseUrl() + "/v1"), "k", "m", 0.2, 200);
+      RoutingLlmClient router = new RoutingLlmClient(
+          List.of(new RoutingLlmClient.Route("gemini", gemini, 1.0), new RoutingLlmClient.Route("openai", openAi, 1.0)),
+          0.2, new RoutingLlmClient.Hedging(true, Duration.ofMillis(50), Duration.ofMillis(100), 50), registry);
+
+      List<Long> latenciesMillis = Flux.range(0, 200)
+          .flatMap(i -> Mono.defer(() -> {
+            long start = System.nanoTime();
+            return router.summarizeReactive("Document " + i, 2)
+                .map(summary -> (System.nanoTime() - start) / 1_000_000);
+          }), 8)
+          .collectList()
+          .block(Duration.ofSeconds(60));
+
+      assertThat(latenciesMillis).hasSize(200);
+      // without hedging a stalled call would take 1.5s
+      assertThat(latenciesMillis.stream().mapToLong(Long::longValue).max().orElseThrow()).isLessThan(700);
+      assertThat(registry.get("llm.hedges").tag("outcome", "won").counter().count()).isPositive();
+    }
+  }
+
+  @Test
+  void singleRoute_hedgesAgainstItself() {
+    AtomicInteger calls = new AtomicInteger();
+    LlmClient stallsOnce = new LlmClient() {
+      @Override
+      public String summarize(String text, Integer maxSentences) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+        return calls.incrementAndGet() == 1 ? Mono.never() : Mono.just("backup");
+      }
+    };
+    RoutingLlmClient router = new RoutingLlmClient(List.of(new RoutingLlmClient.Route("only", stallsOnce, 1.0)),
+        0.2, new RoutingLlmClient.Hedging(true, Duration.ofMillis(10), Duration.ofMillis(50), 10), registry);
+
+    assertThat(router.summarizeReactive("text", 2).block(Duration.ofSeconds(2))).isEqualTo("backup");
+    assertThat(calls).hasValue(2);
+  }
+
+  @Test
+  void backups_stayWithinTheHedgeBudget() {
+    FakeRoute slow = new FakeRoute("slow", Duration.ofMillis(100), 0);
+    RoutingLlmClient router = router(new RoutingLlmClient.Hedging(true, Duration.ofMillis(10), Duration.ofMillis(10), 10), slow);
+
+    // every call outlives its hedge delay, so every one of them would like a backup
+    Flux.range(0, 100).flatMap(i -> router.summarizeReactive("text " + i, 2), 100).blockLast(Duration.ofSeconds(10));
+
+    double fired = registry.get("llm.hedges").tag("outcome", "fired").counter().count();
+    assertThat(fired).isPositive().isLessThanOrEqualTo(20);
+    assertThat(fired + registry.get("llm.hedges").tag("outcome", "skipped").counter().count()).isEqualTo(100);
+    assertThat(slow.calls).hasValue(100 + (int) fired);
+  }
+
+  @Test
+  void noBackup_whileTheLimiterHasNoFreeSlot() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new GradientConcurrencyLimit(1, 1, 1, 0.2, 1.5),
+        10, Duration.ofSeconds(1), Duration.ofSeconds(1), registry);
+    AdaptiveConcurrencyLimiter.Permit held = limiter.acquire().block(); // the primary's own slot
+    FakeRoute slow = new FakeRoute("slow", Duration.ofMillis(100), 0);
+    RoutingLlmClient router = new RoutingLlmClient(List.of(new RoutingLlmClient.Route("slow", slow, 1.0)), 0.2,
+        new RoutingLlmClient.Hedging(true, Duration.ofMillis(10), Duration.ofMillis(10), 100), limiter, null, registry);
+
+    assertThat(router.summarizeReactive("text", 2).block(Duration.ofSeconds(2))).isEqualTo("slow");
+    assertThat(slow.calls).hasValue(1);
+    assertThat(registry.get("llm.hedges").tag("outcome", "skipped").counter().count()).isEqualTo(1);
+    held.ignore();
+  }
+
+  @Test
+  void noBackup_whileTheCircuitIsOpen() {
+    CircuitBreaker breaker = new CircuitBreaker(0.5, 4, 1, Duration.ofSeconds(30), 1);
+    breaker.tryAcquire();
+    breaker.onFailure();
+    FakeRoute slow = new FakeRoute("slow", Duration.ofMillis(100), 0);
+    RoutingLlmClient router = new RoutingLlmClient(List.of(new RoutingLlmClient.Route("slow", slow, 1.0)), 0.2,
+        new RoutingLlmClient.Hedging(true, Duration.ofMillis(10), Duration.ofMillis(10), 100), null, breaker, registry);
+
+    assertThat(router.summarizeReactive("text", 2).block(Duration.ofSeconds(2))).isEqualTo("slow");
+    assertThat(slow.calls).hasValue(1);
+    assertThat(registry.get("llm.hedges").tag("outcome", "skipped").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void backup_holdsALimiterSlotWhileItRuns() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new GradientConcurrencyLimit(5, 1, 5, 0.2, 1.5),
+        10, Duration.ofSeconds(1), Duration.ofSeconds(1), registry);
+    AtomicInteger inFlightDuringBackup = new AtomicInteger(-1);
+    AtomicInteger calls = new AtomicInteger();
+    LlmClient stallsOnce = new LlmClient() {
+      @Override
+      public String summarize(String text, Integer maxSentences) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+        if (calls.incrementAndGet() == 1) return Mono.never();
+        inFlightDuringBackup.set(limiter.inFlight());
+        return Mono.just("backup");
+      }
+    };
+    RoutingLlmClient router = new RoutingLlmClient(List.of(new RoutingLlmClient.Route("only", stallsOnce, 1.0)), 0.2,
+        new RoutingLlmClient.Hedging(true, Duration.ofMillis(10), Duration.ofMillis(10), 100), limiter, null, registry);
+
+    assertThat(router.summarizeReactive("text", 2).block(Duration.ofSeconds(2))).isEqualTo("backup");
+    assertThat(inFlightDuringBackup).hasValue(1);
+    assertThat(limiter.inFlight()).isZero();
+  }
+
+  private RoutingLlmClient router(RoutingLlmClient.Hedging hedging, FakeRoute... routes) {
+    return new RoutingLlmClient(
+        List.of(routes).stream().map(r -> new RoutingLlmClient.Route(r.name, r, 1.0)).toList(),
+        0.3, hedging, registry);
+  }
+
+  private static void callSequentially(RoutingLlmClient router, int calls) {
+    Flux.range(0, calls)
+        .concatMap(i -> router.summarizeReactive("text " + i, 2).onErrorResume(e -> Mono.empty()))
+        .blockLast(Duration.ofSeconds(30));
+  }
+
+  private static final class FakeRoute implements LlmClient {
+    final String name;
+    final Duration latency;
+    final double failureRate;
+    final AtomicInteger calls = new AtomicInteger();
+
+    FakeRoute(String name, Duration latency, double failureRate) {
+      this.name = name;
+      this.latency = latency;
+      this.failureRate = failureRate;
+    }
+
+    @Override
+    public String summarize(String text, Integer maxSentences) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+      calls.incrementAndGet();
+      Mono<String> result = ThreadLocalRandom.current().nextDouble() < failureRate
+          ? Mono.error(new RuntimeException(name + " failed"))
+          : Mono.just(name);
+      return Mono.delay(latency).then(result);
+    }
+  }
+}
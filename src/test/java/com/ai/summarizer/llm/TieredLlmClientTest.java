@@ -0,0 +1,35 @@
+package com.ai.summarizer.llm;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TieredLlmClientTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final TieredLlmClient client =
+      new TieredLlmClient((text, cap) -> "standard", (text, cap) -> "economy", 50, registry);
+
+  @Test
+  void shortPrompts_keepTheStandardModel() {
+    assertThat(client.summarizeReactive("word ".repeat(50), 2).block()).isEqualTo("standard");
+  }
+
+  @Test
+  void promptsOverTheThreshold_goToTheEconomyModel() {
+    assertThat(client.summarizeReactive("word ".repeat(51), 2).block()).isEqualTo("economy");
+    assertThat(client.stream("word ".repeat(51), 2).blockLast()).isEqualTo("economy");
+    assertThat(registry.get("llm.tier.calls").tag("tier", "economy").counter().count()).isEqualTo(2);
+  }
+
+  @Test
+  void model_namesBothTiers() {
+    TieredLlmClient tiered = new TieredLlmClient(
+        new GeminiClient(WebClient.create(), "key", "gemini-1.5-pro", 0.2, 200),
+        new GeminiClient(WebClient.create(), "key", "gemini-1.5-flash", 0.2, 200), 4000, registry);
+
+    assertThat(tiered.model()).isEqualTo("gemini:gemini-1.5-pro+economy>4000:gemini:gemini-1.5-flash");
+  }
+}
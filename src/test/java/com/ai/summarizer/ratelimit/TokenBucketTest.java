@@ -0,0 +1,77 @@
+package com.ai.summarizer.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+  @Test
+  void burstIsAvailableImmediately_thenPermitsAreSpacedByTheRate() {
+    TokenBucket bucket = new TokenBucket(10, 3);
+
+    assertThat(bucket.reserve(1)).isZero();
+    assertThat(bucket.reserve(1)).isZero();
+    assertThat(bucket.reserve(1)).isZero();
+    // the fourth permit is one interval (100ms) out, the fifth two
+    assertThat(bucket.reserve(1)).isBetween(TimeUnit.MILLISECONDS.toNanos(90), TimeUnit.MILLISECONDS.toNanos(100));
+    assertThat(bucket.reserve(1)).isBetween(TimeUnit.MILLISECONDS.toNanos(190), TimeUnit.MILLISECONDS.toNanos(200));
+  }
+
+  @Test
+  void tryAcquire_failsWithoutConsumingWhenEmpty() {
+    TokenBucket bucket = new TokenBucket(1, 2);
+
+    assertThat(bucket.tryAcquire(2)).isTrue();
+    assertThat(bucket.tryAcquire(1)).isFalse();
+    assertThat(bucket.tryAcquire(1)).isFalse();
+    assertThat(bucket.nanosUntilAvailable(1)).isBetween(TimeUnit.MILLISECONDS.toNanos(900), TimeUnit.SECONDS.toNanos(1));
+  }
+
+  @Test
+  void refund_makesThePermitsAvailableAgain() {
+    TokenBucket bucket = new TokenBucket(1, 2);
+
+    assertThat(bucket.tryAcquire(2)).isTrue();
+    assertThat(bucket.tryAcquire(1)).isFalse();
+    bucket.refund(1);
+    assertThat(bucket.tryAcquire(1)).isTrue();
+    assertThat(bucket.tryAcquire(1)).isFalse();
+  }
+
+  @Test
+  void concurrentReservations_neverHandOutTheSameSlot() throws Exception {
+    int callers = 200;
+    TokenBucket bucket = new TokenBucket(1000, 1);
+
+    List<Long> waits;
+    try (ExecutorService pool = Executors.newFixedThreadPool(16)) {
+      List<Callable<Long>> tasks = IntStream.range(0, callers)
+          .<Callable<Long>>mapToObj(i -> () -> bucket.reserve(1))
+          .toList();
+      waits = pool.invokeAll(tasks).stream().map(TokenBucketTest::join).toList();
+    }
+
+    // 200 permits at 1ms apart: the last caller is scheduled ~199ms out, and no two share a slot
+    long slots = waits.stream().map(w -> Math.round(w / 1_000_000.0)).distinct().count();
+    assertThat(slots).isGreaterThan(callers * 9L / 10);
+    assertThat(waits.stream().mapToLong(Long::longValue).max().orElseThrow())
+        .isBetween(TimeUnit.MILLISECONDS.toNanos(150), TimeUnit.MILLISECONDS.toNanos(200));
+  }
+
+  private static long join(Future<Long> f) {
+    try {
+      return f.get();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
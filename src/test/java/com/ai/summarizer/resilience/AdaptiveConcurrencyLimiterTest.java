@@ -0,0 +1,77 @@
+package com.ai.summarizer.resilience;
+
+import com.ai.summarizer.llm.LlmOverloadedException;
+import com.ai.summarizer.ratelimit.Tenants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void queuedCalls_areGrantedFairlyAcrossTenants() {
+    AdaptiveConcurrencyLimiter limiter = limiter(100, Tenants.NONE);
+    AdaptiveConcurrencyLimiter.Permit running = acquire(limiter, "heavy").block();
+    List<String> granted = Collections.synchronizedList(new ArrayList<>());
+
+    for (int i = 0; i < 10; i++) {
+      acquire(limiter, "heavy").subscribe(permit -> {
+        granted.add("heavy");
+        permit.ignore();
+      });
+    }
+    for (int i = 0; i < 2; i++) {
+      acquire(limiter, "light").subscribe(permit -> {
+        granted.add("light");
+        permit.ignore();
+      });
+    }
+    running.ignore();
+
+    assertThat(granted).hasSize(12);
+    assertThat(granted.subList(0, 4)).containsExactly("heavy", "light", "heavy", "light");
+    assertThat(registry.get("llm.queue.wait").tag("tenant", Tenants.OTHER).timer().count()).isEqualTo(13);
+  }
+
+  @Test
+  void fullQueue_shedsTheHeaviestTenantsNewestCall_toAdmitALighterOne() {
+    AdaptiveConcurrencyLimiter limiter = limiter(3, new Tenants(Map.of("heavy", 1, "light", 1)));
+    AdaptiveConcurrencyLimiter.Permit running = acquire(limiter, "heavy").block();
+    List<Throwable> heavyErrors = Collections.synchronizedList(new ArrayList<>());
+    for (int i = 0; i < 3; i++) {
+      acquire(limiter, "heavy").subscribe(AdaptiveConcurrencyLimiter.Permit::ignore, heavyErrors::add);
+    }
+    List<String> light = Collections.synchronizedList(new ArrayList<>());
+
+    acquire(limiter, "light").subscribe(permit -> {
+      light.add("granted");
+      permit.ignore();
+    });
+    running.ignore();
+
+    assertThat(heavyErrors).hasSize(1);
+    assertThat(heavyErrors.get(0)).isInstanceOf(LlmOverloadedException.class);
+    assertThat(light).containsExactly("granted");
+    assertThat(registry.get("llm.queue.shed").tags("tenant", "heavy", "reason", "queue_full").counter().count())
+        .isEqualTo(1);
+  }
+
+  private AdaptiveConcurrencyLimiter limiter(int maxQueue, Tenants tenants) {
+    return new AdaptiveConcurrencyLimiter(new GradientConcurrencyLimit(1, 1, 1, 0.2, 1.5), maxQueue,
+        Duration.ofSeconds(10), Duration.ofSeconds(1), tenants, 100, registry);
+  }
+
+  private static Mono<AdaptiveConcurrencyLimiter.Permit> acquire(AdaptiveConcurrencyLimiter limiter, String tenant) {
+    return limiter.acquire(100).contextWrite(Tenants.context(tenant));
+  }
+}
@@ -0,0 +1,92 @@
+package com.ai.summarizer.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+  private final AtomicLong now = new AtomicLong();
+  private final CircuitBreaker breaker =
+      new CircuitBreaker(0.5, 10, 4, Duration.ofSeconds(10), 2, now::get);
+
+  @Test
+  void staysClosed_untilMinimumCalls() {
+    for (int i = 0; i < 3; i++) {
+      assertThat(breaker.tryAcquire()).isTrue();
+      breaker.onFailure();
+    }
+
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void opens_whenFailureRateReachesThreshold_andFailsFast() {
+    record(6, 6);
+
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(breaker.tryAcquire()).isFalse();
+    assertThat(breaker.retryAfter()).isEqualTo(Duration.ofSeconds(10));
+  }
+
+  @Test
+  void failuresBelowThreshold_keepItClosed() {
+    record(8, 2);
+
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void halfOpenProbes_closeTheCircuit_whenTheyAllSucceed() {
+    record(0, 6);
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    assertThat(breaker.tryAcquire()).isTrue();
+    assertThat(breaker.tryAcquire()).isTrue();
+    assertThat(breaker.tryAcquire()).as("only two probes").isFalse();
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+    breaker.onSuccess();
+    breaker.onSuccess();
+
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    assertThat(breaker.tryAcquire()).isTrue();
+  }
+
+  @Test
+  void failedProbe_reopensTheCircuit() {
+    record(0, 6);
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    assertThat(breaker.tryAcquire()).isTrue();
+    breaker.onFailure();
+
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(breaker.tryAcquire()).isFalse();
+  }
+
+  @Test
+  void ignoredProbe_freesItsSlot() {
+    record(0, 6);
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+    assertThat(breaker.tryAcquire()).isTrue();
+    assertThat(breaker.tryAcquire()).isTrue();
+
+    breaker.onIgnored();
+
+    assertThat(breaker.tryAcquire()).isTrue();
+  }
+
+  private void record(int successes, int failures) {
+    for (int i = 0; i < successes; i++) {
+      assertThat(breaker.tryAcquire()).isTrue();
+      breaker.onSuccess();
+    }
+    for (int i = 0; i < failures; i++) {
+      if (breaker.tryAcquire()) breaker.onFailure();
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.ai.summarizer.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FairQueueTest {
+
+  @Test
+  void backloggedTenants_alternate_whateverTheirQueueLengths() {
+    FairQueue<String> queue = new FairQueue<>(100, t -> 1);
+    for (int i = 0; i < 50; i++) queue.add("heavy", 100, "h" + i);
+    for (int i = 0; i < 3; i++) queue.add("light", 100, "l" + i);
+
+    assertThat(drain(queue, 6)).containsExactly("h0", "l0", "h1", "l1", "h2", "l2");
+  }
+
+  @Test
+  void servedTokens_followTheWeights() {
+    FairQueue<String> queue = new FairQueue<>(100, t -> t.equals("gold") ? 3 : 1);
+    for (int i = 0; i < 400; i++) {
+      queue.add("gold", 100, "gold");
+      queue.add("basic", 100, "basic");
+    }
+
+    List<String> first = drain(queue, 200);
+
+    long gold = first.stream().filter("gold"::equals).count();
+    assertThat(gold).isBetween(148L, 152L);
+  }
+
+  @Test
+  void largePrompts_getFewerCalls_notMoreTokens() {
+    FairQueue<String> queue = new FairQueue<>(1000, t -> 1);
+    for (int i = 0; i < 100; i++) {
+      queue.add("large", 4000, "large");
+      queue.add("small", 500, "small");
+    }
+
+    List<String> first = drain(queue, 45);
+
+    long large = first.stream().filter("large"::equals).count();
+    long small = first.size() - large;
+    assertThat(small).isEqualTo(8 * large);
+  }
+
+  @Test
+  void pushOut_takesTheNewestOfTheLongestQueue_onlyWhenItIsLonger() {
+    FairQueue<String> queue = new FairQueue<>(100, t -> 1);
+    queue.add("heavy", 1, "h0");
+    queue.add("heavy", 1, "h1");
+    queue.add("heavy", 1, "h2");
+    queue.add("light", 1, "l0");
+
+    assertThat(queue.pushOut("light")).isEqualTo("h2");
+    assertThat(queue.pushOut("heavy")).isNull();
+    assertThat(queue.pushOut("light")).isNull(); // 2 vs 1 + 1: even after one more
+    assertThat(queue.size()).isEqualTo(3);
+  }
+
+  @Test
+  void removedItems_areNeverServed() {
+    FairQueue<String> queue = new FairQueue<>(100, t -> 1);
+    queue.add("a", 1, "a0");
+    queue.add("b", 1, "b0");
+
+    assertThat(queue.remove("a", "a0")).isTrue();
+
+    assertThat(drain(queue, 2)).containsExactly("b0");
+    assertThat(queue.size()).isEqualTo(0);
+    assertThat(queue.size("a")).isEqualTo(0);
+  }
+
+  private static List<String> drain(FairQueue<String> queue, int max) {
+    List<String> out = new ArrayList<>();
+    String next;
+    while (out.size() < max && (next = queue.poll()) != null) out.add(next);
+    return out;
+  }
+}
@@ -0,0 +1,61 @@
+package com.ai.summarizer.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientConcurrencyLimitTest {
+
+  private static final long MS = 1_000_000;
+
+  @Test
+  void stableLatencyUnderLoad_growsTheLimit() {
+    GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 2, 200, 0.2, 1.5);
+
+    for (int i = 0; i < 100; i++) {
+      limit.onSample(100 * MS, limit.limit());
+    }
+
+    assertThat(limit.limit()).isGreaterThan(30);
+  }
+
+  @Test
+  void risingLatency_shrinksTheLimit() {
+    GradientConcurrencyLimit limit = new GradientConcurrencyLimit(50, 2, 200, 0.2, 1.5);
+    for (int i = 0; i < 200; i++) {
+      limit.onSample(100 * MS, limit.limit());
+    }
+    int before = limit.limit();
+
+    // the upstream starts queueing: latency quadruples
+    for (int i = 0; i < 30; i++) {
+      limit.onSample(400 * MS, limit.limit());
+    }
+
+    assertThat(limit.limit()).isLessThan(before / 2);
+  }
+
+  @Test
+  void idleSamples_doNotInflateTheLimit() {
+    GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 2, 200, 0.2, 1.5);
+
+    for (int i = 0; i < 100; i++) {
+      limit.onSample(100 * MS, 1);
+    }
+
+    assertThat(limit.limit()).isEqualTo(20);
+  }
+
+  @Test
+  void drops_backOffMultiplicatively_downToTheMinimum() {
+    GradientConcurrencyLimit limit = new GradientConcurrencyLimit(100, 5, 200, 0.2, 1.5);
+
+    limit.onDrop();
+    assertThat(limit.limit()).isEqualTo(90);
+
+    for (int i = 0; i < 100; i++) {
+      limit.onDrop();
+    }
+    assertThat(limit.limit()).isEqualTo(5);
+  }
+}
@@ -0,0 +1,71 @@
+package com.ai.summarizer.service;
+
+import com.ai.summarizer.api.BatchItemResult;
+import com.ai.summarizer.api.SummarizeRequest;
+import com.ai.summarizer.llm.GeminiClient;
+import com.ai.summarizer.llm.LlmStubServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Batch throughput against a local Gemini stub with a fixed response latency. Docs/sec should grow
+ * roughly linearly with the parallelism setting until the connection pool or the stub saturates.
+ *
+ * <p>Run with {@code ./gradlew benchmark --tests '*BatchSummarizerBenchmark'}.
+ */
+@Tag("benchmark")
+class BatchSummarizerBenchmark {
+
+  private static final Duration CALL_LATENCY = Duration.ofMillis(Long.getLong("bench.callLatencyMs", 100));
+  private static final int ROUNDS = Integer.getInteger("bench.rounds", 10);
+
+  @Test
+  void throughputByParallelism() throws Exception {
+    ConnectionProvider pool = ConnectionProvider.builder("batch-bench")
+        .maxConnections(1024)
+        .pendingAcquireMaxCount(-1)
+        .build();
+    try (LlmStubServer stub = LlmStubServer.start(CALL_LATENCY)) {
+      WebClient webClient = WebClient.builder()
+          .baseUrl(stub.baseUrl())
+          .clientConnector(new ReactorClientHttpConnector(HttpClient.create(pool)))
+          .build();
+      GeminiClient gemini = new GeminiClient(webClient, "bench", "gemini-bench", 0.2, 200);
+      // chunking off: every document is exactly one upstream call
+      HierarchicalSummarizer noChunking = new HierarchicalSummarizer(gemini, 0, 3000, 5, 8, 4);
+      SummarizerService service = new LlmSummarizerService(gemini, noChunking, new SimpleMeterRegistry(), 0, false, false);
+
+      System.out.printf("%n%12s %8s %10s %10s %8s%n", "parallelism", "docs", "wall ms", "docs/sec", "errors");
+      for (int parallelism : new int[] {1, 4, 16, 64, 256}) {
+        BatchSummarizer batch = new BatchSummarizer(service, parallelism);
+        int docs = Math.max(20, parallelism * ROUNDS);
+        run(batch, Math.min(docs, 2 * parallelism)); // warm-up
+
+        long start = System.nanoTime();
+        List<BatchItemResult> results = run(batch, docs);
+        long wallNanos = System.nanoTime() - start;
+
+        long errors = results.stream().filter(r -> r.error() != null).count();
+        System.out.printf("%12d %8d %10d %10.1f %8d%n",
+            parallelism, docs, wallNanos / 1_000_000, docs * 1e9 / wallNanos, errors);
+      }
+    } finally {
+      pool.dispose();
+    }
+  }
+
+  private static List<BatchItemResult> run(BatchSummarizer batch, int docs) {
+    Flux<SummarizeRequest> requests = Flux.range(0, docs)
+        .map(i -> new SummarizeRequest("Quarterly report " + i + ": revenue grew while costs stayed flat.", 2, null));
+    return batch.summarize(requests).collectList().block();
+  }
+}
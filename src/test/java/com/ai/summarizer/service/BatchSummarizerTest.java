@@ -0,0 +1,80 @@
+package com.ai.summarizer.service;
+
+import com.ai.summarizer.api.BatchItemResult;
+import com.ai.summarizer.api.SummarizeRequest;
+import com.ai.summarizer.api.SummarizeResponse;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchSummarizerTest {
+
+  private final SummarizerService service = mock(SummarizerService.class);
+
+  @Test
+  void failedItem_becomesAnErrorRow_andTheBatchContinues() {
+    when(service.summarizeReactive(any())).thenAnswer(inv -> {
+      SummarizeRequest req = inv.getArgument(0);
+      return req.text().startsWith("bad")
+          ? Mono.error(new IllegalArgumentException("Input text is too short to summarize."))
+          : Mono.just(new SummarizeResponse("Summary of " + req.text()));
+    });
+    BatchSummarizer batch = new BatchSummarizer(service, 1);
+
+    StepVerifier.create(batch.summarize(Flux.just(request("first"), request("bad"), request("third"))))
+        .expectNext(BatchItemResult.success(0, "Summary of first"))
+        .expectNext(BatchItemResult.failure(1, "Input text is too short to summarize."))
+        .expectNext(BatchItemResult.success(2, "Summary of third"))
+        .verifyComplete();
+  }
+
+  @Test
+  void resultsArriveInCompletionOrder_taggedWithTheirIndex() {
+    when(service.summarizeReactive(any())).thenAnswer(inv -> {
+      SummarizeRequest req = inv.getArgument(0);
+      Duration delay = req.text().equals("slow") ? Duration.ofMillis(200) : Duration.ofMillis(10);
+      return Mono.delay(delay).thenReturn(new SummarizeResponse(req.text()));
+    });
+    BatchSummarizer batch = new BatchSummarizer(service, 4);
+
+    List<Long> order = batch.summarize(Flux.just(request("slow"), request("fast"), request("fast")))
+        .map(BatchItemResult::index)
+        .collectList()
+        .block(Duration.ofSeconds(5));
+
+    assertThat(order).hasSize(3).endsWith(0L);
+  }
+
+  @Test
+  void inFlightItems_neverExceedTheParallelism() {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    when(service.summarizeReactive(any())).thenAnswer(inv -> Mono.defer(() -> {
+          maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+          return Mono.delay(Duration.ofMillis(5)).thenReturn(new SummarizeResponse("ok"));
+        })
+        .doFinally(s -> inFlight.decrementAndGet()));
+    BatchSummarizer batch = new BatchSummarizer(service, 3);
+
+    Flux<SummarizeRequest> requests = Flux.range(0, 40).map(i -> request("doc " + i));
+    StepVerifier.create(batch.summarize(requests))
+        .expectNextCount(40)
+        .verifyComplete();
+
+    assertThat(maxInFlight).hasValue(3);
+  }
+
+  private static SummarizeRequest request(String text) {
+    return new SummarizeRequest(text, 2, null);
+  }
+}
@@ -0,0 +1,56 @@
+package com.ai.summarizer.service;
+
+import com.ai.summarizer.llm.LlmClient;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * End-to-end latency of the chunked path against a stub with a fixed per-call latency. With enough
+ * parallelism the wall time tracks the number of sequential rounds (tree depth), not the size.
+ *
+ * <p>Run with {@code ./gradlew benchmark --tests '*HierarchicalSummarizerBenchmark'}.
+ */
+@Tag("benchmark")
+class HierarchicalSummarizerBenchmark {
+
+  private static final Duration CALL_LATENCY = Duration.ofMillis(Long.getLong("bench.callLatencyMs", 100));
+  private static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 256);
+
+  @Test
+  void latencyByDocumentSize() {
+    AtomicInteger calls = new AtomicInteger();
+    LlmClient stub = new LlmClient() {
+      @Override
+      public String summarize(String text, Integer maxSentences) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+        return Mono.delay(CALL_LATENCY)
+            .then(Mono.fromSupplier(() -> "Partial summary number " + calls.incrementAndGet() +
+                " covering the main points of this section in one sentence."));
+      }
+    };
+    HierarchicalSummarizer summarizer = new HierarchicalSummarizer(stub, 6000, 3000, 5, CONCURRENCY, 6);
+    String paragraph = "Revenue grew in every region while costs stayed flat and hiring slowed. ".repeat(6) + "\n\n";
+
+    System.out.printf("%n%12s %8s %10s %8s%n", "input chars", "calls", "wall ms", "rounds");
+    for (int chars : new int[] {50_000, 200_000, 1_000_000, 5_000_000}) {
+      String document = paragraph.repeat(chars / paragraph.length() + 1);
+      summarizer.summarize(document, 5).block(); // warm-up
+      calls.set(0);
+
+      long start = System.nanoTime();
+      summarizer.summarize(document, 5).block();
+      long wallMillis = (System.nanoTime() - start) / 1_000_000;
+
+      System.out.printf("%,12d %8d %10d %8.1f%n",
+          document.length(), calls.get(), wallMillis, (double) wallMillis / CALL_LATENCY.toMillis());
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.ai.summarizer.service;
+
+import com.ai.summarizer.llm.LlmClient;
+import com.ai.summarizer.text.TextChunker;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalSummarizerTest {
+
+  private static final int CHUNK_TOKENS = 100;
+  private static final int CONCURRENCY = 4;
+
+  private final RecordingStub stub = new RecordingStub();
+  private final HierarchicalSummarizer summarizer =
+      new HierarchicalSummarizer(stub, 100, CHUNK_TOKENS, 5, CONCURRENCY, 4);
+
+  @Test
+  void smallInput_isNotChunked() {
+    assertThat(summarizer.shouldChunk("A short text that fits in one prompt.")).isFalse();
+  }
+
+  @Test
+  void longInput_isMappedInBoundedParallel_thenReducedToTheRequestedCap() {
+    String paragraph = "The quarterly report covers revenue, costs and hiring in every region. ".repeat(4);
+    String document = (paragraph + "\n\n").repeat(40);
+    assertThat(summarizer.shouldChunk(document)).isTrue();
+
+    String result = summarizer.summarize(document, 3).block(Duration.ofSeconds(10));
+
+    assertThat(result).isNotBlank();
+    assertThat(stub.maxConcurrent.get()).isLessThanOrEqualTo(CONCURRENCY).isGreaterThan(1);
+    // every map call stays inside the chunk budget (plus the fixed instruction prefix)
+    int prefix = LlmSummarizerService.concisePromptPrefix(3).length();
+    assertThat(stub.prompts).allSatisfy(p ->
+        assertThat(p.length()).isLessThanOrEqualTo(prefix + CHUNK_TOKENS * TextChunker.CHARS_PER_TOKEN));
+    // the final reduce asks for the caller's cap, the map calls for the larger partial cap
+    assertThat(stub.caps.get(stub.caps.size() - 1)).isEqualTo(3);
+    assertThat(stub.caps.subList(0, stub.caps.size() - 1)).containsOnly(5);
+  }
+
+  /** Returns a short partial summary per call and tracks concurrency and prompts. */
+  private static final class RecordingStub implements LlmClient {
+    final List<String> prompts = new CopyOnWriteArrayList<>();
+    final List<Integer> caps = new CopyOnWriteArrayList<>();
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger maxConcurrent = new AtomicInteger();
+
+    @Override
+    public String summarize(String text, Integer maxSentences) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+      return Mono.defer(() -> {
+        prompts.add(text);
+        caps.add(maxSentences);
+        maxConcurrent.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        return Mono.delay(Duration.ofMillis(20)).thenReturn("Partial summary " + prompts.size() + ".");
+      }).doFinally(s -> inFlight.decrementAndGet());
+    }
+  }
+}
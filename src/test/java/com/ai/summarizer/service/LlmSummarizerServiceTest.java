@@ -5,14 +5,20 @@ import com.ai.summarizer.api.SummarizeResponse;
 import com.ai.summarizer.api.SummaryLength;
 import com.ai.summarizer.llm.LlmClient;
 import com.ai.summarizer.service.LlmSummarizerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -25,9 +31,17 @@ class LlmSummarizerServiceTest {
   @Mock
   LlmClient llmClient;
 
-  @InjectMocks
+  @Mock
+  HierarchicalSummarizer hierarchicalSummarizer; // inputs here are short, so never chunked
+
+  SimpleMeterRegistry registry = new SimpleMeterRegistry();
   LlmSummarizerService service;
 
+  @BeforeEach
+  void setUp() {
+    service = new LlmSummarizerService(llmClient, hierarchicalSummarizer, registry, 0, false, false);
+  }
+
   @Test
   void summarize_capsByMaxSentences_evenIfModelIsVerbose() {
     // Model returns 4 sentences, but request asks for max 2
@@ -111,6 +125,101 @@ class LlmSummarizerServiceTest {
         .hasMessageContaining("Empty summary");
   }
 
+  @Test
+  void summarizeReactive_capsWithoutBlocking() {
+    Mockito.when(llmClient.summarizeReactive(ArgumentMatchers.anyString(), ArgumentMatchers.anyInt()))
+        .thenReturn(Mono.just("One. Two. Three."));
+
+    SummarizeRequest req = new SummarizeRequest(
+        "This input goes through the reactive path and must be capped exactly like the blocking one.",
+        2,
+        null
+    );
+
+    StepVerifier.create(service.summarizeReactive(req))
+        .assertNext(resp -> Assertions.assertThat(countSentences(resp.summary())).isLessThanOrEqualTo(2))
+        .verifyComplete();
+  }
+
+  @Test
+  void summarizeReactive_signalsValidationErrors() {
+    SummarizeRequest req = new SummarizeRequest("too short", 2, null);
+
+    StepVerifier.create(service.summarizeReactive(req))
+        .expectError(IllegalArgumentException.class)
+        .verify();
+  }
+
+  @Test
+  void summarizeStream_stopsAndCancelsUpstreamOnceCapIsReached() {
+    AtomicBoolean cancelled = new AtomicBoolean();
+    Mockito.when(llmClient.stream(ArgumentMatchers.anyString(), ArgumentMatchers.anyInt()))
+        .thenReturn(Flux.just("One. Tw", "o. Three", ". Four.").doOnCancel(() -> cancelled.set(true)));
+
+    SummarizeRequest req = new SummarizeRequest(
+        "A long enough input that is streamed back to the client sentence by sentence.",
+        2,
+        null
+    );
+
+    StepVerifier.create(service.summarizeStream(req))
+        .expectNext("One. Tw", "o.")
+        .verifyComplete();
+    Assertions.assertThat(cancelled).isTrue();
+  }
+
+  @Test
+  void summarize_sendsCompactedInputToTheModel() {
+    Mockito.when(llmClient.summarize(ArgumentMatchers.anyString(), ArgumentMatchers.anyInt()))
+        .thenReturn("Short summary.");
+
+    SummarizeRequest req = new SummarizeRequest(
+        "Quarterly   results\t were   strong.\n\n\n\n\nRevenue    grew in every region this quarter.",
+        2,
+        null
+    );
+
+    service.summarize(req);
+
+    Mockito.verify(llmClient).summarize(
+        ArgumentMatchers.endsWith("Quarterly results were strong.\n\nRevenue grew in every region this quarter."),
+        ArgumentMatchers.eq(2));
+  }
+
+  @Test
+  void summarize_recordsEachStage_andTheFallback() {
+    // the model "summarizes" by returning more than it was given
+    Mockito.when(llmClient.summarize(ArgumentMatchers.anyString(), ArgumentMatchers.anyInt()))
+        .thenReturn("An expanded answer that is much longer than the original input ever was. It goes on.");
+
+    service.summarize(new SummarizeRequest("Short input text to be summarized.", 2, null));
+
+    for (String stage : new String[] {"validate", "prompt", "llm", "cap"}) {
+      Assertions.assertThat(registry.get("summarizer.stage").tag("stage", stage).timer().count()).isEqualTo(1);
+    }
+    Assertions.assertThat(registry.get("summarizer.fallback").counter().count()).isEqualTo(1);
+    Assertions.assertThat(registry.get("summarizer.input.chars").summary().totalAmount()).isEqualTo(34);
+  }
+
+  @Test
+  void summarize_withAnExtractiveBudget_sendsOnlyTheTopSentences() {
+    LlmSummarizerService extractive = new LlmSummarizerService(llmClient, hierarchicalSummarizer, registry, 30, true, false);
+    Mockito.when(llmClient.summarize(ArgumentMatchers.anyString(), ArgumentMatchers.anyInt()))
+        .thenReturn("Solar output rose.");
+    String input = "Solar panel output across the grid rose sharply this quarter. "
+        + "The office moved to a new building downtown. "
+        + "Grid operators credit the new solar panel inverters for the higher output. "
+        + "Lunch options in the cafeteria were expanded.";
+
+    extractive.summarize(new SummarizeRequest(input, 2, null));
+
+    Mockito.verify(llmClient).summarize(
+        ArgumentMatchers.endsWith("Solar panel output across the grid rose sharply this quarter. "
+            + "Grid operators credit the new solar panel inverters for the higher output."),
+        ArgumentMatchers.eq(2));
+    Assertions.assertThat(registry.get("summarizer.stage").tag("stage", "extract").timer().count()).isEqualTo(1);
+  }
+
   // --- helpers ---
 
   private int countSentences(String text) {
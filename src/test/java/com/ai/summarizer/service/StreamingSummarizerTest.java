@@ -0,0 +1,126 @@
+package com.ai.summarizer.service;
+
+import com.ai.summarizer.api.SummarizeResponse;
+import com.ai.summarizer.api.SummaryLength;
+import com.ai.summarizer.llm.LlmClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingSummarizerTest {
+
+  private static final int CHUNK_TOKENS = 2000;
+  private static final int CONCURRENCY = 8;
+  private static final long FIFTY_MB = 50L * 1024 * 1024;
+
+  private final DefaultDataBufferFactory buffers = new DefaultDataBufferFactory();
+  private final AtomicLong bytesRead = new AtomicLong();
+  private final RecordingStub stub = new RecordingStub(bytesRead);
+  private final StreamingSummarizer summarizer = new StreamingSummarizer(
+      new HierarchicalSummarizer(stub, 8000, CHUNK_TOKENS, 5, CONCURRENCY, 4), new SimpleMeterRegistry(), false);
+
+  @Test
+  void smallBody_isSummarizedInOneCall() {
+    Flux<DataBuffer> body = Flux.just("The report covers revenue, ", "costs and hiring in every region.")
+        .map(part -> buffers.wrap(part.getBytes(StandardCharsets.UTF_8)));
+
+    StepVerifier.create(summarizer.summarize(body, StandardCharsets.UTF_8, null, SummaryLength.SHORT, tokens -> { }))
+        .assertNext(response -> assertThat(response.summary()).isEqualTo("Partial summary 1."))
+        .verifyComplete();
+    assertThat(stub.prompts).hasSize(1);
+    assertThat(stub.prompts.get(0)).endsWith("The report covers revenue, costs and hiring in every region.");
+  }
+
+  @Test
+  void emptyOrTinyBody_isRejected() {
+    StepVerifier.create(summarizer.summarize(Flux.empty(), StandardCharsets.UTF_8, null, null, tokens -> { }))
+        .expectError(IllegalArgumentException.class)
+        .verify();
+    Flux<DataBuffer> tiny = Flux.just(buffers.wrap("  Too short. \n".getBytes(StandardCharsets.UTF_8)));
+    StepVerifier.create(summarizer.summarize(tiny, StandardCharsets.UTF_8, null, null, tokens -> { }))
+        .expectError(IllegalArgumentException.class)
+        .verify();
+    assertThat(stub.prompts).isEmpty();
+  }
+
+  @Test
+  void fiftyMegabyteBody_isReadNoFasterThanItIsSummarized() {
+    AtomicLong admitted = new AtomicLong();
+
+    SummarizeResponse response = summarizer
+        .summarize(body(FIFTY_MB), StandardCharsets.UTF_8, 3, null, admitted::addAndGet)
+        .block(Duration.ofMinutes(2));
+
+    assertThat(response).isNotNull();
+    assertThat(response.summary()).isNotBlank();
+    assertThat(bytesRead.get()).isGreaterThanOrEqualTo(FIFTY_MB);
+    assertThat(admitted.get()).isGreaterThan(FIFTY_MB / 8);
+    assertThat(stub.maxConcurrent.get()).isLessThanOrEqualTo(CONCURRENCY);
+    // the body never gets more than a few megabytes ahead of the map calls: memory is bounded by
+    // the read prefetch plus the chunks in flight, not by the size of the upload
+    assertThat(stub.maxBytesAhead.get()).isLessThan(8L * 1024 * 1024);
+  }
+
+  // ~8 KB buffers of distinct paragraphs, generated lazily so the test itself holds no 50 MB copy
+  private Flux<DataBuffer> body(long size) {
+    AtomicInteger paragraph = new AtomicInteger();
+    return Flux.generate(sink -> {
+      if (bytesRead.get() >= size) {
+        sink.complete();
+        return;
+      }
+      StringBuilder text = new StringBuilder(8300);
+      while (text.length() < 8192) {
+        int i = paragraph.incrementAndGet();
+        text.append("Paragraph ").append(i).append(" of the quarterly report covers revenue, costs and hiring ")
+            .append("in region ").append(i % 97).append(", while the order backlog kept growing.\n\n");
+      }
+      byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+      bytesRead.addAndGet(bytes.length);
+      sink.next(buffers.wrap(bytes));
+    });
+  }
+
+  /** Returns a short summary per call; tracks concurrency and how far the body has been read ahead. */
+  private static final class RecordingStub implements LlmClient {
+    final List<String> prompts = new CopyOnWriteArrayList<>();
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger maxConcurrent = new AtomicInteger();
+    final AtomicLong promptChars = new AtomicLong();
+    final AtomicLong maxBytesAhead = new AtomicLong();
+    private final AtomicLong bytesRead;
+
+    RecordingStub(AtomicLong bytesRead) {
+      this.bytesRead = bytesRead;
+    }
+
+    @Override
+    public String summarize(String text, Integer maxSentences) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Mono<String> summarizeReactive(String text, Integer maxSentences) {
+      return Mono.defer(() -> {
+        prompts.add(text);
+        long summarized = promptChars.addAndGet(text.length());
+        maxBytesAhead.accumulateAndGet(bytesRead.get() - summarized, Math::max);
+        maxConcurrent.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        return Mono.delay(Duration.ofMillis(1)).thenReturn("Partial summary " + prompts.size() + ".");
+      }).doFinally(s -> inFlight.decrementAndGet());
+    }
+  }
+}
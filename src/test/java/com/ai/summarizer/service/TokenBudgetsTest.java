@@ -0,0 +1,102 @@
+package com.ai.summarizer.service;
+
+import com.ai.summarizer.api.SummarizeRequest;
+import com.ai.summarizer.ratelimit.Tenants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBudgetsTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void oversizedRequest_isRefusedOutright() {
+    TokenBudgets budgets = new TokenBudgets(100, 0, 0, registry);
+
+    assertThatThrownBy(() -> budgets.admit("a", request(200)))
+        .isInstanceOfSatisfying(TokenBudgetExceededException.class, e -> assertThat(e.retryAfter()).isNull());
+    assertThat(registry.get("summarizer.tokens.rejected").tag("reason", "request_too_large").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void clientBudget_isChargedPerClient_andRefusesWithARetryHint() {
+    // 60 tokens a minute, bursts of 100
+    TokenBudgets budgets = new TokenBudgets(0, 60, 100, registry);
+
+    budgets.admit("a", request(60));
+    assertThatThrownBy(() -> budgets.admit("a", request(60)))
+        .isInstanceOfSatisfying(TokenBudgetExceededException.class,
+            e -> assertThat(e.retryAfter().toSeconds()).isBetween(15L, 25L));
+    assertThatCode(() -> budgets.admit("b", request(60))).doesNotThrowAnyException();
+    assertThat(registry.get("summarizer.tokens.rejected").tag("reason", "client_budget").counter().count()).isEqualTo(1);
+    assertThat(registry.get("summarizer.tokens.admitted").summary().totalAmount()).isEqualTo(120);
+  }
+
+  @Test
+  void requestLargerThanTheClientBurst_canNeverFit() {
+    TokenBudgets budgets = new TokenBudgets(0, 60, 50, registry);
+
+    assertThatThrownBy(() -> budgets.admit(null, request(60)))
+        .isInstanceOfSatisfying(TokenBudgetExceededException.class, e -> assertThat(e.retryAfter()).isNull());
+  }
+
+  @Test
+  void missingClientId_sharesTheAnonymousBudget() {
+    TokenBudgets budgets = new TokenBudgets(0, 60, 100, registry);
+
+    budgets.admit(null, request(60));
+
+    assertThatThrownBy(() -> budgets.admit(" ", request(60)))
+        .hasMessageContaining(TokenBudgets.ANONYMOUS);
+  }
+
+  @Test
+  void requestQuota_isChargedPerClient_andTaggedByKnownTenant() {
+    // 60 requests a minute, bursts of 2; no token budget
+    TokenBudgets budgets = new TokenBudgets(0, 0, 0, 60, 2, new Tenants(Map.of("team-a", 2)), registry);
+
+    budgets.admit("team-a", request(10));
+    budgets.admit("team-a", request(10));
+    assertThatThrownBy(() -> budgets.admit("team-a", request(10)))
+        .isInstanceOfSatisfying(TokenBudgetExceededException.class,
+            e -> assertThat(e.retryAfter().toMillis()).isBetween(500L, 1000L));
+    assertThatCode(() -> budgets.streamingAdmission("someone-else")).doesNotThrowAnyException();
+    budgets.streamingAdmission("someone-else");
+    assertThatThrownBy(() -> budgets.streamingAdmission("someone-else")).isInstanceOf(TokenBudgetExceededException.class);
+
+    assertThat(registry.get("summarizer.tenant.throttled").tags("tenant", "team-a", "quota", "requests")
+        .counter().count()).isEqualTo(1);
+    assertThat(registry.get("summarizer.tenant.throttled").tags("tenant", Tenants.OTHER, "quota", "requests")
+        .counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void refusedRequests_doNotSpendTheRequestQuota() {
+    // at most 100 tokens per request, 60 tokens a minute in bursts of 100, 60 requests a minute in bursts of 2
+    TokenBudgets budgets = new TokenBudgets(100, 60, 100, 60, 2, Tenants.NONE, registry);
+
+    for (int i = 0; i < 5; i++) {
+      assertThatThrownBy(() -> budgets.admit("a", request(200)))
+          .isInstanceOfSatisfying(TokenBudgetExceededException.class, e -> assertThat(e.retryAfter()).isNull());
+    }
+    budgets.admit("a", request(90));
+    assertThatThrownBy(() -> budgets.admit("a", request(90))).hasMessageContaining("Token budget");
+    assertThatThrownBy(() -> budgets.streamingAdmission("a").accept(200)).hasMessageContaining("per-request limit");
+
+    // one request of the burst of two is spent; every refusal gave its request back
+    assertThatCode(() -> budgets.streamingAdmission("a")).doesNotThrowAnyException();
+    assertThat(registry.get("summarizer.tokens.rejected").tag("reason", "client_request_budget").counter().count())
+        .isZero();
+  }
+
+  /** {@code tokens} short words; each is one estimated token. */
+  private static SummarizeRequest request(int tokens) {
+    return new SummarizeRequest("word ".repeat(tokens), 2, null);
+  }
+}
@@ -0,0 +1,61 @@
+package com.ai.summarizer.text;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExtractiveSummarizerTest {
+
+  private static final String REPORT = String.join(" ",
+      "Solar panel output across the grid rose sharply this quarter.",
+      "The office moved to a new building downtown.",
+      "Grid operators credit the new solar panel inverters for the higher output.",
+      "Lunch options in the cafeteria were expanded.",
+      "Panel output per solar farm is now tracked hourly by the grid.",
+      "A parking survey is planned for next spring.",
+      "Several interns joined the marketing team.");
+
+  @Test
+  void textWithinBudget_isReturnedAsIs() {
+    assertThat(ExtractiveSummarizer.select(REPORT, 1000)).isEqualTo(REPORT);
+  }
+
+  @Test
+  void select_keepsTheCentralSentencesInDocumentOrder_withinTheBudget() {
+    String selected = ExtractiveSummarizer.select(REPORT, 45);
+
+    assertThat(TokenEstimator.estimate(selected)).isLessThanOrEqualTo(45);
+    assertThat(selected).isEqualTo(
+        "Solar panel output across the grid rose sharply this quarter. "
+            + "Grid operators credit the new solar panel inverters for the higher output. "
+            + "Panel output per solar farm is now tracked hourly by the grid.");
+  }
+
+  @Test
+  void summarize_keepsTheTopSentences_notTheFirstOnes() {
+    assertThat(ExtractiveSummarizer.summarize(REPORT, 2)).isEqualTo(
+        "Grid operators credit the new solar panel inverters for the higher output. "
+            + "Panel output per solar farm is now tracked hourly by the grid.");
+  }
+
+  @Test
+  void textWithoutSentences_fallsBackToItsHead() {
+    String words = "revenue grew in every region while costs stayed flat ".repeat(200);
+
+    String selected = ExtractiveSummarizer.select(words, 50);
+
+    assertThat(words).startsWith(selected);
+    assertThat(TokenEstimator.estimate(selected)).isLessThanOrEqualTo(50);
+    assertThat(ExtractiveSummarizer.summarize(words, 3)).isEqualTo(SentenceCapper.cap(words, 3));
+  }
+
+  @Test
+  void parallelScoring_matchesSequentialScoring() {
+    StringBuilder large = new StringBuilder();
+    for (int i = 0; i < ExtractiveSummarizer.PARALLEL_MIN_SENTENCES; i++) {
+      large.append("Sentence ").append(i).append(" is about topic ").append(i % 37).append(' ').append(REPORT).append(' ');
+    }
+
+    assertThat(ExtractiveSummarizer.scores(large, true)).isEqualTo(ExtractiveSummarizer.scores(large, false));
+  }
+}
@@ -0,0 +1,63 @@
+package com.ai.summarizer.text;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptCompactorTest {
+
+  @Test
+  void collapsesHorizontalWhitespace_andBlankLineRuns() {
+    String text = "  First   line\twith  gaps.  \r\n\n\n\n\nSecond\u00a0paragraph.\n";
+
+    assertThat(PromptCompactor.compact(text)).isEqualTo("First line with gaps.\n\nSecond paragraph.");
+  }
+
+  @Test
+  void dropsZeroWidthCharacters_andSeparatorLines() {
+    String text = "Intro\u200b text.\n----------\nBody\ufeff text.\n* * *\nEnd.";
+
+    assertThat(PromptCompactor.compact(text)).isEqualTo("Intro text.\n\nBody text.\n\nEnd.");
+  }
+
+  @Test
+  void repeatedHeaders_keepOnlyTheirFirstOccurrence_whenDedupeIsOn() {
+    String[] pages = {"Revenue grew in every region.", "Costs were flat.", "Hiring slowed.", "Outlook is stable."};
+    StringBuilder doc = new StringBuilder();
+    for (int page = 1; page <= pages.length; page++) {
+      doc.append("ACME Corp - Confidential\n")
+          .append(pages[page - 1]).append('\n')
+          .append("Page ").append(page).append(" of 4\n\n");
+    }
+
+    String compacted = PromptCompactor.compact(doc.toString(), true);
+
+    assertThat(compacted.split("ACME Corp", -1)).hasSize(2);
+    assertThat(compacted).as("lines differing in a number are distinct")
+        .contains("Page 1 of 4", "Page 2 of 4", "Page 3 of 4", "Page 4 of 4");
+    assertThat(compacted).contains(pages);
+    assertThat(PromptCompactor.compact(doc.toString()).split("ACME Corp", -1)).as("off by default").hasSize(5);
+  }
+
+  @Test
+  void numericTableRows_andRepeatedHeadings_survive() {
+    String text = "Growth by year\n2021: 5.2\n2022: 6.1\n2023: 7.0\n2024: 7.4\n\n"
+        + "Chapter 1\nIt began.\n\nChapter 2\nIt went on.\n\nChapter 3\nIt ended.";
+
+    for (boolean dedupe : new boolean[] {false, true}) {
+      assertThat(PromptCompactor.compact(text, dedupe)).as("dedupe %s", dedupe)
+          .contains("2021: 5.2\n2022: 6.1\n2023: 7.0\n2024: 7.4", "Chapter 1", "Chapter 2", "Chapter 3");
+    }
+  }
+
+  @Test
+  void repetitionBelowThreshold_andLongLines_areContent() {
+    String sentence = "This sentence is long enough to count as content rather than a running page header.";
+    String text = "Short line.\nShort line.\n" + (sentence + "\n").repeat(3);
+
+    String compacted = PromptCompactor.compact(text, true);
+
+    assertThat(compacted.split("Short line", -1)).hasSize(3);
+    assertThat(compacted.split("running page header", -1)).hasSize(4);
+  }
+}
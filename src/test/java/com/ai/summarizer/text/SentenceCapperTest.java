@@ -0,0 +1,72 @@
+package com.ai.summarizer.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SentenceCapperTest {
+
+  @Test
+  void keepsFirstSentences_andCollapsesTheWhitespaceBetweenThem() {
+    assertThat(SentenceCapper.cap("One.\n\nTwo.   Three.", 2)).isEqualTo("One. Two.");
+    assertThat(SentenceCapper.cap("A. B. C. D. E.", 3)).isEqualTo("A. B. C.");
+  }
+
+  @Test
+  void abbreviationsAndDecimals_doNotEndASentence() {
+    assertThat(SentenceCapper.cap("Dr. Smith paid $3.50 at example.com today. Then he left.", 1))
+        .isEqualTo("Dr. Smith paid $3.50 at example.com today.");
+    assertThat(SentenceCapper.cap("The U.S. economy grew, e.g. in Q3. Costs fell.", 1))
+        .isEqualTo("The U.S. economy grew, e.g. in Q3.");
+  }
+
+  @Test
+  void ellipsis_endsASentenceOnlyBeforeANewOne() {
+    assertThat(SentenceCapper.cap("Wait... what happened? Nothing... Then it ended.", 2))
+        .isEqualTo("Wait... what happened? Nothing...");
+  }
+
+  @Test
+  void terminatorRuns_andClosingQuotes_belongToTheSentence() {
+    assertThat(SentenceCapper.cap("Really?! Yes. He said \"stop.\" Then left.", 3))
+        .isEqualTo("Really?! Yes. He said \"stop.\"");
+  }
+
+  @Test
+  void fullWidthTerminators_splitWithoutWhitespace() {
+    assertThat(SentenceCapper.cap("收入增长了。成本持平！为什么？", 2)).isEqualTo("收入增长了。成本持平！");
+  }
+
+  @Test
+  void unpunctuatedText_fallsBackToItsHead_scanningOnlyTheCapWindow() {
+    String text = "word ".repeat(1_000_000);
+
+    assertThat(SentenceCapper.cap(text, 2)).isEqualTo(text.substring(0, SentenceCapper.UNPUNCTUATED_HEAD_CHARS));
+    // a terminator far past the window is never reached
+    assertThat(SentenceCapper.cap(text + "End.", 2)).hasSize(SentenceCapper.UNPUNCTUATED_HEAD_CHARS);
+  }
+
+  @Test
+  void incremental_matchesTheBatchRules_acrossDeltaBoundaries() {
+    IncrementalSentenceCap guard = new IncrementalSentenceCap(2, 10_000);
+    List<String> emitted = new ArrayList<>();
+    for (String delta : List.of("Price was 3.", "5 dollars, per Dr", ". Lee.", " Next one", ". Dropped.")) {
+      emitted.add(guard.accept(delta));
+    }
+
+    assertThat(String.join("", emitted)).isEqualTo("Price was 3.5 dollars, per Dr. Lee. Next one.");
+    assertThat(guard.isDone()).isTrue();
+  }
+
+  @Test
+  void incremental_stopsAtTheCharacterBudget() {
+    IncrementalSentenceCap guard = new IncrementalSentenceCap(5, 12);
+
+    assertThat(guard.accept("abcdefgh")).isEqualTo("abcdefgh");
+    assertThat(guard.accept("ijklmnop")).isEqualTo("ijkl");
+    assertThat(guard.isDone()).isTrue();
+  }
+}
@@ -0,0 +1,112 @@
+package com.ai.summarizer.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingChunkerTest {
+
+  private static final String DOCUMENT = document(200);
+
+  @Test
+  void chunksMatchTheWholeDocumentCompaction_whateverTheReadSize() {
+    String expected = PromptCompactor.compact(DOCUMENT);
+
+    for (int readSize : new int[] {1, 7, 8192, DOCUMENT.length() * 4}) {
+      List<String> chunks = chunk(new StreamingChunker(100, StandardCharsets.UTF_8), DOCUMENT, readSize);
+
+      assertThat(normalize(String.join(" ", chunks))).as("read size %d", readSize).isEqualTo(normalize(expected));
+      assertThat(chunks).allSatisfy(c -> assertThat(TokenEstimator.estimate(c)).isLessThanOrEqualTo(100));
+    }
+  }
+
+  @Test
+  void multiByteCharacters_splitAcrossReads_areDecodedOnce() {
+    String text = "Caf\u00e9 na\u00efve r\u00e9sum\u00e9 \u65e5\u672c\u8a9e \ud83d\ude00 done.";
+
+    List<String> chunks = chunk(new StreamingChunker(100, StandardCharsets.UTF_8), text, 1);
+
+    assertThat(chunks).containsExactly(text);
+  }
+
+  @Test
+  void heldText_staysAboutOneChunk_notTheWholeInput() {
+    StreamingChunker chunker = new StreamingChunker(300, StandardCharsets.UTF_8);
+    byte[] bytes = document(4000).getBytes(StandardCharsets.UTF_8);
+    int maxBuffered = 0;
+    for (int i = 0; i < bytes.length; i += 4096) {
+      chunker.accept(ByteBuffer.wrap(bytes, i, Math.min(4096, bytes.length - i)));
+      maxBuffered = Math.max(maxBuffered, chunker.bufferedChars());
+    }
+    chunker.finish();
+
+    assertThat(chunker.chunks()).isGreaterThan(100);
+    assertThat(maxBuffered).isLessThan(2 * 300 * TextChunker.CHARS_PER_TOKEN);
+  }
+
+  @Test
+  void repeatedShortLines_keepTheirFirstTwoOccurrences_whenDedupeIsOn() {
+    String[] pages = {"Revenue grew.", "Costs were flat.", "Hiring slowed.", "Outlook is stable.", "Risks are known."};
+    StringBuilder doc = new StringBuilder();
+    for (String page : pages) {
+      doc.append("ACME Corp - Confidential\n").append(page).append("\n\n");
+    }
+
+    String out = String.join("\n", chunk(new StreamingChunker(1000, StandardCharsets.UTF_8, true), doc.toString(), 16));
+
+    assertThat(out.split("ACME Corp", -1)).hasSize(3);
+    assertThat(out).contains(pages);
+    assertThat(String.join("\n", chunk(new StreamingChunker(1000, StandardCharsets.UTF_8), doc.toString(), 16))
+        .split("ACME Corp", -1)).as("off by default").hasSize(6);
+  }
+
+  @Test
+  void numericRows_survive_evenWithDedupe() {
+    String table = "2021: 5.2\n2022: 6.1\n2023: 7.0\n2024: 7.4";
+
+    String out = String.join("\n", chunk(new StreamingChunker(1000, StandardCharsets.UTF_8, true), table, 4));
+
+    assertThat(out).isEqualTo(table);
+  }
+
+  @Test
+  void denseScripts_getShorterChunks() {
+    String cjk = "\u65e5\u672c\u8a9e\u306e\u6587\u7ae0\u3067\u3059\u3002".repeat(500);
+
+    List<String> chunks = chunk(new StreamingChunker(100, StandardCharsets.UTF_8), cjk, 512);
+
+    assertThat(chunks).hasSizeGreaterThan(1)
+        .allSatisfy(c -> assertThat(TokenEstimator.estimate(c)).isLessThanOrEqualTo(100));
+  }
+
+  // lines too long to count as boilerplate, so both compaction rules agree
+  private static String document(int paragraphs) {
+    StringBuilder doc = new StringBuilder();
+    for (int i = 0; i < paragraphs; i++) {
+      doc.append("  Section ").append(i).append(" of the quarterly   report covers revenue,\tcosts and hiring across every region.\r\n")
+          .append("Margins improved\u200b slightly in region ").append(i).append(" while the order backlog kept growing all year.\n\n\n")
+          .append("----------\n");
+    }
+    return doc.toString();
+  }
+
+  private static List<String> chunk(StreamingChunker chunker, String text, int readSize) {
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    List<String> chunks = new ArrayList<>();
+    for (int i = 0; i < bytes.length; i += readSize) {
+      chunks.addAll(chunker.accept(ByteBuffer.wrap(Arrays.copyOfRange(bytes, i, Math.min(i + readSize, bytes.length)))));
+    }
+    chunks.addAll(chunker.finish());
+    return chunks;
+  }
+
+  private static String normalize(String text) {
+    return text.replaceAll("\\s+", " ").strip();
+  }
+}
@@ -0,0 +1,73 @@
+package com.ai.summarizer.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextChunkerTest {
+
+  @Test
+  void shortText_isOneChunk() {
+    assertThat(TextChunker.split("  One short paragraph.  ", 100)).containsExactly("One short paragraph.");
+  }
+
+  @Test
+  void prefersParagraphBoundaries() {
+    String para = "Sentence one is here. Sentence two is here too.";
+    String text = para + "\n\n" + para + "\n\n" + para;
+
+    // room for two paragraphs and the break after them, but not a third
+    List<String> chunks = TextChunker.split(text, 25);
+
+    assertThat(chunks).containsExactly(para + "\n\n" + para, para);
+  }
+
+  @Test
+  void fallsBackToSentenceBoundaries_andRespectsBudget() {
+    String text = "Alpha beta gamma delta. ".repeat(200);
+    int maxTokens = 50;
+
+    List<String> chunks = TextChunker.split(text, maxTokens);
+
+    assertThat(chunks).hasSizeGreaterThan(1);
+    assertThat(chunks).allSatisfy(c -> {
+      assertThat(c.length()).isLessThanOrEqualTo(maxTokens * TextChunker.CHARS_PER_TOKEN);
+      assertThat(c).endsWith(".");
+    });
+    assertThat(String.join(" ", chunks)).isEqualTo(text.strip());
+  }
+
+  @Test
+  void cutsAfterFullWidthTerminators() {
+    String sentence = "今日は晴れです。"; // no whitespace after the 。
+    String text = sentence.repeat(100);
+
+    List<String> chunks = TextChunker.split(text, 50, 1.0);
+
+    assertThat(chunks).hasSizeGreaterThan(1);
+    assertThat(chunks).allSatisfy(c -> assertThat(c).hasSizeLessThanOrEqualTo(50).endsWith("。"));
+    assertThat(String.join("", chunks)).isEqualTo(text);
+  }
+
+  @Test
+  void neverCutsAfterAnAbbreviation() {
+    String text = "Ask Dr. Smith about it, e.g. tomorrow at noon. ".repeat(40);
+
+    List<String> chunks = TextChunker.split(text, 30);
+
+    assertThat(chunks).hasSizeGreaterThan(1);
+    assertThat(chunks).allSatisfy(c -> assertThat(c).endsWith("noon."));
+  }
+
+  @Test
+  void hardCutsTextWithoutAnyBoundary() {
+    String text = "x".repeat(1000);
+
+    List<String> chunks = TextChunker.split(text, 100);
+
+    assertThat(chunks).hasSize(3);
+    assertThat(String.join("", chunks)).isEqualTo(text);
+  }
+}
@@ -0,0 +1,46 @@
+package com.ai.summarizer.text;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenEstimatorTest {
+
+  @Test
+  void commonEnglishWords_areOneTokenEach() {
+    // 10 tokens with the GPT-4 tokenizer
+    assertThat(TokenEstimator.estimate("The quick brown fox jumps over the lazy dog.")).isEqualTo(10);
+  }
+
+  @Test
+  void whitespaceIsFree() {
+    assertThat(TokenEstimator.estimate("one   two\n\n\tthree")).isEqualTo(TokenEstimator.estimate("one two three"));
+    assertThat(TokenEstimator.estimate("   \n ")).isZero();
+  }
+
+  @Test
+  void cjkCountsPerCharacter_notPerFourCharacters() {
+    String chinese = "\u4eba\u5de5\u667a\u80fd\u6b63\u5728\u6539\u53d8\u4e16\u754c";
+
+    assertThat(TokenEstimator.estimate(chinese)).isEqualTo(10);
+    assertThat(TextChunker.estimateTokens(chinese)).isEqualTo(3);
+  }
+
+  @Test
+  void longWordsDigitsAndSymbolRuns_areSplit() {
+    assertThat(TokenEstimator.estimate("internationalization")).isEqualTo(3);
+    assertThat(TokenEstimator.estimate("1234567")).isEqualTo(3);
+    assertThat(TokenEstimator.estimate("----------------")).isEqualTo(4);
+  }
+
+  @Test
+  void englishProse_staysCloseToTheCharacterHeuristic() {
+    String prose = "Spring Boot is an open source framework used to create stand-alone, production-grade "
+        + "applications. It simplifies development by handling boilerplate configuration. ";
+    String text = prose.repeat(50);
+
+    double ratio = (double) TokenEstimator.estimate(text) / TextChunker.estimateTokens(text);
+
+    assertThat(ratio).isBetween(0.7, 1.2);
+  }
+}
@@ -0,0 +1,351 @@
+package com.ai.summarizer.llm;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal local stand-in for the LLM providers: Gemini {@code generateContent} and
+ * {@code streamGenerateContent} (SSE), Gemini context caching ({@code cachedContents}: create,
+ * extend, delete, and {@code cachedContent} references in generate calls), JSON output (one stub
+ * summary per item of the response schema's array), and OpenAI-compatible
+ * {@code /chat/completions} (plain and streamed). The response delay is fixed or drawn from a
+ * distribution per request, and faults (error statuses) can be injected; {@link #simulate} applies
+ * a whole {@link SimulatedUpstream} instead, with 429 bursts and output throughput. Each exchange
+ * is served on its own virtual thread so the stub itself never caps concurrency. A test fixture,
+ * embeddable in tests and load tests: point a provider's {@code base-url} at {@link #baseUrl()}.
+ */
+public final class LlmStubServer implements AutoCloseable {
+
+    private static final byte[] RESPONSE = """
+            {"candidates":[{"content":{"role":"model","parts":[{"text":"Stub summary sentence."}]}}],\
+            "usageMetadata":{"promptTokenCount":10,"candidatesTokenCount":4,"totalTokenCount":14}}"""
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CACHED_RESPONSE = """
+            {"candidates":[{"content":{"role":"model","parts":[{"text":"Stub summary sentence."}]}}],\
+            "usageMetadata":{"promptTokenCount":10,"candidatesTokenCount":4,"totalTokenCount":14,\
+            "cachedContentTokenCount":8}}"""
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OPENAI_RESPONSE = """
+            {"id":"chatcmpl-stub","object":"chat.completion","choices":[{"index":0,\
+            "message":{"role":"assistant","content":"Stub summary sentence."},"finish_reason":"stop"}],\
+            "usage":{"prompt_tokens":10,"completion_tokens":4,"total_tokens":14}}"""
+            .getBytes(StandardCharsets.UTF_8);
+    private static final Pattern TTL = Pattern.compile("\"ttl\"\\s*:\\s*\"(\\d+)s\"");
+    private static final Pattern CACHED_CONTENT = Pattern.compile("\"cachedContent\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern JSON_ITEMS = Pattern.compile("\"maxItems\"\\s*:\\s*(\\d+)");
+
+    /** Output tokens of {@link #RESPONSE} and of one streamed "Sentence N." event. */
+    private static final int RESPONSE_TOKENS = 4, EVENT_TOKENS = 3;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger streamEventsWritten = new AtomicInteger();
+    private final AtomicInteger streamsAborted = new AtomicInteger();
+    private volatile Supplier<Duration> latency;
+    private volatile int streamEvents = 20;
+    private volatile Duration streamInterval = Duration.ofMillis(20);
+    private final AtomicInteger failNext = new AtomicInteger();
+    private volatile double failureRate;
+    private volatile int failureStatus = 503;
+    private volatile SimulatedUpstream simulated;
+    private final Map<String, Instant> caches = new ConcurrentHashMap<>(); // name -> expireTime
+    private final AtomicInteger cachesCreated = new AtomicInteger();
+    private final AtomicInteger cachesDeleted = new AtomicInteger();
+    private final AtomicInteger cacheRefreshes = new AtomicInteger();
+    private final AtomicInteger cacheHits = new AtomicInteger();
+    private final AtomicInteger jsonRequests = new AtomicInteger();
+
+    private LlmStubServer(Duration latency) throws IOException {
+        this.latency = () -> latency;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    public static LlmStubServer start(Duration latency) throws IOException {
+        LlmStubServer stub = new LlmStubServer(latency);
+        stub.server.start();
+        return stub;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = () -> latency;
+    }
+
+    /** Draws each response's delay from {@code distribution}, e.g. a long-tailed one. */
+    public void setLatency(Supplier<Duration> distribution) {
+        this.latency = distribution;
+    }
+
+    /** Each stream sends {@code events} one-sentence deltas, {@code interval} apart. */
+    public void setStream(int events, Duration interval) {
+        this.streamEvents = events;
+        this.streamInterval = interval;
+    }
+
+    /** The next {@code count} requests fail with {@code status} (after the usual latency). */
+    public void failNext(int count, int status) {
+        this.failureStatus = status;
+        this.failNext.set(count);
+    }
+
+    /** Each request independently fails with {@code status} with probability {@code rate}. */
+    public void setFailureRate(double rate, int status) {
+        this.failureStatus = status;
+        this.failureRate = rate;
+    }
+
+    /**
+     * Takes latency, failures, 429 bursts and output pacing from {@code upstream}; the other setters
+     * no longer apply, except {@link #failNext}.
+     */
+    public void simulate(SimulatedUpstream upstream) {
+        this.simulated = upstream;
+    }
+
+    public int streamEventsWritten() {
+        return streamEventsWritten.get();
+    }
+
+    /** Streams whose client went away before the last event could be written. */
+    public int streamsAborted() {
+        return streamsAborted.get();
+    }
+
+    /** Context caches created, deleted and extended, and generate calls served from one. */
+    public int cachesCreated() {
+        return cachesCreated.get();
+    }
+
+    public int cachesDeleted() {
+        return cachesDeleted.get();
+    }
+
+    public int cacheRefreshes() {
+        return cacheRefreshes.get();
+    }
+
+    public int cacheHits() {
+        return cacheHits.get();
+    }
+
+    /** Generate calls that asked for JSON output. */
+    public int jsonRequests() {
+        return jsonRequests.get();
+    }
+
+    /** Context caches that exist and have not expired. */
+    public int liveCaches() {
+        Instant now = Instant.now();
+        return (int) caches.values().stream().filter(expireTime -> expireTime.isAfter(now)).count();
+    }
+
+    /** Drops every context cache, as if they had all expired upstream. */
+    public void dropCaches() {
+        caches.clear();
+    }
+
+    public int requests() {
+        return requests.get();
+    }
+
+    public int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public void resetCounters() {
+        requests.set(0);
+        streamEventsWritten.set(0);
+        streamsAborted.set(0);
+        maxInFlight.set(inFlight.get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if (exchange.getRequestURI().getPath().startsWith("/v1beta/cachedContents")) {
+            try (exchange; InputStream in = exchange.getRequestBody()) {
+                cachedContents(exchange, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            return;
+        }
+        requests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try (exchange; InputStream in = exchange.getRequestBody()) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            SimulatedUpstream upstream = simulated;
+            sleep(upstream == null ? latency.get() : upstream.nextLatency());
+            int status = failure(upstream);
+            if (status != 0) {
+                error(exchange, status, "injected");
+                return;
+            }
+            Matcher cachedContent = CACHED_CONTENT.matcher(body);
+            boolean cached = cachedContent.find();
+            if (cached) {
+                Instant expireTime = caches.get(cachedContent.group(1));
+                if (expireTime == null || expireTime.isBefore(Instant.now())) {
+                    error(exchange, 404, "CachedContent not found");
+                    return;
+                }
+                cacheHits.incrementAndGet();
+            }
+            String path = exchange.getRequestURI().getPath();
+            boolean openAi = path.endsWith("/chat/completions");
+            if (path.endsWith(":streamGenerateContent") || (openAi && body.contains("\"stream\":true"))) {
+                stream(exchange, openAi, upstream);
+                return;
+            }
+            if (!openAi && body.contains("\"responseMimeType\":\"application/json\"")) {
+                jsonRequests.incrementAndGet();
+                Matcher items = JSON_ITEMS.matcher(body);
+                int n = items.find() ? Integer.parseInt(items.group(1)) : 1;
+                if (upstream != null) sleep(upstream.generationTime(n * (RESPONSE_TOKENS + 8)));
+                json(exchange, 200, jsonResponse(n));
+                return;
+            }
+            if (upstream != null) sleep(upstream.generationTime(RESPONSE_TOKENS));
+            json(exchange, 200, openAi ? OPENAI_RESPONSE : cached ? CACHED_RESPONSE : RESPONSE);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    // {"summaries":[{"id":0,"summary":"Stub summary sentence."},...]} as the candidate's text
+    private static byte[] jsonResponse(int items) {
+        StringBuilder answer = new StringBuilder("{\\\"summaries\\\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) answer.append(',');
+            answer.append("{\\\"id\\\":").append(i).append(",\\\"summary\\\":\\\"Stub summary sentence.\\\"}");
+        }
+        answer.append("]}");
+        return ("{\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":[{\"text\":\"" + answer
+                + "\"}]}}],\"usageMetadata\":{\"promptTokenCount\":" + 10 * items
+                + ",\"candidatesTokenCount\":" + 12 * items + "}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    // POST /v1beta/cachedContents, PATCH and DELETE /v1beta/cachedContents/{id}
+    private void cachedContents(HttpExchange exchange, String body) throws IOException {
+        String method = exchange.getRequestMethod();
+        String name = exchange.getRequestURI().getPath().substring("/v1beta/".length());
+        Matcher ttl = TTL.matcher(body);
+        if (method.equals("POST")) {
+            if (!ttl.find()) {
+                error(exchange, 400, "ttl required");
+                return;
+            }
+            name = "cachedContents/stub-" + cachesCreated.incrementAndGet();
+            caches.put(name, Instant.now().plusSeconds(Long.parseLong(ttl.group(1))));
+            json(exchange, 200, cacheResource(name));
+            return;
+        }
+        Instant expireTime = caches.get(name);
+        if (expireTime == null || expireTime.isBefore(Instant.now())) {
+            error(exchange, 404, "CachedContent not found");
+            return;
+        }
+        if (method.equals("PATCH") && ttl.find()) {
+            cacheRefreshes.incrementAndGet();
+            caches.put(name, Instant.now().plusSeconds(Long.parseLong(ttl.group(1))));
+            json(exchange, 200, cacheResource(name));
+        } else if (method.equals("DELETE")) {
+            cachesDeleted.incrementAndGet();
+            caches.remove(name);
+            json(exchange, 200, "{}".getBytes(StandardCharsets.UTF_8));
+        } else {
+            error(exchange, 400, "unsupported");
+        }
+    }
+
+    private byte[] cacheResource(String name) {
+        return ("{\"name\":\"" + name + "\",\"model\":\"models/stub\",\"expireTime\":\"" + caches.get(name) + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void error(HttpExchange exchange, int status, String message) throws IOException {
+        json(exchange, status, ("{\"error\":{\"code\":" + status + ",\"message\":\"" + message + "\",\"status\":\""
+                + SimulatedUpstream.statusName(status) + "\"}}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void json(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // The error status to answer with, or 0 to answer normally.
+    private int failure(SimulatedUpstream upstream) {
+        if (failNext.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            return failureStatus;
+        }
+        if (upstream != null) {
+            return upstream.nextFailure();
+        }
+        double rate = failureRate;
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate ? failureStatus : 0;
+    }
+
+    private void stream(HttpExchange exchange, boolean openAi, SimulatedUpstream upstream) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        try {
+            for (int i = 1; i <= streamEvents; i++) {
+                String event = openAi
+                        ? "data: {\"object\":\"chat.completion.chunk\",\"choices\":[{\"index\":0," +
+                        "\"delta\":{\"content\":\"Sentence " + i + ". \"}}]}\n\n"
+                        : "data: {\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":" +
+                        "[{\"text\":\"Sentence " + i + ". \"}]}}]}\r\n\r\n";
+                out.write(event.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                streamEventsWritten.incrementAndGet();
+                sleep(upstream == null ? streamInterval : upstream.generationTime(EVENT_TOKENS));
+            }
+            if (openAi) {
+                out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+            }
+            out.close();
+        } catch (IOException e) {
+            streamsAborted.incrementAndGet();
+        }
+    }
+
+    private static void sleep(Duration d) {
+        try {
+            Thread.sleep(d);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}